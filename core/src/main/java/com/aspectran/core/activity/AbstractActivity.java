@@ -24,6 +24,8 @@ import com.aspectran.core.context.env.Environment;
 import com.aspectran.core.context.rule.BeanRule;
 import com.aspectran.core.util.ExceptionUtils;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * The Class AbstractActivity.
  *
@@ -43,6 +45,8 @@ public abstract class AbstractActivity implements Activity {
 
     private Throwable raisedException;
 
+    private volatile ReentrantLock stateLock;
+
     /**
      * Instantiates a new abstract activity.
      * @param context the activity context
@@ -160,14 +164,58 @@ public abstract class AbstractActivity implements Activity {
 
     @Override
     public void setRaisedException(Throwable raisedException) {
-        if (this.raisedException == null) {
-            this.raisedException = raisedException;
+        ReentrantLock lock = lockState();
+        try {
+            if (this.raisedException == null) {
+                this.raisedException = raisedException;
+            }
+        } finally {
+            unlockState(lock);
         }
     }
 
     @Override
     public void clearRaisedException() {
-        raisedException = null;
+        ReentrantLock lock = lockState();
+        try {
+            raisedException = null;
+        } finally {
+            unlockState(lock);
+        }
+    }
+
+    /**
+     * Guards the mutable state of this activity with a lock from now on.
+     * Must be called on the thread performing this activity before any
+     * of its actions are handed over to other threads.
+     */
+    protected void guardState() {
+        if (stateLock == null) {
+            stateLock = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquires the lock guarding the mutable state of this activity.
+     * @return the acquired lock, or {@code null} if the state is not guarded
+     * @see #guardState()
+     */
+    protected ReentrantLock lockState() {
+        ReentrantLock lock = stateLock;
+        if (lock != null) {
+            lock.lock();
+        }
+        return lock;
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lockState()}.
+     * @param lock the acquired lock, may be {@code null}
+     */
+    protected static void unlockState(ReentrantLock lock) {
+        if (lock != null) {
+            lock.unlock();
+        }
     }
 
     @Override
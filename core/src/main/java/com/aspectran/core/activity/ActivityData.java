@@ -30,13 +30,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A map of data for saving activity results.
  * It is often used as a model for providing data used in views.
  *
  * <p>This class is generally not thread-safe.
- * It is primarily designed for use in a single thread only.</p>
+ * It is primarily designed for use in a single thread only.
+ * While the actions of an activity are executed in parallel, the methods
+ * that look up and cache values are guarded by the lock of the activity.</p>
  */
 public class ActivityData extends HashMap<String, Object> {
 
@@ -58,74 +61,94 @@ public class ActivityData extends HashMap<String, Object> {
 
     @Override
     public Object get(Object key) {
-        Object value = super.get(key);
-        if (value != null && !value.equals(PREEMPTED)) {
-            return value;
-        }
-        if (key == null) {
-            return null;
-        }
+        ReentrantLock lock = lockActivityState();
+        try {
+            Object value = super.get(key);
+            if (value != null && !value.equals(PREEMPTED)) {
+                return value;
+            }
+            if (key == null) {
+                return null;
+            }
 
-        String name = key.toString();
-        Object data = getActionResultWithoutCache(name);
-        if (data != null) {
-            preempt(name, value);
-            return data;
-        }
+            String name = key.toString();
+            Object data = getActionResultWithoutCache(name);
+            if (data != null) {
+                preempt(name, value);
+                return data;
+            }
 
-        data = getAttributeWithoutCache(name);
-        if (data != null) {
-            preempt(name, value);
-            return data;
-        }
+            data = getAttributeWithoutCache(name);
+            if (data != null) {
+                preempt(name, value);
+                return data;
+            }
 
-        data = getParameterWithoutCache(name);
-        if (data != null) {
-            preempt(name, value);
-            return data;
-        }
+            data = getParameterWithoutCache(name);
+            if (data != null) {
+                preempt(name, value);
+                return data;
+            }
 
-        data = getSessionAttributeWithoutCache(name);
-        if (data != null) {
-            preempt(name, value);
-            return data;
-        }
+            data = getSessionAttributeWithoutCache(name);
+            if (data != null) {
+                preempt(name, value);
+                return data;
+            }
 
-        return null;
+            return null;
+        } finally {
+            AbstractActivity.unlockState(lock);
+        }
     }
 
     @Override
     public Object put(String key, Object value) {
-        if (this == value) {
-            throw new IllegalArgumentException("Same instance as this map can not be stored");
+        ReentrantLock lock = lockActivityState();
+        try {
+            if (this == value) {
+                throw new IllegalArgumentException("Same instance as this map can not be stored");
+            }
+            return super.put(key, value);
+        } finally {
+            AbstractActivity.unlockState(lock);
         }
-        return super.put(key, value);
     }
 
     @Override
     @NonNull
     public Collection<Object> values() {
-        List<Object> list = new ArrayList<>(size());
-        for (String name : keySet()) {
-            list.add(get(name));
+        ReentrantLock lock = lockActivityState();
+        try {
+            List<Object> list = new ArrayList<>(size());
+            for (String name : keySet()) {
+                list.add(get(name));
+            }
+            return list;
+        } finally {
+            AbstractActivity.unlockState(lock);
         }
-        return list;
     }
 
     @Override
     @NonNull
     public Set<Map.Entry<String, Object>> entrySet() {
-        Set<Map.Entry<String, Object>> set = new HashSet<>();
-        for (Map.Entry<String, Object> entry : super.entrySet()) {
-            if (entry.getValue() == PREEMPTED) {
-                String key = entry.getKey();
-                Object value = get(key);
-                set.add(new AbstractMap.SimpleEntry<>(key, value));
-            } else {
-                set.add(entry);
+        ReentrantLock lock = lockActivityState();
+        try {
+            Set<Map.Entry<String, Object>> set = new HashSet<>();
+            for (Map.Entry<String, Object> entry : super.entrySet()) {
+                if (entry.getValue() == PREEMPTED) {
+                    String key = entry.getKey();
+                    Object value = get(key);
+                    set.add(new AbstractMap.SimpleEntry<>(key, value));
+                } else {
+                    set.add(entry);
+                }
             }
+            return set;
+        } finally {
+            AbstractActivity.unlockState(lock);
         }
-        return set;
     }
 
     /**
@@ -202,37 +225,42 @@ public class ActivityData extends HashMap<String, Object> {
     }
 
     public void refresh() {
-        if (activity.getRequestAdapter() != null) {
-            for (String name : activity.getRequestAdapter().getParameterNames()) {
-                preempt(name);
-            }
-            for (String name : activity.getRequestAdapter().getAttributeNames()) {
-                Object value = activity.getRequestAdapter().getAttribute(name);
-                if (this != value) {
+        ReentrantLock lock = lockActivityState();
+        try {
+            if (activity.getRequestAdapter() != null) {
+                for (String name : activity.getRequestAdapter().getParameterNames()) {
                     preempt(name);
                 }
-            }
-        }
-        if (activity.getSessionAdapter() != null) {
-            Enumeration<String> e = activity.getSessionAdapter().getAttributeNames();
-            if (e != null) {
-                while (e.hasMoreElements()) {
-                    String name = e.nextElement();
-                    Object value = activity.getSessionAdapter().getAttribute(name);
+                for (String name : activity.getRequestAdapter().getAttributeNames()) {
+                    Object value = activity.getRequestAdapter().getAttribute(name);
                     if (this != value) {
                         preempt(name);
                     }
                 }
             }
-        }
-        if (activity.getProcessResult() != null) {
-            for (ContentResult cr : activity.getProcessResult()) {
-                for (ActionResult ar : cr) {
-                    if (ar.getActionId() != null && this != ar.getResultValue()) {
-                        preempt(ar.getActionId());
+            if (activity.getSessionAdapter() != null) {
+                Enumeration<String> e = activity.getSessionAdapter().getAttributeNames();
+                if (e != null) {
+                    while (e.hasMoreElements()) {
+                        String name = e.nextElement();
+                        Object value = activity.getSessionAdapter().getAttribute(name);
+                        if (this != value) {
+                            preempt(name);
+                        }
                     }
                 }
             }
+            if (activity.getProcessResult() != null) {
+                for (ContentResult cr : activity.getProcessResult()) {
+                    for (ActionResult ar : cr) {
+                        if (ar.getActionId() != null && this != ar.getResultValue()) {
+                            preempt(ar.getActionId());
+                        }
+                    }
+                }
+            }
+        } finally {
+            AbstractActivity.unlockState(lock);
         }
     }
 
@@ -250,4 +278,12 @@ public class ActivityData extends HashMap<String, Object> {
         return activity;
     }
 
+    private ReentrantLock lockActivityState() {
+        if (activity instanceof AbstractActivity) {
+            return ((AbstractActivity)activity).lockState();
+        } else {
+            return null;
+        }
+    }
+
 }
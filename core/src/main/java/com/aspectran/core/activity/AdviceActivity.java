@@ -23,9 +23,10 @@ import com.aspectran.core.activity.process.action.Executable;
 import com.aspectran.core.activity.process.result.ActionResult;
 import com.aspectran.core.activity.process.result.ContentResult;
 import com.aspectran.core.activity.process.result.ProcessResult;
-import com.aspectran.core.component.aspect.AspectAdviceRulePostRegister;
 import com.aspectran.core.component.aspect.AspectAdviceRuleRegistry;
-import com.aspectran.core.component.aspect.pointcut.Pointcut;
+import com.aspectran.core.component.metrics.ExecutionMetrics;
+import com.aspectran.core.component.metrics.MetricsRegistry;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.expr.TokenEvaluator;
 import com.aspectran.core.context.rule.AspectAdviceRule;
@@ -46,6 +47,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Activity related to advice.
@@ -56,18 +58,25 @@ public abstract class AdviceActivity extends AbstractActivity {
 
     private static final Logger logger = LoggerFactory.getLogger(AdviceActivity.class);
 
+    /** The advice being executed on the current thread, innermost first */
+    private static final ThreadLocal<CurrentAdvice> currentAdvice = new ThreadLocal<>();
+
     private Map<String, Object> settings;
 
     private AspectAdviceRuleRegistry aspectAdviceRuleRegistry;
 
+    /**
+     * Whether the aspect advice rule registry is still the one shared by the
+     * translet rule; it is replicated only when this activity has to modify it.
+     */
+    private boolean aspectAdviceRuleRegistryShared;
+
     private Set<AspectRule> relevantAspectRules;
 
     private Set<AspectAdviceRule> executedAspectAdviceRules;
 
     private AspectAdviceType currentAspectAdviceType;
 
-    private AspectAdviceRule currentAspectAdviceRule;
-
     private AspectAdviceResult aspectAdviceResult;
 
     /**
@@ -81,35 +90,34 @@ public abstract class AdviceActivity extends AbstractActivity {
     protected void prepareAspectAdviceRule(TransletRule transletRule, String requestName) {
         AspectAdviceRuleRegistry aarr;
         if (transletRule.hasPathVariables()) {
-            AspectAdviceRulePostRegister postRegister = new AspectAdviceRulePostRegister();
-            for (AspectRule aspectRule : getActivityContext().getAspectRuleRegistry().getAspectRules()) {
-                if (!aspectRule.isBeanRelevant()) {
-                    Pointcut pointcut = aspectRule.getPointcut();
-                    if (pointcut == null || pointcut.matches(requestName)) {
-                        postRegister.register(aspectRule);
-                    }
-                }
-            }
-            aarr = postRegister.getAspectAdviceRuleRegistry();
+            aarr = getActivityContext().getAspectRuleRegistry()
+                    .getRelevantAspectRuleHolder(transletRule, requestName).getAspectAdviceRuleRegistry();
         } else {
-            aarr = transletRule.replicateAspectAdviceRuleRegistry();
+            aarr = transletRule.getAspectAdviceRuleRegistry();
         }
         if (aarr != null) {
             if (this.aspectAdviceRuleRegistry != null) {
-                this.aspectAdviceRuleRegistry.merge(aarr);
+                touchAspectAdviceRuleRegistry().merge(aarr);
             } else {
+                // The registry is shared, so it is not replicated until it is modified
                 this.aspectAdviceRuleRegistry = aarr;
+                this.aspectAdviceRuleRegistryShared = true;
             }
         }
     }
 
     @Override
     public void registerSettingsAdviceRule(SettingsAdviceRule settingsAdviceRule) {
-        if (relevantAspectRules != null && relevantAspectRules.contains(settingsAdviceRule.getAspectRule())) {
-            return;
+        ReentrantLock lock = lockState();
+        try {
+            if (relevantAspectRules != null && relevantAspectRules.contains(settingsAdviceRule.getAspectRule())) {
+                return;
+            }
+            touchRelevantAspectRules().add(settingsAdviceRule.getAspectRule());
+            touchAspectAdviceRuleRegistry().addAspectAdviceRule(settingsAdviceRule);
+        } finally {
+            unlockState(lock);
         }
-        touchRelevantAspectRules().add(settingsAdviceRule.getAspectRule());
-        touchAspectAdviceRuleRegistry().addAspectAdviceRule(settingsAdviceRule);
     }
 
     @Override
@@ -131,13 +139,17 @@ public abstract class AdviceActivity extends AbstractActivity {
             throw ex;
         }
 
-        if (relevantAspectRules != null && relevantAspectRules.contains(aspectRule)) {
-            return;
+        ReentrantLock lock = lockState();
+        try {
+            if (relevantAspectRules != null && relevantAspectRules.contains(aspectRule)) {
+                return;
+            }
+            touchRelevantAspectRules().add(aspectRule);
+            touchAspectAdviceRuleRegistry().register(aspectRule);
+        } finally {
+            unlockState(lock);
         }
 
-        touchRelevantAspectRules().add(aspectRule);
-        touchAspectAdviceRuleRegistry().register(aspectRule);
-
         List<AspectAdviceRule> aspectAdviceRuleList = aspectRule.getAspectAdviceRuleList();
         if (aspectAdviceRuleList != null) {
             if (currentAspectAdviceType == AspectAdviceType.FINALLY) {
@@ -160,6 +172,7 @@ public abstract class AdviceActivity extends AbstractActivity {
                     throw ex;
                 }
             }
+            AspectAdviceRule currentAspectAdviceRule = getCurrentAspectAdviceRule();
             if (currentAspectAdviceRule != null) {
                 AspectAdviceRule adviceRule1 = currentAspectAdviceRule;
                 AspectAdviceType adviceType1 = adviceRule1.getAspectAdviceType();
@@ -199,17 +212,32 @@ public abstract class AdviceActivity extends AbstractActivity {
     public void executeAdvice(List<AspectAdviceRule> aspectAdviceRuleList, boolean throwable)
             throws AspectAdviceException {
         if (aspectAdviceRuleList != null && !aspectAdviceRuleList.isEmpty()) {
+            AspectAdviceRuleRegistry owner = null;
             while (true) {
                 AspectAdviceRule target = null;
-                if (executedAspectAdviceRules == null) {
-                    target = aspectAdviceRuleList.get(0);
-                } else {
-                    for (AspectAdviceRule aspectAdviceRule : aspectAdviceRuleList) {
-                        if (!executedAspectAdviceRules.contains(aspectAdviceRule)) {
-                            target = aspectAdviceRule;
-                            break;
+                ReentrantLock lock = lockState();
+                try {
+                    if (owner != null && owner != aspectAdviceRuleRegistry) {
+                        // Advice registered by the executed advice went into a replica
+                        aspectAdviceRuleList = followReplicatedList(owner, aspectAdviceRuleList);
+                    }
+                    owner = aspectAdviceRuleRegistry;
+                    if (executedAspectAdviceRules == null) {
+                        target = aspectAdviceRuleList.get(0);
+                    } else {
+                        for (AspectAdviceRule aspectAdviceRule : aspectAdviceRuleList) {
+                            if (!executedAspectAdviceRules.contains(aspectAdviceRule)) {
+                                target = aspectAdviceRule;
+                                break;
+                            }
                         }
                     }
+                    if (target != null) {
+                        // Claimed here, so that concurrent actions do not execute it again
+                        touchExecutedAspectAdviceRules().add(target);
+                    }
+                } finally {
+                    unlockState(lock);
                 }
                 if (target != null) {
                     executeAdvice(target, throwable);
@@ -223,7 +251,7 @@ public abstract class AdviceActivity extends AbstractActivity {
     @Override
     public void executeAdvice(AspectAdviceRule aspectAdviceRule, boolean throwable) throws AspectAdviceException {
         if (!isAcceptable(aspectAdviceRule.getAspectRule()) || aspectAdviceRule.getAspectRule().isDisabled()) {
-            touchExecutedAspectAdviceRules().add(aspectAdviceRule);
+            markExecuted(aspectAdviceRule);
             return;
         }
 
@@ -244,7 +272,7 @@ public abstract class AdviceActivity extends AbstractActivity {
             }
         }
 
-        touchExecutedAspectAdviceRules().add(aspectAdviceRule);
+        markExecuted(aspectAdviceRule);
 
         Executable action = aspectAdviceRule.getExecutableAction();
         if (action != null) {
@@ -252,8 +280,18 @@ public abstract class AdviceActivity extends AbstractActivity {
                 logger.debug("Advice " + action);
             }
 
-            AspectAdviceRule oldAspectAdviceRule = currentAspectAdviceRule;
-            currentAspectAdviceRule = aspectAdviceRule;
+            CurrentAdvice previousAdvice = currentAdvice.get();
+            currentAdvice.set(new CurrentAdvice(this, aspectAdviceRule, previousAdvice));
+            ExecutionMetrics adviceMetrics = null;
+            long adviceBeginTime = 0L;
+            boolean failed = false;
+            MetricsRegistry metricsRegistry = getActivityContext().getMetricsRegistry();
+            if (metricsRegistry.isEnabled() && aspectAdviceRule.getAspectId() != null) {
+                adviceMetrics = metricsRegistry.getAdviceMetrics(aspectAdviceRule.getAspectId(),
+                        aspectAdviceRule.getAspectAdviceType());
+                adviceBeginTime = adviceMetrics.begin();
+            }
+            Object adviceEvent = FlightRecorderEvents.beginAdvice();
             try {
                 if (action.getActionType() == ActionType.ACTION) {
                     // If Aspect Advice Bean ID is specified
@@ -293,6 +331,7 @@ public abstract class AdviceActivity extends AbstractActivity {
                     }
                 }
             } catch (Exception e) {
+                failed = true;
                 if (aspectAdviceRule.getAspectRule().isIsolated()) {
                     logger.error("Failed to execute an isolated advice action " + aspectAdviceRule, e);
                 } else {
@@ -305,7 +344,19 @@ public abstract class AdviceActivity extends AbstractActivity {
                     }
                 }
             } finally {
-                currentAspectAdviceRule = oldAspectAdviceRule;
+                if (previousAdvice != null) {
+                    currentAdvice.set(previousAdvice);
+                } else {
+                    currentAdvice.remove();
+                }
+                if (adviceMetrics != null) {
+                    adviceMetrics.end(adviceBeginTime, failed);
+                }
+                if (adviceEvent != null) {
+                    FlightRecorderEvents.commitAdvice(adviceEvent,
+                            (getTranslet() != null ? getTranslet().getTransletName() : null),
+                            aspectAdviceRule.getAspectId(), aspectAdviceRule.getAspectAdviceType().toString(), failed);
+                }
             }
         }
     }
@@ -417,25 +468,33 @@ public abstract class AdviceActivity extends AbstractActivity {
     @Override
     @SuppressWarnings("unchecked")
     public <V> V getSetting(String name) {
-        if (settings != null) {
-            Object value = settings.get(name);
-            if (value != null) {
-                return (V)value;
+        Object value = null;
+        boolean evaluable = false;
+        ReentrantLock lock = lockState();
+        try {
+            if (settings != null) {
+                value = settings.get(name);
             }
-        }
-        if (aspectAdviceRuleRegistry != null && aspectAdviceRuleRegistry.getSettingsAdviceRuleList() != null) {
-            for (SettingsAdviceRule settingsAdviceRule : aspectAdviceRuleRegistry.getSettingsAdviceRuleList()) {
-                Object value = settingsAdviceRule.getSetting(name);
-                if (value != null && isAcceptable(settingsAdviceRule.getAspectRule())) {
-                    if (value instanceof String) {
-                        return (V)TokenEvaluator.evaluate((String)value, this);
-                    } else {
-                        return (V)value;
+            if (value == null && aspectAdviceRuleRegistry != null &&
+                    aspectAdviceRuleRegistry.getSettingsAdviceRuleList() != null) {
+                for (SettingsAdviceRule settingsAdviceRule : aspectAdviceRuleRegistry.getSettingsAdviceRuleList()) {
+                    Object setting = settingsAdviceRule.getSetting(name);
+                    if (setting != null && isAcceptable(settingsAdviceRule.getAspectRule())) {
+                        value = setting;
+                        evaluable = true;
+                        break;
                     }
                 }
             }
+        } finally {
+            unlockState(lock);
+        }
+        // Tokens may refer to beans, so they are not evaluated while holding the lock
+        if (evaluable && value instanceof String) {
+            return (V)TokenEvaluator.evaluate((String)value, this);
+        } else {
+            return (V)value;
         }
-        return null;
     }
 
     @Override
@@ -443,10 +502,15 @@ public abstract class AdviceActivity extends AbstractActivity {
         if (StringUtils.isEmpty(name)) {
             throw new IllegalArgumentException("Setting name must not be null or empty");
         }
-        if (settings == null) {
-            settings = new LinkedHashMap<>();
+        ReentrantLock lock = lockState();
+        try {
+            if (settings == null) {
+                settings = new LinkedHashMap<>();
+            }
+            settings.put(name, value);
+        } finally {
+            unlockState(lock);
         }
-        settings.put(name, value);
     }
 
     /**
@@ -457,7 +521,12 @@ public abstract class AdviceActivity extends AbstractActivity {
      */
     @SuppressWarnings("unchecked")
     public <V> V getAspectAdviceBean(String aspectId) {
-        return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAspectAdviceBean(aspectId) : null);
+        ReentrantLock lock = lockState();
+        try {
+            return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAspectAdviceBean(aspectId) : null);
+        } finally {
+            unlockState(lock);
+        }
     }
 
     /**
@@ -466,10 +535,15 @@ public abstract class AdviceActivity extends AbstractActivity {
      * @param adviceBean the advice bean
      */
     protected void putAspectAdviceBean(String aspectId, Object adviceBean) {
-        if (aspectAdviceResult == null) {
-            aspectAdviceResult = new AspectAdviceResult();
+        ReentrantLock lock = lockState();
+        try {
+            if (aspectAdviceResult == null) {
+                aspectAdviceResult = new AspectAdviceResult();
+            }
+            aspectAdviceResult.putAspectAdviceBean(aspectId, adviceBean);
+        } finally {
+            unlockState(lock);
         }
-        aspectAdviceResult.putAspectAdviceBean(aspectId, adviceBean);
     }
 
     /**
@@ -480,7 +554,12 @@ public abstract class AdviceActivity extends AbstractActivity {
      */
     @SuppressWarnings("unchecked")
     public <V> V getBeforeAdviceResult(String aspectId) {
-        return (aspectAdviceResult != null ? (V)aspectAdviceResult.getBeforeAdviceResult(aspectId) : null);
+        ReentrantLock lock = lockState();
+        try {
+            return (aspectAdviceResult != null ? (V)aspectAdviceResult.getBeforeAdviceResult(aspectId) : null);
+        } finally {
+            unlockState(lock);
+        }
     }
 
     /**
@@ -491,7 +570,12 @@ public abstract class AdviceActivity extends AbstractActivity {
      */
     @SuppressWarnings("unchecked")
     public <V> V getAfterAdviceResult(String aspectId) {
-        return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAfterAdviceResult(aspectId) : null);
+        ReentrantLock lock = lockState();
+        try {
+            return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAfterAdviceResult(aspectId) : null);
+        } finally {
+            unlockState(lock);
+        }
     }
 
     /**
@@ -502,7 +586,12 @@ public abstract class AdviceActivity extends AbstractActivity {
      */
     @SuppressWarnings("unchecked")
     public <V> V getAroundAdviceResult(String aspectId) {
-        return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAroundAdviceResult(aspectId) : null);
+        ReentrantLock lock = lockState();
+        try {
+            return (aspectAdviceResult != null ? (V)aspectAdviceResult.getAroundAdviceResult(aspectId) : null);
+        } finally {
+            unlockState(lock);
+        }
     }
 
     /**
@@ -513,7 +602,12 @@ public abstract class AdviceActivity extends AbstractActivity {
      */
     @SuppressWarnings("unchecked")
     public <V> V getFinallyAdviceResult(String aspectId) {
-        return (aspectAdviceResult != null ? (V)aspectAdviceResult.getFinallyAdviceResult(aspectId) : null);
+        ReentrantLock lock = lockState();
+        try {
+            return (aspectAdviceResult != null ? (V)aspectAdviceResult.getFinallyAdviceResult(aspectId) : null);
+        } finally {
+            unlockState(lock);
+        }
     }
 
     /**
@@ -522,19 +616,41 @@ public abstract class AdviceActivity extends AbstractActivity {
      * @param adviceActionResult the advice action result
      */
     protected void putAdviceResult(AspectAdviceRule aspectAdviceRule, Object adviceActionResult) {
-        if (aspectAdviceResult == null) {
-            aspectAdviceResult = new AspectAdviceResult();
+        ReentrantLock lock = lockState();
+        try {
+            if (aspectAdviceResult == null) {
+                aspectAdviceResult = new AspectAdviceResult();
+            }
+            aspectAdviceResult.putAdviceResult(aspectAdviceRule, adviceActionResult);
+        } finally {
+            unlockState(lock);
         }
-        aspectAdviceResult.putAdviceResult(aspectAdviceRule, adviceActionResult);
     }
 
     private AspectAdviceRuleRegistry touchAspectAdviceRuleRegistry() {
         if (aspectAdviceRuleRegistry == null) {
             aspectAdviceRuleRegistry = new AspectAdviceRuleRegistry();
+        } else if (aspectAdviceRuleRegistryShared) {
+            // The registry is shared, so it must be replicated before it is modified
+            aspectAdviceRuleRegistry = aspectAdviceRuleRegistry.replicate();
+            aspectAdviceRuleRegistryShared = false;
         }
         return aspectAdviceRuleRegistry;
     }
 
+    private List<AspectAdviceRule> followReplicatedList(AspectAdviceRuleRegistry previous,
+                                                        List<AspectAdviceRule> aspectAdviceRuleList) {
+        if (aspectAdviceRuleList == previous.getBeforeAdviceRuleList()) {
+            return aspectAdviceRuleRegistry.getBeforeAdviceRuleList();
+        } else if (aspectAdviceRuleList == previous.getAfterAdviceRuleList()) {
+            return aspectAdviceRuleRegistry.getAfterAdviceRuleList();
+        } else if (aspectAdviceRuleList == previous.getFinallyAdviceRuleList()) {
+            return aspectAdviceRuleRegistry.getFinallyAdviceRuleList();
+        } else {
+            return aspectAdviceRuleList;
+        }
+    }
+
     private Set<AspectRule> touchRelevantAspectRules() {
         if (relevantAspectRules == null) {
             relevantAspectRules = new HashSet<>();
@@ -542,6 +658,29 @@ public abstract class AdviceActivity extends AbstractActivity {
         return relevantAspectRules;
     }
 
+    private void markExecuted(AspectAdviceRule aspectAdviceRule) {
+        ReentrantLock lock = lockState();
+        try {
+            touchExecutedAspectAdviceRules().add(aspectAdviceRule);
+        } finally {
+            unlockState(lock);
+        }
+    }
+
+    /**
+     * Returns the advice being executed by this activity on the current thread.
+     * Actions executed in parallel each run their own advice, so it is not
+     * shared through the activity.
+     */
+    private AspectAdviceRule getCurrentAspectAdviceRule() {
+        for (CurrentAdvice advice = currentAdvice.get(); advice != null; advice = advice.previous) {
+            if (advice.activity == this) {
+                return advice.aspectAdviceRule;
+            }
+        }
+        return null;
+    }
+
     private Set<AspectAdviceRule> touchExecutedAspectAdviceRules() {
         if (executedAspectAdviceRules == null) {
             executedAspectAdviceRules = new HashSet<>();
@@ -549,4 +688,23 @@ public abstract class AdviceActivity extends AbstractActivity {
         return executedAspectAdviceRules;
     }
 
+    /**
+     * An advice being executed on a thread.
+     */
+    private static class CurrentAdvice {
+
+        private final AdviceActivity activity;
+
+        private final AspectAdviceRule aspectAdviceRule;
+
+        private final CurrentAdvice previous;
+
+        CurrentAdvice(AdviceActivity activity, AspectAdviceRule aspectAdviceRule, CurrentAdvice previous) {
+            this.activity = activity;
+            this.aspectAdviceRule = aspectAdviceRule;
+            this.previous = previous;
+        }
+
+    }
+
 }
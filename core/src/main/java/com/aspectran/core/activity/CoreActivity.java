@@ -17,6 +17,7 @@ package com.aspectran.core.activity;
 
 import com.aspectran.core.activity.process.ActionList;
 import com.aspectran.core.activity.process.ContentList;
+import com.aspectran.core.activity.process.ParallelActionExecutor;
 import com.aspectran.core.activity.process.action.ActionExecutionException;
 import com.aspectran.core.activity.process.action.Executable;
 import com.aspectran.core.activity.process.result.ActionResult;
@@ -31,6 +32,10 @@ import com.aspectran.core.activity.response.ForwardResponse;
 import com.aspectran.core.activity.response.Response;
 import com.aspectran.core.activity.response.ResponseException;
 import com.aspectran.core.component.bean.scope.Scope;
+import com.aspectran.core.component.metrics.ExecutionMetrics;
+import com.aspectran.core.component.metrics.MetricsRegistry;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
+import com.aspectran.core.component.translet.router.TransletRuleMatch;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.expr.ItemEvaluation;
 import com.aspectran.core.context.expr.ItemEvaluator;
@@ -55,6 +60,19 @@ import com.aspectran.core.support.i18n.locale.LocaleResolver;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Core activity that handles all external requests.
  *
@@ -67,14 +85,38 @@ public class CoreActivity extends AdviceActivity {
 
     private static final Logger logger = LoggerFactory.getLogger(CoreActivity.class);
 
+    /** The default number of milliseconds to wait for pending action results */
+    public static final long DEFAULT_ASYNC_TIMEOUT = 30000L;
+
+    /** The parallel actions the current thread is executing for an activity */
+    private static final ThreadLocal<DetachedActions> currentDetachedActions = new ThreadLocal<>();
+
     private CoreTranslet translet;
 
+    private PathVariableMap pathVariables;
+
     private Response reservedResponse;
 
     private Response desiredResponse;
 
     private boolean committed;
 
+    private List<PendingActionResult> pendingActionResults;
+
+    private boolean asyncStarted;
+
+    private AtomicBoolean asyncResumed;
+
+    private volatile boolean asyncAbandoned;
+
+    private Throwable asyncError;
+
+    private long asyncTimeout = DEFAULT_ASYNC_TIMEOUT;
+
+    private ExecutionMetrics executionMetrics;
+
+    private long executionBeginTime;
+
     /**
      * Instantiates a new CoreActivity.
      * @param context the activity context
@@ -91,12 +133,7 @@ public class CoreActivity extends AdviceActivity {
      */
     public void prepare(String requestName)
             throws TransletNotFoundException, ActivityPrepareException {
-        TransletRule transletRule = getTransletRule(requestName, MethodType.GET);
-        if (transletRule == null) {
-            throw new TransletNotFoundException(requestName, MethodType.GET);
-        }
-
-        prepare(requestName, MethodType.GET, transletRule);
+        prepare(requestName, MethodType.GET);
     }
 
     /**
@@ -115,7 +152,7 @@ public class CoreActivity extends AdviceActivity {
      * @throws ActivityPrepareException thrown when an exception occurs while preparing an activity
      */
     public void prepare(String requestName, TransletRule transletRule) throws ActivityPrepareException {
-        prepare(requestName, MethodType.GET, transletRule);
+        prepare(requestName, MethodType.GET, transletRule, null);
     }
 
     /**
@@ -143,12 +180,37 @@ public class CoreActivity extends AdviceActivity {
             requestMethod = MethodType.GET;
         }
 
-        TransletRule transletRule = getTransletRule(requestName, requestMethod);
-        if (transletRule == null) {
+        Object event = FlightRecorderEvents.beginActivityPhase();
+        TransletRuleMatch transletRuleMatch = getActivityContext().getTransletRuleRegistry()
+                .matchTransletRule(requestName, requestMethod);
+        FlightRecorderEvents.commitActivityPhase(event, FlightRecorderEvents.ROUTING,
+                (transletRuleMatch != null ? transletRuleMatch.getTransletRule().getName() : requestName));
+        if (transletRuleMatch == null) {
             throw new TransletNotFoundException(requestName, requestMethod);
         }
 
-        prepare(requestName, requestMethod, transletRule);
+        prepare(requestName, requestMethod, transletRuleMatch.getTransletRule(),
+                transletRuleMatch.getPathVariables());
+    }
+
+    /**
+     * Prepare for the activity with a translet rule that has already been
+     * resolved by the translet rule registry.
+     * @param requestName the request name
+     * @param requestMethod the request method
+     * @param transletRuleMatch the resolved translet rule
+     * @throws ActivityPrepareException thrown when an exception occurs while preparing an activity
+     */
+    public void prepare(String requestName, MethodType requestMethod, TransletRuleMatch transletRuleMatch)
+            throws ActivityPrepareException {
+        if (transletRuleMatch == null) {
+            throw new IllegalArgumentException("transletRuleMatch must not be null");
+        }
+        if (requestMethod == null) {
+            requestMethod = MethodType.GET;
+        }
+        prepare(requestName, requestMethod, transletRuleMatch.getTransletRule(),
+                transletRuleMatch.getPathVariables());
     }
 
     /**
@@ -157,10 +219,13 @@ public class CoreActivity extends AdviceActivity {
      * @param requestName the request name
      * @param requestMethod the request method
      * @param transletRule the translet rule
+     * @param pathVariables the path variables captured while routing,
+     *      or {@code null} if they have not been captured
      */
-    private void prepare(String requestName, MethodType requestMethod, TransletRule transletRule)
-            throws ActivityPrepareException {
+    private void prepare(String requestName, MethodType requestMethod, TransletRule transletRule,
+                         PathVariableMap pathVariables) throws ActivityPrepareException {
         Translet parentTranslet = translet;
+        Object event = FlightRecorderEvents.beginActivityPhase();
         try {
             if (logger.isDebugEnabled()) {
                 logger.debug("Translet " + transletRule);
@@ -172,6 +237,7 @@ public class CoreActivity extends AdviceActivity {
             if (parentTranslet != null) {
                 translet.setParentTranslet(parentTranslet);
             }
+            this.pathVariables = pathVariables;
 
             MethodType allowedMethod = getRequestRule().getAllowedMethod();
             if (allowedMethod != null && !allowedMethod.equals(requestMethod)) {
@@ -181,6 +247,8 @@ public class CoreActivity extends AdviceActivity {
             prepareAspectAdviceRule(transletRule, requestName);
         } catch (Exception e) {
             throw new ActivityPrepareException("Failed to prepare activity for translet " + transletRule, e);
+        } finally {
+            commitPhaseEvent(event, FlightRecorderEvents.PREPARE);
         }
     }
 
@@ -210,20 +278,34 @@ public class CoreActivity extends AdviceActivity {
     public <V> V perform(InstantAction<V> instantAction) throws ActivityPerformException {
         V result = null;
         ForwardRule forwardRule = null;
+        boolean suspended = false;
+        boolean failed = false;
+        if (executionMetrics == null && translet != null) {
+            MetricsRegistry metricsRegistry = getActivityContext().getMetricsRegistry();
+            if (metricsRegistry.isEnabled()) {
+                executionMetrics = metricsRegistry.getTransletMetrics(getTransletRule().getName());
+                executionBeginTime = executionMetrics.begin();
+            }
+        }
         try {
-            if (translet == null || !translet.hasParentTranslet()) {
-                saveCurrentActivity();
-                adapt();
-                parseRequest();
-            }
-
-            if (translet != null) {
-                parseDeclaredParameters();
-                parseDeclaredAttributes();
-                parsePathVariables();
-                if (!translet.hasParentTranslet()) {
-                    resolveLocale();
+            Object event = FlightRecorderEvents.beginActivityPhase();
+            try {
+                if (translet == null || !translet.hasParentTranslet()) {
+                    saveCurrentActivity();
+                    adapt();
+                    parseRequest();
                 }
+
+                if (translet != null) {
+                    parseDeclaredParameters();
+                    parseDeclaredAttributes();
+                    parsePathVariables();
+                    if (!translet.hasParentTranslet()) {
+                        resolveLocale();
+                    }
+                }
+            } finally {
+                commitPhaseEvent(event, FlightRecorderEvents.PARSE_REQUEST);
             }
 
             try {
@@ -235,6 +317,15 @@ public class CoreActivity extends AdviceActivity {
                         produce();
                     }
 
+                    if (pendingActionResults != null) {
+                        if (instantAction == null && suspend()) {
+                            suspended = true;
+                            return null;
+                        }
+                        awaitPendingActionResults();
+                        applyPendingActionResults();
+                    }
+
                     forwardRule = response();
                     if (forwardRule != null) {
                         return forward(forwardRule, instantAction);
@@ -250,13 +341,14 @@ public class CoreActivity extends AdviceActivity {
             } catch (Exception e) {
                 setRaisedException(e);
             } finally {
-                if (forwardRule == null) {
+                if (forwardRule == null && !suspended) {
                     setCurrentAspectAdviceType(AspectAdviceType.FINALLY);
                     executeAdvice(getFinallyAdviceRuleList(), false);
                 }
             }
 
             if (isExceptionRaised()) {
+                failed = true;
                 setCurrentAspectAdviceType(AspectAdviceType.THROWN);
                 exception();
                 if (translet != null) {
@@ -271,39 +363,270 @@ public class CoreActivity extends AdviceActivity {
         } catch (ActivityTerminatedException e) {
             throw e;
         } catch (Throwable e) {
+            failed = true;
             throw new ActivityPerformException("Failed to perform the activity", e);
         } finally {
-            if (forwardRule == null) {
-                finish();
+            if (forwardRule == null && !suspended) {
+                finish(failed);
             }
         }
         return result;
     }
 
     /**
-     * Produce the result of the content and its subordinate actions.
+     * Suspends this activity until all pending action results are completed,
+     * releasing the current thread. The rest of the activity, including the
+     * response and the AFTER and FINALLY advice, is performed on resumption.
+     * @return true if the activity has been suspended; false if asynchronous
+     *      processing is not available, in which case the pending action results
+     *      must be awaited on the current thread
      */
-    private void produce() throws ActionExecutionException {
-        ContentList contentList = getTransletRule().getContentList();
-        if (contentList != null) {
-            ProcessResult processResult = translet.getProcessResult();
-            if (processResult == null) {
-                processResult = new ProcessResult(contentList.size());
-                processResult.setName(contentList.getName());
-                processResult.setExplicit(contentList.isExplicit());
-                translet.setProcessResult(processResult);
+    private boolean suspend() {
+        if (!startAsync()) {
+            return false;
+        }
+        asyncStarted = true;
+        asyncResumed = new AtomicBoolean();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Suspending activity until " + pendingActionResults.size() +
+                    " pending action result(s) are completed");
+        }
+        CompletableFuture<Void> completion = allOfPendingActionResults();
+        if (asyncTimeout > 0L) {
+            completion = completion.orTimeout(asyncTimeout, TimeUnit.MILLISECONDS);
+        }
+        CompletableFuture<Void> pending = completion;
+        removeCurrentActivity();
+        awaitAsync(() -> pending.whenComplete((r, ex) -> {
+            try {
+                resumeAsync(this::resume);
+            } catch (Throwable e) {
+                logger.error("Unable to resume the suspended activity", e);
+                abandonAsync(e);
             }
-            for (ActionList actionList : contentList) {
-                execute(actionList);
-                if (isResponseReserved()) {
-                    break;
+        }));
+        return true;
+    }
+
+    /**
+     * Resumes the suspended activity once all pending action results are
+     * completed, unless it has already been abandoned.
+     */
+    private void resume() {
+        if (!asyncResumed.compareAndSet(false, true)) {
+            return;
+        }
+        ForwardRule forwardRule = null;
+        boolean failed = false;
+        saveCurrentActivity();
+        try {
+            try {
+                applyPendingActionResults();
+
+                forwardRule = response();
+                if (forwardRule != null) {
+                    forward(forwardRule, null);
+                    return;
                 }
+
+                setCurrentAspectAdviceType(AspectAdviceType.AFTER);
+                executeAdvice(getAfterAdviceRuleList(), true);
+            } catch (Exception e) {
+                setRaisedException(e);
+            } finally {
+                if (forwardRule == null) {
+                    setCurrentAspectAdviceType(AspectAdviceType.FINALLY);
+                    executeAdvice(getFinallyAdviceRuleList(), false);
+                }
+            }
+
+            if (isExceptionRaised()) {
+                failed = true;
+                setCurrentAspectAdviceType(AspectAdviceType.THROWN);
+                exception();
+                response();
+                if (isExceptionRaised()) {
+                    throw getRaisedException();
+                }
+            }
+
+            setCurrentAspectAdviceType(null);
+        } catch (Throwable e) {
+            logger.error("Failed to perform the activity", e);
+            asyncError = e;
+            failed = true;
+        } finally {
+            if (forwardRule == null) {
+                finish(failed);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> allOfPendingActionResults() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[pendingActionResults.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = pendingActionResults.get(i).getStage().toCompletableFuture();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Waits on the current thread until all pending action results are
+     * completed or the asynchronous timeout has elapsed.
+     */
+    private void awaitPendingActionResults() {
+        try {
+            if (asyncTimeout > 0L) {
+                allOfPendingActionResults().get(asyncTimeout, TimeUnit.MILLISECONDS);
+            } else {
+                allOfPendingActionResults().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // reported for each action result when it is applied
+        }
+    }
+
+    private void applyPendingActionResults() throws ActionExecutionException {
+        List<PendingActionResult> pendingActionResults = this.pendingActionResults;
+        this.pendingActionResults = null;
+        for (PendingActionResult pendingActionResult : pendingActionResults) {
+            Executable action = pendingActionResult.getAction();
+            CompletableFuture<?> future = pendingActionResult.getStage().toCompletableFuture();
+            if (!future.isDone()) {
+                TimeoutException cause = new TimeoutException("The result of action " + action +
+                        " was not completed within " + asyncTimeout + " ms");
+                setRaisedException(cause);
+                throw new ActionExecutionException("Failed to execute action " + action, cause);
+            }
+            Object resultValue;
+            try {
+                resultValue = future.join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = (e.getCause() != null ? e.getCause() : e);
+                setRaisedException(cause);
+                throw new ActionExecutionException("Failed to execute action " + action, cause);
             }
+            ActionResult actionResult = pendingActionResult.getActionResult();
+            if (actionResult != null) {
+                actionResult.setResultValue(action.getActionId(), resultValue);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of milliseconds to wait for pending action results
+     * before they are failed with a {@link TimeoutException}.
+     * @return the asynchronous timeout in milliseconds; 0 or less for no timeout
+     */
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * Sets the number of milliseconds to wait for pending action results
+     * before they are failed with a {@link TimeoutException}.
+     * The default is {@value #DEFAULT_ASYNC_TIMEOUT} milliseconds.
+     * @param asyncTimeout the asynchronous timeout in milliseconds; 0 or less for no timeout
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Puts the activity into asynchronous mode so that the response can be
+     * completed after the thread that performed the activity has returned.
+     * @return true if asynchronous mode has been started; false if it is not
+     *      supported by this activity
+     */
+    protected boolean startAsync() {
+        return false;
+    }
+
+    /**
+     * Runs the given task, which registers the callback that resumes the
+     * activity once all pending action results are completed. Subclasses
+     * must not run it before the thread that suspended the activity has
+     * returned control to the container, since the callback may run at once.
+     * By default, the task is run immediately.
+     * @param registration the task that registers the completion callback
+     */
+    protected void awaitAsync(Runnable registration) {
+        registration.run();
+    }
+
+    /**
+     * Runs the given task to resume the activity after asynchronous action
+     * results are completed. By default, the task is run on the thread that
+     * completed the last pending action result. If this method throws an
+     * exception, the activity is abandoned with that exception.
+     * @param task the task that resumes the activity
+     */
+    protected void resumeAsync(Runnable task) {
+        task.run();
+    }
+
+    /**
+     * Completes the asynchronous mode after the activity has been finished
+     * or abandoned.
+     * @param cause the exception thrown while performing the resumed activity,
+     *      or the reason it was abandoned; {@code null} if it was performed successfully
+     */
+    protected void completeAsync(@Nullable Throwable cause) {
+    }
+
+    /**
+     * Gives up a suspended activity that has not been resumed yet, for example
+     * because the container timed out the asynchronous request or the resume
+     * task could not be scheduled. The activity is finished without touching
+     * the response any further, and will not be resumed afterwards.
+     * @param cause the reason the activity is abandoned
+     * @return true if the activity has been abandoned; false if it has
+     *      already been resumed or abandoned
+     */
+    protected boolean abandonAsync(Throwable cause) {
+        if (asyncResumed == null || !asyncResumed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Abandoning the suspended activity: " + cause);
         }
+        asyncAbandoned = true;
+        asyncError = cause;
+        finish(true);
+        return true;
+    }
+
+    /**
+     * Produce the result of the content and its subordinate actions.
+     */
+    private void produce() throws ActionExecutionException {
+        Object event = FlightRecorderEvents.beginActivityPhase();
+        try {
+            ContentList contentList = getTransletRule().getContentList();
+            if (contentList != null) {
+                ProcessResult processResult = translet.getProcessResult();
+                if (processResult == null) {
+                    processResult = new ProcessResult(contentList.size());
+                    processResult.setName(contentList.getName());
+                    processResult.setExplicit(contentList.isExplicit());
+                    translet.setProcessResult(processResult);
+                }
+                for (ActionList actionList : contentList) {
+                    execute(actionList);
+                    if (isResponseReserved()) {
+                        break;
+                    }
+                }
+            }
 
-        ActionList actionList = getResponseRule().getActionList();
-        if (actionList != null) {
-            execute(actionList);
+            ActionList actionList = getResponseRule().getActionList();
+            if (actionList != null) {
+                execute(actionList);
+            }
+        } finally {
+            commitPhaseEvent(event, FlightRecorderEvents.PRODUCE);
         }
     }
 
@@ -316,7 +639,12 @@ public class CoreActivity extends AdviceActivity {
 
         Response res = getResponse();
         if (res != null) {
-            res.commit(this);
+            Object event = FlightRecorderEvents.beginActivityPhase();
+            try {
+                res.commit(this);
+            } finally {
+                commitPhaseEvent(event, FlightRecorderEvents.RESPONSE);
+            }
             if (isExceptionRaised()) {
                 clearRaisedException();
             }
@@ -328,6 +656,19 @@ public class CoreActivity extends AdviceActivity {
         return null;
     }
 
+    /**
+     * Commits a Flight Recorder event for a phase of this activity
+     * if the event is enabled and exceeds its threshold.
+     * @param event the event that has begun
+     * @param phase the name of the phase
+     */
+    private void commitPhaseEvent(Object event, String phase) {
+        if (event != null) {
+            FlightRecorderEvents.commitActivityPhase(event, phase,
+                    (translet != null ? translet.getTransletName() : null));
+        }
+    }
+
     private <V> V forward(ForwardRule forwardRule, InstantAction<V> instantAction)
             throws TransletNotFoundException, ActivityPrepareException, ActivityPerformException {
         if (logger.isDebugEnabled()) {
@@ -363,7 +704,7 @@ public class CoreActivity extends AdviceActivity {
     protected void release() {
     }
 
-    private void finish() {
+    private void finish(boolean failed) {
         try {
             Scope requestScope = getRequestAdapter().getRequestScope(false);
             if (requestScope != null) {
@@ -372,13 +713,20 @@ public class CoreActivity extends AdviceActivity {
 
             release();
 
-            if (getResponseAdapter() != null) {
+            if (getResponseAdapter() != null && !asyncAbandoned) {
                 getResponseAdapter().flush();
             }
         } catch (Exception e) {
             logger.error("An error was detected while finishing an activity", e);
         } finally {
             removeCurrentActivity();
+            if (executionMetrics != null) {
+                executionMetrics.end(executionBeginTime, failed);
+                executionMetrics = null;
+            }
+            if (asyncStarted) {
+                completeAsync(asyncError);
+            }
         }
     }
 
@@ -402,6 +750,10 @@ public class CoreActivity extends AdviceActivity {
                 }
             }
         }
+        if (actionList.isParallel() && actionList.size() > 1) {
+            executeInParallel(actionList, contentResult);
+            return;
+        }
         for (Executable action : actionList) {
             execute(action, contentResult);
             if (isResponseReserved()) {
@@ -410,6 +762,111 @@ public class CoreActivity extends AdviceActivity {
         }
     }
 
+    /**
+     * Executes the actions concurrently and adds their results in declaration order.
+     * Choose actions may reserve a response, so they are executed in turn
+     * on the current thread.
+     * @param actionList the action list
+     * @param contentResult the content result
+     */
+    private void executeInParallel(ActionList actionList, ContentResult contentResult)
+            throws ActionExecutionException {
+        guardState();
+        if (getRequestAdapter() != null) {
+            getRequestAdapter().getRequestScope().enableScopeLock();
+        }
+        DetachedActions detachedActions = new DetachedActions();
+        List<Future<Object>> futures = new ArrayList<>(actionList.size());
+        for (Executable action : actionList) {
+            if (action.getActionType() == ActionType.CHOOSE) {
+                futures.add(null);
+            } else {
+                futures.add(ParallelActionExecutor.submit(() -> detachedActions.execute(action)));
+            }
+        }
+        Long timeout = actionList.getTimeout();
+        long deadline = (timeout != null ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0L);
+        try {
+            for (int i = 0; i < actionList.size(); i++) {
+                Executable action = actionList.get(i);
+                Future<Object> future = futures.get(i);
+                if (future == null) {
+                    execute(action, contentResult);
+                    if (isResponseReserved()) {
+                        break;
+                    }
+                    continue;
+                }
+                Object resultValue;
+                try {
+                    if (timeout != null) {
+                        resultValue = future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+                    } else {
+                        resultValue = future.get();
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = (e.getCause() != null ? e.getCause() : e);
+                    setRaisedException(cause);
+                    throw new ActionExecutionException("Failed to execute action " + action, cause);
+                } catch (TimeoutException e) {
+                    setRaisedException(e);
+                    throw new ActionExecutionException("Timed out after " + timeout +
+                            " ms waiting for action " + action, e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    setRaisedException(e);
+                    throw new ActionExecutionException("Interrupted while waiting for action " + action, e);
+                }
+                addActionResult(action, contentResult, resultValue);
+            }
+        } finally {
+            for (Future<Object> future : futures) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+            // Actions still running from now on fail as soon as they access the activity state
+            detachedActions.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException if called from an action executed in parallel
+     *      after this activity has proceeded without it, e.g. on timeout
+     */
+    @Override
+    protected ReentrantLock lockState() {
+        DetachedActions detachedActions = currentDetachedActions.get();
+        if (detachedActions != null && detachedActions.isClosedFor(this)) {
+            throw new IllegalStateException("Activity has already proceeded without this action");
+        }
+        return super.lockState();
+    }
+
+    /**
+     * Executes an action on a thread other than the one performing this activity.
+     * @param action the executable action
+     * @return the result of the action
+     */
+    private Object executeDetached(Executable action) throws Exception {
+        ActivityContext context = getActivityContext();
+        Activity previousActivity = (context.hasCurrentActivity() ? context.getCurrentActivity() : null);
+        context.setCurrentActivity(this);
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Action " + action);
+            }
+            return action.execute(this);
+        } finally {
+            if (previousActivity != null) {
+                context.setCurrentActivity(previousActivity);
+            } else {
+                context.removeCurrentActivity();
+            }
+        }
+    }
+
     /**
      * Execute an action.
      * @param action the executable action
@@ -433,13 +890,7 @@ public class CoreActivity extends AdviceActivity {
                 }
             } else {
                 Object resultValue = action.execute(this);
-                if (!action.isHidden() && contentResult != null && resultValue != ActionResult.NO_RESULT) {
-                    if (resultValue instanceof ProcessResult) {
-                        contentResult.addActionResult(action, (ProcessResult)resultValue);
-                    } else {
-                        contentResult.addActionResult(action, resultValue);
-                    }
-                }
+                addActionResult(action, contentResult, resultValue);
             }
         } catch (ActionExecutionException e) {
             logger.error("Failed to execute action " + action, e);
@@ -450,6 +901,37 @@ public class CoreActivity extends AdviceActivity {
         }
     }
 
+    private void addActionResult(Executable action, ContentResult contentResult, Object resultValue) {
+        if (resultValue instanceof CompletionStage<?>) {
+            addPendingActionResult(action, (!action.isHidden() ? contentResult : null),
+                    (CompletionStage<?>)resultValue);
+        } else if (!action.isHidden() && contentResult != null && resultValue != ActionResult.NO_RESULT) {
+            if (resultValue instanceof ProcessResult) {
+                contentResult.addActionResult(action, (ProcessResult)resultValue);
+            } else {
+                contentResult.addActionResult(action, resultValue);
+            }
+        }
+    }
+
+    /**
+     * Holds the place of an action result that is not yet completed, so that
+     * the result order of the content is preserved.
+     */
+    private void addPendingActionResult(Executable action, ContentResult contentResult,
+                                        CompletionStage<?> stage) {
+        ActionResult actionResult = null;
+        if (contentResult != null) {
+            actionResult = new ActionResult();
+            actionResult.setResultValue(action.getActionId(), null);
+            contentResult.addActionResult(actionResult);
+        }
+        if (pendingActionResults == null) {
+            pendingActionResults = new ArrayList<>();
+        }
+        pendingActionResults.add(new PendingActionResult(action, actionResult, stage));
+    }
+
     @Override
     public ExceptionThrownRule handleException(ExceptionRule exceptionRule) throws ActionExecutionException {
         ExceptionThrownRule exceptionThrownRule = super.handleException(exceptionRule);
@@ -513,10 +995,6 @@ public class CoreActivity extends AdviceActivity {
         }
     }
 
-    private TransletRule getTransletRule(String transletName, MethodType requestMethod) {
-        return getActivityContext().getTransletRuleRegistry().getTransletRule(transletName, requestMethod);
-    }
-
     /**
      * Returns the translet rule.
      * @return the translet rule
@@ -644,11 +1122,86 @@ public class CoreActivity extends AdviceActivity {
     private void parsePathVariables() {
         Token[] nameTokens = getTransletRule().getNameTokens();
         if (nameTokens != null && !(nameTokens.length == 1 && nameTokens[0].getType() == TokenType.TEXT)) {
-            PathVariableMap pathVariables = PathVariableMap.parse(nameTokens, translet.getRequestName());
+            PathVariableMap pathVariables = this.pathVariables;
+            if (pathVariables == null) {
+                pathVariables = PathVariableMap.parse(nameTokens, translet.getRequestName());
+            }
             if (pathVariables != null) {
                 pathVariables.applyTo(translet);
             }
         }
     }
 
+    /**
+     * Keeps track of the actions executed on other threads, so that an action
+     * still running when the activity has proceeded without it can no longer
+     * touch the state of the activity.
+     */
+    private class DetachedActions {
+
+        private volatile boolean closed;
+
+        Object execute(Executable action) throws Exception {
+            if (closed) {
+                throw new CancellationException("Action was cancelled before execution: " + action);
+            }
+            DetachedActions previous = currentDetachedActions.get();
+            currentDetachedActions.set(this);
+            try {
+                return executeDetached(action);
+            } finally {
+                if (previous != null) {
+                    currentDetachedActions.set(previous);
+                } else {
+                    currentDetachedActions.remove();
+                }
+            }
+        }
+
+        boolean isClosedFor(CoreActivity activity) {
+            return (closed && CoreActivity.this == activity);
+        }
+
+        /**
+         * Closes without waiting for the actions that are still running,
+         * since actions that ignore interruption could otherwise block
+         * the activity well beyond its timeout.
+         */
+        void close() {
+            closed = true;
+        }
+
+    }
+
+    /**
+     * An action result to be completed asynchronously.
+     */
+    private static class PendingActionResult {
+
+        private final Executable action;
+
+        private final ActionResult actionResult;
+
+        private final CompletionStage<?> stage;
+
+        PendingActionResult(Executable action, ActionResult actionResult, CompletionStage<?> stage) {
+            this.action = action;
+            this.actionResult = actionResult;
+            this.stage = stage;
+        }
+
+        Executable getAction() {
+            return action;
+        }
+
+        ActionResult getActionResult() {
+            return actionResult;
+        }
+
+        CompletionStage<?> getStage() {
+            return stage;
+        }
+
+    }
+
 }
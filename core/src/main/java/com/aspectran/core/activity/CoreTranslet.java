@@ -42,6 +42,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The Class CoreTranslet.
@@ -144,12 +145,17 @@ public class CoreTranslet extends AbstractTranslet {
 
     @Override
     public ActivityData getActivityData() {
-        if (activityData == null) {
-            activityData = new ActivityData(activity);
-        } else {
-            activityData.refresh();
+        ReentrantLock lock = activity.lockState();
+        try {
+            if (activityData == null) {
+                activityData = new ActivityData(activity);
+            } else {
+                activityData.refresh();
+            }
+            return activityData;
+        } finally {
+            AbstractActivity.unlockState(lock);
         }
-        return activityData;
     }
 
     @Override
@@ -26,9 +26,12 @@ import com.aspectran.core.context.rule.AnnotatedActionRule;
 import com.aspectran.core.context.rule.ChooseRule;
 import com.aspectran.core.context.rule.EchoActionRule;
 import com.aspectran.core.context.rule.HeaderActionRule;
+import com.aspectran.core.context.rule.IllegalRuleException;
 import com.aspectran.core.context.rule.IncludeActionRule;
 import com.aspectran.core.context.rule.InvokeActionRule;
 import com.aspectran.core.context.rule.ability.ActionRuleApplicable;
+import com.aspectran.core.util.BooleanUtils;
+import com.aspectran.core.util.StringUtils;
 import com.aspectran.core.util.ToStringBuilder;
 
 import java.util.ArrayList;
@@ -46,6 +49,10 @@ public class ActionList extends ArrayList<Executable> implements ActionRuleAppli
 
     private String name;
 
+    private Boolean parallel;
+
+    private Long timeout;
+
     public ActionList(boolean explicit) {
         super(5);
 
@@ -64,6 +71,35 @@ public class ActionList extends ArrayList<Executable> implements ActionRuleAppli
         this.name = name;
     }
 
+    /**
+     * Returns whether the actions are executed concurrently.
+     * @return true if the actions are executed concurrently
+     */
+    public boolean isParallel() {
+        return BooleanUtils.toBoolean(parallel);
+    }
+
+    public Boolean getParallel() {
+        return parallel;
+    }
+
+    public void setParallel(Boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds to wait for all concurrently
+     * executed actions to complete.
+     * @return the timeout in milliseconds, or {@code null} to wait indefinitely
+     */
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+
     @Override
     public Executable applyActionRule(HeaderActionRule headerActionRule) {
         Executable action = new HeaderAction(headerActionRule);
@@ -115,6 +151,8 @@ public class ActionList extends ArrayList<Executable> implements ActionRuleAppli
     public String toString() {
         ToStringBuilder tsb = new ToStringBuilder();
         tsb.append("name", name);
+        tsb.append("parallel", parallel);
+        tsb.append("timeout", timeout);
         tsb.append("actions", this);
         return tsb.toString();
     }
@@ -125,4 +163,18 @@ public class ActionList extends ArrayList<Executable> implements ActionRuleAppli
         return actionList;
     }
 
+    public static ActionList newInstance(String name, Boolean parallel, String timeout)
+            throws IllegalRuleException {
+        ActionList actionList = newInstance(name);
+        actionList.setParallel(parallel);
+        if (!StringUtils.isEmpty(timeout)) {
+            try {
+                actionList.setTimeout(Long.parseLong(timeout));
+            } catch (NumberFormatException e) {
+                throw new IllegalRuleException("The 'timeout' attribute of the 'content' element is not a valid long");
+            }
+        }
+        return actionList;
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity.process;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded executor shared by all contents whose actions are executed concurrently.
+ *
+ * <p>The maximum number of threads defaults to four times the number of
+ * available processors, and can be changed with the system property
+ * {@code aspectran.parallelActions.maxThreads}. When all threads are busy,
+ * the action is executed on the calling thread, so nested parallel contents
+ * can never wait for a thread that is not going to be available.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public abstract class ParallelActionExecutor {
+
+    public static final String MAX_THREADS_PROPERTY_NAME = "aspectran.parallelActions.maxThreads";
+
+    private static final ThreadPoolExecutor executor;
+
+    static {
+        int maxThreads = Integer.getInteger(MAX_THREADS_PROPERTY_NAME,
+                Runtime.getRuntime().availableProcessors() * 4);
+        executor = new ThreadPoolExecutor(
+                0,
+                Math.max(maxThreads, 1),
+                60L,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new ParallelActionThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Submits an action to be executed concurrently.
+     * @param <V> the type of the action result
+     * @param task the task that executes the action
+     * @return a future representing the pending result of the action
+     */
+    public static <V> Future<V> submit(Callable<V> task) {
+        return executor.submit(task);
+    }
+
+    private static class ParallelActionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "parallel-action-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
@@ -26,6 +26,7 @@ import com.aspectran.core.adapter.ResponseAdapter;
 import com.aspectran.core.context.rule.TemplateRule;
 import com.aspectran.core.context.rule.TransformRule;
 import com.aspectran.core.context.rule.type.ContentType;
+import com.aspectran.core.util.thread.AutoLock;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
@@ -59,6 +60,8 @@ public class XslTransformResponse extends TransformResponse {
 
     private final TemplateRule templateRule;
 
+    private final AutoLock lock = new AutoLock();
+
     private Templates templates;
 
     private String contentType;
@@ -130,7 +133,7 @@ public class XslTransformResponse extends TransformResponse {
             } else {
                 long lastModifiedTime = file.lastModified();
                 if (lastModifiedTime > this.templateLastModifiedTime) {
-                    synchronized (this) {
+                    try (AutoLock ignored = lock.lock()) {
                         lastModifiedTime = file.lastModified();
                         if (lastModifiedTime > this.templateLastModifiedTime) {
                             this.templates = createTemplates(file);
@@ -147,7 +150,7 @@ public class XslTransformResponse extends TransformResponse {
                 determineOutputStyle();
             } else {
                 if (!this.templateLoaded) {
-                    synchronized (this) {
+                    try (AutoLock ignored = lock.lock()) {
                         if (!this.templateLoaded) {
                             ClassLoader classLoader = applicationAdapter.getClassLoader();
                             this.templates = createTemplates(Objects.requireNonNull(classLoader.getResource(templateResource)));
@@ -163,7 +166,7 @@ public class XslTransformResponse extends TransformResponse {
                 determineOutputStyle();
             } else {
                 if (!this.templateLoaded) {
-                    synchronized (this) {
+                    try (AutoLock ignored = lock.lock()) {
                         if (!this.templateLoaded) {
                             this.templates = createTemplates(new URL(templateUrl));
                             determineOutputStyle();
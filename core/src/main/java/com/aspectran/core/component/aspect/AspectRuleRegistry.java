@@ -20,7 +20,9 @@ import com.aspectran.core.component.aspect.pointcut.Pointcut;
 import com.aspectran.core.component.aspect.pointcut.PointcutPattern;
 import com.aspectran.core.context.rule.AspectRule;
 import com.aspectran.core.context.rule.IllegalRuleException;
+import com.aspectran.core.context.rule.TransletRule;
 import com.aspectran.core.context.rule.type.JoinpointTargetType;
+import com.aspectran.core.util.SystemUtils;
 import com.aspectran.core.util.cache.Cache;
 import com.aspectran.core.util.cache.ConcurrentReferenceCache;
 import com.aspectran.core.util.logging.Logger;
@@ -31,6 +33,8 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.aspectran.core.util.ConcurrentReferenceHashMap.ReferenceType;
 
@@ -41,6 +45,16 @@ public class AspectRuleRegistry extends AbstractComponent {
 
     private static final Logger logger = LoggerFactory.getLogger(AspectRuleRegistry.class);
 
+    /**
+     * The name of the system property to specify the maximum number of distinct
+     * combinations of aspect rules whose aspect advice rules are cached for
+     * translets with path variables.
+     */
+    public static final String TRANSLET_ADVICE_CACHE_CAPACITY_PROPERTY_NAME =
+            "com.aspectran.core.component.aspect.transletAdviceCacheCapacity";
+
+    private static final int DEFAULT_TRANSLET_ADVICE_CACHE_CAPACITY = 1024;
+
     private static final RelevantAspectRuleHolder EMPTY_HOLDER = new RelevantAspectRuleHolder();
 
     private final Cache<PointcutPattern, RelevantAspectRuleHolder> softCache =
@@ -49,8 +63,24 @@ public class AspectRuleRegistry extends AbstractComponent {
     private final Cache<PointcutPattern, RelevantAspectRuleHolder> weakCache =
             new ConcurrentReferenceCache<>(ReferenceType.WEAK, this::createRelevantAspectRuleHolder);
 
+    private final Map<TransletRule, TransletAdviceResolver> transletAdviceResolvers =
+            new ConcurrentHashMap<>();
+
+    private final Map<List<AspectRule>, RelevantAspectRuleHolder> transletAdviceSnapshots =
+            new ConcurrentHashMap<>();
+
+    private final int transletAdviceCacheCapacity = determineTransletAdviceCacheCapacity();
+
+    private final LongAdder transletAdviceCacheHits = new LongAdder();
+
+    private final LongAdder transletAdviceCacheMisses = new LongAdder();
+
+    private final LongAdder transletAdviceCacheOverflows = new LongAdder();
+
     private final Map<String, AspectRule> aspectRuleMap = new LinkedHashMap<>();
 
+    private volatile List<AspectRule> transletRelevantAspectRules;
+
     public AspectRuleRegistry() {
     }
 
@@ -75,6 +105,9 @@ public class AspectRuleRegistry extends AbstractComponent {
             throw new IllegalRuleException("Cannot add AspectRule due to duplicate Aspect ID: " +
                     aspectRule.getId());
         }
+        transletRelevantAspectRules = null;
+        transletAdviceResolvers.clear();
+        transletAdviceSnapshots.clear();
 
         if (logger.isTraceEnabled()) {
             logger.trace("add AspectRule " + aspectRule);
@@ -89,6 +122,9 @@ public class AspectRuleRegistry extends AbstractComponent {
     @Override
     protected void doDestroy() {
         aspectRuleMap.clear();
+        transletAdviceResolvers.clear();
+        transletAdviceSnapshots.clear();
+        transletRelevantAspectRules = null;
     }
 
     public RelevantAspectRuleHolder getRelevantAspectRuleHolderFromSoftCache(PointcutPattern pointcutPattern) {
@@ -99,6 +135,109 @@ public class AspectRuleRegistry extends AbstractComponent {
         return weakCache.get(pointcutPattern);
     }
 
+    /**
+     * Returns the aspect advice rules relevant to the given request name of
+     * a translet whose name contains path variables. The aspect advice rule
+     * registry of the returned holder is shared and must not be modified.
+     * @param transletRule the translet rule
+     * @param requestName the request name
+     * @return the relevant aspect rule holder
+     */
+    public RelevantAspectRuleHolder getRelevantAspectRuleHolder(TransletRule transletRule, String requestName) {
+        TransletAdviceResolver resolver = transletAdviceResolvers.get(transletRule);
+        if (resolver == null) {
+            resolver = transletAdviceResolvers.computeIfAbsent(transletRule, rule ->
+                    new TransletAdviceResolver(rule, getTransletRelevantAspectRules()));
+        }
+        return getRelevantAspectRuleHolder(resolver.resolve(requestName));
+    }
+
+    /**
+     * Returns the number of times the aspect advice rules relevant to
+     * a request name were found in the cache.
+     * @return the hit count
+     */
+    public long getTransletAdviceCacheHitCount() {
+        return transletAdviceCacheHits.sum();
+    }
+
+    /**
+     * Returns the number of times the aspect advice rules relevant to
+     * a request name had to be created.
+     * @return the miss count
+     */
+    public long getTransletAdviceCacheMissCount() {
+        return transletAdviceCacheMisses.sum();
+    }
+
+    /**
+     * Returns the number of times the aspect advice rules relevant to
+     * a request name were not cached because the cache was full.
+     * @return the overflow count
+     */
+    public long getTransletAdviceCacheOverflowCount() {
+        return transletAdviceCacheOverflows.sum();
+    }
+
+    private RelevantAspectRuleHolder getRelevantAspectRuleHolder(List<AspectRule> aspectRules) {
+        if (aspectRules.isEmpty()) {
+            return EMPTY_HOLDER;
+        }
+        // Request names relevant to the same aspect rules share the same snapshot
+        RelevantAspectRuleHolder holder = transletAdviceSnapshots.get(aspectRules);
+        if (holder != null) {
+            transletAdviceCacheHits.increment();
+            return holder;
+        }
+        transletAdviceCacheMisses.increment();
+        if (transletAdviceSnapshots.size() >= transletAdviceCacheCapacity) {
+            transletAdviceCacheOverflows.increment();
+            return createRelevantAspectRuleHolder(aspectRules);
+        }
+        return transletAdviceSnapshots.computeIfAbsent(aspectRules, this::createRelevantAspectRuleHolder);
+    }
+
+    private RelevantAspectRuleHolder createRelevantAspectRuleHolder(List<AspectRule> aspectRules) {
+        AspectAdviceRulePostRegister postRegister = new AspectAdviceRulePostRegister();
+        for (AspectRule aspectRule : aspectRules) {
+            postRegister.register(aspectRule);
+        }
+        RelevantAspectRuleHolder holder = new RelevantAspectRuleHolder();
+        holder.setAspectAdviceRuleRegistry(postRegister.getAspectAdviceRuleRegistry());
+        return holder;
+    }
+
+    private List<AspectRule> getTransletRelevantAspectRules() {
+        List<AspectRule> aspectRules = transletRelevantAspectRules;
+        if (aspectRules == null) {
+            aspectRules = new ArrayList<>();
+            for (AspectRule aspectRule : getAspectRules()) {
+                if (!aspectRule.isBeanRelevant()) {
+                    aspectRules.add(aspectRule);
+                }
+            }
+            transletRelevantAspectRules = aspectRules;
+        }
+        return aspectRules;
+    }
+
+    private static int determineTransletAdviceCacheCapacity() {
+        String capacity = SystemUtils.getProperty(TRANSLET_ADVICE_CACHE_CAPACITY_PROPERTY_NAME);
+        if (capacity != null) {
+            try {
+                int value = Integer.parseInt(capacity);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+            logger.warn("Invalid value for system property '" +
+                    TRANSLET_ADVICE_CACHE_CAPACITY_PROPERTY_NAME + "': " + capacity);
+        }
+        return DEFAULT_TRANSLET_ADVICE_CACHE_CAPACITY;
+    }
+
     private RelevantAspectRuleHolder createRelevantAspectRuleHolder(PointcutPattern pointcutPattern) {
         AspectAdviceRulePostRegister postRegister = new AspectAdviceRulePostRegister();
         List<AspectRule> dynamicAspectRuleList = new ArrayList<>();
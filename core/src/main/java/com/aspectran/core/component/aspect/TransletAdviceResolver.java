@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.aspect;
+
+import com.aspectran.core.component.aspect.pointcut.Pointcut;
+import com.aspectran.core.component.aspect.pointcut.PointcutPattern;
+import com.aspectran.core.component.aspect.pointcut.WildcardPointcut;
+import com.aspectran.core.context.expr.token.Token;
+import com.aspectran.core.context.rule.AspectRule;
+import com.aspectran.core.context.rule.PointcutPatternRule;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.type.TokenType;
+import com.aspectran.core.util.wildcard.WildcardPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the aspect rules relevant to the request names of a translet
+ * whose name contains path variables.
+ *
+ * <p>When created, the pointcut of each aspect rule is compared with the
+ * literal prefix of the translet name: aspect rules that can never match
+ * are dropped, and aspect rules that match every request name of the
+ * translet are kept without further matching. Only the remaining aspect
+ * rules are matched against each request name.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class TransletAdviceResolver {
+
+    private static final int NEVER = 0;
+
+    private static final int ALWAYS = 1;
+
+    private static final int MAYBE = 2;
+
+    private static final String STAR_STAR = "**";
+
+    private final AspectRule[] aspectRules;
+
+    /** Whether the aspect rule at the same index has to be matched per request */
+    private final boolean[] matchRequired;
+
+    /** The aspect rules if none has to be matched per request, otherwise null */
+    private final List<AspectRule> fixedAspectRules;
+
+    TransletAdviceResolver(TransletRule transletRule, List<AspectRule> transletRelevantAspectRules) {
+        String prefix = getLiteralPrefix(transletRule);
+        List<AspectRule> aspectRules = new ArrayList<>();
+        List<Boolean> matchRequired = new ArrayList<>();
+        for (AspectRule aspectRule : transletRelevantAspectRules) {
+            int relevance = determineRelevance(aspectRule.getPointcut(), prefix);
+            if (relevance != NEVER) {
+                aspectRules.add(aspectRule);
+                matchRequired.add(relevance == MAYBE);
+            }
+        }
+        this.aspectRules = aspectRules.toArray(new AspectRule[0]);
+        this.matchRequired = new boolean[this.aspectRules.length];
+        boolean fixed = true;
+        for (int i = 0; i < this.matchRequired.length; i++) {
+            this.matchRequired[i] = matchRequired.get(i);
+            if (this.matchRequired[i]) {
+                fixed = false;
+            }
+        }
+        this.fixedAspectRules = (fixed ? aspectRules : null);
+    }
+
+    /**
+     * Returns whether the aspect rules are the same for every request name.
+     * @return true if no aspect rule has to be matched per request
+     */
+    boolean isFixed() {
+        return (fixedAspectRules != null);
+    }
+
+    /**
+     * Returns the aspect rules relevant to the given request name,
+     * in the order they were registered.
+     * @param requestName the request name
+     * @return the relevant aspect rules; the list must not be modified
+     */
+    List<AspectRule> resolve(String requestName) {
+        if (fixedAspectRules != null) {
+            return fixedAspectRules;
+        }
+        List<AspectRule> matched = new ArrayList<>(aspectRules.length);
+        for (int i = 0; i < aspectRules.length; i++) {
+            if (!matchRequired[i] || aspectRules[i].getPointcut().matches(requestName)) {
+                matched.add(aspectRules[i]);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Returns the part of the translet name before the first path variable
+     * or wildcard character; every request name of the translet starts with it.
+     */
+    private static String getLiteralPrefix(TransletRule transletRule) {
+        Token[] nameTokens = transletRule.getNameTokens();
+        StringBuilder sb = new StringBuilder();
+        if (nameTokens != null) {
+            for (Token token : nameTokens) {
+                if (token.getType() == TokenType.PARAMETER || token.getType() == TokenType.ATTRIBUTE) {
+                    break;
+                }
+                String str = token.stringify();
+                int end = indexOfWildcard(str);
+                if (end >= 0) {
+                    sb.append(str, 0, end);
+                    break;
+                }
+                sb.append(str);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Determines whether a pointcut matches none, all, or only some of the
+     * request names starting with the given prefix. Anything that can not
+     * be decided from the prefix alone is reported as {@code MAYBE}.
+     */
+    private static int determineRelevance(Pointcut pointcut, String prefix) {
+        if (pointcut == null) {
+            return ALWAYS;
+        }
+        if (!(pointcut instanceof WildcardPointcut) || pointcut.getPointcutPatternRuleList() == null) {
+            return MAYBE;
+        }
+        // Like Pointcut#matches, the first include pattern that exists decides
+        for (PointcutPatternRule ppr : pointcut.getPointcutPatternRuleList()) {
+            int relevance = determineRelevance(ppr.getPointcutPattern(), prefix);
+            if (relevance == NEVER) {
+                continue;
+            }
+            if (relevance == ALWAYS && ppr.getExcludePointcutPatternRuleList() != null) {
+                for (PointcutPatternRule eppr : ppr.getExcludePointcutPatternRuleList()) {
+                    if (determineRelevance(eppr.getPointcutPattern(), prefix) != NEVER) {
+                        return MAYBE;
+                    }
+                }
+            }
+            return relevance;
+        }
+        return NEVER;
+    }
+
+    private static int determineRelevance(PointcutPattern pointcutPattern, String prefix) {
+        if (pointcutPattern == null) {
+            return ALWAYS;
+        }
+        if (pointcutPattern.getBeanIdPattern() != null || pointcutPattern.getClassNamePattern() != null ||
+                pointcutPattern.getMethodNamePattern() != null) {
+            return MAYBE;
+        }
+        String pattern = pointcutPattern.getTransletNamePattern();
+        if (pattern == null) {
+            return ALWAYS;
+        }
+        if (pattern.indexOf('|') >= 0 || pattern.indexOf(' ') >= 0) {
+            return MAYBE;
+        }
+        int end = indexOfWildcard(pattern);
+        String patternPrefix = (end >= 0 ? pattern.substring(0, end) : pattern);
+        if (prefix.startsWith(patternPrefix)) {
+            if (STAR_STAR.equals(pattern.substring(patternPrefix.length()))) {
+                return ALWAYS;
+            }
+            return MAYBE;
+        } else if (patternPrefix.startsWith(prefix)) {
+            return MAYBE;
+        } else {
+            return NEVER;
+        }
+    }
+
+    private static int indexOfWildcard(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == WildcardPattern.STAR_CHAR || c == WildcardPattern.QUESTION_CHAR ||
+                    c == WildcardPattern.PLUS_CHAR || c == '\\') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
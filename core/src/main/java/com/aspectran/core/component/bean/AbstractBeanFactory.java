@@ -16,6 +16,7 @@
 package com.aspectran.core.component.bean;
 
 import com.aspectran.core.activity.Activity;
+import com.aspectran.core.activity.Translet;
 import com.aspectran.core.activity.process.action.AnnotatedAction;
 import com.aspectran.core.component.AbstractComponent;
 import com.aspectran.core.component.bean.ablility.FactoryBean;
@@ -30,6 +31,7 @@ import com.aspectran.core.component.bean.proxy.CglibDynamicProxyBean;
 import com.aspectran.core.component.bean.proxy.JavassistDynamicProxyBean;
 import com.aspectran.core.component.bean.proxy.JdkDynamicProxyBean;
 import com.aspectran.core.component.bean.scope.Scope;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.expr.ExpressionEvaluator;
 import com.aspectran.core.context.expr.ItemEvaluation;
@@ -83,11 +85,22 @@ abstract class AbstractBeanFactory extends AbstractComponent {
 
     protected Object createBean(BeanRule beanRule, Scope scope) {
         Activity activity = context.getAvailableActivity();
+        Object event = FlightRecorderEvents.beginBeanCreation();
         Object bean;
-        if (beanRule.isFactoryOffered()) {
-            bean = createOfferedFactoryBean(beanRule, scope, activity);
-        } else {
-            bean = createNormalBean(beanRule, scope, activity);
+        try {
+            if (beanRule.isFactoryOffered()) {
+                bean = createOfferedFactoryBean(beanRule, scope, activity);
+            } else {
+                bean = createNormalBean(beanRule, scope, activity);
+            }
+        } finally {
+            if (event != null) {
+                Translet translet = (activity != null ? activity.getTranslet() : null);
+                FlightRecorderEvents.commitBeanCreation(event,
+                        (translet != null ? translet.getTransletName() : null),
+                        beanRule.getId(), beanRule.getBeanClass(),
+                        (beanRule.getScopeType() != null ? beanRule.getScopeType().toString() : null));
+            }
         }
         return bean;
     }
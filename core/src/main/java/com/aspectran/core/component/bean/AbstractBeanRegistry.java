@@ -30,7 +30,9 @@ import com.aspectran.core.lang.Nullable;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -44,6 +46,13 @@ abstract class AbstractBeanRegistry extends AbstractBeanFactory implements BeanR
 
     private final SingletonScope singletonScope = new SingletonScope();
 
+    /**
+     * Fully initialized singletons that can be returned without taking
+     * the scope lock. Only beans that do not require factory production
+     * are published here.
+     */
+    private final Map<BeanRule, Object> instantiatedSingletons = new ConcurrentHashMap<>();
+
     private final BeanRuleRegistry beanRuleRegistry;
 
     AbstractBeanRegistry(ActivityContext context, BeanRuleRegistry beanRuleRegistry,
@@ -76,7 +85,40 @@ abstract class AbstractBeanRegistry extends AbstractBeanFactory implements BeanR
         if (beanRule == null) {
             throw new IllegalArgumentException("beanRule must not be null");
         }
-        return getScopedBean(singletonScope, beanRule);
+        if (beanRule.isFactoryProductionRequired()) {
+            return getScopedBean(singletonScope, beanRule);
+        }
+        Object bean = instantiatedSingletons.get(beanRule);
+        if (bean == null) {
+            bean = getScopedBean(singletonScope, beanRule);
+            if (bean != null) {
+                publishSingleton(beanRule, bean);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Publishes a singleton bean so that subsequent lookups no longer need
+     * to take the scope lock. Beans that are still being created, including
+     * beans referenced while resolving circular dependencies, are not published.
+     * @param beanRule the bean rule
+     * @param bean the singleton bean
+     */
+    private void publishSingleton(BeanRule beanRule, Object bean) {
+        if (!isAvailable() || singletonScope.isWriteLockedByCurrentThread()) {
+            return;
+        }
+        ReadWriteLock scopeLock = singletonScope.getScopeLock();
+        scopeLock.readLock().lock();
+        try {
+            BeanInstance instance = singletonScope.getBeanInstance(beanRule);
+            if (instance != null && instance.getBean() == bean) {
+                instantiatedSingletons.put(beanRule, bean);
+            }
+        } finally {
+            scopeLock.readLock().unlock();
+        }
     }
 
     @Override
@@ -267,6 +309,7 @@ abstract class AbstractBeanRegistry extends AbstractBeanFactory implements BeanR
                 scopeLock.readLock().unlock();
                 scopeLock.writeLock().lock();
                 try {
+                    instantiatedSingletons.remove(beanRule);
                     singletonScope.destroy(bean);
                 } finally {
                     scopeLock.writeLock().unlock();
@@ -313,6 +356,7 @@ abstract class AbstractBeanRegistry extends AbstractBeanFactory implements BeanR
         if (logger.isDebugEnabled()) {
             logger.debug("Destroying singletons in " + this);
         }
+        instantiatedSingletons.clear();
         singletonScope.destroy();
     }
 
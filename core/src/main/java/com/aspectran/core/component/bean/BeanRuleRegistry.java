@@ -26,6 +26,8 @@ import com.aspectran.core.component.bean.aware.CurrentActivityAware;
 import com.aspectran.core.component.bean.aware.EnvironmentAware;
 import com.aspectran.core.component.bean.scan.BeanClassFilter;
 import com.aspectran.core.component.bean.scan.BeanClassScanner;
+import com.aspectran.core.component.bean.scan.BeanClassScanningException;
+import com.aspectran.core.component.bean.scan.ComponentIndex;
 import com.aspectran.core.context.rule.AspectRule;
 import com.aspectran.core.context.rule.AutowireRule;
 import com.aspectran.core.context.rule.BeanRule;
@@ -41,6 +43,7 @@ import com.aspectran.core.util.StringUtils;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -180,8 +183,20 @@ public class BeanRuleRegistry {
 
         logger.info("Auto scan for components on packages [" + StringUtils.joinCommaDelimitedList(basePackages) + "]");
 
+        ComponentIndex componentIndex;
+        try {
+            componentIndex = ComponentIndex.load(classLoader);
+        } catch (IOException e) {
+            throw new BeanClassScanningException("Failed to load component index", e);
+        }
+        if (componentIndex != null) {
+            logger.info("Using component index for classpath roots " + componentIndex.getRootUrls());
+        }
+
         for (String basePackage : basePackages) {
             BeanClassScanner scanner = new BeanClassScanner(classLoader);
+            scanner.setRequiredAnnotationType(Component.class);
+            scanner.setComponentIndex(componentIndex);
             List<BeanRule> beanRules = new ArrayList<>();
             scanner.scan(basePackage + ".**", (resourceName, targetClass) -> {
                 if (targetClass.isAnnotationPresent(Component.class)) {
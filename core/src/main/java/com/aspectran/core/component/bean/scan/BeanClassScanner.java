@@ -15,15 +15,21 @@
  */
 package com.aspectran.core.component.bean.scan;
 
+import com.aspectran.core.util.ClassFileHeader;
 import com.aspectran.core.util.ClassScanner;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
+import com.aspectran.core.util.wildcard.WildcardMatcher;
 import com.aspectran.core.util.wildcard.WildcardPattern;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.util.Set;
 
 import static com.aspectran.core.context.ActivityContext.ID_SEPARATOR_CHAR;
+import static com.aspectran.core.util.ClassUtils.CLASS_FILE_SUFFIX;
 import static com.aspectran.core.util.ClassUtils.PACKAGE_SEPARATOR_CHAR;
+import static com.aspectran.core.util.ResourceUtils.REGULAR_FILE_SEPARATOR_CHAR;
 
 /**
  * The Class BeanClassScanner.
@@ -38,8 +44,13 @@ public class BeanClassScanner extends ClassScanner {
 
     private WildcardPattern[] excludePatterns;
 
+    private String requiredAnnotationType;
+
+    private ComponentIndex componentIndex;
+
     public BeanClassScanner(ClassLoader classLoader) {
         super(classLoader);
+        setClassFileFilter(new BeanClassFileFilter());
     }
 
     public void setBeanClassFilter(BeanClassFilter beanClassFilter) {
@@ -65,6 +76,26 @@ public class BeanClassScanner extends ClassScanner {
         this.beanIdMaskPattern = new WildcardPattern(beanIdMaskPattern, ID_SEPARATOR_CHAR);
     }
 
+    /**
+     * Sets the annotation that scanned classes must be directly annotated with.
+     * Classes are checked by reading their class file headers, so classes
+     * without the annotation are never loaded.
+     * @param annotationType the required annotation type
+     */
+    public void setRequiredAnnotationType(Class<? extends Annotation> annotationType) {
+        this.requiredAnnotationType = (annotationType != null ? annotationType.getName() : null);
+    }
+
+    /**
+     * Sets the build-time component index to look up candidate classes in,
+     * instead of walking through the classpath roots that have been indexed.
+     * Roots without an index are still scanned.
+     * @param componentIndex the component index
+     */
+    public void setComponentIndex(ComponentIndex componentIndex) {
+        this.componentIndex = componentIndex;
+    }
+
     @Override
     public void scan(String classNamePattern, SaveHandler saveHandler) {
         try {
@@ -75,6 +106,52 @@ public class BeanClassScanner extends ClassScanner {
         }
     }
 
+    @Override
+    protected boolean scanIndexedRoot(String rootUrl, String packagePath, WildcardMatcher matcher,
+                                      SaveHandler saveHandler) {
+        if (componentIndex == null) {
+            return false;
+        }
+        Set<String> classNames = componentIndex.getClassNames(rootUrl);
+        if (classNames == null) {
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scanning components in index of " + rootUrl);
+        }
+        for (String className : classNames) {
+            String classPath = className.replace(PACKAGE_SEPARATOR_CHAR, REGULAR_FILE_SEPARATOR_CHAR);
+            if (classPath.startsWith(packagePath) && matcher.matches(classPath.substring(packagePath.length()))) {
+                Class<?> targetClass = loadClass(classPath);
+                if (requiredAnnotationType == null || isAnnotationPresent(targetClass, requiredAnnotationType)) {
+                    saveHandler.save(rootUrl + classPath + CLASS_FILE_SUFFIX, targetClass);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAnnotationPresent(Class<?> targetClass, String annotationType) {
+        for (Annotation annotation : targetClass.getDeclaredAnnotations()) {
+            if (annotation.annotationType().getName().equals(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class BeanClassFileFilter implements ClassFileFilter {
+
+        @Override
+        public boolean matches(ClassFileHeader classFileHeader) {
+            if (!classFileHeader.isPublic() || (!classFileHeader.isInterface() && classFileHeader.isAbstract())) {
+                return false;
+            }
+            return (requiredAnnotationType == null || classFileHeader.hasAnnotation(requiredAnnotationType));
+        }
+
+    }
+
     private class BeanSaveHandler implements SaveHandler {
 
         private final SaveHandler saveHandler;
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.scan;
+
+import com.aspectran.core.util.SystemUtils;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The index of component classes generated at build time by
+ * {@link ComponentIndexProcessor}, which allows the classes annotated with
+ * {@code @Component} to be found without walking through the classpath.
+ *
+ * <p>Each index file covers only the classpath root (a directory or JAR
+ * file) it was found in. Classes in that root are taken from the index,
+ * while roots without an index file, such as archives that were built
+ * without the annotation processor, are still scanned as usual.
+ * Set the system property {@code aspectran.components.index.ignore}
+ * to {@code true} to scan every root regardless of index files.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class ComponentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentIndex.class);
+
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/aspectran.components";
+
+    public static final String IGNORE_INDEX_PROPERTY = "aspectran.components.index.ignore";
+
+    private static final char COMMENT_PREFIX = '#';
+
+    private final Map<String, Set<String>> classNamesPerRoot;
+
+    private ComponentIndex(Map<String, Set<String>> classNamesPerRoot) {
+        this.classNamesPerRoot = classNamesPerRoot;
+    }
+
+    /**
+     * Returns the fully qualified names of the component classes indexed
+     * for the given classpath root.
+     * @param rootUrl the URL of the classpath root, ending with a slash
+     * @return the indexed class names, or {@code null} if the root has no index
+     */
+    public Set<String> getClassNames(String rootUrl) {
+        return classNamesPerRoot.get(rootUrl);
+    }
+
+    /**
+     * Returns the URLs of the classpath roots that have an index.
+     * @return the indexed classpath roots
+     */
+    public Set<String> getRootUrls() {
+        return Collections.unmodifiableSet(classNamesPerRoot.keySet());
+    }
+
+    /**
+     * Loads all component index files visible to the given class loader.
+     * @param classLoader the class loader
+     * @return the component index, or {@code null} if there is no index
+     *      file or the index is ignored
+     * @throws IOException if an index file could not be read
+     */
+    public static ComponentIndex load(ClassLoader classLoader) throws IOException {
+        if (Boolean.parseBoolean(SystemUtils.getProperty(IGNORE_INDEX_PROPERTY))) {
+            return null;
+        }
+        Enumeration<URL> resources = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+        Map<String, Set<String>> classNamesPerRoot = new LinkedHashMap<>();
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Loading component index from " + url);
+            }
+            String rootUrl = determineRootUrl(url);
+            if (rootUrl == null) {
+                continue;
+            }
+            Set<String> classNames = classNamesPerRoot.computeIfAbsent(rootUrl, key -> new LinkedHashSet<>());
+            try (InputStream inputStream = url.openStream()) {
+                read(inputStream, classNames);
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : classNamesPerRoot.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return new ComponentIndex(classNamesPerRoot);
+    }
+
+    private static String determineRootUrl(URL url) {
+        String location = url.toExternalForm();
+        if (!location.endsWith(COMPONENTS_RESOURCE_LOCATION)) {
+            return null;
+        }
+        return location.substring(0, location.length() - COMPONENTS_RESOURCE_LOCATION.length());
+    }
+
+    static void read(InputStream inputStream, Set<String> classNames) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && line.charAt(0) != COMMENT_PREFIX) {
+                classNames.add(line);
+            }
+        }
+    }
+
+}
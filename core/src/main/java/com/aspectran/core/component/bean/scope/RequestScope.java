@@ -18,6 +18,7 @@ package com.aspectran.core.component.bean.scope;
 import com.aspectran.core.context.rule.type.ScopeType;
 
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The Class RequestScope.
@@ -28,6 +29,8 @@ public final class RequestScope extends AbstractScope {
 
     private static final ScopeType scopeType = ScopeType.SESSION;
 
+    private volatile ReentrantReadWriteLock scopeLock;
+
     /**
      * Instantiates a new Request scope.
      */
@@ -42,7 +45,19 @@ public final class RequestScope extends AbstractScope {
 
     @Override
     public ReadWriteLock getScopeLock() {
-        return null;
+        return scopeLock;
+    }
+
+    /**
+     * Guards this scope with a lock from now on.
+     * A request scope is normally accessed only by the thread processing
+     * the request, so it is not locked until the actions of the request
+     * are about to be executed on several threads.
+     */
+    public void enableScopeLock() {
+        if (scopeLock == null) {
+            scopeLock = new ReentrantReadWriteLock();
+        }
     }
 
 }
@@ -29,7 +29,7 @@ public final class SingletonScope extends AbstractScope {
 
     private static final ScopeType scopeType = ScopeType.SESSION;
 
-    private final ReadWriteLock scopeLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock scopeLock = new ReentrantReadWriteLock();
 
     /**
      * Instantiates a new Singleton scope.
@@ -48,4 +48,13 @@ public final class SingletonScope extends AbstractScope {
         return scopeLock;
     }
 
+    /**
+     * Returns whether the current thread holds the write lock of this scope,
+     * which means that singleton beans are being created by the current thread.
+     * @return true if the write lock is held by the current thread
+     */
+    public boolean isWriteLockedByCurrentThread() {
+        return scopeLock.isWriteLockedByCurrentThread();
+    }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import com.aspectran.core.util.ToStringBuilder;
+import com.aspectran.core.util.statistic.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency, error count, and number of in-flight executions
+ * of a translet or an aspect advice. Latencies are in nanoseconds.
+ *
+ * <p>All counters are striped, so recording an execution does not
+ * lock and rarely contends with other threads.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class ExecutionMetrics {
+
+    private final String name;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private volatile long startedTime = System.nanoTime();
+
+    public ExecutionMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Marks the start of an execution.
+     * @return the start time to be passed to {@link #end(long, boolean)}
+     */
+    public long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of an execution.
+     * @param beginTime the value returned by {@link #begin()}
+     * @param failed whether the execution has failed
+     */
+    public void end(long beginTime, boolean failed) {
+        latency.record(System.nanoTime() - beginTime);
+        inFlight.decrement();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Returns the histogram of the execution latencies in nanoseconds.
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getInFlightCount() {
+        return Math.max(inFlight.sum(), 0L);
+    }
+
+    /**
+     * Returns the average number of executions per second
+     * since these metrics were created or last reset.
+     * @return the throughput per second
+     */
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - startedTime;
+        if (elapsed <= 0L) {
+            return 0.0D;
+        }
+        return (double)getCount() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Resets the latencies and the error count.
+     * The number of in-flight executions is not affected, since
+     * the executions in flight still end after the reset.
+     */
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        startedTime = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("name", name);
+        tsb.append("count", getCount());
+        tsb.append("errors", getErrorCount());
+        tsb.append("inFlight", getInFlightCount());
+        tsb.append("p50", latency.getPercentile(50.0D));
+        tsb.append("p99", latency.getPercentile(99.0D));
+        tsb.append("p999", latency.getPercentile(99.9D));
+        tsb.append("max", latency.getMax());
+        return tsb.toString();
+    }
+
+}
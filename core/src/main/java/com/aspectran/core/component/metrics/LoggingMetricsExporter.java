@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * A {@link MetricsExporter} that writes the execution metrics to the log.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class LoggingMetricsExporter implements MetricsExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingMetricsExporter.class);
+
+    @Override
+    public void export(Collection<ExecutionMetrics> transletMetrics, Collection<ExecutionMetrics> adviceMetrics) {
+        for (ExecutionMetrics metrics : transletMetrics) {
+            logger.info("Translet metrics " + metrics);
+        }
+        for (ExecutionMetrics metrics : adviceMetrics) {
+            logger.info("Advice metrics " + metrics);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import java.util.Collection;
+
+/**
+ * Publishes the execution metrics collected by a {@link MetricsRegistry}
+ * to an external monitoring system.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public interface MetricsExporter {
+
+    /**
+     * Exports the current execution metrics.
+     * @param transletMetrics the metrics of the translets
+     * @param adviceMetrics the metrics of the aspect advice
+     * @throws Exception if the metrics could not be exported
+     */
+    void export(Collection<ExecutionMetrics> transletMetrics, Collection<ExecutionMetrics> adviceMetrics)
+            throws Exception;
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import com.aspectran.core.context.rule.type.AspectAdviceType;
+import com.aspectran.core.util.SystemUtils;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the execution metrics of the translets and aspect advice
+ * performed in an activity context, and hands them over to the
+ * registered {@link MetricsExporter}s on request.
+ *
+ * <p>Metrics are disabled by default, because recording them adds to the
+ * cost of every request; they can be turned on by setting the
+ * {@code com.aspectran.core.component.metrics.enabled} system property
+ * to {@code true}, or with {@link #setEnabled(boolean)}.
+ * Exporting is not scheduled by the registry itself; call {@link #export()}
+ * periodically, for example from a scheduled job.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class MetricsRegistry {
+
+    public static final String ENABLED_PROPERTY_NAME = "com.aspectran.core.component.metrics.enabled";
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final AspectAdviceType[] ADVICE_TYPES = AspectAdviceType.values();
+
+    private final Map<String, ExecutionMetrics> transletMetricsMap = new ConcurrentHashMap<>();
+
+    private final Map<String, ExecutionMetrics[]> adviceMetricsMap = new ConcurrentHashMap<>();
+
+    private final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+
+    private volatile boolean enabled;
+
+    public MetricsRegistry() {
+        this(determineEnabled());
+    }
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the execution metrics of the given translet,
+     * creating them if they do not exist yet.
+     * @param transletName the translet name
+     * @return the execution metrics of the translet
+     */
+    public ExecutionMetrics getTransletMetrics(String transletName) {
+        ExecutionMetrics metrics = transletMetricsMap.get(transletName);
+        if (metrics == null) {
+            metrics = transletMetricsMap.computeIfAbsent(transletName, ExecutionMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the execution metrics of the given aspect advice,
+     * creating them if they do not exist yet.
+     * @param aspectId the ID of the aspect that declares the advice
+     * @param adviceType the advice type
+     * @return the execution metrics of the advice
+     */
+    public ExecutionMetrics getAdviceMetrics(String aspectId, AspectAdviceType adviceType) {
+        ExecutionMetrics[] metrics = adviceMetricsMap.get(aspectId);
+        if (metrics == null) {
+            metrics = adviceMetricsMap.computeIfAbsent(aspectId, MetricsRegistry::createAdviceMetrics);
+        }
+        return metrics[adviceType.ordinal()];
+    }
+
+    /**
+     * Returns the execution metrics of all translets performed so far.
+     * @return the translet metrics
+     */
+    public Collection<ExecutionMetrics> getTransletMetrics() {
+        return new ArrayList<>(transletMetricsMap.values());
+    }
+
+    /**
+     * Returns the execution metrics of all aspect advice executed so far.
+     * @return the advice metrics
+     */
+    public Collection<ExecutionMetrics> getAdviceMetrics() {
+        List<ExecutionMetrics> list = new ArrayList<>();
+        for (ExecutionMetrics[] metrics : adviceMetricsMap.values()) {
+            for (ExecutionMetrics m : metrics) {
+                if (m.getCount() > 0L || m.getInFlightCount() > 0L) {
+                    list.add(m);
+                }
+            }
+        }
+        return list;
+    }
+
+    public void addExporter(MetricsExporter exporter) {
+        if (exporter == null) {
+            throw new IllegalArgumentException("exporter must not be null");
+        }
+        exporters.add(exporter);
+    }
+
+    public void removeExporter(MetricsExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * Hands the current metrics over to all registered exporters.
+     * An exporter that fails does not prevent the others from exporting.
+     */
+    public void export() {
+        if (exporters.isEmpty()) {
+            return;
+        }
+        Collection<ExecutionMetrics> transletMetrics = getTransletMetrics();
+        Collection<ExecutionMetrics> adviceMetrics = getAdviceMetrics();
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(transletMetrics, adviceMetrics);
+            } catch (Exception e) {
+                logger.warn("Failed to export metrics with " + exporter, e);
+            }
+        }
+    }
+
+    /**
+     * Resets the metrics of all translets and aspect advice.
+     */
+    public void reset() {
+        for (ExecutionMetrics metrics : transletMetricsMap.values()) {
+            metrics.reset();
+        }
+        for (ExecutionMetrics[] metrics : adviceMetricsMap.values()) {
+            for (ExecutionMetrics m : metrics) {
+                m.reset();
+            }
+        }
+    }
+
+    private static ExecutionMetrics[] createAdviceMetrics(String aspectId) {
+        ExecutionMetrics[] metrics = new ExecutionMetrics[ADVICE_TYPES.length];
+        for (AspectAdviceType adviceType : ADVICE_TYPES) {
+            metrics[adviceType.ordinal()] = new ExecutionMetrics(aspectId + "/" + adviceType);
+        }
+        return metrics;
+    }
+
+    private static boolean determineEnabled() {
+        String enabled = SystemUtils.getProperty(ENABLED_PROPERTY_NAME);
+        return Boolean.parseBoolean(enabled);
+    }
+
+}
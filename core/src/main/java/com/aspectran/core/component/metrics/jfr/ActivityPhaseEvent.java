@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event covering one phase of an activity:
+ * routing, preparing, parsing the request, producing, or responding.
+ *
+ * <p>Like all events in this package, it can be enabled, disabled and
+ * given a threshold with standard JFR settings; when it is disabled,
+ * emitting it costs nothing.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@Name("com.aspectran.ActivityPhase")
+@Label("Activity Phase")
+@Category({"Aspectran", "Activity"})
+@Description("A phase of an activity performing a translet")
+@StackTrace(false)
+public class ActivityPhaseEvent extends Event {
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Translet Name")
+    private String transletName;
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public void setTransletName(String transletName) {
+        this.transletName = transletName;
+    }
+
+}
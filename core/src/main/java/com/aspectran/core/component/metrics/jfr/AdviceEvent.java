@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event covering the execution of an aspect advice action.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@Name("com.aspectran.Advice")
+@Label("Advice")
+@Category({"Aspectran", "Activity"})
+@Description("Execution of an aspect advice action")
+@StackTrace(false)
+public class AdviceEvent extends Event {
+
+    @Label("Translet Name")
+    private String transletName;
+
+    @Label("Aspect ID")
+    private String aspectId;
+
+    @Label("Advice Type")
+    private String adviceType;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void setTransletName(String transletName) {
+        this.transletName = transletName;
+    }
+
+    public void setAspectId(String aspectId) {
+        this.aspectId = aspectId;
+    }
+
+    public void setAdviceType(String adviceType) {
+        this.adviceType = adviceType;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event covering the creation of a bean,
+ * including its autowiring and initialization.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@Name("com.aspectran.BeanCreation")
+@Label("Bean Creation")
+@Category({"Aspectran", "Bean"})
+@Description("Creation of a bean, including autowiring and initialization")
+@StackTrace(false)
+public class BeanCreationEvent extends Event {
+
+    @Label("Translet Name")
+    private String transletName;
+
+    @Label("Bean ID")
+    private String beanId;
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    @Label("Scope")
+    private String scope;
+
+    public void setTransletName(String transletName) {
+        this.transletName = transletName;
+    }
+
+    public void setBeanId(String beanId) {
+        this.beanId = beanId;
+    }
+
+    public void setBeanClass(Class<?> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+}
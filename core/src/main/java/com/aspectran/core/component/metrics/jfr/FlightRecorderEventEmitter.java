@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+/**
+ * Creates and commits the Flight Recorder events. Only loaded by
+ * {@link FlightRecorderEvents} once the {@code jdk.jfr} module is known
+ * to be present, since linking this class requires it.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+final class FlightRecorderEventEmitter {
+
+    private FlightRecorderEventEmitter() {
+    }
+
+    static Object beginActivityPhase() {
+        ActivityPhaseEvent event = new ActivityPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitActivityPhase(Object event, String phase, String transletName) {
+        ActivityPhaseEvent activityPhaseEvent = (ActivityPhaseEvent)event;
+        activityPhaseEvent.end();
+        if (activityPhaseEvent.shouldCommit()) {
+            activityPhaseEvent.setPhase(phase);
+            activityPhaseEvent.setTransletName(transletName);
+            activityPhaseEvent.commit();
+        }
+    }
+
+    static Object beginAdvice() {
+        AdviceEvent event = new AdviceEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitAdvice(Object event, String transletName, String aspectId,
+                             String adviceType, boolean failed) {
+        AdviceEvent adviceEvent = (AdviceEvent)event;
+        adviceEvent.end();
+        if (adviceEvent.shouldCommit()) {
+            adviceEvent.setTransletName(transletName);
+            adviceEvent.setAspectId(aspectId);
+            adviceEvent.setAdviceType(adviceType);
+            adviceEvent.setFailed(failed);
+            adviceEvent.commit();
+        }
+    }
+
+    static Object beginBeanCreation() {
+        BeanCreationEvent event = new BeanCreationEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitBeanCreation(Object event, String transletName, String beanId,
+                                   Class<?> beanClass, String scope) {
+        BeanCreationEvent beanCreationEvent = (BeanCreationEvent)event;
+        beanCreationEvent.end();
+        if (beanCreationEvent.shouldCommit()) {
+            beanCreationEvent.setTransletName(transletName);
+            beanCreationEvent.setBeanId(beanId);
+            beanCreationEvent.setBeanClass(beanClass);
+            beanCreationEvent.setScope(scope);
+            beanCreationEvent.commit();
+        }
+    }
+
+    static Object beginSessionCache() {
+        SessionCacheEvent event = new SessionCacheEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSessionCache(Object event, String operation, String sessionId, boolean found) {
+        SessionCacheEvent sessionCacheEvent = (SessionCacheEvent)event;
+        sessionCacheEvent.end();
+        if (sessionCacheEvent.shouldCommit()) {
+            sessionCacheEvent.setOperation(operation);
+            sessionCacheEvent.setSessionId(sessionId);
+            sessionCacheEvent.setFound(found);
+            sessionCacheEvent.commit();
+        }
+    }
+
+    static Object beginSessionStore() {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSessionStore(Object event, String operation, String sessionId, Class<?> storeClass) {
+        SessionStoreEvent sessionStoreEvent = (SessionStoreEvent)event;
+        sessionStoreEvent.end();
+        if (sessionStoreEvent.shouldCommit()) {
+            sessionStoreEvent.setOperation(operation);
+            sessionStoreEvent.setSessionId(sessionId);
+            sessionStoreEvent.setStoreClass(storeClass);
+            sessionStoreEvent.commit();
+        }
+    }
+
+}
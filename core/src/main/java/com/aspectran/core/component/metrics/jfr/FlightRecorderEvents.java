@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+/**
+ * Emits the Flight Recorder events of this package if the {@code jdk.jfr}
+ * module is present, and otherwise does nothing, so that Aspectran also
+ * runs on images built without it.
+ *
+ * <p>Each kind of event is begun with a {@code begin...} method, which
+ * returns {@code null} if Flight Recorder is unavailable, and committed by
+ * passing the returned event to the matching {@code commit...} method.
+ * The event classes are only referenced from here, so they are never
+ * loaded without the {@code jdk.jfr} module.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public final class FlightRecorderEvents {
+
+    public static final String ROUTING = "routing";
+
+    public static final String PREPARE = "prepare";
+
+    public static final String PARSE_REQUEST = "parseRequest";
+
+    public static final String PRODUCE = "produce";
+
+    public static final String RESPONSE = "response";
+
+    public static final String SESSION_GET = "get";
+
+    public static final String SESSION_RELEASE = "release";
+
+    public static final String SESSION_LOAD = "load";
+
+    public static final String SESSION_SAVE = "save";
+
+    private static final boolean available = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Returns whether the {@code jdk.jfr} module is present.
+     * @return true if Flight Recorder events are emitted
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    public static Object beginActivityPhase() {
+        return (available ? FlightRecorderEventEmitter.beginActivityPhase() : null);
+    }
+
+    public static void commitActivityPhase(Object event, String phase, String transletName) {
+        if (event != null) {
+            FlightRecorderEventEmitter.commitActivityPhase(event, phase, transletName);
+        }
+    }
+
+    public static Object beginAdvice() {
+        return (available ? FlightRecorderEventEmitter.beginAdvice() : null);
+    }
+
+    public static void commitAdvice(Object event, String transletName, String aspectId,
+                                    String adviceType, boolean failed) {
+        if (event != null) {
+            FlightRecorderEventEmitter.commitAdvice(event, transletName, aspectId, adviceType, failed);
+        }
+    }
+
+    public static Object beginBeanCreation() {
+        return (available ? FlightRecorderEventEmitter.beginBeanCreation() : null);
+    }
+
+    public static void commitBeanCreation(Object event, String transletName, String beanId,
+                                          Class<?> beanClass, String scope) {
+        if (event != null) {
+            FlightRecorderEventEmitter.commitBeanCreation(event, transletName, beanId, beanClass, scope);
+        }
+    }
+
+    public static Object beginSessionCache() {
+        return (available ? FlightRecorderEventEmitter.beginSessionCache() : null);
+    }
+
+    public static void commitSessionCache(Object event, String operation, String sessionId, boolean found) {
+        if (event != null) {
+            FlightRecorderEventEmitter.commitSessionCache(event, operation, sessionId, found);
+        }
+    }
+
+    public static Object beginSessionStore() {
+        return (available ? FlightRecorderEventEmitter.beginSessionStore() : null);
+    }
+
+    public static void commitSessionStore(Object event, String operation, String sessionId, Class<?> storeClass) {
+        if (event != null) {
+            FlightRecorderEventEmitter.commitSessionStore(event, operation, sessionId, storeClass);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event covering loading session data from,
+ * or saving it to, a session store.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@Name("com.aspectran.SessionStore")
+@Label("Session Store")
+@Category({"Aspectran", "Session"})
+@Description("Loading session data from or saving it to a session store")
+@StackTrace(false)
+public class SessionStoreEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Session ID")
+    private String sessionId;
+
+    @Label("Store Class")
+    private Class<?> storeClass;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public void setStoreClass(Class<?> storeClass) {
+        this.storeClass = storeClass;
+    }
+
+}
@@ -16,6 +16,7 @@
 package com.aspectran.core.component.session;
 
 import com.aspectran.core.component.AbstractComponent;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
 import com.aspectran.core.util.StringUtils;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
@@ -155,6 +156,17 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
 
     @Override
     public DefaultSession get(String id) throws Exception {
+        Object event = FlightRecorderEvents.beginSessionCache();
+        DefaultSession session = null;
+        try {
+            session = getSession(id);
+            return session;
+        } finally {
+            FlightRecorderEvents.commitSessionCache(event, FlightRecorderEvents.SESSION_GET, id, session != null);
+        }
+    }
+
+    private DefaultSession getSession(String id) throws Exception {
         AtomicBoolean resident = new AtomicBoolean(true);
         AtomicReference<Exception> thrown = new AtomicReference<>();
         DefaultSession session;
@@ -184,15 +196,21 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
             throw thrown.get();
         }
         if (session != null) {
+            boolean removed = false;
             try (AutoLock ignored = session.lock()) {
                 if (!session.isResident()) {
-                    // session isn't marked as resident in cache
-                    if (logger.isTraceEnabled()) {
-                        logger.debug("Non-resident session " + id + " in cache");
+                    if (doGet(id) != session) {
+                        // removed from the cache, e.g. evicted to the session store, after it
+                        // was looked up; look it up again, which reloads it if it was evicted
+                        removed = true;
+                    } else {
+                        // session isn't marked as resident in cache
+                        if (logger.isTraceEnabled()) {
+                            logger.debug("Non-resident session " + id + " in cache");
+                        }
+                        return null;
                     }
-                    return null;
-                }
-                if (isClusterEnabled() && resident.get() && session.getRequests() <= 0) {
+                } else if (isClusterEnabled() && resident.get() && session.getRequests() <= 0) {
                     DefaultSession stored = loadSession(id);
                     if (stored != null) {
                         // swap it in instead of the local session
@@ -203,7 +221,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
                             session.setResident(true);
                         } else {
                             // retry because it was updated by another thread
-                            return get(id);
+                            return getSession(id);
                         }
                     } else {
                         // is the session already destroyed? it must be removed from the cache
@@ -213,6 +231,9 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
                     }
                 }
             }
+            if (removed) {
+                return getSession(id);
+            }
         }
         return session;
     }
@@ -228,7 +249,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
             return null; // can't load it
         }
         try {
-            SessionData data = sessionStore.load(id);
+            SessionData data = loadSessionData(id);
             if (data == null) { // session doesn't exist
                 return null;
             }
@@ -242,6 +263,40 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
         }
     }
 
+    /**
+     * Loads the session data from the session store,
+     * emitting a Flight Recorder event if it is enabled.
+     * @param id the session id
+     * @return the session data, or null if it does not exist
+     * @throws Exception if the session data can not be loaded
+     */
+    protected SessionData loadSessionData(String id) throws Exception {
+        Object event = FlightRecorderEvents.beginSessionStore();
+        try {
+            return sessionStore.load(id);
+        } finally {
+            FlightRecorderEvents.commitSessionStore(event, FlightRecorderEvents.SESSION_LOAD,
+                    id, sessionStore.getClass());
+        }
+    }
+
+    /**
+     * Saves the session data to the session store,
+     * emitting a Flight Recorder event if it is enabled.
+     * @param id the session id
+     * @param data the session data
+     * @throws Exception if the session data can not be saved
+     */
+    protected void saveSessionData(String id, SessionData data) throws Exception {
+        Object event = FlightRecorderEvents.beginSessionStore();
+        try {
+            sessionStore.save(id, data);
+        } finally {
+            FlightRecorderEvents.commitSessionStore(event, FlightRecorderEvents.SESSION_SAVE,
+                    id, sessionStore.getClass());
+        }
+    }
+
     @Override
     public DefaultSession add(String id, long time, long maxInactiveInterval) throws Exception {
         if (id == null) {
@@ -255,7 +310,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
         if (doPutIfAbsent(id, session) == null) {
             session.setResident(true); // its in the cache
             if (sessionStore != null && (isSaveOnCreate() || isClusterEnabled())) {
-                sessionStore.save(id, data);
+                saveSessionData(id, data);
             }
             return session;
         } else {
@@ -265,6 +320,15 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
 
     @Override
     public void release(String id, DefaultSession session) throws Exception {
+        Object event = FlightRecorderEvents.beginSessionCache();
+        try {
+            releaseSession(id, session);
+        } finally {
+            FlightRecorderEvents.commitSessionCache(event, FlightRecorderEvents.SESSION_RELEASE, id, false);
+        }
+    }
+
+    private void releaseSession(String id, DefaultSession session) throws Exception {
         if (id == null || session == null) {
             throw new IllegalArgumentException("Put key=" + id + " session=" +
                 (session == null ? "null" : session.getId()));
@@ -284,7 +348,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
             // don't do anything with the session until the last request for it has finished
             if (session.getRequests() <= 0) {
                 // save the session
-                sessionStore.save(id, session.getSessionData());
+                saveSessionData(id, session.getSessionData());
                 // if we evict on session exit, boot it from the cache
                 if (getEvictionIdleSecs() == EVICT_ON_SESSION_EXIT) {
                     if (logger.isTraceEnabled()) {
@@ -428,7 +492,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
 
             if (sessionStore != null) {
                 sessionStore.delete(oldId);  //delete the session data with the old id
-                sessionStore.save(newId, session.getSessionData()); //save the session data with the new id
+                saveSessionData(newId, session.getSessionData()); //save the session data with the new id
             }
             if (logger.isDebugEnabled()) {
                 logger.debug("Session id " + oldId + " swapped for new id " + newId);
@@ -491,7 +555,7 @@ public abstract class AbstractSessionCache extends AbstractComponent implements
                 }
                 // save before evicting
                 if (sessionStore != null && (isClusterEnabled() || isSaveOnInactiveEviction())) {
-                    sessionStore.save(session.getId(), session.getSessionData());
+                    saveSessionData(session.getId(), session.getSessionData());
                 }
                 doDelete(session.getId()); // detach from this cache
                 session.setResident(false);
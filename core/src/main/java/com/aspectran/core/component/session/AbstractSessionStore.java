@@ -42,6 +42,8 @@ public abstract class AbstractSessionStore extends AbstractComponent implements
 
     private Set<String> nonPersistentAttributes;
 
+    private SessionDataSerializer sessionDataSerializer = BinarySessionDataSerializer.INSTANCE;
+
     public int getGracePeriodSecs() {
         return gracePeriodSecs;
     }
@@ -96,6 +98,23 @@ public abstract class AbstractSessionStore extends AbstractComponent implements
         }
     }
 
+    public SessionDataSerializer getSessionDataSerializer() {
+        return sessionDataSerializer;
+    }
+
+    /**
+     * Sets the serializer used to convert session data to and from bytes.
+     * Defaults to the {@link BinarySessionDataSerializer}.
+     * @param sessionDataSerializer the session data serializer
+     */
+    public void setSessionDataSerializer(SessionDataSerializer sessionDataSerializer) {
+        checkAlreadyInitialized();
+        if (sessionDataSerializer == null) {
+            throw new IllegalArgumentException("sessionDataSerializer must not be null");
+        }
+        this.sessionDataSerializer = sessionDataSerializer;
+    }
+
     public boolean isNonPersistentAttributes(String attrName) {
         if (nonPersistentAttributes != null) {
             return nonPersistentAttributes.contains(attrName);
@@ -127,13 +146,26 @@ public abstract class AbstractSessionStore extends AbstractComponent implements
         if (data.isDirty() || lastSaveMs <= 0 || (System.currentTimeMillis() - lastSaveMs) > savePeriodMs) {
             // set the last saved time to now
             data.setLastSaved(System.currentTimeMillis());
+            // attributes changed from now on are marked as dirty again for the next save
+            boolean fullSaveRequired = data.isFullSaveRequired();
+            Set<String> dirtyAttributes = data.takeDirtyAttributes();
             try {
-                // call the specific store method, passing in previous save time
-                doSave(id, data);
-                data.setDirty(false); // only undo the dirty setting if we saved it
+                // write only what has changed if the store has an earlier copy of the session
+                boolean saved = false;
+                if (lastSaveMs > 0 && !fullSaveRequired) {
+                    saved = doSaveDelta(id, data, dirtyAttributes);
+                }
+                if (!saved) {
+                    // call the specific store method, passing in previous save time
+                    doSave(id, data);
+                }
+                if (fullSaveRequired) {
+                    data.setFullSaveRequired(false); // only undo the dirty setting if we saved it
+                }
             } catch (Exception e) {
-                // reset last save time if save failed
+                // reset last save time and dirty attributes if save failed
                 data.setLastSaved(lastSaveMs);
+                data.restoreDirtyAttributes(dirtyAttributes);
                 throw e;
             }
         }
@@ -147,6 +179,23 @@ public abstract class AbstractSessionStore extends AbstractComponent implements
      */
     public abstract void doSave(String id, SessionData data) throws Exception;
 
+    /**
+     * Store only the changes made to a session that was saved before:
+     * the access times and expiry, and the attributes that have been set
+     * or removed since the last save. An empty set of attribute names means
+     * that only the access times have changed.
+     * <p>The default implementation does nothing and returns {@code false},
+     * in which case the whole session is stored with {@link #doSave}.</p>
+     * @param id identity of session to store
+     * @param data info of the session
+     * @param dirtyAttributes the names of the changed attributes
+     * @return true if the changes were stored; false if a full save is needed
+     * @throws Exception if unable to store data
+     */
+    protected boolean doSaveDelta(String id, SessionData data, Set<String> dirtyAttributes) throws Exception {
+        return false;
+    }
+
     @Override
     public Set<String> getExpired(Set<String> candidates) {
         try {
@@ -29,6 +29,8 @@ public abstract class AbstractSessionStoreFactory implements SessionStoreFactory
 
     private String[] nonPersistentAttributes;
 
+    private SessionDataSerializer sessionDataSerializer;
+
     public ApplicationAdapter getApplicationAdapter() {
         return applicationAdapter;
     }
@@ -48,4 +50,17 @@ public abstract class AbstractSessionStoreFactory implements SessionStoreFactory
         this.nonPersistentAttributes = nonPersistentAttributes;
     }
 
+    public SessionDataSerializer getSessionDataSerializer() {
+        return sessionDataSerializer;
+    }
+
+    /**
+     * Sets the serializer to be used by the session store.
+     * If not specified, the store's default serializer is used.
+     * @param sessionDataSerializer the session data serializer
+     */
+    public void setSessionDataSerializer(SessionDataSerializer sessionDataSerializer) {
+        this.sessionDataSerializer = sessionDataSerializer;
+    }
+
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.StreamCorruptedException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializer that writes session data in a compact binary format.
+ *
+ * <p>The stream starts with a two-byte magic number and a format version.
+ * Timestamps after the creation time are written as variable-length deltas,
+ * and each attribute value is written by a {@link SessionAttributeCodec}.
+ * Streams without the header are read as the original format of the
+ * {@link JavaSessionDataSerializer}, so previously stored sessions
+ * remain readable.</p>
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public class BinarySessionDataSerializer implements SessionDataSerializer {
+
+    public static final BinarySessionDataSerializer INSTANCE = new BinarySessionDataSerializer();
+
+    /**
+     * Read as the UTF length of a session id in the original format,
+     * which is far longer than any session id.
+     */
+    static final int MAGIC = 0xA5E5;
+
+    static final int VERSION = 1;
+
+    private final SessionAttributeCodec attributeCodec;
+
+    public BinarySessionDataSerializer() {
+        this(DefaultSessionAttributeCodec.INSTANCE);
+    }
+
+    public BinarySessionDataSerializer(SessionAttributeCodec attributeCodec) {
+        if (attributeCodec == null) {
+            throw new IllegalArgumentException("attributeCodec must not be null");
+        }
+        this.attributeCodec = attributeCodec;
+    }
+
+    public SessionAttributeCodec getAttributeCodec() {
+        return attributeCodec;
+    }
+
+    @Override
+    public void serialize(SessionData data, OutputStream os, Set<String> nonPersistentAttributes)
+            throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeShort(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(data.getId());
+        long created = data.getCreated();
+        out.writeLong(created);
+        writeVarLong(out, data.getAccessed() - created);
+        writeVarLong(out, data.getLastAccessed() - created);
+        writeVarLong(out, data.getExpiry() - created);
+        writeVarLong(out, data.getInactiveInterval());
+
+        List<String> attrKeys = data.getPersistentKeys(nonPersistentAttributes);
+        writeVarInt(out, attrKeys.size());
+        for (String name : attrKeys) {
+            out.writeUTF(name);
+            attributeCodec.encode(data.getAttribute(name), out);
+        }
+        out.flush();
+    }
+
+    @Override
+    public SessionData deserialize(InputStream is) throws Exception {
+        PushbackInputStream pis = new PushbackInputStream(is, 2);
+        int b1 = pis.read();
+        int b2 = pis.read();
+        if (b1 < 0 || b2 < 0) {
+            throw new StreamCorruptedException("Truncated session data");
+        }
+        if (((b1 << 8) | b2) != MAGIC) {
+            pis.unread(b2);
+            pis.unread(b1);
+            return JavaSessionDataSerializer.INSTANCE.deserialize(pis);
+        }
+
+        DataInputStream in = new DataInputStream(pis);
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported session data format version: " + version);
+        }
+        String id = in.readUTF();
+        long created = in.readLong();
+        long accessed = created + readVarLong(in);
+        long lastAccessed = created + readVarLong(in);
+        long expiry = created + readVarLong(in);
+        long maxInactive = readVarLong(in);
+
+        SessionData data = new SessionData(id, created, accessed, lastAccessed, maxInactive);
+        data.setExpiry(expiry);
+
+        int entries = readVarInt(in);
+        if (entries > 0) {
+            Map<String, Object> attributes = new HashMap<>();
+            for (int i = 0; i < entries; i++) {
+                String name = in.readUTF();
+                Object value = attributeCodec.decode(in);
+                attributes.put(name, value);
+            }
+            data.putAllAttributes(attributes);
+        }
+        return data;
+    }
+
+    /**
+     * Writes a signed int as a zigzag-encoded variable-length quantity.
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        int v = (value << 1) ^ (value >> 31);
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length int");
+    }
+
+    /**
+     * Writes a signed long as a zigzag-encoded variable-length quantity.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0L) {
+            out.writeByte((int)((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int)v);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long v = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length long");
+    }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import com.aspectran.core.util.CustomObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+import static com.aspectran.core.component.session.BinarySessionDataSerializer.readVarInt;
+import static com.aspectran.core.component.session.BinarySessionDataSerializer.readVarLong;
+import static com.aspectran.core.component.session.BinarySessionDataSerializer.writeVarInt;
+import static com.aspectran.core.component.session.BinarySessionDataSerializer.writeVarLong;
+
+/**
+ * The default attribute codec, which writes strings, boxed primitives and
+ * primitive arrays directly behind a one-byte type tag, and falls back to
+ * Java serialization for any other value.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public class DefaultSessionAttributeCodec implements SessionAttributeCodec {
+
+    public static final DefaultSessionAttributeCodec INSTANCE = new DefaultSessionAttributeCodec();
+
+    private static final int SERIALIZED = 0;
+    private static final int STRING = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+    private static final int BYTE = 4;
+    private static final int SHORT = 5;
+    private static final int CHAR = 6;
+    private static final int INT = 7;
+    private static final int LONG = 8;
+    private static final int FLOAT = 9;
+    private static final int DOUBLE = 10;
+    private static final int BYTE_ARRAY = 11;
+    private static final int INT_ARRAY = 12;
+    private static final int LONG_ARRAY = 13;
+    private static final int DOUBLE_ARRAY = 14;
+    private static final int STRING_ARRAY = 15;
+
+    @Override
+    public void encode(Object value, DataOutput out) throws IOException {
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            out.writeByte(STRING);
+            writeString(out, (String)value);
+        } else if (type == Integer.class) {
+            out.writeByte(INT);
+            writeVarInt(out, (Integer)value);
+        } else if (type == Long.class) {
+            out.writeByte(LONG);
+            writeVarLong(out, (Long)value);
+        } else if (type == Boolean.class) {
+            out.writeByte((Boolean)value ? TRUE : FALSE);
+        } else if (type == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double)value);
+        } else if (type == Float.class) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float)value);
+        } else if (type == Short.class) {
+            out.writeByte(SHORT);
+            out.writeShort((Short)value);
+        } else if (type == Byte.class) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte)value);
+        } else if (type == Character.class) {
+            out.writeByte(CHAR);
+            out.writeChar((Character)value);
+        } else if (type == byte[].class) {
+            byte[] arr = (byte[])value;
+            out.writeByte(BYTE_ARRAY);
+            writeVarInt(out, arr.length);
+            out.write(arr);
+        } else if (type == int[].class) {
+            int[] arr = (int[])value;
+            out.writeByte(INT_ARRAY);
+            writeVarInt(out, arr.length);
+            for (int v : arr) {
+                writeVarInt(out, v);
+            }
+        } else if (type == long[].class) {
+            long[] arr = (long[])value;
+            out.writeByte(LONG_ARRAY);
+            writeVarInt(out, arr.length);
+            for (long v : arr) {
+                writeVarLong(out, v);
+            }
+        } else if (type == double[].class) {
+            double[] arr = (double[])value;
+            out.writeByte(DOUBLE_ARRAY);
+            writeVarInt(out, arr.length);
+            for (double v : arr) {
+                out.writeDouble(v);
+            }
+        } else if (type == String[].class && !containsNull((String[])value)) {
+            String[] arr = (String[])value;
+            out.writeByte(STRING_ARRAY);
+            writeVarInt(out, arr.length);
+            for (String v : arr) {
+                writeString(out, v);
+            }
+        } else {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(value);
+            }
+            writeVarInt(out, baos.size());
+            out.write(baos.toByteArray());
+        }
+    }
+
+    @Override
+    public Object decode(DataInput in) throws IOException, ClassNotFoundException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case STRING:
+                return readString(in);
+            case INT:
+                return readVarInt(in);
+            case LONG:
+                return readVarLong(in);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case SHORT:
+                return in.readShort();
+            case BYTE:
+                return in.readByte();
+            case CHAR:
+                return in.readChar();
+            case BYTE_ARRAY: {
+                byte[] arr = new byte[readLength(in)];
+                in.readFully(arr);
+                return arr;
+            }
+            case INT_ARRAY: {
+                int[] arr = new int[readLength(in)];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = readVarInt(in);
+                }
+                return arr;
+            }
+            case LONG_ARRAY: {
+                long[] arr = new long[readLength(in)];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = readVarLong(in);
+                }
+                return arr;
+            }
+            case DOUBLE_ARRAY: {
+                double[] arr = new double[readLength(in)];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = in.readDouble();
+                }
+                return arr;
+            }
+            case STRING_ARRAY: {
+                String[] arr = new String[readLength(in)];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = readString(in);
+                }
+                return arr;
+            }
+            case SERIALIZED: {
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new CustomObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return ois.readObject();
+                }
+            }
+            default:
+                throw new StreamCorruptedException("Unknown attribute type tag: " + tag);
+        }
+    }
+
+    /**
+     * Writes a string as UTF-8 bytes with a variable-length prefix,
+     * since {@link DataOutput#writeUTF(String)} is limited to 64K.
+     */
+    private static void writeString(DataOutput out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int len = readVarInt(in);
+        if (len < 0) {
+            throw new StreamCorruptedException("Negative length: " + len);
+        }
+        return len;
+    }
+
+    private static boolean containsNull(String[] arr) {
+        for (String str : arr) {
+            if (str == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -44,6 +44,10 @@ public class DefaultSessionCache extends AbstractSessionCache {
 
     private final AtomicLong rejectedSessionCount = new AtomicLong();
 
+    private final AtomicLong evictedSessionCount = new AtomicLong();
+
+    private final AtomicLong reloadedSessionCount = new AtomicLong();
+
     /** Determines the maximum number of active sessions allowed. */
     private volatile int maxSessions;
 
@@ -99,6 +103,29 @@ public class DefaultSessionCache extends AbstractSessionCache {
         return ds;
     }
 
+    /**
+     * Remove the session from the cache only, to make room for other sessions.
+     * Unlike {@link #doDelete(String)}, the session is not counted as expired.
+     * @param id the session id
+     * @return the removed session, or null if it was not in the cache
+     */
+    protected DefaultSession doEvict(String id) {
+        DefaultSession ds = sessions.remove(id);
+        if (ds != null) {
+            statistics.decrement();
+            evictedSessionCount.incrementAndGet();
+        }
+        return ds;
+    }
+
+    /**
+     * Counts a session that was evicted from the cache
+     * and has been loaded back from the session store.
+     */
+    protected void sessionReloaded() {
+        reloadedSessionCount.incrementAndGet();
+    }
+
     @Override
     protected boolean doReplace(String id, DefaultSession oldValue, DefaultSession newValue) {
         return sessions.replace(id, oldValue, newValue);
@@ -147,11 +174,23 @@ public class DefaultSessionCache extends AbstractSessionCache {
         return rejectedSessionCount.get();
     }
 
+    @Override
+    public long getEvictedSessionCount() {
+        return evictedSessionCount.get();
+    }
+
+    @Override
+    public long getReloadedSessionCount() {
+        return reloadedSessionCount.get();
+    }
+
     @Override
     public void resetStatistics() {
         statistics.reset();
         expiredSessionCount.set(0L);
         rejectedSessionCount.set(0L);
+        evictedSessionCount.set(0L);
+        reloadedSessionCount.set(0L);
     }
 
     @Override
@@ -187,7 +226,7 @@ public class DefaultSessionCache extends AbstractSessionCache {
                         }
                     }
                     try {
-                        getSessionStore().save(session.getId(), session.getSessionData());
+                        saveSessionData(session.getId(), session.getSessionData());
                     } catch (Exception e) {
                         logger.warn("Failed to save session data of session id=" + session.getId(), e);
                     }
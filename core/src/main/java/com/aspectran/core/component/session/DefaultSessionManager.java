@@ -109,7 +109,11 @@ public class DefaultSessionManager extends AbstractSessionHandler
         }
 
         if (getSessionIdGenerator() == null) {
-            SessionIdGenerator sessionIdGenerator = new SessionIdGenerator(getWorkerName());
+            int sessionIdStripes = 0;
+            if (sessionManagerConfig != null && sessionManagerConfig.hasSessionIdStripes()) {
+                sessionIdStripes = sessionManagerConfig.getSessionIdStripes();
+            }
+            SessionIdGenerator sessionIdGenerator = new SessionIdGenerator(getWorkerName(), sessionIdStripes);
             setSessionIdGenerator(sessionIdGenerator);
         }
 
@@ -130,6 +134,10 @@ public class DefaultSessionManager extends AbstractSessionHandler
                     if (deleteUnrestorableFiles) {
                         fileSessionStoreFactory.setDeleteUnrestorableFiles(true);
                     }
+                    int maxDeltaRecords = fileStoreConfig.getMaxDeltaRecords();
+                    if (maxDeltaRecords >= 0) {
+                        fileSessionStoreFactory.setMaxDeltaRecords(maxDeltaRecords);
+                    }
                     String[] nonPersistentAttributes = fileStoreConfig.getNonPersistentAttributes();
                     if (nonPersistentAttributes != null) {
                         fileSessionStoreFactory.setNonPersistentAttributes(nonPersistentAttributes);
@@ -139,7 +147,13 @@ public class DefaultSessionManager extends AbstractSessionHandler
                 }
             }
 
-            DefaultSessionCache sessionCache = new DefaultSessionCache(this, sessionStore, clusterEnabled);
+            DefaultSessionCache sessionCache;
+            if (sessionStore != null && sessionManagerConfig != null &&
+                    sessionManagerConfig.isEvictOnMaxSessions()) {
+                sessionCache = new LruSessionCache(this, sessionStore, clusterEnabled);
+            } else {
+                sessionCache = new DefaultSessionCache(this, sessionStore, clusterEnabled);
+            }
             if (sessionManagerConfig != null) {
                 if (sessionManagerConfig.hasMaxSessions()) {
                     int maxSessions = sessionManagerConfig.getMaxSessions();
@@ -21,13 +21,23 @@ import com.aspectran.core.util.ToStringBuilder;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -36,17 +46,31 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * A file-based store of session data.
+ *
+ * <p>Changes to a session that has already been written out are appended
+ * to a small delta log next to the session file, holding the access times
+ * and the changed attributes only. The delta log is folded into the session
+ * file by the next full save, which happens once it has grown to
+ * {@link #setMaxDeltaRecords(int) maxDeltaRecords} records.</p>
  */
 public class FileSessionStore extends AbstractSessionStore {
 
     private static final Logger logger = LoggerFactory.getLogger(FileSessionStore.class);
 
+    private static final String DELTA_FILE_PREFIX = ".";
+
+    private static final String DELTA_FILE_SUFFIX = ".delta";
+
     private final Map<String, String> sessionFilenames = new ConcurrentHashMap<>();
 
+    private final Map<String, Integer> deltaRecordCounts = new ConcurrentHashMap<>();
+
     private File storeDir;
 
     private boolean deleteUnrestorableFiles = true;
 
+    private int maxDeltaRecords = 32;
+
     private long lastSweepTime;
 
     public File getStoreDir() {
@@ -67,6 +91,21 @@ public class FileSessionStore extends AbstractSessionStore {
         this.deleteUnrestorableFiles = deleteUnrestorableFiles;
     }
 
+    public int getMaxDeltaRecords() {
+        return maxDeltaRecords;
+    }
+
+    /**
+     * Sets the number of delta records that may be appended for a session
+     * before the session is written out in full again.
+     * A value of 0 disables delta saves.
+     * @param maxDeltaRecords the maximum number of delta records per session
+     */
+    public void setMaxDeltaRecords(int maxDeltaRecords) {
+        checkAlreadyInitialized();
+        this.maxDeltaRecords = maxDeltaRecords;
+    }
+
     @Override
     public SessionData load(String id) throws Exception {
         // load session info from its file
@@ -84,9 +123,16 @@ public class FileSessionStore extends AbstractSessionStore {
             }
             return null;
         }
-        try (FileInputStream in = new FileInputStream(file)) {
-            SessionData data = SessionData.deserialize(in);
-            data.setLastSaved(file.lastModified());
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            SessionData data = getSessionDataSerializer().deserialize(in);
+            long lastModified = file.lastModified();
+            File deltaFile = getDeltaFile(id);
+            if (deltaFile.exists()) {
+                deltaRecordCounts.put(id, applyDeltaRecords(deltaFile, data));
+                lastModified = Math.max(lastModified, deltaFile.lastModified());
+            }
+            data.setDirty(false);
+            data.setLastSaved(lastModified);
             return data;
         } catch (Exception e) {
             throw new UnreadableSessionDataException(id, e);
@@ -98,6 +144,7 @@ public class FileSessionStore extends AbstractSessionStore {
         if (storeDir != null) {
             // remove from our map
             String filename = sessionFilenames.remove(id);
+            deleteDeltaFile(id);
             if (filename == null) {
                 return false;
             }
@@ -121,6 +168,15 @@ public class FileSessionStore extends AbstractSessionStore {
         return Files.deleteIfExists(file.toPath());
     }
 
+    private File getDeltaFile(String id) {
+        return new File(storeDir, DELTA_FILE_PREFIX + id + DELTA_FILE_SUFFIX);
+    }
+
+    private void deleteDeltaFile(String id) throws IOException {
+        deltaRecordCounts.remove(id);
+        Files.deleteIfExists(getDeltaFile(id).toPath());
+    }
+
     @Override
     public boolean exists(String id) {
         String filename = sessionFilenames.get(id);
@@ -145,8 +201,8 @@ public class FileSessionStore extends AbstractSessionStore {
             // make a fresh file using the latest session expiry
             String filename = getIdWithExpiry(data);
             File file = new File(storeDir, filename);
-            try (FileOutputStream fos = new FileOutputStream(file,false)) {
-                SessionData.serialize(data, fos, getNonPersistentAttributes());
+            try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file, false))) {
+                getSessionDataSerializer().serialize(data, os, getNonPersistentAttributes());
                 sessionFilenames.put(id, filename);
             } catch (Exception e) {
                 file.delete(); // No point keeping the file if we didn't save the whole session
@@ -155,6 +211,113 @@ public class FileSessionStore extends AbstractSessionStore {
         }
     }
 
+    @Override
+    protected boolean doSaveDelta(String id, SessionData data, Set<String> dirtyAttributes) throws Exception {
+        String filename = sessionFilenames.get(id);
+        if (storeDir == null || filename == null) {
+            return false;
+        }
+        int count = deltaRecordCounts.getOrDefault(id, 0);
+        if (count >= maxDeltaRecords) {
+            return false; // compact the delta log with a full save
+        }
+        try {
+            // keep the expiry encoded in the filename up to date
+            String newFilename = getIdWithExpiry(data);
+            if (!newFilename.equals(filename)) {
+                Files.move(new File(storeDir, filename).toPath(), new File(storeDir, newFilename).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+                sessionFilenames.put(id, newFilename);
+            }
+            byte[] record = createDeltaRecord(data, dirtyAttributes);
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(getDeltaFile(id), true))) {
+                out.writeInt(record.length);
+                out.write(record);
+            }
+            deltaRecordCounts.put(id, count + 1);
+            return true;
+        } catch (Exception e) {
+            throw new UnwritableSessionDataException(id, e);
+        }
+    }
+
+    /**
+     * Creates a delta record with the access times and the changed attributes
+     * of a session. Attributes that are no longer persistent are recorded
+     * as removed.
+     * @param data the session data
+     * @param dirtyAttributes the names of the changed attributes
+     * @return the delta record
+     * @throws IOException if an I/O error has occurred
+     */
+    private byte[] createDeltaRecord(SessionData data, Set<String> dirtyAttributes) throws IOException {
+        SessionAttributeCodec attributeCodec = getAttributeCodec();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        out.writeLong(data.getAccessed());
+        out.writeLong(data.getLastAccessed());
+        out.writeLong(data.getExpiry());
+        out.writeLong(data.getInactiveInterval());
+        out.writeInt(dirtyAttributes.size());
+        for (String name : dirtyAttributes) {
+            Object value = data.getAttribute(name);
+            out.writeUTF(name);
+            if (value != null && !(value instanceof NonPersistent) && !isNonPersistentAttributes(name)) {
+                out.writeBoolean(true);
+                attributeCodec.encode(value, out);
+            } else {
+                out.writeBoolean(false);
+            }
+        }
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Applies the delta records of a session to its data in order.
+     * A truncated record at the end, left by an interrupted write, is ignored.
+     * @param deltaFile the delta log of the session
+     * @param data the session data to apply the changes to
+     * @return the number of records applied
+     * @throws Exception if a delta record could not be read
+     */
+    private int applyDeltaRecords(File deltaFile, SessionData data) throws Exception {
+        SessionAttributeCodec attributeCodec = getAttributeCodec();
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(deltaFile)))) {
+            while (true) {
+                byte[] record;
+                try {
+                    record = new byte[in.readInt()];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                DataInputStream rin = new DataInputStream(new ByteArrayInputStream(record));
+                data.setAccessed(rin.readLong());
+                data.setLastAccessed(rin.readLong());
+                data.setExpiry(rin.readLong());
+                data.setInactiveInterval(rin.readLong());
+                int entries = rin.readInt();
+                for (int i = 0; i < entries; i++) {
+                    String name = rin.readUTF();
+                    Object value = (rin.readBoolean() ? attributeCodec.decode(rin) : null);
+                    data.setAttribute(name, value);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private SessionAttributeCodec getAttributeCodec() {
+        if (getSessionDataSerializer() instanceof BinarySessionDataSerializer) {
+            return ((BinarySessionDataSerializer)getSessionDataSerializer()).getAttributeCodec();
+        } else {
+            return DefaultSessionAttributeCodec.INSTANCE;
+        }
+    }
+
     /**
      * Check to see which sessions have expired.
      * @param candidates the set of session ids that the SessionCache believes
@@ -290,6 +453,7 @@ public class FileSessionStore extends AbstractSessionStore {
             long expiry = getExpiryFromFilename(filename); // files with 0 expiry never expire
             if (expiry > 0 && ((now - expiry) >= (5 * TimeUnit.SECONDS.toMillis(getGracePeriodSecs())))) {
                 Files.deleteIfExists(p);
+                Files.deleteIfExists(getDeltaFile(getIdFromFilename(filename)).toPath());
                 if (logger.isDebugEnabled()) {
                     logger.debug("Sweep expired session file: " + p.getFileName());
                 }
@@ -310,6 +474,7 @@ public class FileSessionStore extends AbstractSessionStore {
     @Override
     protected void doDestroy() {
         sessionFilenames.clear();
+        deltaRecordCounts.clear();
         lastSweepTime = 0L;
     }
 
@@ -386,6 +551,7 @@ public class FileSessionStore extends AbstractSessionStore {
         ToStringBuilder tsb = new ToStringBuilder();
         tsb.append("storeDir", storeDir);
         tsb.append("deleteUnrestorableFiles", deleteUnrestorableFiles);
+        tsb.append("maxDeltaRecords", maxDeltaRecords);
         return tsb.toString();
     }
 
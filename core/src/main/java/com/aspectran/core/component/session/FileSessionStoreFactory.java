@@ -26,6 +26,8 @@ public class FileSessionStoreFactory extends AbstractSessionStoreFactory {
 
     private boolean deleteUnrestorableFiles;
 
+    private int maxDeltaRecords = -1;
+
     public void setStoreDir(String storeDir) {
         this.storeDir = storeDir;
     }
@@ -34,12 +36,19 @@ public class FileSessionStoreFactory extends AbstractSessionStoreFactory {
         this.deleteUnrestorableFiles = deleteUnrestorableFiles;
     }
 
+    public void setMaxDeltaRecords(int maxDeltaRecords) {
+        this.maxDeltaRecords = maxDeltaRecords;
+    }
+
     @Override
     public SessionStore getSessionStore() throws IOException {
         FileSessionStore sessionStore = new FileSessionStore();
         if (getNonPersistentAttributes() != null) {
             sessionStore.setNonPersistentAttributes(getNonPersistentAttributes());
         }
+        if (getSessionDataSerializer() != null) {
+            sessionStore.setSessionDataSerializer(getSessionDataSerializer());
+        }
         File storeDirFile;
         if (storeDir != null) {
             if (getApplicationAdapter() != null) {
@@ -54,6 +63,9 @@ public class FileSessionStoreFactory extends AbstractSessionStoreFactory {
         if (deleteUnrestorableFiles) {
             sessionStore.setDeleteUnrestorableFiles(true);
         }
+        if (maxDeltaRecords >= 0) {
+            sessionStore.setMaxDeltaRecords(maxDeltaRecords);
+        }
         return sessionStore;
     }
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import com.aspectran.core.util.CustomObjectInputStream;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializer that writes session data in the original format, where all
+ * attributes go through a single Java object stream.
+ *
+ * <p>The format has no header. Use this serializer while nodes that only
+ * understand this format still share the session store; otherwise prefer
+ * the {@link BinarySessionDataSerializer}, which can also read it.</p>
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public class JavaSessionDataSerializer implements SessionDataSerializer {
+
+    public static final JavaSessionDataSerializer INSTANCE = new JavaSessionDataSerializer();
+
+    @Override
+    public void serialize(SessionData data, OutputStream os, Set<String> nonPersistentAttributes)
+            throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeUTF(data.getId());
+        out.writeLong(data.getCreated());
+        out.writeLong(data.getAccessed());
+        out.writeLong(data.getLastAccessed());
+        out.writeLong(data.getExpiry());
+        out.writeLong(data.getInactiveInterval());
+
+        List<String> attrKeys = data.getPersistentKeys(nonPersistentAttributes);
+        out.writeInt(attrKeys.size());
+        if (!attrKeys.isEmpty()) {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            for (String name : attrKeys) {
+                Object value = data.getAttribute(name);
+                oos.writeUTF(name);
+                oos.writeObject(value);
+            }
+            oos.flush();
+        }
+        out.flush();
+    }
+
+    @Override
+    public SessionData deserialize(InputStream is) throws Exception {
+        DataInputStream dis = new DataInputStream(is);
+        String id = dis.readUTF(); // the actual id from inside the file
+        long created = dis.readLong();
+        long accessed = dis.readLong();
+        long lastAccessed = dis.readLong();
+        long expiry = dis.readLong();
+        long maxInactive = dis.readLong();
+        int entries = dis.readInt();
+
+        SessionData data = new SessionData(id, created, accessed, lastAccessed, maxInactive);
+        data.setExpiry(expiry);
+        data.setInactiveInterval(maxInactive);
+
+        // Attributes
+        if (entries > 0) {
+            // input stream should not be closed here
+            Map<String, Object> attributes = new HashMap<>();
+            ObjectInputStream ois = new CustomObjectInputStream(dis);
+            for (int i = 0; i < entries; i++) {
+                String key = ois.readUTF();
+                Object value = ois.readObject();
+                attributes.put(key, value);
+            }
+            data.putAllAttributes(attributes);
+        }
+        return data;
+    }
+
+}
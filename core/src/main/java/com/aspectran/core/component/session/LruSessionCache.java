@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+import com.aspectran.core.util.thread.AutoLock;
+import com.aspectran.core.util.thread.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A {@code SessionCache} that keeps at most {@code maxSessions} sessions in
+ * memory. When the limit is exceeded, the least recently used sessions that
+ * are not in use by any request are written to the session store and evicted
+ * from the cache instead of new sessions being rejected. Evicted sessions are
+ * transparently loaded back from the session store on the next access.
+ *
+ * <p>The limit is a soft one: sessions in use by a request are never evicted,
+ * so the number of sessions in memory can temporarily exceed it. Eviction,
+ * including writing the evicted sessions to the session store, runs on the
+ * scheduler of the session handler rather than on the request thread that
+ * exceeded the limit; only if that scheduler is not running are sessions
+ * evicted synchronously.</p>
+ *
+ * <p>Created: 2021. 7. 9.</p>
+ */
+public class LruSessionCache extends DefaultSessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LruSessionCache.class);
+
+    /** extra candidates to look at in case some of them are in use */
+    private static final int EVICTION_SCAN_SLACK = 16;
+
+    /** the maximum number of evicted sessions remembered for counting reloads */
+    private static final int MAX_EVICTED_SESSIONS = 10000;
+
+    /** how often to forget evicted sessions that have expired in the meantime */
+    private static final long EVICTED_SESSIONS_PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /** the sessions in access order, from the least recently used */
+    private final Map<String, DefaultSession> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AutoLock lock = new AutoLock();
+
+    /**
+     * The expiry times of the sessions evicted to the session store, by session id.
+     * Bounded, forgetting the earliest evicted sessions first, since it is only
+     * used to count the sessions reloaded from the session store.
+     */
+    private final Map<String, Long> evictedSessions = Collections.synchronizedMap(
+            new LinkedHashMap<String, Long>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return (size() > MAX_EVICTED_SESSIONS);
+                }
+            });
+
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean();
+
+    private volatile long evictedSessionsPruned;
+
+    /** Determines the maximum number of sessions to keep in memory. */
+    private volatile int maxSessions;
+
+    public LruSessionCache(SessionHandler sessionHandler, SessionStore sessionStore, boolean clusterEnabled) {
+        super(sessionHandler, sessionStore, clusterEnabled);
+        if (sessionStore == null) {
+            throw new IllegalArgumentException("sessionStore must not be null");
+        }
+    }
+
+    @Override
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Sets the maximum number of sessions to keep in memory.
+     * Unlike {@link DefaultSessionCache}, new sessions are never rejected;
+     * the least recently used sessions are evicted to the session store instead.
+     * If set to 0 (the default), there is no limit.
+     * @param maxSessions the maximum number of sessions to keep in memory
+     */
+    @Override
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    protected DefaultSession doGet(String id) {
+        DefaultSession ds = super.doGet(id);
+        if (ds != null) {
+            try (AutoLock ignored = lock.lock()) {
+                accessOrder.get(id);
+            }
+        }
+        return ds;
+    }
+
+    @Override
+    protected DefaultSession doPutIfAbsent(String id, DefaultSession session) {
+        DefaultSession ds = super.doPutIfAbsent(id, session);
+        if (ds == null) {
+            try (AutoLock ignored = lock.lock()) {
+                accessOrder.put(id, session);
+            }
+            evictIfNecessary();
+        } else {
+            try (AutoLock ignored = lock.lock()) {
+                accessOrder.get(id);
+            }
+        }
+        return ds;
+    }
+
+    @Override
+    protected DefaultSession doComputeIfAbsent(String id, Function<String, DefaultSession> mappingFunction) {
+        DefaultSession ds = super.doComputeIfAbsent(id, mappingFunction);
+        if (ds != null) {
+            boolean added;
+            try (AutoLock ignored = lock.lock()) {
+                added = (accessOrder.putIfAbsent(id, ds) == null);
+            }
+            if (added) {
+                if (evictedSessions.remove(id) != null) {
+                    sessionReloaded();
+                }
+                evictIfNecessary();
+            }
+        } else {
+            // no longer in the session store either
+            evictedSessions.remove(id);
+        }
+        return ds;
+    }
+
+    @Override
+    protected DefaultSession doDelete(String id) {
+        DefaultSession ds = super.doDelete(id);
+        evictedSessions.remove(id);
+        try (AutoLock ignored = lock.lock()) {
+            accessOrder.remove(id);
+        }
+        return ds;
+    }
+
+    @Override
+    protected DefaultSession doEvict(String id) {
+        DefaultSession ds = super.doEvict(id);
+        try (AutoLock ignored = lock.lock()) {
+            accessOrder.remove(id);
+        }
+        return ds;
+    }
+
+    @Override
+    protected boolean doReplace(String id, DefaultSession oldValue, DefaultSession newValue) {
+        boolean replaced = super.doReplace(id, oldValue, newValue);
+        if (replaced) {
+            try (AutoLock ignored = lock.lock()) {
+                accessOrder.replace(id, newValue);
+            }
+        }
+        return replaced;
+    }
+
+    @Override
+    public Set<String> checkExpiration(Set<String> candidates) {
+        Set<String> expired = super.checkExpiration(candidates);
+        if (expired != null) {
+            evictedSessions.keySet().removeAll(expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Evicts the least recently used sessions if the number of sessions
+     * exceeds the limit. The sessions are evicted by the scheduler of the
+     * session handler so that the request thread does not have to wait for
+     * them to be written to the session store.
+     */
+    private void evictIfNecessary() {
+        int max = maxSessions;
+        if (max <= 0 || getActiveSessionCount() <= max) {
+            return;
+        }
+        Scheduler scheduler = (getSessionHandler() != null ? getSessionHandler().getScheduler() : null);
+        if (scheduler != null && scheduler.isRunning()) {
+            if (evictionScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this::evictExcessSessions, 0, TimeUnit.MILLISECONDS);
+            }
+        } else {
+            evictExcessSessions();
+        }
+    }
+
+    /**
+     * Evicts the least recently used sessions that are not in use
+     * until the number of sessions drops to the limit.
+     */
+    private void evictExcessSessions() {
+        evictionScheduled.set(false);
+        pruneEvictedSessions();
+        int max = maxSessions;
+        if (max <= 0) {
+            return;
+        }
+        long excess = getActiveSessionCount() - max;
+        if (excess <= 0) {
+            return;
+        }
+        // the session locks must not be taken while holding the cache lock
+        List<DefaultSession> candidates = new ArrayList<>();
+        try (AutoLock ignored = lock.lock()) {
+            Iterator<DefaultSession> it = accessOrder.values().iterator();
+            while (it.hasNext() && candidates.size() < excess + EVICTION_SCAN_SLACK) {
+                candidates.add(it.next());
+            }
+        }
+        int evicted = 0;
+        for (DefaultSession session : candidates) {
+            if (evicted >= excess) {
+                break;
+            }
+            if (evict(session)) {
+                evicted++;
+            }
+        }
+    }
+
+    /**
+     * Forgets the evicted sessions that have expired in the meantime,
+     * since they will never be loaded back.
+     */
+    private void pruneEvictedSessions() {
+        long now = System.currentTimeMillis();
+        if (now - evictedSessionsPruned < EVICTED_SESSIONS_PRUNE_INTERVAL) {
+            return;
+        }
+        evictedSessionsPruned = now;
+        evictedSessions.values().removeIf(expiry -> expiry > 0 && expiry < now);
+    }
+
+    private boolean evict(DefaultSession session) {
+        String id = session.getId();
+        try (AutoLock ignored = session.lock()) {
+            if (super.doGet(id) != session) {
+                // no longer in this cache
+                try (AutoLock ignored2 = lock.lock()) {
+                    accessOrder.remove(id, session);
+                }
+                return false;
+            }
+            if (!session.isResident() || !session.isValid() || session.getRequests() > 0) {
+                return false;
+            }
+            saveSessionData(id, session.getSessionData());
+            evictedSessions.put(id, session.getSessionData().getExpiry());
+            doEvict(id);
+            session.setResident(false);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Evicted least recently used session id=" + id);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to evict session id=" + id, e);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes and decodes the value of a single session attribute
+ * for the {@link BinarySessionDataSerializer}.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public interface SessionAttributeCodec {
+
+    /**
+     * Writes the attribute value.
+     * @param value the attribute value, never {@code null}
+     * @param out the data output to write to
+     * @throws IOException if an I/O error has occurred
+     */
+    void encode(Object value, DataOutput out) throws IOException;
+
+    /**
+     * Reads an attribute value written by {@link #encode(Object, DataOutput)}.
+     * @param in the data input to read from
+     * @return the attribute value
+     * @throws IOException if an I/O error has occurred
+     * @throws ClassNotFoundException if the class of a serialized object cannot be found
+     */
+    Object decode(DataInput in) throws IOException, ClassNotFoundException;
+
+}
@@ -200,6 +200,18 @@ public interface SessionCache {
 
     long getRejectedSessionCount();
 
+    /**
+     * @return the number of sessions evicted from the cache to make room
+     *      for new sessions
+     */
+    long getEvictedSessionCount();
+
+    /**
+     * @return the number of sessions evicted from the cache to make room
+     *      for new sessions and then loaded back from the session store
+     */
+    long getReloadedSessionCount();
+
     /**
      * Resets the running total session count in the cache.
      */
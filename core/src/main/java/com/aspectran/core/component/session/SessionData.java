@@ -15,20 +15,16 @@
  */
 package com.aspectran.core.component.session;
 
-import com.aspectran.core.util.CustomObjectInputStream;
 import com.aspectran.core.util.ToStringBuilder;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,6 +61,9 @@ public class SessionData implements Serializable {
 
     private final Map<String, Object> attributes = new ConcurrentHashMap<>();
 
+    /** the names of the attributes changed since the last save */
+    private final Set<String> dirtyAttributes = ConcurrentHashMap.newKeySet();
+
     public SessionData(String id, long created, long accessed, long lastAccessed, long inactiveInterval) {
         if (id == null) {
             throw new IllegalArgumentException("id must not be null");
@@ -148,11 +147,70 @@ public class SessionData implements Serializable {
      * @return true if a session needs to be written out
      */
     public boolean isDirty() {
-        return dirty;
+        return (dirty || !dirtyAttributes.isEmpty());
     }
 
+    /**
+     * Sets whether the whole session needs to be written out.
+     * Clearing the flag also clears the changed attribute names.
+     * @param dirty true if the whole session needs to be written out
+     */
     public void setDirty(boolean dirty) {
         this.dirty = dirty;
+        if (!dirty) {
+            dirtyAttributes.clear();
+        }
+    }
+
+    /**
+     * Returns whether the session has to be written out as a whole,
+     * rather than as the changed attributes and access times only.
+     * @return true if a full save is required
+     */
+    public boolean isFullSaveRequired() {
+        return dirty;
+    }
+
+    /**
+     * Returns the names of the attributes that have been set or removed
+     * since the session was last saved.
+     * @return an unmodifiable set of the changed attribute names
+     */
+    public Set<String> getDirtyAttributes() {
+        return Collections.unmodifiableSet(dirtyAttributes);
+    }
+
+    /**
+     * Removes the names of the changed attributes and returns them, so that
+     * attributes set or removed while the session is being saved are marked
+     * as changed again and are written out by the next save.
+     * @return the names of the attributes changed since the last save
+     */
+    public Set<String> takeDirtyAttributes() {
+        Set<String> names = new HashSet<>();
+        for (Iterator<String> it = dirtyAttributes.iterator(); it.hasNext(); ) {
+            names.add(it.next());
+            it.remove();
+        }
+        return names;
+    }
+
+    /**
+     * Marks the given attributes as changed again, typically because
+     * saving them failed.
+     * @param names the names of the attributes
+     */
+    public void restoreDirtyAttributes(Set<String> names) {
+        dirtyAttributes.addAll(names);
+    }
+
+    /**
+     * Sets whether the whole session needs to be written out,
+     * without touching the names of the changed attributes.
+     * @param fullSaveRequired true if a full save is required
+     */
+    public void setFullSaveRequired(boolean fullSaveRequired) {
+        this.dirty = fullSaveRequired;
     }
 
     public long getLastSaved() {
@@ -179,7 +237,7 @@ public class SessionData implements Serializable {
         if (value == null && old == null) {
             return null;
         }
-        setDirty(true);
+        dirtyAttributes.add(name);
         return old;
     }
 
@@ -226,94 +284,48 @@ public class SessionData implements Serializable {
     }
 
     /**
-     * Save the session data.
-     * @param os the output stream to save to
+     * Returns the names of the attributes to be written to a session store,
+     * excluding the specified attribute names and the values that
+     * implement {@link NonPersistent}.
      * @param nonPersistentAttributes the attribute names to be excluded from serialization
-     * @throws IOException if an I/O error has occurred
+     * @return the names of the persistent attributes
      */
-    public static void serialize(SessionData data, OutputStream os,
-                                 Set<String> nonPersistentAttributes) throws IOException {
-        DataOutputStream out = new DataOutputStream(os);
-        out.writeUTF(data.getId());
-        out.writeLong(data.getCreated());
-        out.writeLong(data.getAccessed());
-        out.writeLong(data.getLastAccessed());
-        out.writeLong(data.getExpiry());
-        out.writeLong(data.getInactiveInterval());
-
-        Set<String> keys = data.getKeys();
-        if (keys.isEmpty()) {
-            out.writeInt(0);
-            return;
-        }
-
-        List<String> attrKeys = new ArrayList<>(keys);
-        // remove attributes excluded from serialization
-        if (nonPersistentAttributes != null && !attrKeys.isEmpty()) {
-            attrKeys.removeAll(nonPersistentAttributes);
+    List<String> getPersistentKeys(Set<String> nonPersistentAttributes) {
+        if (attributes.isEmpty()) {
+            return Collections.emptyList();
         }
-        for (String name : attrKeys) {
-            Object value = data.getAttribute(name);
-            if (value instanceof NonPersistent) {
-                attrKeys.remove(name);
-            }
-        }
-        out.writeInt(attrKeys.size());
-        if (!attrKeys.isEmpty()) {
-            ObjectOutputStream oos = new ObjectOutputStream(out);
-            for (String name : attrKeys) {
-                Object value = data.getAttribute(name);
-                oos.writeUTF(name);
-                oos.writeObject(value);
+        List<String> attrKeys = new ArrayList<>(attributes.size());
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            String name = entry.getKey();
+            if ((nonPersistentAttributes == null || !nonPersistentAttributes.contains(name)) &&
+                    !(entry.getValue() instanceof NonPersistent)) {
+                attrKeys.add(name);
             }
         }
+        return attrKeys;
     }
 
     /**
-     * Load session data from an input stream that contains session data.
-     * @param is the input stream containing session data
-     * @return the session data
-     * @throws Exception if the session data could not be read from the file
+     * Save the session data using the {@link BinarySessionDataSerializer}.
+     * @param data the session data
+     * @param os the output stream to save to
+     * @param nonPersistentAttributes the attribute names to be excluded from serialization
+     * @throws IOException if an I/O error has occurred
      */
-    public static SessionData deserialize(InputStream is) throws Exception {
-        DataInputStream dis = new DataInputStream(is);
-        String id = dis.readUTF(); // the actual id from inside the file
-        long created = dis.readLong();
-        long accessed = dis.readLong();
-        long lastAccessed = dis.readLong();
-        long expiry = dis.readLong();
-        long maxInactive = dis.readLong();
-        int entries = dis.readInt();
-
-        SessionData data = new SessionData(id, created, accessed, lastAccessed, maxInactive);
-        data.setExpiry(expiry);
-        data.setInactiveInterval(maxInactive);
-
-        // Attributes
-        restoreAttributes(dis, entries, data);
-
-        return data;
+    public static void serialize(SessionData data, OutputStream os,
+                                 Set<String> nonPersistentAttributes) throws IOException {
+        BinarySessionDataSerializer.INSTANCE.serialize(data, os, nonPersistentAttributes);
     }
 
     /**
-     * Load attributes from an input stream that contains session data.
+     * Load session data from an input stream that contains session data
+     * in either the binary or the original format.
      * @param is the input stream containing session data
-     * @param entries number of attributes
-     * @param data the data to restore to
-     * @throws Exception if the input stream is invalid or fails to read
+     * @return the session data
+     * @throws Exception if the session data could not be read from the file
      */
-    private static void restoreAttributes(InputStream is, int entries, SessionData data) throws Exception {
-        if (entries > 0) {
-            // input stream should not be closed here
-            Map<String, Object> attributes = new HashMap<>();
-            ObjectInputStream ois =  new CustomObjectInputStream(is);
-            for (int i = 0; i < entries; i++) {
-                String key = ois.readUTF();
-                Object value = ois.readObject();
-                attributes.put(key, value);
-            }
-            data.putAllAttributes(attributes);
-        }
+    public static SessionData deserialize(InputStream is) throws Exception {
+        return BinarySessionDataSerializer.INSTANCE.deserialize(is);
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * Converts session data to and from the byte stream kept by a session store.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public interface SessionDataSerializer {
+
+    /**
+     * Writes the session data to the output stream.
+     * The output stream is flushed but not closed.
+     * @param data the session data to write
+     * @param os the output stream to write to
+     * @param nonPersistentAttributes the attribute names to be excluded from serialization
+     * @throws IOException if an I/O error has occurred
+     */
+    void serialize(SessionData data, OutputStream os, Set<String> nonPersistentAttributes) throws IOException;
+
+    /**
+     * Reads session data from the input stream.
+     * @param is the input stream containing session data
+     * @return the session data
+     * @throws Exception if the session data could not be read
+     */
+    SessionData deserialize(InputStream is) throws Exception;
+
+}
@@ -25,6 +25,13 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * The Session ID Generator.
  *
+ * <p>By default, all session ids are drawn from a single random number
+ * generator guarded by its monitor. When a number of stripes is specified,
+ * each thread is mapped to one of several independently seeded generators,
+ * so that concurrently created sessions rarely wait for each other.
+ * In striped mode, session ids consist of a fixed number of base64url
+ * characters encoding 144 random bits, followed by the worker name, if any.</p>
+ *
  * <p>Created: 2017. 6. 12.</p>
  */
 public class SessionIdGenerator {
@@ -33,10 +40,22 @@ public class SessionIdGenerator {
 
     private static final AtomicLong COUNTER = new AtomicLong();
 
+    private static final int RANDOM_BYTES = 18;
+
+    private static final int ENCODED_LENGTH = RANDOM_BYTES / 3 * 4;
+
+    /** The number of ids a stripe generates before its generator is reseeded */
+    private static final int RESEED_INTERVAL = 100000;
+
+    private static final char[] BASE64URL_CHARS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
     private final String workerName;
 
     private final Random random;
 
+    private final Stripe[] stripes;
+
     private boolean weakRandom;
 
     public SessionIdGenerator() {
@@ -44,11 +63,37 @@ public class SessionIdGenerator {
     }
 
     public SessionIdGenerator(String workerName) {
+        this(workerName, 0);
+    }
+
+    /**
+     * Instantiates a new SessionIdGenerator.
+     * @param workerName the worker name to be appended to the session ids,
+     *      which must not contain '.'
+     * @param stripes the number of random number generators among which
+     *      threads are spread; if less than 1, a single generator is shared
+     *      by all threads and session ids are generated in the legacy format
+     */
+    public SessionIdGenerator(String workerName, int stripes) {
         if (workerName != null && workerName.contains(".")) {
             throw new IllegalArgumentException("Worker name cannot contain '.'");
         }
         this.workerName = workerName;
-        this.random = initRandom();
+        if (stripes > 0) {
+            this.random = null;
+            this.stripes = createStripes(stripes, workerName);
+        } else {
+            this.random = initRandom();
+            this.stripes = null;
+        }
+    }
+
+    /**
+     * Returns the number of stripes, or 0 if a single generator is shared.
+     * @return the number of stripes
+     */
+    public int getStripes() {
+        return (stripes != null ? stripes.length : 0);
     }
 
     /**
@@ -57,6 +102,10 @@ public class SessionIdGenerator {
      * @return a new unique session id
      */
     public String createSessionId(long seedTerm) {
+        if (stripes != null) {
+            int index = (int)Thread.currentThread().getId() & (stripes.length - 1);
+            return stripes[index].nextId(seedTerm);
+        }
         synchronized (random) {
             long r0;
             if (weakRandom) {
@@ -102,4 +151,64 @@ public class SessionIdGenerator {
         }
     }
 
+    private Stripe[] createStripes(int count, String workerName) {
+        int size = 1;
+        while (size < count && size < (1 << 16)) {
+            size <<= 1;
+        }
+        Stripe[] stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(initRandom(), weakRandom, workerName);
+        }
+        return stripes;
+    }
+
+    /**
+     * A random number generator together with the buffers
+     * used to encode the ids drawn from it.
+     */
+    private static class Stripe {
+
+        private final Random random;
+
+        private final boolean weakRandom;
+
+        private final byte[] bytes = new byte[RANDOM_BYTES];
+
+        private final char[] chars;
+
+        private int count;
+
+        Stripe(Random random, boolean weakRandom, String workerName) {
+            this.random = random;
+            this.weakRandom = weakRandom;
+            if (workerName != null) {
+                this.chars = new char[ENCODED_LENGTH + 1 + workerName.length()];
+                this.chars[ENCODED_LENGTH] = '.';
+                workerName.getChars(0, workerName.length(), this.chars, ENCODED_LENGTH + 1);
+            } else {
+                this.chars = new char[ENCODED_LENGTH];
+            }
+        }
+
+        synchronized String nextId(long seedTerm) {
+            if (weakRandom || ++count >= RESEED_INTERVAL) {
+                // setSeed supplements rather than replaces the seed of a SecureRandom
+                random.setSeed(random.nextLong() ^ System.nanoTime() ^
+                        Runtime.getRuntime().freeMemory() ^ (seedTerm << 32));
+                count = 0;
+            }
+            random.nextBytes(bytes);
+            for (int i = 0, j = 0; i < RANDOM_BYTES; i += 3) {
+                int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+                chars[j++] = BASE64URL_CHARS[(bits >>> 18) & 0x3f];
+                chars[j++] = BASE64URL_CHARS[(bits >>> 12) & 0x3f];
+                chars[j++] = BASE64URL_CHARS[(bits >>> 6) & 0x3f];
+                chars[j++] = BASE64URL_CHARS[bits & 0x3f];
+            }
+            return new String(chars);
+        }
+
+    }
+
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.template;
+
+import com.aspectran.core.component.template.engine.CompilableTemplateEngine;
+import com.aspectran.core.component.template.engine.TemplateEngineProcessException;
+import com.aspectran.core.util.SystemUtils;
+import com.aspectran.core.util.ToStringBuilder;
+import com.aspectran.core.util.cache.ConcurrentLruCache;
+
+/**
+ * A bounded cache of inline templates compiled by {@link CompilableTemplateEngine}s.
+ *
+ * <p>Templates are keyed by the engine, the template name and the template
+ * source itself, so a template whose source has been reloaded is compiled
+ * again, and the stale entry is eventually evicted as least recently used.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class CompiledTemplateCache {
+
+    public static final String CAPACITY_PROPERTY_NAME =
+            "com.aspectran.core.component.template.compiledTemplateCacheCapacity";
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final ConcurrentLruCache<TemplateKey, Object> cache;
+
+    public CompiledTemplateCache() {
+        this(determineCapacity());
+    }
+
+    public CompiledTemplateCache(int capacity) {
+        this.cache = new ConcurrentLruCache<>(capacity, CompiledTemplateCache::compile);
+    }
+
+    /**
+     * Returns the compiled template for the given source,
+     * compiling it with the given engine if it is not cached yet.
+     * @param engine the template engine
+     * @param templateName the template name
+     * @param templateSource the template source
+     * @return the compiled template
+     * @throws TemplateEngineProcessException if the template source can not be compiled
+     */
+    public Object get(CompilableTemplateEngine engine, String templateName, String templateSource)
+            throws TemplateEngineProcessException {
+        try {
+            return cache.get(new TemplateKey(engine, templateName, templateSource));
+        } catch (CompileFailedException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getCapacity() {
+        return cache.getCapacity();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("size", size());
+        tsb.append("capacity", getCapacity());
+        tsb.append("hits", getHitCount());
+        tsb.append("misses", getMissCount());
+        tsb.append("evictions", getEvictionCount());
+        return tsb.toString();
+    }
+
+    private static Object compile(TemplateKey key) {
+        try {
+            return key.engine.compile(key.templateName, key.templateSource);
+        } catch (TemplateEngineProcessException e) {
+            throw new CompileFailedException(e);
+        }
+    }
+
+    private static int determineCapacity() {
+        String capacity = SystemUtils.getProperty(CAPACITY_PROPERTY_NAME);
+        if (capacity != null) {
+            try {
+                int value = Integer.parseInt(capacity);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return DEFAULT_CAPACITY;
+    }
+
+    private static class TemplateKey {
+
+        private final CompilableTemplateEngine engine;
+
+        private final String templateName;
+
+        private final String templateSource;
+
+        private final int hashCode;
+
+        TemplateKey(CompilableTemplateEngine engine, String templateName, String templateSource) {
+            this.engine = engine;
+            this.templateName = templateName;
+            this.templateSource = templateSource;
+            this.hashCode = 31 * (31 * System.identityHashCode(engine) + templateName.hashCode()) +
+                    templateSource.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey key = (TemplateKey)other;
+            return (engine == key.engine && hashCode == key.hashCode &&
+                    templateName.equals(key.templateName) && templateSource.equals(key.templateSource));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    private static class CompileFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = -4563198752183623915L;
+
+        CompileFailedException(TemplateEngineProcessException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized TemplateEngineProcessException getCause() {
+            return (TemplateEngineProcessException)super.getCause();
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package com.aspectran.core.component.template;
 import com.aspectran.core.activity.Activity;
 import com.aspectran.core.activity.ActivityData;
 import com.aspectran.core.component.AbstractComponent;
+import com.aspectran.core.component.template.engine.CompilableTemplateEngine;
 import com.aspectran.core.component.template.engine.TemplateEngine;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.expr.TokenEvaluation;
@@ -41,6 +42,8 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
 
     private final TemplateRuleRegistry templateRuleRegistry;
 
+    private final CompiledTemplateCache compiledTemplateCache = new CompiledTemplateCache();
+
     /**
      * Instantiates a new context template renderer.
      * @param context the activity context
@@ -51,6 +54,15 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
         this.templateRuleRegistry = templateRuleRegistry;
     }
 
+    /**
+     * Returns the cache of inline templates compiled by
+     * {@link CompilableTemplateEngine}s.
+     * @return the compiled template cache
+     */
+    public CompiledTemplateCache getCompiledTemplateCache() {
+        return compiledTemplateCache;
+    }
+
     @Override
     public String render(String templateId) {
         StringWriter writer = new StringWriter();
@@ -158,7 +170,14 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
                         if (templateName == null) {
                             templateName = templateRule.getEngine() + "/" + templateRule.hashCode();
                         }
-                        engine.process(templateName, model, templateSource, writer);
+                        if (engine instanceof CompilableTemplateEngine && !templateRule.isNoCache()) {
+                            CompilableTemplateEngine compilableEngine = (CompilableTemplateEngine)engine;
+                            Object compiledTemplate = compiledTemplateCache.get(compilableEngine,
+                                    templateName, templateSource);
+                            compilableEngine.processCompiled(compiledTemplate, model, writer);
+                        } else {
+                            engine.process(templateName, model, templateSource, writer);
+                        }
                     }
                 }
             } else {
@@ -182,6 +201,7 @@ public class DefaultTemplateRenderer extends AbstractComponent implements Templa
 
     @Override
     protected void doDestroy() {
+        compiledTemplateCache.clear();
         templateRuleRegistry.destroy();
     }
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.template.engine;
+
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * A {@link TemplateEngine} that can compile an inline template source once
+ * and process the compiled template many times.
+ * Compiled templates are cached by the template renderer.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public interface CompilableTemplateEngine extends TemplateEngine {
+
+    /**
+     * Compiles the given template source.
+     * @param templateName the template name
+     * @param templateSource the template source
+     * @return the compiled template, which must be safe to process concurrently
+     * @throws TemplateEngineProcessException if the template source can not be compiled
+     */
+    Object compile(String templateName, String templateSource) throws TemplateEngineProcessException;
+
+    /**
+     * Executes a template previously compiled by this engine, writing the generated
+     * output to the supplied {@link Writer}.
+     * @param compiledTemplate the compiled template
+     * @param model the holder of the variables visible from the template (name-value pairs)
+     * @param writer the {@link Writer} where the output of the template will go. {@link Writer#close()} is not called.
+     * @throws TemplateEngineProcessException if an exception occurs during template processing
+     */
+    void processCompiled(Object compiledTemplate, Map<String, Object> model, Writer writer)
+            throws TemplateEngineProcessException;
+
+}
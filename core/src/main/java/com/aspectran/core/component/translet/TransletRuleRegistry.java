@@ -17,6 +17,9 @@ package com.aspectran.core.component.translet;
 
 import com.aspectran.core.adapter.ApplicationAdapter;
 import com.aspectran.core.component.AbstractComponent;
+import com.aspectran.core.component.translet.router.TransletRouter;
+import com.aspectran.core.component.translet.router.TransletRuleMatch;
+import com.aspectran.core.component.translet.router.TrieTransletRouter;
 import com.aspectran.core.component.translet.scan.TransletScanFilter;
 import com.aspectran.core.component.translet.scan.TransletScanner;
 import com.aspectran.core.context.ActivityContext;
@@ -38,14 +41,19 @@ import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 import com.aspectran.core.util.wildcard.WildcardPattern;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 /**
  * The Class TransletRuleRegistry.
@@ -54,6 +62,8 @@ public class TransletRuleRegistry extends AbstractComponent {
 
     private static final Logger logger = LoggerFactory.getLogger(TransletRuleRegistry.class);
 
+    private static final int DEFAULT_NOT_FOUND_CACHE_CAPACITY = 1024;
+
     private final Map<String, TransletRule> transletRuleMap = new LinkedHashMap<>();
 
     private final Map<String, TransletRule> getTransletRuleMap = new HashMap<>();
@@ -86,6 +96,19 @@ public class TransletRuleRegistry extends AbstractComponent {
 
     private AssistantLocal assistantLocal;
 
+    private Supplier<TransletRouter> transletRouterFactory = TrieTransletRouter::new;
+
+    /** The router in use; replaced as a whole, never modified once published */
+    private volatile TransletRouter transletRouter;
+
+    private volatile boolean transletRouterPrepared;
+
+    private final Set<String> notFoundCache = ConcurrentHashMap.newKeySet();
+
+    private final Queue<String> notFoundCacheQueue = new ConcurrentLinkedQueue<>();
+
+    private volatile int notFoundCacheCapacity = DEFAULT_NOT_FOUND_CACHE_CAPACITY;
+
     public TransletRuleRegistry(ApplicationAdapter applicationAdapter) {
         this.basePath = applicationAdapter.getBasePath();
         this.classLoader = applicationAdapter.getClassLoader();
@@ -104,6 +127,18 @@ public class TransletRuleRegistry extends AbstractComponent {
     }
 
     public TransletRule getTransletRule(String transletName, MethodType requestMethod) {
+        TransletRuleMatch transletRuleMatch = matchTransletRule(transletName, requestMethod);
+        return (transletRuleMatch != null ? transletRuleMatch.getTransletRule() : null);
+    }
+
+    /**
+     * Returns the translet rule that matches the specified request name,
+     * along with any path variables captured while routing.
+     * @param transletName the request name
+     * @param requestMethod the request method
+     * @return the matched translet rule, or {@code null} if not found
+     */
+    public TransletRuleMatch matchTransletRule(String transletName, MethodType requestMethod) {
         if (transletName == null) {
             throw new IllegalArgumentException("transletName must not be null");
         }
@@ -115,82 +150,141 @@ public class TransletRuleRegistry extends AbstractComponent {
         switch (requestMethod) {
             case GET:
                 transletRule = getTransletRuleMap.get(transletName);
-                if (transletRule == null) {
-                    transletRule = lookupWildTransletRule(wildGetTransletRuleSet, transletName);
-                }
                 break;
             case POST:
                 transletRule = postTransletRuleMap.get(transletName);
-                if (transletRule == null) {
-                    transletRule = lookupWildTransletRule(wildPostTransletRuleSet, transletName);
-                }
                 break;
             case PUT:
                 transletRule = putTransletRuleMap.get(transletName);
-                if (transletRule == null) {
-                    transletRule = lookupWildTransletRule(wildPutTransletRuleSet, transletName);
-                }
                 break;
             case PATCH:
                 transletRule = patchTransletRuleMap.get(transletName);
-                if (transletRule == null) {
-                    transletRule = lookupWildTransletRule(wildPatchTransletRuleSet, transletName);
-                }
                 break;
             case DELETE:
                 transletRule = deleteTransletRuleMap.get(transletName);
-                if (transletRule == null) {
-                    transletRule = lookupWildTransletRule(wildDeleteTransletRuleSet, transletName);
-                }
                 break;
             default:
-                transletRule = lookupEtcTransletRule(transletName, requestMethod);
+                transletRule = null;
         }
-        if (transletRule == null && requestMethod != MethodType.GET) {
+        if (transletRule != null) {
+            return new TransletRuleMatch(transletRule);
+        }
+        TransletRuleMatch transletRuleMatch = getTransletRouter().route(transletName, requestMethod);
+        if (transletRuleMatch == null && requestMethod != MethodType.GET) {
             transletRule = transletRuleMap.get(transletName);
-            if (transletRule == null) {
-                transletRule = lookupWildTransletRule(wildGetTransletRuleSet, transletName);
+            if (transletRule != null) {
+                return new TransletRuleMatch(transletRule);
             }
+            transletRuleMatch = getTransletRouter().route(transletName, MethodType.GET);
         }
-        return transletRule;
+        return transletRuleMatch;
     }
 
-    private TransletRule lookupWildTransletRule(Set<TransletRule> transletRuleSet, String transletName) {
-        if (!transletRuleSet.isEmpty()) {
-            for (TransletRule transletRule : transletRuleSet) {
-                WildcardPattern namePattern = transletRule.getNamePattern();
-                if (namePattern != null) {
-                    if (namePattern.matches(transletName)) {
-                        return transletRule;
-                    }
-                } else {
-                    if (transletName.equals(transletRule.getName())) {
-                        return transletRule;
-                    }
+    /**
+     * Resolves the translet rule for the specified request name without
+     * throwing an exception if there is none. Request names that have been
+     * found to match no translet are remembered in a bounded cache, so that
+     * repeated requests for unknown names are rejected with a single lookup.
+     * @param transletName the request name
+     * @param requestMethod the request method
+     * @return the matched translet rule, or {@code null} if not found
+     */
+    public TransletRuleMatch resolveTransletRule(String transletName, MethodType requestMethod) {
+        if (transletName == null) {
+            throw new IllegalArgumentException("transletName must not be null");
+        }
+        if (requestMethod == null) {
+            throw new IllegalArgumentException("requestMethod must not be null");
+        }
+        if (notFoundCacheCapacity <= 0) {
+            return matchTransletRule(transletName, requestMethod);
+        }
+        String key = requestMethod.name() + " " + transletName;
+        if (notFoundCache.contains(key)) {
+            return null;
+        }
+        TransletRuleMatch transletRuleMatch = matchTransletRule(transletName, requestMethod);
+        if (transletRuleMatch == null && notFoundCache.add(key)) {
+            notFoundCacheQueue.offer(key);
+            while (notFoundCache.size() > notFoundCacheCapacity) {
+                String eldest = notFoundCacheQueue.poll();
+                if (eldest == null) {
+                    break;
                 }
+                notFoundCache.remove(eldest);
             }
         }
-        return null;
+        return transletRuleMatch;
     }
 
-    private TransletRule lookupEtcTransletRule(String transletName, MethodType requestMethod) {
-        if (!etcTransletRuleSet.isEmpty()) {
-            for (TransletRule transletRule : etcTransletRuleSet) {
-                if (requestMethod.containsTo(transletRule.getAllowedMethods())) {
-                    WildcardPattern namePattern = transletRule.getNamePattern();
-                    if (namePattern != null) {
-                        if (namePattern.matches(transletName)) {
-                            return transletRule;
-                        }
-                    } else {
-                        if (transletName.equals(transletRule.getName())) {
-                            return transletRule;
+    public int getNotFoundCacheCapacity() {
+        return notFoundCacheCapacity;
+    }
+
+    /**
+     * Specifies the maximum number of request names that are remembered
+     * as matching no translet; 0 disables the cache.
+     * @param notFoundCacheCapacity the capacity of the not-found cache
+     */
+    public void setNotFoundCacheCapacity(int notFoundCacheCapacity) {
+        this.notFoundCacheCapacity = notFoundCacheCapacity;
+        clearNotFoundCache();
+    }
+
+    private void clearNotFoundCache() {
+        notFoundCache.clear();
+        notFoundCacheQueue.clear();
+    }
+
+    public TransletRouter getTransletRouter() {
+        if (!transletRouterPrepared) {
+            prepareTransletRouter();
+        }
+        return transletRouter;
+    }
+
+    /**
+     * Specifies the factory of the router to resolve the translet names that
+     * contain path variables or wildcards. Each time the translet rules change,
+     * a new router is built and replaces the one in use, so that lookups
+     * running meanwhile are never served by a partially filled router.
+     * @param transletRouterFactory the factory of the translet router
+     */
+    public void setTransletRouterFactory(Supplier<TransletRouter> transletRouterFactory) {
+        if (transletRouterFactory == null) {
+            throw new IllegalArgumentException("transletRouterFactory must not be null");
+        }
+        synchronized (this) {
+            this.transletRouterFactory = transletRouterFactory;
+            this.transletRouterPrepared = false;
+        }
+        clearNotFoundCache();
+    }
+
+    private synchronized void prepareTransletRouter() {
+        if (!transletRouterPrepared) {
+            TransletRouter transletRouter = transletRouterFactory.get();
+            transletRouter.addTransletRules(MethodType.GET, wildGetTransletRuleSet);
+            transletRouter.addTransletRules(MethodType.POST, wildPostTransletRuleSet);
+            transletRouter.addTransletRules(MethodType.PUT, wildPutTransletRuleSet);
+            transletRouter.addTransletRules(MethodType.PATCH, wildPatchTransletRuleSet);
+            transletRouter.addTransletRules(MethodType.DELETE, wildDeleteTransletRuleSet);
+            if (!etcTransletRuleSet.isEmpty()) {
+                for (MethodType requestMethod : MethodType.values()) {
+                    List<TransletRule> transletRules = new ArrayList<>();
+                    for (TransletRule transletRule : etcTransletRuleSet) {
+                        if (requestMethod.containsTo(transletRule.getAllowedMethods())) {
+                            transletRules.add(transletRule);
                         }
                     }
+                    if (!transletRules.isEmpty()) {
+                        transletRouter.addTransletRules(requestMethod, transletRules);
+                    }
                 }
             }
+            this.transletRouter = transletRouter;
+            transletRouterPrepared = true;
         }
-        return null;
     }
 
     public boolean contains(String transletName) {
@@ -198,7 +292,7 @@ public class TransletRuleRegistry extends AbstractComponent {
     }
 
     public boolean contains(String transletName, MethodType requestMethod) {
-        return (getTransletRule(transletName, requestMethod) != null);
+        return (resolveTransletRule(transletName, requestMethod) != null);
     }
 
     public void addTransletRule(TransletRule transletRule) throws IllegalRuleException {
@@ -288,8 +382,9 @@ public class TransletRuleRegistry extends AbstractComponent {
         }
     }
 
-    private void saveTransletRule(TransletRule transletRule) {
+    private synchronized void saveTransletRule(TransletRule transletRule) {
         transletRule.determineResponseRule();
+        clearNotFoundCache();
 
         String transletName = applyTransletNamePattern(transletRule.getName());
         transletRule.setName(transletName);
@@ -356,6 +451,8 @@ public class TransletRuleRegistry extends AbstractComponent {
             }
         }
 
+        transletRouterPrepared = false;
+
         if (logger.isTraceEnabled()) {
             logger.trace("add TransletRule " + transletRule);
         }
@@ -456,7 +553,7 @@ public class TransletRuleRegistry extends AbstractComponent {
 
     @Override
     protected void doInitialize() {
-        // Nothing to do
+        prepareTransletRouter();
     }
 
     @Override
@@ -473,6 +570,8 @@ public class TransletRuleRegistry extends AbstractComponent {
         wildPatchTransletRuleSet.clear();
         wildDeleteTransletRuleSet.clear();
         etcTransletRuleSet.clear();
+        transletRouterPrepared = false;
+        clearNotFoundCache();
     }
 
     static class WeightComparator implements Comparator<TransletRule> {
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet.router;
+
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.core.util.wildcard.WildcardPattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A translet router that tries each translet rule in order of priority
+ * until one matches.
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+public class LinearTransletRouter implements TransletRouter {
+
+    private final Map<MethodType, List<TransletRule>> transletRulesMap = new EnumMap<>(MethodType.class);
+
+    @Override
+    public void addTransletRules(MethodType requestMethod, Collection<TransletRule> transletRules) {
+        if (requestMethod == null) {
+            throw new IllegalArgumentException("requestMethod must not be null");
+        }
+        if (transletRules != null && !transletRules.isEmpty()) {
+            transletRulesMap.computeIfAbsent(requestMethod, k -> new ArrayList<>()).addAll(transletRules);
+        }
+    }
+
+    @Override
+    public TransletRuleMatch route(String transletName, MethodType requestMethod) {
+        List<TransletRule> transletRules = transletRulesMap.get(requestMethod);
+        if (transletRules != null) {
+            for (TransletRule transletRule : transletRules) {
+                WildcardPattern namePattern = transletRule.getNamePattern();
+                if (namePattern != null) {
+                    if (namePattern.matches(transletName)) {
+                        return new TransletRuleMatch(transletRule);
+                    }
+                } else {
+                    if (transletName.equals(transletRule.getName())) {
+                        return new TransletRuleMatch(transletRule);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        transletRulesMap.clear();
+    }
+
+}
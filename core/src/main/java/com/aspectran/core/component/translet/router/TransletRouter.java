@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet.router;
+
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.type.MethodType;
+
+import java.util.Collection;
+
+/**
+ * The Interface TransletRouter.
+ *
+ * <p>A translet router resolves request names against the translet rules
+ * whose names contain path variables or wildcards. Literal translet names
+ * are always resolved by the {@code TransletRuleRegistry} itself.</p>
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+public interface TransletRouter {
+
+    /**
+     * Registers the translet rules that can be routed for the specified
+     * request method. The translet rules must be given in order of priority.
+     * @param requestMethod the request method
+     * @param transletRules the translet rules in order of priority
+     */
+    void addTransletRules(MethodType requestMethod, Collection<TransletRule> transletRules);
+
+    /**
+     * Returns the translet rule of the highest priority that matches
+     * the specified request name.
+     * @param transletName the request name
+     * @param requestMethod the request method
+     * @return the matched translet rule, or {@code null} if not found
+     */
+    TransletRuleMatch route(String transletName, MethodType requestMethod);
+
+    /**
+     * Removes all registered translet rules.
+     */
+    void clear();
+
+}
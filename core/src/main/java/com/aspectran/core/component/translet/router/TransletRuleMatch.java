@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet.router;
+
+import com.aspectran.core.activity.request.PathVariableMap;
+import com.aspectran.core.context.rule.TransletRule;
+
+/**
+ * The result of resolving a request name to a translet rule.
+ *
+ * <p>If the router captured path variables while matching, they are
+ * kept here so that the activity does not have to parse the request
+ * name again.</p>
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+public class TransletRuleMatch {
+
+    private final TransletRule transletRule;
+
+    private final PathVariableMap pathVariables;
+
+    public TransletRuleMatch(TransletRule transletRule) {
+        this(transletRule, null);
+    }
+
+    public TransletRuleMatch(TransletRule transletRule, PathVariableMap pathVariables) {
+        if (transletRule == null) {
+            throw new IllegalArgumentException("transletRule must not be null");
+        }
+        this.transletRule = transletRule;
+        this.pathVariables = pathVariables;
+    }
+
+    public TransletRule getTransletRule() {
+        return transletRule;
+    }
+
+    /**
+     * Returns the path variables captured during routing.
+     * @return the path variables, or {@code null} if they were not captured
+     */
+    public PathVariableMap getPathVariables() {
+        return pathVariables;
+    }
+
+}
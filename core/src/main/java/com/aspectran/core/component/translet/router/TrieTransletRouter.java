@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet.router;
+
+import com.aspectran.core.activity.request.PathVariableMap;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.expr.token.Token;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.core.context.rule.type.TokenType;
+import com.aspectran.core.util.wildcard.WildcardPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A translet router that compiles the translet names into a trie of
+ * name segments separated by {@code '/'}, so that a request name is
+ * resolved in time proportional to the number of its segments.
+ * Path variables are captured while matching.
+ *
+ * <p>When several translet rules match the same request name, the one
+ * with the highest priority wins, exactly as with
+ * {@link LinearTransletRouter}. Translet names that can not be expressed
+ * as segments, for example those containing explicit wildcard characters,
+ * are matched linearly.</p>
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+public class TrieTransletRouter implements TransletRouter {
+
+    private static final char SEPARATOR = ActivityContext.NAME_SEPARATOR_CHAR;
+
+    private final Map<MethodType, RouteTree> routeTrees = new EnumMap<>(MethodType.class);
+
+    @Override
+    public void addTransletRules(MethodType requestMethod, Collection<TransletRule> transletRules) {
+        if (requestMethod == null) {
+            throw new IllegalArgumentException("requestMethod must not be null");
+        }
+        if (transletRules != null && !transletRules.isEmpty()) {
+            RouteTree routeTree = routeTrees.computeIfAbsent(requestMethod, k -> new RouteTree());
+            for (TransletRule transletRule : transletRules) {
+                routeTree.add(transletRule);
+            }
+        }
+    }
+
+    @Override
+    public TransletRuleMatch route(String transletName, MethodType requestMethod) {
+        RouteTree routeTree = routeTrees.get(requestMethod);
+        if (routeTree != null) {
+            return routeTree.route(transletName);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public void clear() {
+        routeTrees.clear();
+    }
+
+    private static String[] split(String name) {
+        int count = 1;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) == SEPARATOR) {
+                count++;
+            }
+        }
+        String[] segments = new String[count];
+        int start = 0;
+        int index = 0;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) == SEPARATOR) {
+                segments[index++] = name.substring(start, i);
+                start = i + 1;
+            }
+        }
+        segments[index] = name.substring(start);
+        return segments;
+    }
+
+    /**
+     * Splits the name of the translet rule into segments.
+     * @param transletRule the translet rule
+     * @return the segments, or {@code null} if the name can not be
+     *      expressed as segments
+     */
+    private static Segment[] compile(TransletRule transletRule) {
+        Token[] nameTokens = transletRule.getNameTokens();
+        if (transletRule.getNamePattern() == null || nameTokens == null) {
+            String[] names = split(transletRule.getName());
+            Segment[] segments = new Segment[names.length];
+            for (int i = 0; i < names.length; i++) {
+                segments[i] = new Segment(names[i]);
+            }
+            return segments;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        List<Object> parts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (Token token : nameTokens) {
+            if (token.getType() == TokenType.PARAMETER || token.getType() == TokenType.ATTRIBUTE) {
+                if (text.length() > 0) {
+                    parts.add(text.toString());
+                    text.setLength(0);
+                } else if (!parts.isEmpty() && parts.get(parts.size() - 1) instanceof Token) {
+                    // adjacent path variables turn into a double star
+                    return null;
+                }
+                parts.add(token);
+            } else {
+                String str = token.stringify();
+                for (int i = 0; i < str.length(); i++) {
+                    char c = str.charAt(i);
+                    if (c == SEPARATOR) {
+                        if (text.length() > 0) {
+                            parts.add(text.toString());
+                            text.setLength(0);
+                        }
+                        segments.add(new Segment(parts.toArray()));
+                        parts.clear();
+                    } else if (c == WildcardPattern.STAR_CHAR
+                            || c == WildcardPattern.QUESTION_CHAR
+                            || c == WildcardPattern.PLUS_CHAR
+                            || c == '\\') {
+                        return null;
+                    } else {
+                        text.append(c);
+                    }
+                }
+            }
+        }
+        if (text.length() > 0) {
+            parts.add(text.toString());
+        }
+        segments.add(new Segment(parts.toArray()));
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * The routing index for a single request method.
+     */
+    private static class RouteTree {
+
+        private final Node root = new Node(null);
+
+        private final List<Node> residualRoutes = new ArrayList<>();
+
+        private int rank;
+
+        void add(TransletRule transletRule) {
+            int rank = this.rank++;
+            Segment[] segments = compile(transletRule);
+            if (segments == null) {
+                Node route = new Node(null);
+                route.setTransletRule(transletRule, rank);
+                residualRoutes.add(route);
+                return;
+            }
+            Node node = root;
+            node.touch(rank);
+            for (Segment segment : segments) {
+                node = node.getOrAddChild(segment);
+                node.touch(rank);
+            }
+            node.setTransletRule(transletRule, rank);
+        }
+
+        TransletRuleMatch route(String transletName) {
+            Matching matching = new Matching(split(transletName));
+            search(root, 0, matching);
+            for (Node route : residualRoutes) {
+                if (route.rank >= matching.bestRank) {
+                    break;
+                }
+                if (route.transletRule.getNamePattern().matches(transletName)) {
+                    return new TransletRuleMatch(route.transletRule);
+                }
+            }
+            if (matching.bestTransletRule != null) {
+                return new TransletRuleMatch(matching.bestTransletRule, matching.bestPathVariables);
+            } else {
+                return null;
+            }
+        }
+
+        private void search(Node node, int depth, Matching matching) {
+            if (node.minRank >= matching.bestRank) {
+                return;
+            }
+            if (depth == matching.segments.length) {
+                if (node.transletRule != null && node.rank < matching.bestRank) {
+                    matching.accept(node);
+                }
+                return;
+            }
+            String segment = matching.segments[depth];
+            if (node.literalChildren != null) {
+                Node child = node.literalChildren.get(segment);
+                if (child != null) {
+                    search(child, depth + 1, matching);
+                }
+            }
+            if (node.patternChildren != null) {
+                // pattern children are kept in ascending order of their minimum rank
+                for (Node child : node.patternChildren) {
+                    if (child.minRank >= matching.bestRank) {
+                        break;
+                    }
+                    int mark = matching.size;
+                    if (child.segment.matches(segment, 0, 0, matching)) {
+                        search(child, depth + 1, matching);
+                    }
+                    matching.size = mark;
+                }
+            }
+        }
+
+    }
+
+    private static class Node {
+
+        private final Segment segment;
+
+        private Map<String, Node> literalChildren;
+
+        private List<Node> patternChildren;
+
+        private TransletRule transletRule;
+
+        private int rank = Integer.MAX_VALUE;
+
+        private int minRank = Integer.MAX_VALUE;
+
+        Node(Segment segment) {
+            this.segment = segment;
+        }
+
+        void touch(int rank) {
+            if (rank < minRank) {
+                minRank = rank;
+            }
+        }
+
+        void setTransletRule(TransletRule transletRule, int rank) {
+            if (rank < this.rank) {
+                this.transletRule = transletRule;
+                this.rank = rank;
+            }
+        }
+
+        Node getOrAddChild(Segment segment) {
+            Node child;
+            if (segment.literal != null) {
+                if (literalChildren == null) {
+                    literalChildren = new HashMap<>();
+                }
+                child = literalChildren.get(segment.literal);
+                if (child == null) {
+                    child = new Node(segment);
+                    literalChildren.put(segment.literal, child);
+                }
+            } else {
+                if (patternChildren == null) {
+                    patternChildren = new ArrayList<>();
+                }
+                child = null;
+                for (Node node : patternChildren) {
+                    if (node.segment.key.equals(segment.key)) {
+                        child = node;
+                        break;
+                    }
+                }
+                if (child == null) {
+                    child = new Node(segment);
+                    patternChildren.add(child);
+                }
+            }
+            return child;
+        }
+
+    }
+
+    /**
+     * A segment of the translet name, consisting of literal texts and path
+     * variables. Adjacent path variables never occur.
+     */
+    private static class Segment {
+
+        private final String literal;
+
+        private final Object[] parts;
+
+        private final String key;
+
+        Segment(String literal) {
+            this.literal = literal;
+            this.parts = null;
+            this.key = literal;
+        }
+
+        Segment(Object[] parts) {
+            boolean hasVariables = false;
+            StringBuilder sb = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof Token) {
+                    sb.append(((Token)part).stringify());
+                    hasVariables = true;
+                } else {
+                    sb.append(part);
+                }
+            }
+            this.key = sb.toString();
+            this.literal = (hasVariables ? null : this.key);
+            this.parts = (hasVariables ? parts : null);
+        }
+
+        boolean matches(String str, int index, int pos, Matching matching) {
+            if (index == parts.length) {
+                return (pos == str.length());
+            }
+            Object part = parts[index];
+            if (part instanceof String) {
+                String text = (String)part;
+                return (str.startsWith(text, pos) && matches(str, index + 1, pos + text.length(), matching));
+            }
+            Token token = (Token)part;
+            if (index + 1 == parts.length) {
+                matching.capture(token, str.substring(pos));
+                return true;
+            }
+            String text = (String)parts[index + 1];
+            int mark = matching.size;
+            for (int end = str.indexOf(text, pos); end != -1; end = str.indexOf(text, end + 1)) {
+                matching.capture(token, str.substring(pos, end));
+                if (matches(str, index + 1, end, matching)) {
+                    return true;
+                }
+                matching.size = mark;
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * Holds the state of a single routing.
+     */
+    private static class Matching {
+
+        private final String[] segments;
+
+        private Token[] tokens = new Token[4];
+
+        private String[] values = new String[4];
+
+        private int size;
+
+        private int bestRank = Integer.MAX_VALUE;
+
+        private TransletRule bestTransletRule;
+
+        private PathVariableMap bestPathVariables;
+
+        Matching(String[] segments) {
+            this.segments = segments;
+        }
+
+        void capture(Token token, String value) {
+            if (size == tokens.length) {
+                tokens = Arrays.copyOf(tokens, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            tokens[size] = token;
+            values[size] = value;
+            size++;
+        }
+
+        void accept(Node node) {
+            PathVariableMap pathVariables = new PathVariableMap();
+            for (int i = 0; i < size; i++) {
+                Token token = tokens[i];
+                String value = values[i];
+                if (!value.isEmpty()) {
+                    pathVariables.put(token, value);
+                } else if (token.getDefaultValue() != null) {
+                    pathVariables.put(token, token.getDefaultValue());
+                }
+            }
+            bestRank = node.rank;
+            bestTransletRule = node.transletRule;
+            bestPathVariables = pathVariables;
+        }
+
+    }
+
+}
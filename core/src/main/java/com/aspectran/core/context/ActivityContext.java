@@ -19,6 +19,7 @@ import com.aspectran.core.activity.Activity;
 import com.aspectran.core.adapter.ApplicationAdapter;
 import com.aspectran.core.component.aspect.AspectRuleRegistry;
 import com.aspectran.core.component.bean.BeanRegistry;
+import com.aspectran.core.component.metrics.MetricsRegistry;
 import com.aspectran.core.component.schedule.ScheduleRuleRegistry;
 import com.aspectran.core.component.template.TemplateRenderer;
 import com.aspectran.core.component.translet.TransletRuleRegistry;
@@ -106,6 +107,12 @@ public interface ActivityContext {
      */
     TransletRuleRegistry getTransletRuleRegistry();
 
+    /**
+     * Gets the registry of the execution metrics of translets and aspect advice.
+     * @return the metrics registry
+     */
+    MetricsRegistry getMetricsRegistry();
+
     /**
      * Gets the message source.
      * @return the message source
@@ -22,6 +22,7 @@ import com.aspectran.core.component.AbstractComponent;
 import com.aspectran.core.component.aspect.AspectRuleRegistry;
 import com.aspectran.core.component.bean.BeanRegistry;
 import com.aspectran.core.component.bean.DefaultBeanRegistry;
+import com.aspectran.core.component.metrics.MetricsRegistry;
 import com.aspectran.core.component.schedule.ScheduleRuleRegistry;
 import com.aspectran.core.component.template.DefaultTemplateRenderer;
 import com.aspectran.core.component.template.TemplateRenderer;
@@ -51,6 +52,8 @@ public class DefaultActivityContext extends AbstractComponent implements Activit
 
     private final Activity defaultActivity;
 
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     private DescriptionRule descriptionRule;
 
     private CoreService rootService;
@@ -176,6 +179,11 @@ public class DefaultActivityContext extends AbstractComponent implements Activit
         this.transletRuleRegistry = transletRuleRegistry;
     }
 
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     @Override
     public MessageSource getMessageSource() {
         if (this.messageSource == null) {
@@ -29,6 +29,7 @@ import com.aspectran.core.component.schedule.ScheduleRuleRegistry;
 import com.aspectran.core.component.template.DefaultTemplateRenderer;
 import com.aspectran.core.component.template.TemplateRuleRegistry;
 import com.aspectran.core.component.translet.TransletRuleRegistry;
+import com.aspectran.core.component.translet.router.LinearTransletRouter;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.DefaultActivityContext;
 import com.aspectran.core.context.builder.reload.ActivityContextReloader;
@@ -52,12 +53,14 @@ import com.aspectran.core.context.rule.params.AspectranParameters;
 import com.aspectran.core.context.rule.type.AutoReloadType;
 import com.aspectran.core.context.rule.type.BeanProxifierType;
 import com.aspectran.core.context.rule.type.DefaultSettingType;
+import com.aspectran.core.context.rule.type.TransletRouterType;
 import com.aspectran.core.service.ServiceController;
 import com.aspectran.core.util.StringUtils;
 import com.aspectran.core.util.SystemUtils;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
+import java.io.File;
 import java.util.List;
 
 public abstract class AbstractActivityContextBuilder implements ActivityContextBuilder {
@@ -98,10 +101,13 @@ public abstract class AbstractActivityContextBuilder implements ActivityContextB
 
     private boolean useAponToLoadXml;
 
+    private String ruleSnapshotDir;
+
     private boolean debugMode;
 
     public AbstractActivityContextBuilder() {
         this.useAponToLoadXml = Boolean.parseBoolean(SystemUtils.getProperty(USE_APON_TO_LOAD_XML_PROPERTY_NAME));
+        this.ruleSnapshotDir = SystemUtils.getProperty(RULE_SNAPSHOT_DIR_PROPERTY_NAME);
         this.debugMode = Boolean.parseBoolean(SystemUtils.getProperty(DEBUG_MODE_PROPERTY_NAME));
     }
 
@@ -301,6 +307,22 @@ public abstract class AbstractActivityContextBuilder implements ActivityContextB
         this.useAponToLoadXml = useAponToLoadXml;
     }
 
+    protected String getRuleSnapshotDir() {
+        if (StringUtils.hasText(ruleSnapshotDir)) {
+            File dir = new File(ruleSnapshotDir);
+            if (!dir.isAbsolute() && basePath != null) {
+                dir = new File(basePath, ruleSnapshotDir);
+            }
+            return dir.getAbsolutePath();
+        }
+        return null;
+    }
+
+    @Override
+    public void setRuleSnapshotDir(String ruleSnapshotDir) {
+        this.ruleSnapshotDir = ruleSnapshotDir;
+    }
+
     public boolean isDebugMode() {
         return debugMode;
     }
@@ -362,6 +384,11 @@ public abstract class AbstractActivityContextBuilder implements ActivityContextB
 
         ScheduleRuleRegistry scheduleRuleRegistry = assistant.getScheduleRuleRegistry();
         TransletRuleRegistry transletRuleRegistry = assistant.getTransletRuleRegistry();
+        TransletRouterType transletRouterType = TransletRouterType.resolve(
+                (String)assistant.getSetting(DefaultSettingType.TRANSLET_ROUTER));
+        if (transletRouterType == TransletRouterType.LINEAR) {
+            transletRuleRegistry.setTransletRouterFactory(LinearTransletRouter::new);
+        }
 
         activityContext.setAspectRuleRegistry(aspectRuleRegistry);
         activityContext.setDefaultBeanRegistry(defaultBeanRegistry);
@@ -32,6 +32,8 @@ public interface ActivityContextBuilder {
 
     String USE_APON_TO_LOAD_XML_PROPERTY_NAME = "com.aspectran.core.context.builder.useAponToLoadXml";
 
+    String RULE_SNAPSHOT_DIR_PROPERTY_NAME = "com.aspectran.core.context.builder.ruleSnapshotDir";
+
     ContextConfig getContextConfig();
 
     String getBasePath();
@@ -104,6 +106,16 @@ public interface ActivityContextBuilder {
 
     void setUseAponToLoadXml(boolean useAponToLoadXml);
 
+    /**
+     * Sets the directory in which snapshots of the parsed XML configuration
+     * files are kept, keyed by the hash of their content. If set, a file
+     * whose content has not changed is loaded from its snapshot instead of
+     * being parsed again.
+     * @param ruleSnapshotDir the snapshot directory; relative paths are
+     *      resolved against the base path
+     */
+    void setRuleSnapshotDir(String ruleSnapshotDir);
+
     void setDebugMode(boolean debugMode);
 
 }
@@ -123,6 +123,7 @@ public class HybridActivityContextBuilder extends AbstractActivityContextBuilder
                 ActivityContextParser parser = new HybridActivityContextParser(assistant);
                 parser.setEncoding(getEncoding());
                 parser.setUseXmlToApon(isUseAponToLoadXml());
+                parser.setRuleSnapshotDir(getRuleSnapshotDir());
                 parser.setDebugMode(isDebugMode());
                 if (rootFile != null) {
                     parser.parse(rootFile);
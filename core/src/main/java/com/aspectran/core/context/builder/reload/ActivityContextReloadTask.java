@@ -23,23 +23,56 @@ import com.aspectran.core.util.logging.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.TimerTask;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static com.aspectran.core.util.ResourceUtils.JAR_URL_SEPARATOR;
 import static com.aspectran.core.util.ResourceUtils.URL_PROTOCOL_JAR;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
-public class ActivityContextReloadTask extends TimerTask {
+/**
+ * Watches the resources of the ActivityContext and restarts the service
+ * once they have been modified.
+ *
+ * <p>Directories holding the resources are watched with a {@link WatchService};
+ * JAR files, and all files if the file system cannot be watched, are polled
+ * for their last modified time at the scan interval. A restart is deferred
+ * until no further change has been detected during the quiet period, so that
+ * a burst of changes, such as a redeployment, results in a single restart.</p>
+ */
+public class ActivityContextReloadTask implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(ActivityContextReloadTask.class);
 
+    static final long DEFAULT_QUIET_PERIOD_MILLIS = 1000L;
+
     private final ServiceController serviceController;
 
+    private final Set<Path> watchDirs = new LinkedHashSet<>();
+
     private final Map<String, Long> modifiedTimeMap = new HashMap<>();
 
-    private volatile boolean modified = false;
+    private long scanIntervalMillis = 10000L;
+
+    private long quietPeriodMillis = DEFAULT_QUIET_PERIOD_MILLIS;
+
+    private volatile WatchService watchService;
+
+    private volatile boolean cancelled;
 
     public ActivityContextReloadTask(ServiceController serviceController) {
         this.serviceController = serviceController;
@@ -50,16 +83,18 @@ public class ActivityContextReloadTask extends TimerTask {
             while (resources.hasMoreElements()) {
                 URL url = resources.nextElement();
                 try {
-                    File file;
                     if (URL_PROTOCOL_JAR.equals(url.getProtocol())) {
                         URL fileUrl = new URL(url.getFile());
                         String[] parts = StringUtils.split(fileUrl.getFile(), JAR_URL_SEPARATOR);
-                        file = new File(parts[0]);
+                        File file = new File(parts[0]);
+                        modifiedTimeMap.put(file.getAbsolutePath(), file.lastModified());
                     } else {
-                        file = new File(url.getFile());
+                        File file = new File(url.getFile());
+                        File dir = (file.isDirectory() ? file : file.getParentFile());
+                        if (dir != null) {
+                            watchDirs.add(dir.toPath().toAbsolutePath());
+                        }
                     }
-                    String filePath = file.getAbsolutePath();
-                    modifiedTimeMap.put(filePath, file.lastModified());
                 } catch (IOException e) {
                     logger.error(e);
                 }
@@ -67,36 +102,141 @@ public class ActivityContextReloadTask extends TimerTask {
         }
     }
 
+    public void setScanIntervalMillis(long scanIntervalMillis) {
+        this.scanIntervalMillis = scanIntervalMillis;
+    }
+
+    public void setQuietPeriodMillis(long quietPeriodMillis) {
+        this.quietPeriodMillis = quietPeriodMillis;
+    }
+
+    boolean hasResources() {
+        return (!watchDirs.isEmpty() || !modifiedTimeMap.isEmpty());
+    }
+
+    void startWatching() {
+        if (watchDirs.isEmpty()) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path dir : watchDirs) {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("Unable to watch resource directories; falling back to polling: " + e.getMessage());
+            closeWatchService();
+            watchService = null;
+            // poll the files in the directories instead
+            for (Path dir : watchDirs) {
+                File[] files = dir.toFile().listFiles(File::isFile);
+                if (files != null) {
+                    for (File file : files) {
+                        modifiedTimeMap.put(file.getAbsolutePath(), file.lastModified());
+                    }
+                }
+            }
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        closeWatchService();
+    }
+
     @Override
     public void run() {
-        if (modifiedTimeMap.isEmpty()) {
-            return;
+        try {
+            startWatching();
+            watch();
+        } finally {
+            closeWatchService();
         }
-        if (modified) {
-            if (!serviceController.isBusy()) {
-                restartService();
-            } else {
-                return;
+    }
+
+    private void watch() {
+        long lastChangeTime = 0L;
+        long nextScanTime = System.currentTimeMillis() + scanIntervalMillis;
+        while (!cancelled) {
+            long waitMillis = nextScanTime - System.currentTimeMillis();
+            if (lastChangeTime > 0L) {
+                waitMillis = Math.min(waitMillis, lastChangeTime + quietPeriodMillis - System.currentTimeMillis());
+            }
+            boolean changed;
+            try {
+                changed = awaitChanges(Math.max(waitMillis, 1L));
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            long now = System.currentTimeMillis();
+            if (now >= nextScanTime) {
+                changed |= scanModifiedFiles();
+                nextScanTime = now + scanIntervalMillis;
+            }
+            if (changed) {
+                lastChangeTime = now;
+            } else if (lastChangeTime > 0L && now - lastChangeTime >= quietPeriodMillis && !cancelled) {
+                if (serviceController.isBusy()) {
+                    // try again after another quiet period
+                    lastChangeTime = now;
+                } else {
+                    lastChangeTime = 0L;
+                    restartService();
+                }
             }
         }
+    }
+
+    private boolean awaitChanges(long timeoutMillis) throws InterruptedException {
+        if (watchService == null) {
+            Thread.sleep(timeoutMillis);
+            return false;
+        }
+        WatchKey key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        boolean changed = false;
+        while (key != null) {
+            Path dir = (Path)key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changed = true;
+                if (event.kind() == OVERFLOW) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Some file change events were lost in directory: " + dir);
+                    }
+                    continue;
+                }
+                Path path = dir.resolve((Path)event.context());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Detected modified file: " + path);
+                }
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                    } catch (IOException e) {
+                        logger.warn("Unable to watch directory " + path + ": " + e.getMessage());
+                    }
+                }
+            }
+            key.reset();
+            key = watchService.poll();
+        }
+        return changed;
+    }
+
+    private boolean scanModifiedFiles() {
+        boolean modified = false;
         for (Map.Entry<String, Long> entry : modifiedTimeMap.entrySet()) {
             String filePath = entry.getKey();
             long prevLastModifiedTime = entry.getValue();
-            File file = new File(filePath);
-            long lastModifiedTime = file.lastModified();
+            long lastModifiedTime = new File(filePath).lastModified();
             if (prevLastModifiedTime != lastModifiedTime) {
                 modified = true;
-                modifiedTimeMap.put(filePath, lastModifiedTime);
+                entry.setValue(lastModifiedTime);
                 if (logger.isDebugEnabled()) {
                     logger.debug("Detected modified file: " + filePath);
                 }
             }
         }
-        if (modified) {
-            if (!serviceController.isBusy()) {
-                restartService();
-            }
-        }
+        return modified;
     }
 
     private void restartService() {
@@ -104,9 +244,17 @@ public class ActivityContextReloadTask extends TimerTask {
             String message = "Some resource file changes have been detected.";
             serviceController.restart(message);
         } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            modified = false;
+            logger.error("Failed to restart the service after resource changes", e);
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // ignore
+            }
         }
     }
 
@@ -21,10 +21,10 @@ import com.aspectran.core.util.logging.LoggerFactory;
 
 import java.net.URL;
 import java.util.Enumeration;
-import java.util.Timer;
 
 /**
- * Provides timer control to reload the ActivityContext.
+ * Controls the thread that watches for resource changes
+ * in order to reload the ActivityContext.
  */
 public class ActivityContextReloader {
 
@@ -34,7 +34,7 @@ public class ActivityContextReloader {
 
     private Enumeration<URL> resources;
 
-    private volatile Timer timer;
+    private volatile Thread thread;
 
     private ActivityContextReloadTask reloadTask;
 
@@ -55,22 +55,28 @@ public class ActivityContextReloader {
 
         reloadTask = new ActivityContextReloadTask(serviceController);
         reloadTask.setResources(resources);
+        reloadTask.setScanIntervalMillis(scanIntervalInSeconds * 1000L);
+        if (!reloadTask.hasResources()) {
+            reloadTask = null;
+            return;
+        }
 
-        timer = new Timer("ContextReloadTask@" + reloadTask.hashCode());
-        timer.schedule(reloadTask, 0, scanIntervalInSeconds * 1000L);
+        thread = new Thread(reloadTask, "ContextReloadTask@" + reloadTask.hashCode());
+        thread.setDaemon(true);
+        thread.start();
     }
 
     public void stop() {
-        if (timer != null) {
+        if (thread != null) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Stopping ActivityContextReloader...");
             }
 
-            timer.cancel();
-            timer = null;
-
+            // The task may stop itself while restarting the service,
+            // so the thread is never interrupted here
             reloadTask.cancel();
             reloadTask = null;
+            thread = null;
         }
     }
 
@@ -30,6 +30,7 @@ public class DaemonPollerConfig extends AbstractParameters {
     private static final ParameterKey maxThreads;
     private static final ParameterKey requeuable;
     private static final ParameterKey incoming;
+    private static final ParameterKey virtualThreads;
 
     private static final ParameterKey[] parameterKeys;
 
@@ -38,12 +39,14 @@ public class DaemonPollerConfig extends AbstractParameters {
         maxThreads = new ParameterKey("maxThreads", ValueType.INT);
         requeuable = new ParameterKey("requeuable", ValueType.BOOLEAN);
         incoming = new ParameterKey("incoming", ValueType.STRING);
+        virtualThreads = new ParameterKey("virtualThreads", ValueType.BOOLEAN);
 
         parameterKeys = new ParameterKey[] {
                 pollingInterval,
                 maxThreads,
                 requeuable,
-                incoming
+                incoming,
+                virtualThreads
         };
     }
 
@@ -91,4 +94,13 @@ public class DaemonPollerConfig extends AbstractParameters {
         return this;
     }
 
+    public boolean isVirtualThreads() {
+        return getBoolean(virtualThreads, false);
+    }
+
+    public DaemonPollerConfig setVirtualThreads(boolean virtualThreads) {
+        putValue(DaemonPollerConfig.virtualThreads, virtualThreads);
+        return this;
+    }
+
 }
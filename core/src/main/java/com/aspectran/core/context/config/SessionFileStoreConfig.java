@@ -23,6 +23,7 @@ public class SessionFileStoreConfig extends AbstractParameters {
 
     private static final ParameterKey storeDir;
     private static final ParameterKey deleteUnrestorableFiles;
+    private static final ParameterKey maxDeltaRecords;
     private static final ParameterKey nonPersistentAttributes;
 
     private static final ParameterKey[] parameterKeys;
@@ -30,11 +31,13 @@ public class SessionFileStoreConfig extends AbstractParameters {
     static {
         storeDir = new ParameterKey("storeDir", ValueType.STRING);
         deleteUnrestorableFiles = new ParameterKey("deleteUnrestorableFiles", ValueType.BOOLEAN);
+        maxDeltaRecords = new ParameterKey("maxDeltaRecords", ValueType.INT);
         nonPersistentAttributes = new ParameterKey("nonPersistentAttributes", ValueType.STRING, true);
 
         parameterKeys = new ParameterKey[] {
                 storeDir,
                 deleteUnrestorableFiles,
+                maxDeltaRecords,
                 nonPersistentAttributes
         };
     }
@@ -61,6 +64,15 @@ public class SessionFileStoreConfig extends AbstractParameters {
         return this;
     }
 
+    public int getMaxDeltaRecords() {
+        return getInt(maxDeltaRecords, -1);
+    }
+
+    public SessionFileStoreConfig setMaxDeltaRecords(int maxDeltaRecords) {
+        putValue(SessionFileStoreConfig.maxDeltaRecords, maxDeltaRecords);
+        return this;
+    }
+
     public String[] getNonPersistentAttributes() {
         return getStringArray(nonPersistentAttributes);
     }
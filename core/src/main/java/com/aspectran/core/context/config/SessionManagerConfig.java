@@ -26,7 +26,9 @@ import java.io.IOException;
 public class SessionManagerConfig extends AbstractParameters {
 
     private static final ParameterKey workerName;
+    private static final ParameterKey sessionIdStripes;
     private static final ParameterKey maxSessions;
+    private static final ParameterKey evictOnMaxSessions;
     private static final ParameterKey maxIdleSeconds;
     private static final ParameterKey evictionIdleSeconds;
     private static final ParameterKey scavengingIntervalSeconds;
@@ -41,7 +43,9 @@ public class SessionManagerConfig extends AbstractParameters {
 
     static {
         workerName = new ParameterKey("workerName", ValueType.STRING);
+        sessionIdStripes = new ParameterKey("sessionIdStripes", ValueType.INT);
         maxSessions = new ParameterKey("maxSessions", ValueType.INT);
+        evictOnMaxSessions = new ParameterKey("evictOnMaxSessions", ValueType.BOOLEAN);
         maxIdleSeconds = new ParameterKey("maxIdleSeconds", ValueType.INT);
         evictionIdleSeconds = new ParameterKey("evictionIdleSeconds", ValueType.INT);
         scavengingIntervalSeconds = new ParameterKey("scavengingIntervalSeconds", ValueType.INT);
@@ -54,7 +58,9 @@ public class SessionManagerConfig extends AbstractParameters {
 
         parameterKeys = new ParameterKey[] {
                 workerName,
+                sessionIdStripes,
                 maxSessions,
+                evictOnMaxSessions,
                 maxIdleSeconds,
                 evictionIdleSeconds,
                 scavengingIntervalSeconds,
@@ -93,6 +99,19 @@ public class SessionManagerConfig extends AbstractParameters {
         return hasValue(workerName);
     }
 
+    public int getSessionIdStripes() {
+        return getInt(sessionIdStripes, 0);
+    }
+
+    public SessionManagerConfig setSessionIdStripes(int sessionIdStripes) {
+        putValue(SessionManagerConfig.sessionIdStripes, sessionIdStripes);
+        return this;
+    }
+
+    public boolean hasSessionIdStripes() {
+        return hasValue(sessionIdStripes);
+    }
+
     public int getMaxSessions() {
         return getInt(maxSessions, 0);
     }
@@ -106,6 +125,15 @@ public class SessionManagerConfig extends AbstractParameters {
         return hasValue(maxSessions);
     }
 
+    public boolean isEvictOnMaxSessions() {
+        return getBoolean(evictOnMaxSessions, false);
+    }
+
+    public SessionManagerConfig setEvictOnMaxSessions(boolean evictOnMaxSessions) {
+        putValue(SessionManagerConfig.evictOnMaxSessions, evictOnMaxSessions);
+        return this;
+    }
+
     public int getMaxIdleSeconds() {
         return getInt(maxIdleSeconds, -1);
     }
@@ -22,23 +22,75 @@ import com.aspectran.core.context.expr.token.Token;
 import com.aspectran.core.context.expr.token.TokenParser;
 import com.aspectran.core.context.rule.type.TokenType;
 import com.aspectran.core.util.StringUtils;
+import com.aspectran.core.util.SystemUtils;
+import com.aspectran.core.util.cache.ConcurrentLruCache;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+import ognl.ASTAssign;
+import ognl.ASTCtor;
+import ognl.ASTEval;
+import ognl.ASTMethod;
+import ognl.ASTStaticMethod;
+import ognl.Node;
 import ognl.Ognl;
 import ognl.OgnlContext;
 import ognl.OgnlException;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ExpressionEvaluator implementation that evaluates expressions written in
  * OGNL-based Aspectran expression language.
  *
+ * <p>An instance holds only the parsed form of the expression, so it can be
+ * shared and evaluated concurrently. Instances obtained through
+ * {@link #of(String)} are kept in a bounded cache keyed by the expression
+ * text.</p>
+ *
  * <p>Created: 2021/01/31</p>
  *
  * @since 6.11.0
  */
 public class ExpressionEvaluation implements ExpressionEvaluator {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExpressionEvaluation.class);
+
+    /**
+     * The name of the system property that specifies the maximum number
+     * of parsed expressions to keep in the cache.
+     */
+    public static final String CACHE_CAPACITY_PROPERTY_NAME =
+            "com.aspectran.core.context.expr.cacheCapacity";
+
+    /**
+     * The name of the system property that enables compiling frequently
+     * evaluated expressions into bytecode accessors. Only expressions without
+     * assignments, method calls or constructor calls are compiled, so that an
+     * evaluation the compiled accessor fails can safely be interpreted again.
+     * On Java 9 or later, {@code java.base/java.lang} must be opened to OGNL;
+     * otherwise the expressions are simply left interpreted.
+     */
+    public static final String COMPILE_EXPRESSIONS_PROPERTY_NAME =
+            "com.aspectran.core.context.expr.compileExpressions";
+
+    private static final int DEFAULT_CACHE_CAPACITY = 512;
+
+    private static final int COMPILE_THRESHOLD = 100;
+
+    private static final boolean compileExpressions =
+            Boolean.parseBoolean(SystemUtils.getProperty(COMPILE_EXPRESSIONS_PROPERTY_NAME));
+
+    private static final ConcurrentLruCache<String, ExpressionEvaluation> cache =
+            new ConcurrentLruCache<>(determineCacheCapacity(), expression -> {
+                try {
+                    return new ExpressionEvaluation(expression);
+                } catch (ExpressionParserException e) {
+                    throw new ExpressionEvaluationException(expression, e);
+                }
+            });
+
     private static final String TOKEN_VAR_NAME_PREFIX = "__";
 
     private static final String TOKEN_VAR_NAME_SUFFIX = TOKEN_VAR_NAME_PREFIX;
@@ -51,8 +103,20 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
 
     private Object represented;
 
+    private String source;
+
     private Token[] tokens;
 
+    private Token[] varTokens;
+
+    private String[] tokenVarNames;
+
+    private final AtomicInteger evaluationCount = new AtomicInteger();
+
+    private volatile Object compiled;
+
+    private volatile boolean uncompilable;
+
     public ExpressionEvaluation(String expression) throws ExpressionParserException {
         this.expression = expression;
         parseExpression(expression);
@@ -67,7 +131,6 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <V> V evaluate(Activity activity, Class<V> resultType) {
         if (activity == null) {
             throw new IllegalArgumentException("activity must not be null");
@@ -75,42 +138,11 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
         if (represented == null) {
             return null;
         }
-        try {
-            ActivityData activityData;
-            if (activity.getTranslet() != null) {
-                activityData = activity.getTranslet().getActivityData();
-            } else {
-                activityData = new ActivityData(activity);
-            }
-            OgnlContext ognlContext = OgnlSupport.createDefaultContext();
-            String[] tokenVarNames = null;
-            if (tokens != null && tokens.length > 0) {
-                TokenEvaluator tokenEvaluator = new TokenEvaluation(activity);
-                tokenVarNames = putTokenVariables(ognlContext, tokenEvaluator, tokens);
-            }
-            Object result = Ognl.getValue(represented, ognlContext, activityData, resultType);
-            if (tokenVarNames != null && result instanceof String) {
-                for (String tokenVarName : tokenVarNames) {
-                    String tokenVarRefName = TOKEN_VAR_REF_SYMBOL + tokenVarName;
-                    String str = (String)result;
-                    if (str.contains(tokenVarRefName)) {
-                        Object value = ognlContext.get(tokenVarName);
-                        if (value != null) {
-                            result = str.replace(tokenVarRefName, value.toString());
-                        } else {
-                            result = str.replace(tokenVarRefName, StringUtils.EMPTY);
-                        }
-                    }
-                }
-            }
-            return (V)result;
-        } catch (OgnlException e) {
-            throw new ExpressionEvaluationException(expression, e);
-        }
+        TokenEvaluator tokenEvaluator = (varTokens != null ? new TokenEvaluation(activity) : null);
+        return evaluate(activity, tokenEvaluator, resultType);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <V> V evaluate(TokenEvaluator tokenEvaluator, Class<V> resultType) {
         if (tokenEvaluator == null) {
             throw new IllegalArgumentException("tokenEvaluator must not be null");
@@ -118,8 +150,12 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
         if (represented == null) {
             return null;
         }
+        return evaluate(tokenEvaluator.getActivity(), tokenEvaluator, resultType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V evaluate(Activity activity, TokenEvaluator tokenEvaluator, Class<V> resultType) {
         try {
-            Activity activity = tokenEvaluator.getActivity();
             ActivityData activityData;
             if (activity.getTranslet() != null) {
                 activityData = activity.getTranslet().getActivityData();
@@ -127,14 +163,15 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
                 activityData = new ActivityData(activity);
             }
             OgnlContext ognlContext = OgnlSupport.createDefaultContext();
-            String[] tokenVarNames = null;
-            if (tokens != null && tokens.length > 0) {
-                tokenVarNames = putTokenVariables(ognlContext, tokenEvaluator, tokens);
+            if (varTokens != null) {
+                for (int i = 0; i < varTokens.length; i++) {
+                    ognlContext.put(tokenVarNames[i], tokenEvaluator.evaluate(varTokens[i]));
+                }
             }
-            Object result = Ognl.getValue(represented, ognlContext, activityData, resultType);
-            if (tokenVarNames != null && result instanceof String) {
+            Object result = getValue(ognlContext, activityData, resultType);
+            if (varTokens != null && result instanceof String) {
                 for (String tokenVarName : tokenVarNames) {
-                    String tokenVarRefName = TOKEN_VAR_REF_NAME_PREFIX + tokenVarName;
+                    String tokenVarRefName = TOKEN_VAR_REF_SYMBOL + tokenVarName;
                     String str = (String)result;
                     if (str.contains(tokenVarRefName)) {
                         Object value = ognlContext.get(tokenVarName);
@@ -152,44 +189,102 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
         }
     }
 
-    private String[] putTokenVariables(OgnlContext ognlContext, TokenEvaluator tokenEvaluator, Token[] tokens) {
-        Set<String> tokenVarNames = new LinkedHashSet<>();
-        for (Token token : tokens) {
-            if (token.getType() != TokenType.TEXT) {
-                String name = makeTokenVarName(token);
-                Object value = tokenEvaluator.evaluate(token);
-                ognlContext.put(name, value);
-                tokenVarNames.add(name);
+    private Object getValue(OgnlContext ognlContext, ActivityData activityData, Class<?> resultType)
+            throws OgnlException {
+        if (compileExpressions && !uncompilable) {
+            Object tree = compiled;
+            if (tree != null) {
+                try {
+                    return Ognl.getValue(tree, ognlContext, activityData, resultType);
+                } catch (LinkageError e) {
+                    // The compiled accessor no longer links against the classes it was built for
+                    uncompilable = true;
+                    compiled = null;
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Compiled expression no longer applies, " +
+                                "falling back to interpretation: " + expression, e);
+                    }
+                } catch (ClassCastException e) {
+                    // The compiled accessor relies on the types seen at compile time;
+                    // the expression has no side effects, so it is simply interpreted
+                    uncompilable = true;
+                    compiled = null;
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Compiled expression does not apply to the runtime types, " +
+                                "falling back to interpretation: " + expression, e);
+                    }
+                } catch (RuntimeException e) {
+                    throw new ExpressionEvaluationException(expression, e);
+                }
+            } else if (evaluationCount.incrementAndGet() == COMPILE_THRESHOLD) {
+                compile(ognlContext, activityData);
+            }
+        }
+        return Ognl.getValue(represented, ognlContext, activityData, resultType);
+    }
+
+    private void compile(OgnlContext ognlContext, ActivityData activityData) {
+        try {
+            compiled = Ognl.compileExpression(ognlContext, activityData, source);
+        } catch (Exception e) {
+            uncompilable = true;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to compile expression: " + expression, e);
             }
         }
-        return (tokenVarNames.isEmpty() ? null : tokenVarNames.toArray(new String[0]));
     }
 
     private void parseExpression(String expression) throws ExpressionParserException {
         tokens = TokenParser.makeTokens(expression, true);
         if (tokens != null && tokens.length > 0) {
-            if (tokens.length == 1) {
-                Token token = tokens[0];
+            List<Token> varTokenList = new ArrayList<>();
+            List<String> tokenVarNameList = new ArrayList<>();
+            StringBuilder sb = new StringBuilder();
+            for (Token token : tokens) {
                 if (token.getType() == TokenType.TEXT) {
-                    represented = OgnlSupport.parseExpression(token.getDefaultValue());
+                    sb.append(token.getDefaultValue());
                 } else {
-                    String ognlVariableName = makeTokenVarRefName(token);
-                    represented = OgnlSupport.parseExpression(ognlVariableName);
-                }
-            } else {
-                StringBuilder sb = new StringBuilder();
-                for (Token token : tokens) {
-                    if (token.getType() == TokenType.TEXT) {
-                        sb.append(token.getDefaultValue());
-                    } else {
-                        sb.append(makeTokenVarRefName(token));
+                    String tokenVarName = makeTokenVarName(token);
+                    if (!tokenVarNameList.contains(tokenVarName)) {
+                        varTokenList.add(token);
+                        tokenVarNameList.add(tokenVarName);
                     }
+                    sb.append(makeTokenVarRefName(token));
                 }
-                represented = OgnlSupport.parseExpression(sb.toString());
+            }
+            source = sb.toString();
+            if (!varTokenList.isEmpty()) {
+                varTokens = varTokenList.toArray(new Token[0]);
+                tokenVarNames = tokenVarNameList.toArray(new String[0]);
             }
         } else {
-            represented = OgnlSupport.parseExpression(expression);
+            source = expression;
+        }
+        represented = OgnlSupport.parseExpression(source);
+        if (!isSideEffectFree(represented)) {
+            uncompilable = true;
+        }
+    }
+
+    /**
+     * Returns whether the parsed expression can be evaluated again without
+     * repeating any side effects, i.e. it assigns nothing and calls no methods
+     * or constructors other than property accessors.
+     */
+    private static boolean isSideEffectFree(Object node) {
+        if (node instanceof ASTAssign || node instanceof ASTMethod || node instanceof ASTStaticMethod ||
+                node instanceof ASTCtor || node instanceof ASTEval) {
+            return false;
+        }
+        if (node instanceof Node) {
+            Node parent = (Node)node;
+            for (int i = 0; i < parent.jjtGetNumChildren(); i++) {
+                if (!isSideEffectFree(parent.jjtGetChild(i))) {
+                    return false;
+                }
+            }
         }
+        return true;
     }
 
     private String makeTokenVarName(Token token) {
@@ -209,4 +304,35 @@ public class ExpressionEvaluation implements ExpressionEvaluator {
         }
     }
 
+    /**
+     * Returns the parsed form of the given expression, reusing
+     * a previously parsed one if available.
+     * @param expression the expression to be parsed
+     * @return the expression evaluation
+     * @throws ExpressionEvaluationException if the expression could not be parsed
+     */
+    public static ExpressionEvaluation of(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("expression must not be null");
+        }
+        return cache.get(expression);
+    }
+
+    private static int determineCacheCapacity() {
+        String capacity = SystemUtils.getProperty(CACHE_CAPACITY_PROPERTY_NAME);
+        if (capacity != null) {
+            try {
+                int value = Integer.parseInt(capacity);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+            logger.warn("Invalid value for system property '" +
+                    CACHE_CAPACITY_PROPERTY_NAME + "': " + capacity);
+        }
+        return DEFAULT_CACHE_CAPACITY;
+    }
+
 }
@@ -66,7 +66,7 @@ public interface ExpressionEvaluator {
      */
     static <V> V evaluate(String expression, Activity activity, Class<V> resultType) {
         try {
-            return new ExpressionEvaluation(expression).evaluate(activity, resultType);
+            return ExpressionEvaluation.of(expression).evaluate(activity, resultType);
         } catch (Exception e) {
             throw new ExpressionEvaluationException(expression, e);
         }
@@ -94,7 +94,7 @@ public interface ExpressionEvaluator {
      */
     static <V> V evaluate(String expression, TokenEvaluator tokenEvaluator, Class<V> resultType) {
         try {
-            return new ExpressionEvaluation(expression).evaluate(tokenEvaluator, resultType);
+            return ExpressionEvaluation.of(expression).evaluate(tokenEvaluator, resultType);
         } catch (Exception e) {
             throw new ExpressionEvaluationException(expression, e);
         }
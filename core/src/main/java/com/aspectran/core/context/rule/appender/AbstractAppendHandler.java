@@ -42,6 +42,8 @@ abstract class AbstractAppendHandler implements RuleAppendHandler {
 
     private boolean useAponToLoadXml;
 
+    private String ruleSnapshotDir;
+
     private boolean debugMode;
 
     AbstractAppendHandler(ActivityRuleAssistant assistant) {
@@ -132,6 +134,15 @@ abstract class AbstractAppendHandler implements RuleAppendHandler {
         this.useAponToLoadXml = useAponToLoadXml;
     }
 
+    protected String getRuleSnapshotDir() {
+        return ruleSnapshotDir;
+    }
+
+    @Override
+    public void setRuleSnapshotDir(String ruleSnapshotDir) {
+        this.ruleSnapshotDir = ruleSnapshotDir;
+    }
+
     protected boolean isDebugMode() {
         return debugMode;
     }
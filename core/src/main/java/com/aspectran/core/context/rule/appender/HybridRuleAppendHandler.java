@@ -27,29 +27,51 @@ import com.aspectran.core.context.rule.parser.xml.AspectranDtdResolver;
 import com.aspectran.core.context.rule.parser.xml.AspectranNodeParser;
 import com.aspectran.core.context.rule.type.AppendableFileFormatType;
 import com.aspectran.core.context.rule.type.AppenderType;
+import com.aspectran.core.util.Aspectran;
+import com.aspectran.core.util.DigestUtils;
 import com.aspectran.core.util.apon.AponWriter;
 import com.aspectran.core.util.apon.XmlToApon;
 import org.xml.sax.EntityResolver;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Class HybridRuleAppendHandler.
  */
 public class HybridRuleAppendHandler extends AbstractAppendHandler {
 
+    private static final String SNAPSHOT_FORMAT_VERSION = "1";
+
     private final String encoding;
 
     private AspectranNodeParser aspectranNodeParser;
 
     private EntityResolver entityResolver;
 
+    private int depth;
+
+    private int parsedFileCount;
+
+    private long parseTime;
+
+    private int loadedSnapshotCount;
+
+    private long snapshotLoadTime;
+
     public HybridRuleAppendHandler(ActivityRuleAssistant assistant, String encoding) {
         super(assistant);
         this.encoding = encoding;
@@ -57,6 +79,21 @@ public class HybridRuleAppendHandler extends AbstractAppendHandler {
 
     @Override
     public void handle(RuleAppender appender) throws Exception {
+        depth++;
+        try {
+            doHandle(appender);
+        } finally {
+            depth--;
+        }
+        if (depth == 0 && getRuleSnapshotDir() != null) {
+            logger.info(String.format("Parsed %d configuration files in %d ms; " +
+                    "loaded %d rule snapshots in %d ms", parsedFileCount,
+                    TimeUnit.NANOSECONDS.toMillis(parseTime), loadedSnapshotCount,
+                    TimeUnit.NANOSECONDS.toMillis(snapshotLoadTime)));
+        }
+    }
+
+    private void doHandle(RuleAppender appender) throws Exception {
         setCurrentRuleAppender(appender);
         AssistantLocal assistantLocal = getContextRuleAssistant().backupAssistantLocal();
 
@@ -70,28 +107,10 @@ public class HybridRuleAppendHandler extends AbstractAppendHandler {
                     RootParameters rootParameters = new RootParameters(reader);
                     convertAsRules(rootParameters);
                 }
-            } else if (isUseAponToLoadXml()) {
-                // Using APON to load XML configuration
-                RootParameters rootParameters;
-                if (appender.getAppenderType() == AppenderType.FILE) {
-                    FileRuleAppender fileRuleAppender = (FileRuleAppender)appender;
-                    rootParameters = XmlToApon.from(fileRuleAppender.getFile(), RootParameters.class, getEntityResolver());
-                    if (isDebugMode()) {
-                        saveAsAponFile(fileRuleAppender, rootParameters);
-                    }
-                } else {
-                    try (Reader reader = appender.getReader(encoding)) {
-                        rootParameters = XmlToApon.from(reader, RootParameters.class, getEntityResolver());
-                    }
-                }
-                convertAsRules(rootParameters);
+            } else if (getRuleSnapshotDir() != null) {
+                loadXmlWithSnapshot(appender);
             } else {
-                // Using Nodelet to load XML configuration: It is much faster than APON
-                getAspectranNodeParser().parse(appender);
-                if (isDebugMode() && appender.getAppenderType() == AppenderType.FILE) {
-                    FileRuleAppender fileRuleAppender = (FileRuleAppender)appender;
-                    saveAsAponFile(fileRuleAppender);
-                }
+                loadXml(appender);
             }
         }
 
@@ -103,6 +122,108 @@ public class HybridRuleAppendHandler extends AbstractAppendHandler {
         }
     }
 
+    private void loadXml(RuleAppender appender) throws Exception {
+        if (isUseAponToLoadXml()) {
+            // Using APON to load XML configuration
+            RootParameters rootParameters;
+            if (appender.getAppenderType() == AppenderType.FILE) {
+                FileRuleAppender fileRuleAppender = (FileRuleAppender)appender;
+                rootParameters = XmlToApon.from(fileRuleAppender.getFile(), RootParameters.class, getEntityResolver());
+                if (isDebugMode()) {
+                    saveAsAponFile(fileRuleAppender, rootParameters);
+                }
+            } else {
+                try (Reader reader = appender.getReader(encoding)) {
+                    rootParameters = XmlToApon.from(reader, RootParameters.class, getEntityResolver());
+                }
+            }
+            convertAsRules(rootParameters);
+        } else {
+            // Using Nodelet to load XML configuration: It is much faster than APON
+            getAspectranNodeParser().parse(appender);
+            if (isDebugMode() && appender.getAppenderType() == AppenderType.FILE) {
+                FileRuleAppender fileRuleAppender = (FileRuleAppender)appender;
+                saveAsAponFile(fileRuleAppender);
+            }
+        }
+    }
+
+    private void loadXmlWithSnapshot(RuleAppender appender) throws Exception {
+        long startTime = System.nanoTime();
+        File snapshotFile = getSnapshotFile(appender);
+        RootParameters rootParameters = readSnapshot(snapshotFile);
+        if (rootParameters != null) {
+            convertAsRules(rootParameters);
+            snapshotLoadTime += System.nanoTime() - startTime;
+            loadedSnapshotCount++;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Loaded rule snapshot " + snapshotFile.getName() + " for " + appender.getQualifiedName());
+            }
+        } else {
+            loadXml(appender);
+            parseTime += System.nanoTime() - startTime;
+            parsedFileCount++;
+            saveSnapshot(appender, snapshotFile);
+        }
+    }
+
+    private File getSnapshotFile(RuleAppender appender) throws IOException {
+        byte[] content;
+        try (InputStream inputStream = appender.getInputStream()) {
+            content = inputStream.readAllBytes();
+        }
+        String prefix = SNAPSHOT_FORMAT_VERSION + ":" + Aspectran.getVersion() + ":" + encoding + ":";
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = Arrays.copyOf(prefixBytes, prefixBytes.length + content.length);
+        System.arraycopy(content, 0, bytes, prefixBytes.length, content.length);
+        String fileName = DigestUtils.md5DigestAsHex(bytes) + "." + AppendableFileFormatType.APON;
+        return new File(getRuleSnapshotDir(), fileName);
+    }
+
+    private RootParameters readSnapshot(File snapshotFile) {
+        if (!snapshotFile.isFile()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(snapshotFile), StandardCharsets.UTF_8)) {
+            return new RootParameters(reader);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable rule snapshot " + snapshotFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveSnapshot(RuleAppender appender, File snapshotFile) {
+        File tempFile = null;
+        try {
+            RootParameters rootParameters;
+            try (Reader reader = appender.getReader(encoding)) {
+                rootParameters = XmlToApon.from(reader, RootParameters.class, getEntityResolver());
+            }
+            File snapshotDir = snapshotFile.getParentFile();
+            if (!snapshotDir.isDirectory() && !snapshotDir.mkdirs()) {
+                throw new IOException("Unable to create directory " + snapshotDir);
+            }
+            tempFile = File.createTempFile(snapshotFile.getName(), ".tmp", snapshotDir);
+            OutputStream outputStream = new FileOutputStream(tempFile);
+            try (AponWriter aponWriter = new AponWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+                aponWriter.nullWritable(false);
+                aponWriter.comment(appender.getQualifiedName());
+                aponWriter.write(rootParameters);
+            }
+            // Replace atomically so that concurrent starts never see a partial snapshot
+            Files.move(tempFile.toPath(), snapshotFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Saved rule snapshot " + snapshotFile.getName() + " for " + appender.getQualifiedName());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to save rule snapshot for " + appender.getQualifiedName(), e);
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
     private AspectranNodeParser getAspectranNodeParser() {
         if (aspectranNodeParser == null) {
             aspectranNodeParser = new AspectranNodeParser(getContextRuleAssistant());
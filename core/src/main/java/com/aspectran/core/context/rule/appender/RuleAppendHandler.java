@@ -39,6 +39,8 @@ public interface RuleAppendHandler {
 
     void setUseAponToLoadXml(boolean useAponToLoadXml);
 
+    void setRuleSnapshotDir(String ruleSnapshotDir);
+
     void setDebugMode(boolean debugMode);
 
 }
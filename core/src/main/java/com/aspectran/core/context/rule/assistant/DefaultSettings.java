@@ -41,6 +41,8 @@ public class DefaultSettings {
 
     private String defaultSchedulerBean;
 
+    private String transletRouter;
+
     public DefaultSettings() {
     }
 
@@ -51,6 +53,7 @@ public class DefaultSettings {
         this.pointcutPatternVerifiable = ds.getPointcutPatternVerifiable();
         this.defaultTemplateEngineBean = ds.getDefaultTemplateEngineBean();
         this.defaultSchedulerBean = ds.getDefaultSchedulerBean();
+        this.transletRouter = ds.getTransletRouter();
     }
 
     public String getTransletNamePrefix() {
@@ -105,6 +108,14 @@ public class DefaultSettings {
         this.defaultSchedulerBean = defaultSchedulerBean;
     }
 
+    public String getTransletRouter() {
+        return transletRouter;
+    }
+
+    public void setTransletRouter(String transletRouter) {
+        this.transletRouter = transletRouter;
+    }
+
     public void apply(Map<DefaultSettingType, String> settings) {
         if (settings.get(DefaultSettingType.TRANSLET_NAME_PREFIX) != null) {
             setTransletNamePrefix(settings.get(DefaultSettingType.TRANSLET_NAME_PREFIX));
@@ -125,6 +136,9 @@ public class DefaultSettings {
         if (settings.get(DefaultSettingType.DEFAULT_SCHEDULER_BEAN) != null) {
             defaultSchedulerBean = settings.get(DefaultSettingType.DEFAULT_SCHEDULER_BEAN);
         }
+        if (settings.get(DefaultSettingType.TRANSLET_ROUTER) != null) {
+            transletRouter = settings.get(DefaultSettingType.TRANSLET_ROUTER);
+        }
     }
 
 }
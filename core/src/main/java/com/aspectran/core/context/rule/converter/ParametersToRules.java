@@ -724,6 +724,8 @@ public class ParametersToRules {
     private ActionList toActionList(ContentParameters contentParameters) throws IllegalRuleException {
         String name = contentParameters.getString(ContentParameters.name);
         ActionList actionList = ActionList.newInstance(name);
+        actionList.setParallel(contentParameters.getBoolean(ContentParameters.parallel));
+        actionList.setTimeout(contentParameters.getLong(ContentParameters.timeout));
         List<ActionParameters> actionParametersList = contentParameters.getParametersList(ContentParameters.action);
         if (actionParametersList != null) {
             for (ActionParameters actionParameters : actionParametersList) {
@@ -225,6 +225,9 @@ public class RulesToParameters {
             if (defaultSettings.getDefaultSchedulerBean() != null) {
                 settingsParameters.putSetting(DefaultSettingType.DEFAULT_SCHEDULER_BEAN.toString(), defaultSettings.getDefaultSchedulerBean());
             }
+            if (defaultSettings.getTransletRouter() != null) {
+                settingsParameters.putSetting(DefaultSettingType.TRANSLET_ROUTER.toString(), defaultSettings.getTransletRouter());
+            }
             return settingsParameters;
         }
         return null;
@@ -496,6 +499,8 @@ public class RulesToParameters {
                 for (ActionList actionList : contentList) {
                     ContentParameters contentParameters = contentsParameters.newParameters(ContentsParameters.content);
                     contentParameters.putValueNonNull(ContentParameters.name, actionList.getName());
+                    contentParameters.putValueNonNull(ContentParameters.parallel, actionList.getParallel());
+                    contentParameters.putValueNonNull(ContentParameters.timeout, actionList.getTimeout());
                     toActionParameters(actionList, contentParameters);
                 }
             } else {
@@ -503,6 +508,8 @@ public class RulesToParameters {
                     if (actionList.isExplicit()) {
                         ContentParameters contentParameters = transletParameters.newParameters(TransletParameters.content);
                         contentParameters.putValueNonNull(ContentParameters.name, actionList.getName());
+                        contentParameters.putValueNonNull(ContentParameters.parallel, actionList.getParallel());
+                        contentParameters.putValueNonNull(ContentParameters.timeout, actionList.getTimeout());
                         toActionParameters(actionList, contentParameters);
                     } else {
                         toActionParameters(actionList, transletParameters);
@@ -98,6 +98,10 @@ public class AspectranParameters extends AbstractParameters {
         return setSetting(DefaultSettingType.DEFAULT_SCHEDULER_BEAN, beanName);
     }
 
+    public AspectranParameters setTransletRouter(String routerType) {
+        return setSetting(DefaultSettingType.TRANSLET_ROUTER, routerType);
+    }
+
     private AspectranParameters setSetting(DefaultSettingType defaultSettingType, Object value) {
         SettingsParameters settingsParameters = touchParameters(settings);
         settingsParameters.putSetting(defaultSettingType.toString(), value);
@@ -22,17 +22,23 @@ import com.aspectran.core.util.apon.ValueType;
 public class ContentParameters extends AbstractParameters {
 
     public static final ParameterKey name;
+    public static final ParameterKey parallel;
+    public static final ParameterKey timeout;
     public static final ParameterKey action;
 
     private static final ParameterKey[] parameterKeys;
 
     static {
         name = new ParameterKey("name", ValueType.STRING);
+        parallel = new ParameterKey("parallel", ValueType.BOOLEAN);
+        timeout = new ParameterKey("timeout", ValueType.LONG);
         action = new ParameterKey("action", new String[] {"echo", "headers", "include", "choose"},
                 ActionParameters.class, true, true);
 
         parameterKeys = new ParameterKey[] {
                 name,
+                parallel,
+                timeout,
                 action
         };
     }
@@ -32,6 +32,9 @@ public class TriggerExpressionParameters extends AbstractParameters {
     public static final ParameterKey repeatCount;
     public static final ParameterKey repeatForever;
     public static final ParameterKey expression;
+    public static final ParameterKey priority;
+    public static final ParameterKey misfireInstruction;
+    public static final ParameterKey maxConcurrentActivities;
 
     public static final ParameterKey[] parameterKeys;
 
@@ -44,6 +47,9 @@ public class TriggerExpressionParameters extends AbstractParameters {
         repeatCount = new ParameterKey("repeatCount", ValueType.INT);
         repeatForever = new ParameterKey("repeatForever", ValueType.BOOLEAN);
         expression = new ParameterKey("expression", ValueType.STRING);
+        priority = new ParameterKey("priority", ValueType.INT);
+        misfireInstruction = new ParameterKey("misfireInstruction", ValueType.STRING);
+        maxConcurrentActivities = new ParameterKey("maxConcurrentActivities", ValueType.INT);
 
         parameterKeys = new ParameterKey[] {
                 startDelaySeconds,
@@ -53,7 +59,10 @@ public class TriggerExpressionParameters extends AbstractParameters {
                 intervalInHours,
                 repeatCount,
                 repeatForever,
-                expression
+                expression,
+                priority,
+                misfireInstruction,
+                maxConcurrentActivities
         };
     }
 
@@ -130,6 +139,30 @@ public class TriggerExpressionParameters extends AbstractParameters {
         putValue(TriggerExpressionParameters.expression, expression);
     }
 
+    public Integer getPriority() {
+        return getInt(priority);
+    }
+
+    public void setPriority(int priority) {
+        putValue(TriggerExpressionParameters.priority, priority);
+    }
+
+    public String getMisfireInstruction() {
+        return getString(misfireInstruction);
+    }
+
+    public void setMisfireInstruction(String misfireInstruction) {
+        putValue(TriggerExpressionParameters.misfireInstruction, misfireInstruction);
+    }
+
+    public Integer getMaxConcurrentActivities() {
+        return getInt(maxConcurrentActivities);
+    }
+
+    public void setMaxConcurrentActivities(int maxConcurrentActivities) {
+        putValue(TriggerExpressionParameters.maxConcurrentActivities, maxConcurrentActivities);
+    }
+
     public static ParameterKey[] getParameterKeys() {
         return Arrays.copyOf(parameterKeys, parameterKeys.length);
     }
@@ -39,6 +39,8 @@ public abstract class AbstractActivityContextParser implements ActivityContextPa
 
     private boolean useXmlToApon;
 
+    private String ruleSnapshotDir;
+
     private boolean debugMode;
 
     public AbstractActivityContextParser(ActivityRuleAssistant assistant) {
@@ -68,6 +70,15 @@ public abstract class AbstractActivityContextParser implements ActivityContextPa
         this.useXmlToApon = useXmlToApon;
     }
 
+    protected String getRuleSnapshotDir() {
+        return ruleSnapshotDir;
+    }
+
+    @Override
+    public void setRuleSnapshotDir(String ruleSnapshotDir) {
+        this.ruleSnapshotDir = ruleSnapshotDir;
+    }
+
     protected boolean isDebugMode() {
         return debugMode;
     }
@@ -31,6 +31,8 @@ public interface ActivityContextParser {
 
     void setUseXmlToApon(boolean useXmlToApon);
 
+    void setRuleSnapshotDir(String ruleSnapshotDir);
+
     void setDebugMode(boolean debugMode);
 
     ActivityRuleAssistant parse(String rootFile) throws ActivityContextParserException;
@@ -71,6 +71,7 @@ public class HybridActivityContextParser extends AbstractActivityContextParser {
     private RuleAppendHandler createRuleAppendHandler() {
         RuleAppendHandler appendHandler = new HybridRuleAppendHandler(getContextRuleAssistant(), getEncoding());
         appendHandler.setUseAponToLoadXml(isUseXmlToApon());
+        appendHandler.setRuleSnapshotDir(getRuleSnapshotDir());
         appendHandler.setDebugMode(isDebugMode());
         getContextRuleAssistant().setRuleAppendHandler(appendHandler);
         return appendHandler;
@@ -24,6 +24,7 @@ import com.aspectran.core.context.rule.RequestRule;
 import com.aspectran.core.context.rule.ResponseRule;
 import com.aspectran.core.context.rule.TransletRule;
 import com.aspectran.core.context.rule.assistant.ActivityRuleAssistant;
+import com.aspectran.core.util.BooleanUtils;
 import com.aspectran.core.util.StringUtils;
 import com.aspectran.core.util.nodelet.NodeletAdder;
 import com.aspectran.core.util.nodelet.NodeletParser;
@@ -156,8 +157,10 @@ class TransletNodeletAdder implements NodeletAdder {
         parser.setXpath(xpath + "/translet/contents/content");
         parser.addNodelet(attrs -> {
             String name = attrs.get("name");
+            Boolean parallel = BooleanUtils.toNullableBooleanObject(attrs.get("parallel"));
+            String timeout = StringUtils.emptyToNull(attrs.get("timeout"));
 
-            ActionList actionList = ActionList.newInstance(name);
+            ActionList actionList = ActionList.newInstance(name, parallel, timeout);
             parser.pushObject(actionList);
         });
         nodeParser.addNestedActionNodelets();
@@ -171,8 +174,10 @@ class TransletNodeletAdder implements NodeletAdder {
         parser.setXpath(xpath + "/translet/content");
         parser.addNodelet(attrs -> {
             String name = attrs.get("name");
+            Boolean parallel = BooleanUtils.toNullableBooleanObject(attrs.get("parallel"));
+            String timeout = StringUtils.emptyToNull(attrs.get("timeout"));
 
-            ActionList actionList = ActionList.newInstance(name);
+            ActionList actionList = ActionList.newInstance(name, parallel, timeout);
             parser.pushObject(actionList);
         });
         nodeParser.addNestedActionNodelets();
@@ -25,7 +25,8 @@ public enum DefaultSettingType {
     BEAN_PROXIFIER("beanProxifier"),
     POINTCUT_PATTERN_VERIFIABLE("pointcutPatternVerifiable"),
     DEFAULT_TEMPLATE_ENGINE_BEAN("defaultTemplateEngineBean"),
-    DEFAULT_SCHEDULER_BEAN("defaultSchedulerBean");
+    DEFAULT_SCHEDULER_BEAN("defaultSchedulerBean"),
+    TRANSLET_ROUTER("transletRouter");
 
     private final String alias;
 
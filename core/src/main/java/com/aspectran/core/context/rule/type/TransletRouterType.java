@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.rule.type;
+
+/**
+ * Supported translet router types.
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+public enum TransletRouterType {
+
+    LINEAR("linear"),
+    TRIE("trie");
+
+    private final String alias;
+
+    TransletRouterType(String alias) {
+        this.alias = alias;
+    }
+
+    @Override
+    public String toString() {
+        return this.alias;
+    }
+
+    /**
+     * Returns a {@code TransletRouterType} with a value represented
+     * by the specified {@code String}.
+     * @param alias the translet router type as a {@code String}
+     * @return a {@code TransletRouterType}, may be {@code null}
+     */
+    public static TransletRouterType resolve(String alias) {
+        for (TransletRouterType type : values()) {
+            if (type.alias.equals(alias)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
@@ -20,17 +20,24 @@ import com.aspectran.core.activity.ActivityException;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.rule.ScheduledJobRule;
 import com.aspectran.core.scheduler.activity.JobActivity;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 
+import java.util.Date;
+import java.util.concurrent.Semaphore;
+
 /**
  * The Class ActivityLauncherJob.
  */
 public class ActivityLauncherJob implements Job {
 
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLauncherJob.class);
+
     @Override
     public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
         try {
@@ -40,8 +47,27 @@ public class ActivityLauncherJob implements Job {
             if (!jobRule.isDisabled()) {
                 SchedulerService service = (SchedulerService)jobDataMap.get(QuartzSchedulerService.SERVICE_DATA_KEY);
                 if (service.isActive()) {
-                    Activity activity = performActivity(service.getActivityContext(), jobExecutionContext, jobRule.getTransletName());
-                    jobExecutionContext.setResult(activity);
+                    ScheduledJobMetrics jobMetrics =
+                            (ScheduledJobMetrics)jobDataMap.get(QuartzSchedulerService.JOB_METRICS_DATA_KEY);
+                    Semaphore permits = (Semaphore)jobDataMap.get(QuartzSchedulerService.JOB_PERMITS_DATA_KEY);
+                    if (permits != null && !permits.tryAcquire()) {
+                        // coalesce this fire into the activities still running
+                        jobMetrics.coalesced();
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Skipped firing job " + jobDetail.getKey() +
+                                    " since it has reached its maximum number of concurrent activities");
+                        }
+                        return;
+                    }
+                    try {
+                        Activity activity = launch(service.getActivityContext(), jobExecutionContext,
+                                jobRule.getTransletName(), jobMetrics);
+                        jobExecutionContext.setResult(activity);
+                    } finally {
+                        if (permits != null) {
+                            permits.release();
+                        }
+                    }
                 }
             }
         } catch (Exception e) {
@@ -49,6 +75,23 @@ public class ActivityLauncherJob implements Job {
         }
     }
 
+    private Activity launch(ActivityContext context, JobExecutionContext jobExecutionContext,
+                            String transletName, ScheduledJobMetrics jobMetrics) throws ActivityException {
+        Date scheduledFireTime = jobExecutionContext.getScheduledFireTime();
+        long startTime = System.currentTimeMillis();
+        if (scheduledFireTime != null) {
+            jobMetrics.started(startTime - scheduledFireTime.getTime());
+        }
+        try {
+            Activity activity = performActivity(context, jobExecutionContext, transletName);
+            jobMetrics.succeeded(System.currentTimeMillis() - startTime);
+            return activity;
+        } catch (ActivityException | RuntimeException e) {
+            jobMetrics.failed(System.currentTimeMillis() - startTime);
+            throw e;
+        }
+    }
+
     private Activity performActivity(ActivityContext context, JobExecutionContext jobExecutionContext, String transletName)
             throws ActivityException {
         JobActivity activity = new JobActivity(context, jobExecutionContext);
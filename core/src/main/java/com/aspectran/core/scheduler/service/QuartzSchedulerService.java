@@ -45,6 +45,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 /**
  * The Class QuartzSchedulerService.
@@ -57,10 +59,16 @@ public class QuartzSchedulerService extends AbstractServiceController implements
 
     static final String JOB_RULE_DATA_KEY = "JOB_RULE";
 
+    static final String JOB_METRICS_DATA_KEY = "JOB_METRICS";
+
+    static final String JOB_PERMITS_DATA_KEY = "JOB_PERMITS";
+
     private final Set<Scheduler> schedulerSet = new HashSet<>();
 
     private final Map<String, Scheduler> schedulerMap = new HashMap<>();
 
+    private final Map<ScheduledJobRule, ScheduledJobMetrics> jobMetricsMap = new ConcurrentHashMap<>();
+
     private final CoreService coreService;
 
     private int startDelaySeconds = 0;
@@ -151,6 +159,11 @@ public class QuartzSchedulerService extends AbstractServiceController implements
         return coreService.getActivityContext();
     }
 
+    @Override
+    public ScheduledJobMetrics getJobMetrics(ScheduledJobRule jobRule) {
+        return jobMetricsMap.get(jobRule);
+    }
+
     private void startSchedulerService() throws SchedulerServiceException {
         ScheduleRuleRegistry scheduleRuleRegistry = getActivityContext().getScheduleRuleRegistry();
         if (scheduleRuleRegistry == null) {
@@ -202,6 +215,7 @@ public class QuartzSchedulerService extends AbstractServiceController implements
             }
             schedulerSet.clear();
             schedulerMap.clear();
+            jobMetricsMap.clear();
         } catch (Exception e) {
             throw new SchedulerServiceException("Could not shutdown QuartzSchedulerService", e);
         }
@@ -270,9 +284,20 @@ public class QuartzSchedulerService extends AbstractServiceController implements
         String jobName = jobRule.getTransletName();
         String jobGroup = jobRule.getScheduleRule().getId();
 
+        ScheduledJobMetrics jobMetrics = new ScheduledJobMetrics();
+        jobMetricsMap.put(jobRule, jobMetrics);
+
         JobDataMap jobDataMap = new JobDataMap();
         jobDataMap.put(SERVICE_DATA_KEY, this);
         jobDataMap.put(JOB_RULE_DATA_KEY, jobRule);
+        jobDataMap.put(JOB_METRICS_DATA_KEY, jobMetrics);
+
+        TriggerExpressionParameters expressionParameters =
+                jobRule.getScheduleRule().getTriggerExpressionParameters();
+        Integer maxConcurrentActivities = expressionParameters.getMaxConcurrentActivities();
+        if (maxConcurrentActivities != null && maxConcurrentActivities > 0) {
+            jobDataMap.put(JOB_PERMITS_DATA_KEY, new Semaphore(maxConcurrentActivities));
+        }
 
         return JobBuilder.newJob(ActivityLauncherJob.class)
                 .withIdentity(jobName, jobGroup)
@@ -294,6 +319,14 @@ public class QuartzSchedulerService extends AbstractServiceController implements
             firstFireTime = new Date();
         }
 
+        TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
+                .withIdentity(name, group)
+                .startAt(firstFireTime);
+        if (expressionParameters.getPriority() != null) {
+            triggerBuilder.withPriority(expressionParameters.getPriority());
+        }
+        String misfireInstruction = expressionParameters.getMisfireInstruction();
+
         if (scheduleRule.getTriggerType() == TriggerType.SIMPLE) {
             Long intervalInMilliseconds = expressionParameters.getIntervalInMilliseconds();
             Integer intervalInSeconds = expressionParameters.getIntervalInSeconds();
@@ -321,21 +354,63 @@ public class QuartzSchedulerService extends AbstractServiceController implements
             if (Boolean.TRUE.equals(repeatForever)) {
                 builder.repeatForever();
             }
+            if (misfireInstruction != null) {
+                applyMisfireInstruction(builder, misfireInstruction);
+            }
 
-            return TriggerBuilder.newTrigger()
-                    .withIdentity(name, group)
-                    .startAt(firstFireTime)
-                    .withSchedule(builder)
-                    .build();
+            return triggerBuilder.withSchedule(builder).build();
         } else {
             String expression = expressionParameters.getExpression();
             CronScheduleBuilder cronSchedule = CronScheduleBuilder.cronSchedule(expression);
+            if (misfireInstruction != null) {
+                applyMisfireInstruction(cronSchedule, misfireInstruction);
+            }
+
+            return triggerBuilder.withSchedule(cronSchedule).build();
+        }
+    }
+
+    private void applyMisfireInstruction(SimpleScheduleBuilder builder, String misfireInstruction) {
+        switch (misfireInstruction) {
+            case "fireNow":
+                builder.withMisfireHandlingInstructionFireNow();
+                break;
+            case "ignoreMisfires":
+                builder.withMisfireHandlingInstructionIgnoreMisfires();
+                break;
+            case "nextWithExistingCount":
+                builder.withMisfireHandlingInstructionNextWithExistingCount();
+                break;
+            case "nextWithRemainingCount":
+                builder.withMisfireHandlingInstructionNextWithRemainingCount();
+                break;
+            case "nowWithExistingCount":
+                builder.withMisfireHandlingInstructionNowWithExistingCount();
+                break;
+            case "nowWithRemainingCount":
+                builder.withMisfireHandlingInstructionNowWithRemainingCount();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown misfire instruction '" + misfireInstruction +
+                        "' for simple trigger; Must be one of fireNow, ignoreMisfires, nextWithExistingCount, " +
+                        "nextWithRemainingCount, nowWithExistingCount, nowWithRemainingCount");
+        }
+    }
 
-            return TriggerBuilder.newTrigger()
-                    .withIdentity(name, group)
-                    .startAt(firstFireTime)
-                    .withSchedule(cronSchedule)
-                    .build();
+    private void applyMisfireInstruction(CronScheduleBuilder builder, String misfireInstruction) {
+        switch (misfireInstruction) {
+            case "fireAndProceed":
+                builder.withMisfireHandlingInstructionFireAndProceed();
+                break;
+            case "doNothing":
+                builder.withMisfireHandlingInstructionDoNothing();
+                break;
+            case "ignoreMisfires":
+                builder.withMisfireHandlingInstructionIgnoreMisfires();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown misfire instruction '" + misfireInstruction +
+                        "' for cron trigger; Must be one of fireAndProceed, doNothing, ignoreMisfires");
         }
     }
 
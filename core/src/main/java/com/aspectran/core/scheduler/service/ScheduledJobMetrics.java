@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.scheduler.service;
+
+import com.aspectran.core.util.ToStringBuilder;
+import com.aspectran.core.util.statistic.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the execution statistics of a scheduled job.
+ * All latencies are in milliseconds.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class ScheduledJobMetrics {
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Returns the histogram of the delay between the scheduled fire time
+     * and the moment the job actually started.
+     * @return the queue wait time histogram
+     */
+    public LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * Returns the histogram of the time taken to perform the activity.
+     * @return the run time histogram
+     */
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    public long getSucceededCount() {
+        return succeeded.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of fires that were skipped because the job
+     * had already reached its maximum number of concurrent activities.
+     * @return the number of coalesced fires
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    void started(long queueWaitMillis) {
+        queueWaitTime.record(queueWaitMillis);
+    }
+
+    void succeeded(long runMillis) {
+        runTime.record(runMillis);
+        succeeded.increment();
+    }
+
+    void failed(long runMillis) {
+        runTime.record(runMillis);
+        failed.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    public void reset() {
+        queueWaitTime.reset();
+        runTime.reset();
+        succeeded.reset();
+        failed.reset();
+        coalesced.reset();
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("succeeded", getSucceededCount());
+        tsb.append("failed", getFailedCount());
+        tsb.append("coalesced", getCoalescedCount());
+        tsb.append("queueWaitTime", queueWaitTime);
+        tsb.append("runTime", runTime);
+        return tsb.toString();
+    }
+
+}
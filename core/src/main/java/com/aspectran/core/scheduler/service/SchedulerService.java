@@ -16,6 +16,7 @@
 package com.aspectran.core.scheduler.service;
 
 import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.rule.ScheduledJobRule;
 import com.aspectran.core.service.ServiceController;
 
 /**
@@ -29,4 +30,11 @@ public interface SchedulerService extends ServiceController {
 
     ActivityContext getActivityContext();
 
+    /**
+     * Returns the execution statistics of the given scheduled job.
+     * @param jobRule the scheduled job rule
+     * @return the job metrics, or {@code null} if the job is not scheduled
+     */
+    ScheduledJobMetrics getJobMetrics(ScheduledJobRule jobRule);
+
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.scheduler.support;
+
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+import com.aspectran.core.util.thread.AutoLock;
+import com.aspectran.core.util.thread.VirtualThreads;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+
+/**
+ * A Quartz {@link ThreadPool} that runs each job on its own virtual thread.
+ * The number of jobs running at the same time is still limited by the
+ * thread count, so that the scheduler does not acquire more triggers
+ * than it can fire. If the running JDK does not support virtual threads,
+ * a warning is logged and the jobs run on a pool of as many platform
+ * threads as the thread count instead.
+ *
+ * <p>To use it, specify the following Quartz properties:</p>
+ * <pre>
+ * org.quartz.threadPool.class: com.aspectran.core.scheduler.support.VirtualThreadPool
+ * org.quartz.threadPool.threadCount: 100
+ * </pre>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPool.class);
+
+    private final AutoLock lock = new AutoLock();
+
+    private final Condition available = lock.newCondition();
+
+    private int threadCount = 100;
+
+    private String threadNamePrefix;
+
+    private String instanceName;
+
+    private ExecutorService executorService;
+
+    private int busyCount;
+
+    private volatile boolean shutdown;
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Set the maximum number of jobs that can run at the same time.
+     * @param threadCount the maximum number of concurrently running jobs
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        String prefix = threadNamePrefix;
+        if (prefix == null) {
+            prefix = (instanceName != null ? instanceName : "VirtualThreadPool") + "_Worker-";
+        }
+        if (VirtualThreads.isSupported()) {
+            executorService = VirtualThreads.newThreadPerTaskExecutor(prefix);
+        } else {
+            logger.warn("Virtual threads are not supported by this JDK; " +
+                    "jobs are executed on a platform thread pool");
+            executorService = new ThreadPoolExecutor(
+                    threadCount,
+                    threadCount,
+                    60L,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new WorkerThreadFactory(prefix)
+            );
+        }
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+        try (AutoLock ignored = lock.lock()) {
+            while (busyCount >= threadCount && !shutdown) {
+                try {
+                    available.await(500L, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            if (shutdown) {
+                return false;
+            }
+            busyCount++;
+        }
+        try {
+            executorService.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            release();
+            logger.error("Unable to run job in worker thread", e);
+            return false;
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        try (AutoLock ignored = lock.lock()) {
+            while (busyCount >= threadCount && !shutdown) {
+                try {
+                    available.await(500L, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return Math.max(threadCount - busyCount, 0);
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        shutdown = true;
+        try (AutoLock ignored = lock.lock()) {
+            available.signalAll();
+        }
+        if (executorService != null) {
+            executorService.shutdown();
+            if (waitForJobsToComplete) {
+                try {
+                    while (!executorService.awaitTermination(3000L, TimeUnit.MILLISECONDS)) {
+                        logger.info("Waiting for jobs running on worker threads to complete...");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void release() {
+        try (AutoLock ignored = lock.lock()) {
+            busyCount--;
+            available.signalAll();
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String namePrefix;
+
+        WorkerThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+        }
+
+    }
+
+}
@@ -16,6 +16,8 @@
 package com.aspectran.core.service;
 
 import com.aspectran.core.activity.Activity;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
+import com.aspectran.core.component.translet.router.TransletRuleMatch;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.InsufficientEnvironmentException;
 import com.aspectran.core.context.builder.ActivityContextBuilder;
@@ -27,6 +29,7 @@ import com.aspectran.core.context.config.ExposalsConfig;
 import com.aspectran.core.context.config.SchedulerConfig;
 import com.aspectran.core.context.config.SystemConfig;
 import com.aspectran.core.context.resource.AspectranClassLoader;
+import com.aspectran.core.context.rule.type.MethodType;
 import com.aspectran.core.scheduler.service.QuartzSchedulerService;
 import com.aspectran.core.scheduler.service.SchedulerService;
 import com.aspectran.core.util.Assert;
@@ -153,6 +156,24 @@ public abstract class AbstractCoreService extends AbstractServiceController impl
         }
     }
 
+    /**
+     * Resolves the translet rule for a request received by this service.
+     * The lookup is recorded as the routing phase of the activity, since
+     * the activity is then prepared with the resolved rule and does not
+     * route the request again.
+     * @param requestName the request name
+     * @param requestMethod the request method
+     * @return the matched translet rule, or {@code null} if not found
+     */
+    protected TransletRuleMatch resolveTransletRule(String requestName, MethodType requestMethod) {
+        Object event = FlightRecorderEvents.beginActivityPhase();
+        TransletRuleMatch transletRuleMatch = getActivityContext().getTransletRuleRegistry()
+                .resolveTransletRule(requestName, requestMethod);
+        FlightRecorderEvents.commitActivityPhase(event, FlightRecorderEvents.ROUTING,
+                (transletRuleMatch != null ? transletRuleMatch.getTransletRule().getName() : requestName));
+        return transletRuleMatch;
+    }
+
     protected void prepare(AspectranConfig aspectranConfig) throws AspectranServiceException {
         Assert.state(activityContext == null, "ActivityContext is already configured");
 
@@ -15,8 +15,11 @@
  */
 package com.aspectran.core.support.i18n.message;
 
+import com.aspectran.core.util.ConcurrentReferenceHashMap;
+
 import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -48,6 +51,10 @@ public abstract class AbstractMessageSource extends MessageSourceSupport impleme
 
     private boolean useCodeAsDefaultMessage = false;
 
+    /** Cache to hold compiled forms of the MessageFormats returned by resolveCode */
+    private final Map<MessageFormat, CompiledMessageFormat> compiledMessageFormats =
+            new ConcurrentReferenceHashMap<>();
+
     @Override
     public void setParentMessageSource(MessageSource parent) {
         this.parentMessageSource = parent;
@@ -179,11 +186,9 @@ public abstract class AbstractMessageSource extends MessageSourceSupport impleme
             if (args == null) {
                 args = new Object[0];
             }
-            MessageFormat messageFormat = resolveCode(code, locale);
+            CompiledMessageFormat messageFormat = resolveCompiledCode(code, locale);
             if (messageFormat != null) {
-                synchronized (messageFormat) {
-                    return messageFormat.format(args);
-                }
+                return messageFormat.format(args);
             }
         }
 
@@ -258,11 +263,28 @@ public abstract class AbstractMessageSource extends MessageSourceSupport impleme
      * @see java.text.MessageFormat
      */
     protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        CompiledMessageFormat messageFormat = resolveCompiledCode(code, locale);
+        if (messageFormat != null) {
+            return messageFormat.format(null);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Resolve the given code into a {@link CompiledMessageFormat}, which can
+     * be formatted concurrently without locking.
+     * <p>The default implementation compiles the MessageFormat returned by
+     * {@link #resolveCode} and caches the compiled form. Subclasses that cache
+     * their MessageFormats are encouraged to cache the compiled forms instead.</p>
+     * @param code the code of the message to resolve
+     * @param locale the Locale to resolve the code for
+     * @return the compiled MessageFormat for the message, or {@code null} if not found
+     */
+    protected CompiledMessageFormat resolveCompiledCode(String code, Locale locale) {
         MessageFormat messageFormat = resolveCode(code, locale);
         if (messageFormat != null) {
-            synchronized (messageFormat) {
-                return messageFormat.format(new Object[0]);
-            }
+            return compiledMessageFormats.computeIfAbsent(messageFormat, CompiledMessageFormat::compile);
         } else {
             return null;
         }
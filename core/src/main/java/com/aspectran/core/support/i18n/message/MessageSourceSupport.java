@@ -19,9 +19,9 @@ import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base class for message source implementations, providing support infrastructure
@@ -36,7 +36,8 @@ import java.util.Map;
  */
 public class MessageSourceSupport {
 
-    private static final MessageFormat INVALID_MESSAGE_FORMAT = new MessageFormat("");
+    private static final CompiledMessageFormat INVALID_MESSAGE_FORMAT =
+            CompiledMessageFormat.compile(new MessageFormat(""));
 
     /** Logger available to subclasses */
     protected final Logger logger = LoggerFactory.getLogger(getClass());
@@ -44,12 +45,12 @@ public class MessageSourceSupport {
     private boolean alwaysUseMessageFormat = false;
 
     /**
-     * Cache to hold already generated MessageFormats per message.
+     * Cache to hold already compiled MessageFormats per message.
      * Used for passed-in default messages. MessageFormats for resolved
      * codes are cached on a specific basis in subclasses.
      */
-    private final Map<String, Map<Locale, MessageFormat>> messageFormatsPerMessage =
-            new HashMap<>();
+    private final Map<String, Map<Locale, CompiledMessageFormat>> messageFormatsPerMessage =
+            new ConcurrentHashMap<>();
 
     /**
      * Set whether to always apply the MessageFormat rules, parsing even
@@ -109,36 +110,31 @@ public class MessageSourceSupport {
         if (msg == null || (!this.alwaysUseMessageFormat && (args == null || args.length == 0))) {
             return msg;
         }
-        MessageFormat messageFormat = null;
-        synchronized (this.messageFormatsPerMessage) {
-            Map<Locale, MessageFormat> messageFormatsPerLocale = this.messageFormatsPerMessage.get(msg);
-            if (messageFormatsPerLocale != null) {
-                messageFormat = messageFormatsPerLocale.get(locale);
-            } else {
-                messageFormatsPerLocale = new HashMap<>();
-                this.messageFormatsPerMessage.put(msg, messageFormatsPerLocale);
-            }
-            if (messageFormat == null) {
-                try {
-                    messageFormat = createMessageFormat(msg, locale);
-                } catch (IllegalArgumentException ex) {
-                    // invalid message format - probably not intended for formatting,
-                    // rather using a message structure with no arguments involved
-                    if (this.alwaysUseMessageFormat) {
-                        throw ex;
-                    }
-                    // silently proceed with raw message if format not enforced
-                    messageFormat = INVALID_MESSAGE_FORMAT;
+        Map<Locale, CompiledMessageFormat> messageFormatsPerLocale =
+                this.messageFormatsPerMessage.computeIfAbsent(msg, key -> new ConcurrentHashMap<>());
+        Locale localeKey = (locale != null ? locale : Locale.ROOT);
+        CompiledMessageFormat messageFormat = messageFormatsPerLocale.get(localeKey);
+        if (messageFormat == null) {
+            try {
+                messageFormat = CompiledMessageFormat.compile(createMessageFormat(msg, locale));
+            } catch (IllegalArgumentException ex) {
+                // invalid message format - probably not intended for formatting,
+                // rather using a message structure with no arguments involved
+                if (this.alwaysUseMessageFormat) {
+                    throw ex;
                 }
-                messageFormatsPerLocale.put(locale, messageFormat);
+                // silently proceed with raw message if format not enforced
+                messageFormat = INVALID_MESSAGE_FORMAT;
+            }
+            CompiledMessageFormat existing = messageFormatsPerLocale.putIfAbsent(localeKey, messageFormat);
+            if (existing != null) {
+                messageFormat = existing;
             }
         }
         if (messageFormat == INVALID_MESSAGE_FORMAT) {
             return msg;
         }
-        synchronized (messageFormat) {
-            return messageFormat.format(args);
-        }
+        return messageFormat.format(args);
     }
 
     /**
@@ -81,14 +81,14 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
     private final Map<String, Map<Locale, ResourceBundle>> cachedResourceBundles = new ConcurrentHashMap<>();
 
     /**
-     * Cache to hold already generated MessageFormats.
+     * Cache to hold already compiled MessageFormats.
      * This Map is keyed with the ResourceBundle, which holds a Map that is
      * keyed with the message code, which in turn holds a Map that is keyed
-     * with the Locale and holds the MessageFormat values. This allows for
-     * very efficient hash lookups without concatenated keys.
-     * @see #getMessageFormat
+     * with the Locale and holds the compiled MessageFormat values. This allows
+     * for very efficient hash lookups without concatenated keys.
+     * @see #getCompiledMessageFormat
      */
-    private final Map<ResourceBundle, Map<String, Map<Locale, MessageFormat>>> cachedBundleMessageFormats =
+    private final Map<ResourceBundle, Map<String, Map<Locale, CompiledMessageFormat>>> cachedBundleMessageFormats =
             new ConcurrentHashMap<>();
 
     /**
@@ -222,11 +222,21 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
      */
     @Override
     protected MessageFormat resolveCode(String code, Locale locale) {
-        MessageFormat messageFormat = null;
+        CompiledMessageFormat messageFormat = resolveCompiledCode(code, locale);
+        return (messageFormat != null ? messageFormat.getMessageFormat() : null);
+    }
+
+    /**
+     * Resolves the given message code as key in the registered resource bundles,
+     * using a cached compiled MessageFormat instance per message code.
+     */
+    @Override
+    protected CompiledMessageFormat resolveCompiledCode(String code, Locale locale) {
+        CompiledMessageFormat messageFormat = null;
         for (int i = 0; messageFormat == null && i < this.basenames.length; i++) {
             ResourceBundle bundle = getResourceBundle(this.basenames[i], locale);
             if (bundle != null) {
-                messageFormat = getMessageFormat(bundle, code, locale);
+                messageFormat = getCompiledMessageFormat(bundle, code, locale);
             }
         }
         return messageFormat;
@@ -330,12 +340,27 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
      */
     protected MessageFormat getMessageFormat(ResourceBundle bundle, String code, Locale locale)
             throws MissingResourceException {
-        Map<String, Map<Locale, MessageFormat>> codeMap = this.cachedBundleMessageFormats.get(bundle);
-        Map<Locale, MessageFormat> localeMap = null;
+        CompiledMessageFormat messageFormat = getCompiledMessageFormat(bundle, code, locale);
+        return (messageFormat != null ? messageFormat.getMessageFormat() : null);
+    }
+
+    /**
+     * Return a compiled MessageFormat for the given bundle and code,
+     * fetching already compiled MessageFormats from the cache.
+     * @param bundle the ResourceBundle to work on
+     * @param code the message code to retrieve
+     * @param locale the Locale to use to build the MessageFormat
+     * @return the compiled MessageFormat, or {@code null} if no message defined for the given code
+     * @throws MissingResourceException if thrown by the ResourceBundle
+     */
+    protected CompiledMessageFormat getCompiledMessageFormat(ResourceBundle bundle, String code, Locale locale)
+            throws MissingResourceException {
+        Map<String, Map<Locale, CompiledMessageFormat>> codeMap = this.cachedBundleMessageFormats.get(bundle);
+        Map<Locale, CompiledMessageFormat> localeMap = null;
         if (codeMap != null) {
             localeMap = codeMap.get(code);
             if (localeMap != null) {
-                MessageFormat result = localeMap.get(locale);
+                CompiledMessageFormat result = localeMap.get(locale);
                 if (result != null) {
                     return result;
                 }
@@ -346,7 +371,7 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
         if (msg != null) {
             if (codeMap == null) {
                 codeMap = new ConcurrentHashMap<>();
-                Map<String, Map<Locale, MessageFormat>> existing =
+                Map<String, Map<Locale, CompiledMessageFormat>> existing =
                         this.cachedBundleMessageFormats.putIfAbsent(bundle, codeMap);
                 if (existing != null) {
                     codeMap = existing;
@@ -354,14 +379,14 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
             }
             if (localeMap == null) {
                 localeMap = new ConcurrentHashMap<>();
-                Map<Locale, MessageFormat> existing = codeMap.putIfAbsent(code, localeMap);
+                Map<Locale, CompiledMessageFormat> existing = codeMap.putIfAbsent(code, localeMap);
                 if (existing != null) {
                     localeMap = existing;
                 }
             }
-            MessageFormat result = createMessageFormat(msg, locale);
-            localeMap.put(locale, result);
-            return result;
+            CompiledMessageFormat result = CompiledMessageFormat.compile(createMessageFormat(msg, locale));
+            CompiledMessageFormat existing = localeMap.putIfAbsent(locale, result);
+            return (existing != null ? existing : result);
         }
         return null;
     }
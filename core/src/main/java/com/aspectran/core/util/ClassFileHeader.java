@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The header information of a class file, read directly from its bytes
+ * without loading the class. Only the class-level declarations are kept:
+ * access flags, class name, superclass, interfaces and the types of the
+ * runtime-visible annotations present on the class.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class ClassFileHeader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final int accessFlags;
+
+    private final String className;
+
+    private final String superClassName;
+
+    private final String[] interfaceNames;
+
+    private final Set<String> annotationTypes;
+
+    private ClassFileHeader(int accessFlags, String className, String superClassName,
+                            String[] interfaceNames, Set<String> annotationTypes) {
+        this.accessFlags = accessFlags;
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotationTypes = annotationTypes;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public boolean isPublic() {
+        return Modifier.isPublic(accessFlags);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+
+    public boolean isInterface() {
+        return ((accessFlags & ACC_INTERFACE) != 0);
+    }
+
+    public boolean isAnnotation() {
+        return ((accessFlags & ACC_ANNOTATION) != 0);
+    }
+
+    /**
+     * Returns the fully qualified name of the class.
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the fully qualified name of the superclass,
+     * or {@code null} if the class is {@code java.lang.Object} or a module descriptor.
+     * @return the superclass name
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    public String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Returns the fully qualified names of the runtime-visible annotations
+     * directly present on the class.
+     * @return the annotation type names
+     */
+    public Set<String> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    public boolean hasAnnotation(String annotationType) {
+        return annotationTypes.contains(annotationType);
+    }
+
+    /**
+     * Reads the header of a class file from the given input stream.
+     * The stream is read only as far as needed and is not closed.
+     * @param inputStream the input stream of the class file
+     * @return the class file header
+     * @throws IOException if an I/O error has occurred or the stream is not a valid class file
+     */
+    public static ClassFileHeader read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor_version
+        in.readUnsignedShort(); // major_version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8s = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8s[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = toClassName(utf8s, classNameIndexes, in.readUnsignedShort());
+        String superClassName = toClassName(utf8s, classNameIndexes, in.readUnsignedShort());
+        int interfacesCount = in.readUnsignedShort();
+        String[] interfaceNames = new String[interfacesCount];
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames[i] = toClassName(utf8s, classNameIndexes, in.readUnsignedShort());
+        }
+
+        skipMembers(in); // fields
+        skipMembers(in); // methods
+
+        Set<String> annotationTypes = null;
+        int attributesCount = in.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8s[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                int numAnnotations = in.readUnsignedShort();
+                annotationTypes = new LinkedHashSet<>();
+                for (int j = 0; j < numAnnotations; j++) {
+                    annotationTypes.add(toTypeName(utf8s[in.readUnsignedShort()]));
+                    skipElementValuePairs(in);
+                }
+                // No other class attributes are of interest
+                break;
+            } else {
+                skipFully(in, length);
+            }
+        }
+
+        return new ClassFileHeader(accessFlags, className, superClassName, interfaceNames,
+                (annotationTypes != null ? annotationTypes : Collections.emptySet()));
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            skipFully(in, 6); // access_flags, name_index, descriptor_index
+            int attributesCount = in.readUnsignedShort();
+            for (int j = 0; j < attributesCount; j++) {
+                skipFully(in, 2); // attribute_name_index
+                skipFully(in, in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int numPairs = in.readUnsignedShort();
+        for (int i = 0; i < numPairs; i++) {
+            skipFully(in, 2); // element_name_index
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e': // enum constant
+                skipFully(in, 4);
+                break;
+            case '@': // nested annotation
+                skipFully(in, 2);
+                skipElementValuePairs(in);
+                break;
+            case '[': // array
+                int numValues = in.readUnsignedShort();
+                for (int i = 0; i < numValues; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default: // constant value or class
+                skipFully(in, 2);
+                break;
+        }
+    }
+
+    private static void skipFully(DataInputStream in, long n) throws IOException {
+        while (n > 0) {
+            long skipped = in.skip(n);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+
+    private static String toClassName(String[] utf8s, int[] classNameIndexes, int classIndex) {
+        if (classIndex == 0) {
+            return null;
+        }
+        return utf8s[classNameIndexes[classIndex]].replace('/', '.');
+    }
+
+    private static String toTypeName(String descriptor) {
+        // e.g. Lcom/aspectran/core/component/bean/annotation/Component;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+}
@@ -21,7 +21,9 @@ import com.aspectran.core.util.wildcard.WildcardMatcher;
 import com.aspectran.core.util.wildcard.WildcardPattern;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -46,6 +48,8 @@ public class ClassScanner {
 
     private final ClassLoader classLoader;
 
+    private ClassFileFilter classFileFilter;
+
     public ClassScanner(ClassLoader classLoader) {
         this.classLoader = classLoader;
     }
@@ -54,6 +58,20 @@ public class ClassScanner {
         return classLoader;
     }
 
+    public ClassFileFilter getClassFileFilter() {
+        return classFileFilter;
+    }
+
+    /**
+     * Sets the filter that decides from the class file header alone whether
+     * a class is worth loading. Classes rejected by the filter are never
+     * loaded, so their static initializers do not run during scanning.
+     * @param classFileFilter the class file filter
+     */
+    public void setClassFileFilter(ClassFileFilter classFileFilter) {
+        this.classFileFilter = classFileFilter;
+    }
+
     /**
      * Find all classes that match the class name pattern.
      * @param classNamePattern the class name pattern
@@ -105,6 +123,7 @@ public class ClassScanner {
 
         Enumeration<URL> resources = classLoader.getResources(basePackageName);
 
+        String packagePath = basePackageName;
         if (!StringUtils.endsWith(basePackageName, REGULAR_FILE_SEPARATOR_CHAR)) {
             basePackageName += REGULAR_FILE_SEPARATOR_CHAR;
         }
@@ -112,6 +131,11 @@ public class ClassScanner {
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
 
+            String rootUrl = determineRootUrl(resource, packagePath);
+            if (rootUrl != null && scanIndexedRoot(rootUrl, packagePath, matcher, saveHandler)) {
+                continue;
+            }
+
             if (logger.isDebugEnabled()) {
                 logger.debug("Scanning components in path: " + resource.getFile());
             }
@@ -124,6 +148,22 @@ public class ClassScanner {
         }
     }
 
+    /**
+     * Finds the classes under the given classpath root from an index instead
+     * of walking through the directory or JAR file. The default implementation
+     * knows of no index and always returns {@code false}.
+     * @param rootUrl the URL of the classpath root, ending with a slash
+     * @param packagePath the path of the base package, empty or ending with a slash
+     * @param matcher the matcher for class paths relative to the base package
+     * @param saveHandler the save handler
+     * @return {@code true} if the root has been scanned from an index;
+     *      {@code false} if it must be walked through
+     */
+    protected boolean scanIndexedRoot(String rootUrl, String packagePath, WildcardMatcher matcher,
+                                      SaveHandler saveHandler) {
+        return false;
+    }
+
     /**
      * Recursive method used to find all classes in a given directory and sub dirs.
      * @param targetPath the target path
@@ -161,7 +201,7 @@ public class ClassScanner {
                 }
 
                 String relativePath = className.substring(basePackageName.length());
-                if (matcher.matches(relativePath)) {
+                if (matcher.matches(relativePath) && isCandidateClassFile(file)) {
                     String resourceName = targetPath + fileName;
                     Class<?> targetClass = loadClass(className);
                     saveHandler.save(resourceName, targetClass);
@@ -221,7 +261,7 @@ public class ClassScanner {
                     String entryNameSuffix = entryName.substring(entryNamePrefix.length(), entryName.length() -
                             ClassUtils.CLASS_FILE_SUFFIX.length());
 
-                    if (matcher.matches(entryNameSuffix)) {
+                    if (matcher.matches(entryNameSuffix) && isCandidateClassFile(jarFile, entry)) {
                         String resourceName = jarFileUrl + ResourceUtils.JAR_URL_SEPARATOR + entryName;
                         String className = entryNamePrefix + entryNameSuffix;
                         Class<?> targetClass = loadClass(className);
@@ -276,7 +316,55 @@ public class ClassScanner {
         return sb.toString();
     }
 
-    private Class<?> loadClass(String className) {
+    private String determineRootUrl(URL resource, String packagePath) {
+        String location = resource.toExternalForm();
+        if (!location.endsWith(ResourceUtils.REGULAR_FILE_SEPARATOR)) {
+            location += REGULAR_FILE_SEPARATOR_CHAR;
+        }
+        if (!location.endsWith(packagePath)) {
+            return null;
+        }
+        return location.substring(0, location.length() - packagePath.length());
+    }
+
+    private boolean isCandidateClassFile(File file) {
+        if (classFileFilter == null) {
+            return true;
+        }
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return isCandidateClassFile(inputStream, file.getPath());
+        } catch (IOException e) {
+            return isCandidateClassFile(null, file.getPath());
+        }
+    }
+
+    private boolean isCandidateClassFile(JarFile jarFile, JarEntry entry) {
+        if (classFileFilter == null) {
+            return true;
+        }
+        try (InputStream inputStream = jarFile.getInputStream(entry)) {
+            return isCandidateClassFile(inputStream, entry.getName());
+        } catch (IOException e) {
+            return isCandidateClassFile(null, entry.getName());
+        }
+    }
+
+    private boolean isCandidateClassFile(InputStream inputStream, String resourceName) {
+        if (inputStream != null) {
+            try {
+                return classFileFilter.matches(ClassFileHeader.read(inputStream));
+            } catch (IOException e) {
+                // fall through
+            }
+        }
+        // Leave it to the class loader if the class file cannot be read
+        if (logger.isDebugEnabled()) {
+            logger.debug("Unable to read class file header of " + resourceName);
+        }
+        return true;
+    }
+
+    protected Class<?> loadClass(String className) {
         className = className.replace(REGULAR_FILE_SEPARATOR_CHAR, PACKAGE_SEPARATOR_CHAR);
 
         try {
@@ -292,4 +380,10 @@ public class ClassScanner {
 
     }
 
+    public interface ClassFileFilter {
+
+        boolean matches(ClassFileHeader classFileHeader);
+
+    }
+
 }
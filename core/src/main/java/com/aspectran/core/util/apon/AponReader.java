@@ -189,7 +189,7 @@ public class AponReader extends AponFormat implements Closeable {
                 vlen = value.length();
                 cchar = (vlen == 1 ? value.charAt(0) : NO_CONTROL_CHAR);
 
-                parameterValue = container.getParameterValueMap().get(name);
+                parameterValue = container.getParameterValue(name);
 
                 if (parameterValue != null) {
                     valueType = parameterValue.getValueType();
@@ -202,7 +202,7 @@ public class AponReader extends AponFormat implements Closeable {
                     if (valueType != null) {
                         valueTypeHinted = true;
                         name = ValueType.stripValueTypeHint(name);
-                        parameterValue = container.getParameterValueMap().get(name);
+                        parameterValue = container.getParameterValue(name);
                         if (parameterValue != null) {
                             valueType = parameterValue.getValueType();
                         }
@@ -17,6 +17,7 @@ package com.aspectran.core.util.apon;
 
 import com.aspectran.core.util.ClassUtils;
 import com.aspectran.core.util.json.JsonReader;
+import com.aspectran.core.util.json.JsonToken;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -75,6 +76,81 @@ public class JsonToApon {
         return container;
     }
 
+    /**
+     * Reads the elements of a JSON array one at a time, handing each object
+     * element to the given handler as soon as it has been read, so that very
+     * large arrays never have to be held in memory as a whole.
+     * If {@code arrayName} is {@code null}, the document itself must be an array;
+     * otherwise the array is looked up among the members of the top-level object
+     * and all other members are skipped.
+     * @param reader the character stream of the JSON document
+     * @param arrayName the name of the array member, or {@code null} for a top-level array
+     * @param elementType the type of parameters to create for each element
+     * @param handler the handler to receive the elements
+     * @param <T> the type of the element parameters
+     * @return the number of elements handled
+     * @throws IOException if the JSON could not be read or an element is not an object
+     */
+    public static <T extends Parameters> int forEach(Reader reader, String arrayName, Class<T> elementType,
+                                                     ElementHandler<T> handler) throws IOException {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader must not be null");
+        }
+        if (elementType == null) {
+            throw new IllegalArgumentException("elementType must not be null");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler must not be null");
+        }
+
+        int count = 0;
+        try {
+            JsonReader jsonReader = new JsonReader(reader);
+            if (arrayName == null) {
+                count = readElements(jsonReader, elementType, handler);
+            } else {
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if (arrayName.equals(name) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                        count += readElements(jsonReader, elementType, handler);
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to convert JSON to APON", e);
+        }
+        return count;
+    }
+
+    private static <T extends Parameters> int readElements(JsonReader reader, Class<T> elementType,
+                                                           ElementHandler<T> handler) throws Exception {
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw new IOException("Array element must be an object; found " + token +
+                        " at " + reader.getPath());
+            }
+            T element = ClassUtils.createInstance(elementType);
+            read(reader, element, null);
+            handler.handle(element);
+            count++;
+        }
+        reader.endArray();
+        return count;
+    }
+
     private static void read(JsonReader reader, Parameters container, String name) throws IOException {
         switch (reader.peek()) {
             case BEGIN_OBJECT:
@@ -123,4 +199,16 @@ public class JsonToApon {
         }
     }
 
+    /**
+     * Callback interface for receiving the elements of a JSON array
+     * one at a time.
+     * @param <T> the type of the element parameters
+     */
+    @FunctionalInterface
+    public interface ElementHandler<T extends Parameters> {
+
+        void handle(T element) throws Exception;
+
+    }
+
 }
@@ -20,6 +20,7 @@ import com.aspectran.core.util.Assert;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
@@ -50,6 +51,12 @@ public class ConcurrentLruCache<K, V> implements Cache<K, V> {
 
     private volatile int size = 0;
 
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
     public ConcurrentLruCache(int capacity, Function<K, V> generator) {
         Assert.isTrue(capacity > 0, "capacity must be positive");
         Assert.notNull(generator, "Generator function must not be null");
@@ -62,6 +69,7 @@ public class ConcurrentLruCache<K, V> implements Cache<K, V> {
     public V get(K key) {
         V cached = cache.get(key);
         if (cached != null) {
+            hitCount.increment();
             if (size < capacity) {
                 return cached;
             }
@@ -80,11 +88,13 @@ public class ConcurrentLruCache<K, V> implements Cache<K, V> {
             // Retrying in case of concurrent reads on the same key
             cached = cache.get(key);
             if (cached != null) {
+                hitCount.increment();
                 if (queue.removeLastOccurrence(key)) {
                     queue.offer(key);
                 }
                 return cached;
             }
+            missCount.increment();
             // Generate value first, to prevent size inconsistency
             V value = generator.apply(key);
             int cacheSize = size;
@@ -93,6 +103,7 @@ public class ConcurrentLruCache<K, V> implements Cache<K, V> {
                 if (leastUsed != null) {
                     cache.remove(leastUsed);
                     cacheSize--;
+                    evictionCount.increment();
                 }
             }
             queue.offer(key);
@@ -147,4 +158,37 @@ public class ConcurrentLruCache<K, V> implements Cache<K, V> {
         return (size == 0);
     }
 
+    /**
+     * Returns the maximum number of elements this cache can hold.
+     * @return the capacity of this cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of times a lookup found a cached value.
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of times a lookup had to generate a new value.
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of least recently used entries discarded
+     * because the cache was at full capacity.
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
 }
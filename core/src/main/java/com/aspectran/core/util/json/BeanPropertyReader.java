@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.util.json;
+
+import com.aspectran.core.util.BeanDescriptor;
+import com.aspectran.core.util.ConcurrentReferenceHashMap;
+import com.aspectran.core.util.TypeUtils;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads the serializable properties of a bean through accessors that are
+ * resolved once per bean class.
+ *
+ * <p>Each getter is bound to a generated {@link Function} when the bean class
+ * allows private lookup, so that reading a property is a plain method call.
+ * Otherwise the getter is invoked reflectively.</p>
+ *
+ * <p>Created: 2021. 7. 12.</p>
+ */
+final class BeanPropertyReader {
+
+    private static final Map<Class<?>, BeanPropertyReader> cache = new ConcurrentReferenceHashMap<>(256);
+
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Function.class);
+
+    private static final MethodType APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String[] propertyNames;
+
+    private final Method[] getters;
+
+    private final Function<Object, Object>[] accessors;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BeanPropertyReader(Class<?> beanClass) {
+        BeanDescriptor bd = BeanDescriptor.getInstance(beanClass);
+        String[] names = bd.getReadablePropertyNamesWithoutNonSerializable();
+        if (names == null) {
+            names = new String[0];
+        }
+        this.propertyNames = names;
+        this.getters = new Method[names.length];
+        this.accessors = new Function[names.length];
+        for (int i = 0; i < names.length; i++) {
+            try {
+                getters[i] = bd.getGetter(names[i]);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            accessors[i] = createAccessor(getters[i]);
+            if (accessors[i] == null) {
+                makeAccessible(getters[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of readable properties.
+     * @return the number of readable properties
+     */
+    int size() {
+        return propertyNames.length;
+    }
+
+    String getPropertyName(int index) {
+        return propertyNames[index];
+    }
+
+    /**
+     * Returns the value of the property at the given index.
+     * @param bean the bean whose property is to be read
+     * @param index the index of the property
+     * @return the property value
+     * @throws IOException if the getter throws an exception
+     */
+    Object read(Object bean, int index) throws IOException {
+        Function<Object, Object> accessor = accessors[index];
+        if (accessor != null) {
+            try {
+                return accessor.apply(bean);
+            } catch (RuntimeException e) {
+                throw new IOException("Could not get property '" + propertyNames[index] +
+                        "' from " + bean.getClass().getName(), e);
+            }
+        }
+        try {
+            return getters[index].invoke(bean);
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            throw new IOException("Could not get property '" + propertyNames[index] +
+                    "' from " + bean.getClass().getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createAccessor(Method getter) {
+        Class<?> declaringClass = getter.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(getter);
+            Class<?> returnType = getter.getReturnType();
+            if (returnType.isPrimitive()) {
+                returnType = TypeUtils.getPrimitiveWrapper(returnType);
+            }
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", FUNCTION_TYPE, APPLY_TYPE,
+                    handle, MethodType.methodType(returnType, declaringClass));
+            return (Function<Object, Object>)site.getTarget().invoke();
+        } catch (Throwable e) {
+            // e.g. a class in a named module that is not open to us
+            return null;
+        }
+    }
+
+    /**
+     * Makes a getter that is invoked reflectively accessible, e.g. a public
+     * method declared in a class that is not public.
+     * @param getter the getter method
+     */
+    private static void makeAccessible(Method getter) {
+        try {
+            getter.setAccessible(true);
+        } catch (RuntimeException e) {
+            // not open to us; invoking it will report the failure
+        }
+    }
+
+    /**
+     * Returns the property reader for the specified bean class.
+     * @param beanClass the bean class
+     * @return the property reader
+     */
+    static BeanPropertyReader getInstance(Class<?> beanClass) {
+        BeanPropertyReader reader = cache.get(beanClass);
+        if (reader == null) {
+            reader = new BeanPropertyReader(beanClass);
+            BeanPropertyReader existing = cache.putIfAbsent(beanClass, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+}
@@ -16,7 +16,6 @@
 package com.aspectran.core.util.json;
 
 import com.aspectran.core.util.ArrayStack;
-import com.aspectran.core.util.BeanUtils;
 import com.aspectran.core.util.apon.Parameter;
 import com.aspectran.core.util.apon.ParameterValue;
 import com.aspectran.core.util.apon.Parameters;
@@ -29,7 +28,6 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -37,6 +35,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converts an object to a JSON formatted string.
@@ -51,6 +50,10 @@ public class JsonWriter implements Flushable, Closeable {
 
     private static final String DEFAULT_INDENT_STRING = "  ";
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Map<String, DateTimeFormatter> formatterCache = new ConcurrentHashMap<>();
+
     private final ArrayStack<Boolean> writtenFlags = new ArrayStack<>();
 
     private final Writer out;
@@ -63,6 +66,12 @@ public class JsonWriter implements Flushable, Closeable {
 
     private String dateTimeFormat;
 
+    private DateTimeFormatter dateFormatter;
+
+    private DateTimeFormatter dateTimeFormatter;
+
+    private SimpleDateFormat simpleDateTimeFormat;
+
     private boolean nullWritable = true;
 
     private int indentDepth;
@@ -114,12 +123,15 @@ public class JsonWriter implements Flushable, Closeable {
     @SuppressWarnings("unchecked")
     public <T extends JsonWriter> T dateFormat(String dateFormat) {
         this.dateFormat = dateFormat;
+        this.dateFormatter = null;
         return (T)this;
     }
 
     @SuppressWarnings("unchecked")
     public <T extends JsonWriter> T dateTimeFormat(String dateTimeFormat) {
         this.dateTimeFormat = dateTimeFormat;
+        this.dateTimeFormatter = null;
+        this.simpleDateTimeFormat = null;
         return (T)this;
     }
 
@@ -197,39 +209,41 @@ public class JsonWriter implements Flushable, Closeable {
             endArray();
         } else if (object instanceof Date) {
             if (dateTimeFormat != null) {
-                SimpleDateFormat dt = new SimpleDateFormat(dateTimeFormat);
-                writeValue(dt.format((Date)object));
+                if (simpleDateTimeFormat == null) {
+                    simpleDateTimeFormat = new SimpleDateFormat(dateTimeFormat);
+                }
+                writeValue(simpleDateTimeFormat.format((Date)object));
             } else {
                 writeValue(object.toString());
             }
         } else if (object instanceof LocalDate) {
             if (dateFormat != null) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
-                writeValue(((LocalDate)object).format(formatter));
+                if (dateFormatter == null) {
+                    dateFormatter = getFormatter(dateFormat);
+                }
+                writeValue(((LocalDate)object).format(dateFormatter));
             } else {
                 writeValue(object.toString());
             }
         } else if (object instanceof LocalDateTime) {
             if (dateTimeFormat != null) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateTimeFormat);
-                writeValue(((LocalDateTime)object).format(formatter));
+                if (dateTimeFormatter == null) {
+                    dateTimeFormatter = getFormatter(dateTimeFormat);
+                }
+                writeValue(((LocalDateTime)object).format(dateTimeFormatter));
             } else {
                 writeValue(object.toString());
             }
         } else {
-            String[] readablePropertyNames = BeanUtils.getReadablePropertyNamesWithoutNonSerializable(object);
-            if (readablePropertyNames != null && readablePropertyNames.length > 0) {
+            BeanPropertyReader reader = BeanPropertyReader.getInstance(object.getClass());
+            int size = reader.size();
+            if (size > 0) {
                 beginObject();
-                for (String propertyName : readablePropertyNames) {
-                    Object value;
-                    try {
-                        value = BeanUtils.getProperty(object, propertyName);
-                    } catch (InvocationTargetException e) {
-                        throw new IOException(e);
-                    }
+                for (int i = 0; i < size; i++) {
+                    Object value = reader.read(object, i);
                     checkCircularReference(object, value);
 
-                    writeName(propertyName);
+                    writeName(reader.getPropertyName(i));
                     write(value);
                 }
                 endObject();
@@ -255,8 +269,8 @@ public class JsonWriter implements Flushable, Closeable {
         }
         if (pendedName != null) {
             indent();
-            out.write(escape(pendedName));
-            out.write(":");
+            writeEscaped(pendedName);
+            out.write(':');
             if (prettyPrint) {
                 out.write(" ");
             }
@@ -279,7 +293,7 @@ public class JsonWriter implements Flushable, Closeable {
     public void writeValue(String value) throws IOException {
         if (nullWritable || value != null) {
             writePendedName();
-            out.write(escape(value));
+            writeEscaped(value);
             writtenFlags.update(true);
         } else {
             clearPendedName();
@@ -478,67 +492,94 @@ public class JsonWriter implements Flushable, Closeable {
     }
 
     /**
-     * Produce a string in double quotes with backslash sequences in all the
+     * Returns a cached formatter for the given pattern;
+     * {@code DateTimeFormatter} is immutable and can be shared.
+     */
+    private static DateTimeFormatter getFormatter(String pattern) {
+        return formatterCache.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Writes a string in double quotes with backslash sequences in all the
      * right places. A backslash will be inserted within &lt;/, allowing JSON
      * text to be delivered in HTML. In JSON text, a string cannot contain a
      * control character or an unescaped quote or backslash.
+     * The runs of characters that need no escaping are written to the
+     * writer as they are, without building an intermediate string.
      * @param string the input String, may be null
-     * @return a String correctly formatted for insertion in a JSON text
+     * @throws IOException if an I/O error has occurred
      */
-    private static String escape(String string) {
+    private void writeEscaped(String string) throws IOException {
         if (string == null || string.length() == 0) {
-            return "\"\"";
+            out.write("\"\"");
+            return;
         }
 
         int len = string.length();
+        int start = 0;
         char b;
         char c = 0;
-        String t;
 
-        StringBuilder sb = new StringBuilder(len + 4);
-        sb.append('"');
+        out.write('"');
         for (int i = 0; i < len; i++) {
             b = c;
             c = string.charAt(i);
 
+            String escaped;
             switch (c) {
                 case '\\':
+                    escaped = "\\\\";
+                    break;
                 case '"':
-                    sb.append('\\');
-                    sb.append(c);
+                    escaped = "\\\"";
                     break;
                 case '/':
-                    if (b == '<') {
-                        sb.append('\\');
+                    if (b != '<') {
+                        continue;
                     }
-                    sb.append(c);
+                    escaped = "\\/";
                     break;
                 case '\b':
-                    sb.append("\\b");
+                    escaped = "\\b";
                     break;
                 case '\t':
-                    sb.append("\\t");
+                    escaped = "\\t";
                     break;
                 case '\n':
-                    sb.append("\\n");
+                    escaped = "\\n";
                     break;
                 case '\f':
-                    sb.append("\\f");
+                    escaped = "\\f";
                     break;
                 case '\r':
-                    sb.append("\\r");
+                    escaped = "\\r";
                     break;
                 default:
                     if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
-                        t = "000" + Integer.toHexString(c);
-                        sb.append("\\u").append(t.substring(t.length() - 4));
+                        escaped = null;
                     } else {
-                        sb.append(c);
+                        continue;
                     }
             }
+            if (i > start) {
+                out.write(string, start, i - start);
+            }
+            if (escaped != null) {
+                out.write(escaped);
+            } else {
+                out.write('\\');
+                out.write('u');
+                out.write(HEX_DIGITS[(c >> 12) & 0xF]);
+                out.write(HEX_DIGITS[(c >> 8) & 0xF]);
+                out.write(HEX_DIGITS[(c >> 4) & 0xF]);
+                out.write(HEX_DIGITS[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        if (start < len) {
+            out.write(string, start, len - start);
         }
-        sb.append('"');
-        return sb.toString();
+        out.write('"');
     }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.util.thread;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of the running JDK.
+ *
+ * <p>Aspectran is compiled for Java 11, so virtual threads are looked up
+ * reflectively and are only available when running on a JDK that provides
+ * {@code Thread.ofVirtual()} and {@code Executors.newThreadPerTaskExecutor()}.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public abstract class VirtualThreads {
+
+    private static final Method ofVirtualMethod;
+
+    private static final Method nameMethod;
+
+    private static final Method factoryMethod;
+
+    private static final Method newThreadPerTaskExecutorMethod;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = ofVirtual.getReturnType();
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (NoSuchMethodException e) {
+            ofVirtual = null;
+        }
+        ofVirtualMethod = ofVirtual;
+        nameMethod = name;
+        factoryMethod = factory;
+        newThreadPerTaskExecutorMethod = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * Returns whether virtual threads are supported by the running JDK.
+     * @return true if virtual threads are supported; false otherwise
+     */
+    public static boolean isSupported() {
+        return (ofVirtualMethod != null);
+    }
+
+    /**
+     * Creates a factory of virtual threads named with the given prefix
+     * followed by a sequence number.
+     * @param namePrefix the prefix of the thread names
+     * @return a new virtual thread factory
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JDK " +
+                    System.getProperty("java.version"));
+        }
+        try {
+            Object builder = ofVirtualMethod.invoke(null);
+            builder = nameMethod.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory)factoryMethod.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     * @param namePrefix the prefix of the thread names
+     * @return a new executor service
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        try {
+            return (ExecutorService)newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+}
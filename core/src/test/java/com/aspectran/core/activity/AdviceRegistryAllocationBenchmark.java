@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity;
+
+import com.aspectran.core.component.aspect.AspectAdviceRuleRegistry;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.util.ResourceUtils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports the number of bytes allocated per request by an advised translet,
+ * with the aspect advice registry shared copy-on-write as it is now, and
+ * with the registry replicated for every request as it was before.
+ * Allocation is measured with {@code ThreadMXBean.getThreadAllocatedBytes},
+ * so this requires a JVM that supports thread allocation measurement.
+ * Run the main method directly; it is not part of the test suite.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class AdviceRegistryAllocationBenchmark {
+
+    private static final int WARMUP = 20000;
+
+    private static final int ITERATIONS = 100000;
+
+    private static final int ROUNDS = 5;
+
+    private static final String TRANSLET_NAME = "benchmark/advised";
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocation measurement is not supported by this JVM");
+            return;
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        File baseDir = ResourceUtils.getResourceAsFile(".");
+        ActivityContextBuilder builder = new HybridActivityContextBuilder();
+        builder.setBasePath(baseDir.getCanonicalPath());
+        ActivityContext context = builder.build("/config/activity/advice-allocation-benchmark-config.xml");
+        try {
+            AspectAdviceRuleRegistry registry = context.getTransletRuleRegistry()
+                    .getTransletRule(TRANSLET_NAME).getAspectAdviceRuleRegistry();
+            if (registry == null) {
+                throw new IllegalStateException("No advice is registered for translet " + TRANSLET_NAME);
+            }
+
+            // Before: every request replicated the registry of its translet rule
+            Request before = () -> {
+                perform(context);
+                return registry.replicate();
+            };
+            // After: the registry is shared until an activity modifies it
+            Request after = () -> {
+                perform(context);
+                return null;
+            };
+
+            run(threadMXBean, before, WARMUP);
+            run(threadMXBean, after, WARMUP);
+            for (int round = 1; round <= ROUNDS; round++) {
+                double beforeBytes = run(threadMXBean, before, ITERATIONS);
+                double afterBytes = run(threadMXBean, after, ITERATIONS);
+                System.out.printf("round=%d  replicated=%,8.0f bytes/request  shared=%,8.0f bytes/request" +
+                                "  (-%,.0f bytes, -%.1f%%)%n", round, beforeBytes, afterBytes,
+                        beforeBytes - afterBytes, (beforeBytes - afterBytes) * 100 / beforeBytes);
+            }
+        } finally {
+            builder.destroy();
+        }
+    }
+
+    private static void perform(ActivityContext context) throws ActivityException {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare(TRANSLET_NAME);
+        activity.perform();
+    }
+
+    private static double run(com.sun.management.ThreadMXBean threadMXBean, Request request, int iterations)
+            throws Exception {
+        long threadId = Thread.currentThread().getId();
+        int sink = 0;
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            Object result = request.perform();
+            if (result != null) {
+                sink += System.identityHashCode(result);
+            }
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return (double)allocated / iterations;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+
+        Object perform() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity;
+
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.ActivityContextBuilderException;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.sample.async.AdviceRecorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for actions that return a {@code CompletionStage}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncActionTest {
+
+    private ActivityContextBuilder activityContextBuilder;
+
+    private ActivityContext context;
+
+    @BeforeAll
+    void ready() throws IOException, ActivityContextBuilderException {
+        File baseDir = new File("./target/test-classes");
+        activityContextBuilder = new HybridActivityContextBuilder();
+        activityContextBuilder.setBasePath(baseDir.getCanonicalPath());
+        context = activityContextBuilder.build("/config/activity/async-action-test-config.xml");
+    }
+
+    @AfterAll
+    void finish() {
+        if (activityContextBuilder != null) {
+            activityContextBuilder.destroy();
+        }
+    }
+
+    @Test
+    void testAwaitPendingResults() throws Exception {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("hello-world");
+        activity.perform();
+        assertEquals("Hello, World!", activity.getResponseAdapter().getWriter().toString());
+    }
+
+    @Test
+    void testAwaitFailedResult() throws Exception {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("fail");
+        ActivityPerformException e = assertThrows(ActivityPerformException.class, activity::perform);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testSuspendAndResume() throws Exception {
+        AsyncInstantActivity activity = new AsyncInstantActivity(context);
+        activity.prepare("hello-world");
+        activity.perform();
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertNull(activity.cause);
+        assertEquals("Hello, World!", activity.getResponseAdapter().getWriter().toString());
+    }
+
+    @Test
+    void testSuspendAndFail() throws Exception {
+        AsyncInstantActivity activity = new AsyncInstantActivity(context);
+        activity.prepare("fail");
+        activity.perform();
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertNotNull(activity.cause);
+    }
+
+    @Test
+    void testAdviceOrderOnResume() throws Exception {
+        AdviceRecorder recorder = context.getBeanRegistry().getBean("adviceRecorder");
+        recorder.clear();
+        AsyncInstantActivity activity = new AsyncInstantActivity(context);
+        activity.prepare("advised/hello-world");
+        activity.perform();
+        // The AFTER and FINALLY advice must wait until the activity resumes
+        assertEquals(Collections.singletonList("before"), recorder.getEvents());
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertNull(activity.cause);
+        assertEquals(Arrays.asList("before", "after", "finally"), activity.eventsOnComplete);
+        assertEquals("Hello, World!", activity.getResponseAdapter().getWriter().toString());
+    }
+
+    @Test
+    void testAdviceOrderOnSynchronousAwait() throws Exception {
+        AdviceRecorder recorder = context.getBeanRegistry().getBean("adviceRecorder");
+        recorder.clear();
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("advised/hello-world");
+        activity.perform();
+        assertEquals(Arrays.asList("before", "after", "finally"), recorder.getEvents());
+        assertEquals("Hello, World!", activity.getResponseAdapter().getWriter().toString());
+    }
+
+    @Test
+    void testTimeoutOfPendingResult() throws Exception {
+        AdviceRecorder recorder = context.getBeanRegistry().getBean("adviceRecorder");
+        recorder.clear();
+        AsyncInstantActivity activity = new AsyncInstantActivity(context);
+        activity.setAsyncTimeout(200L);
+        activity.prepare("advised/never");
+        activity.perform();
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertNotNull(activity.cause);
+        assertTrue(activity.getRaisedException() instanceof TimeoutException);
+        assertEquals(Arrays.asList("before", "finally"), activity.eventsOnComplete);
+    }
+
+    @Test
+    void testFailureToResume() throws Exception {
+        AsyncInstantActivity activity = new AsyncInstantActivity(context) {
+            @Override
+            protected void resumeAsync(Runnable task) {
+                throw new RejectedExecutionException("Shutting down");
+            }
+        };
+        activity.prepare("hello-world");
+        activity.perform();
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertTrue(activity.cause instanceof RejectedExecutionException);
+        assertEquals("", activity.getResponseAdapter().getWriter().toString());
+    }
+
+    @Test
+    void testAbandonBeforeResume() throws Exception {
+        AsyncInstantActivity activity = new AsyncInstantActivity(context);
+        activity.prepare("advised/never");
+        activity.perform();
+        assertTrue(activity.abandonAsync(new TimeoutException("Timed out by the container")));
+        assertTrue(activity.latch.await(5L, TimeUnit.SECONDS));
+        assertTrue(activity.cause instanceof TimeoutException);
+        // Abandoned activities are never resumed or abandoned again
+        assertFalse(activity.abandonAsync(new IllegalStateException()));
+    }
+
+    private class AsyncInstantActivity extends InstantActivity {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile Throwable cause;
+
+        private volatile List<String> eventsOnComplete;
+
+        AsyncInstantActivity(ActivityContext context) {
+            super(context);
+        }
+
+        @Override
+        protected boolean startAsync() {
+            return true;
+        }
+
+        @Override
+        protected void completeAsync(Throwable cause) {
+            this.cause = cause;
+            AdviceRecorder recorder = context.getBeanRegistry().getBean("adviceRecorder");
+            this.eventsOnComplete = recorder.getEvents();
+            latch.countDown();
+        }
+
+        @Override
+        protected boolean abandonAsync(Throwable cause) {
+            return super.abandonAsync(cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity;
+
+import com.aspectran.core.activity.process.result.ContentResult;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.ActivityContextBuilderException;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.sample.parallel.AdviceCounter;
+import com.aspectran.core.sample.parallel.StubbornBean;
+import com.aspectran.core.util.ExceptionUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for contents whose actions are executed concurrently.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelActionTest {
+
+    private ActivityContextBuilder activityContextBuilder;
+
+    private ActivityContext context;
+
+    @BeforeAll
+    void ready() throws IOException, ActivityContextBuilderException {
+        File baseDir = new File("./target/test-classes");
+        activityContextBuilder = new HybridActivityContextBuilder();
+        activityContextBuilder.setBasePath(baseDir.getCanonicalPath());
+        context = activityContextBuilder.build("/config/activity/parallel-action-test-config.xml");
+    }
+
+    @AfterAll
+    void finish() {
+        if (activityContextBuilder != null) {
+            activityContextBuilder.destroy();
+        }
+    }
+
+    @Test
+    void testParallel() throws Exception {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("parallel");
+        long startTime = System.currentTimeMillis();
+        activity.perform();
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        assertTrue(elapsedTime < 900L, "Actions were not executed concurrently: " + elapsedTime + "ms");
+        assertEquals("ABC", activity.getResponseAdapter().getWriter().toString());
+        ContentResult contentResult = activity.getProcessResult().get(0);
+        assertArrayEquals(new String[] {"a1", "a2", "a3"}, contentResult.getActionIds());
+    }
+
+    @Test
+    void testParallelWithAdvisedBeans() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            AdviceCounter adviceCounter = context.getBeanRegistry().getBean(AdviceCounter.class);
+            int count = adviceCounter.getCount();
+            InstantActivity activity = new InstantActivity(context);
+            activity.prepare("parallel/advised");
+            activity.perform();
+            assertFalse(activity.isExceptionRaised());
+            assertEquals("ABCD", activity.getResponseAdapter().getWriter().toString());
+            // Each advice is executed only once per activity, even if the proxied bean
+            // is called concurrently by several actions
+            assertEquals(count + 2, adviceCounter.getCount());
+            assertNotNull(activity.getBeforeAdviceResult("parallelAdvice"));
+            assertNotNull(activity.getAfterAdviceResult("parallelAdvice"));
+        }
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("timeout");
+        ActivityPerformException e = assertThrows(ActivityPerformException.class, activity::perform);
+        assertTrue(ExceptionUtils.getRootCause(e) instanceof TimeoutException);
+    }
+
+    @Test
+    void testTimeoutWithUninterruptibleAction() throws Exception {
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("timeout/uninterruptible");
+        long startTime = System.currentTimeMillis();
+        ActivityPerformException e = assertThrows(ActivityPerformException.class, activity::perform);
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        assertTrue(ExceptionUtils.getRootCause(e) instanceof TimeoutException);
+        assertTrue(elapsedTime < 1000L, "Timeout did not bound the activity: " + elapsedTime + "ms");
+
+        // The action still running must not be able to touch the activity any more
+        StubbornBean stubbornBean = context.getBeanRegistry().getBean(StubbornBean.class);
+        assertTrue(stubbornBean.awaitFinished(5000L));
+        assertTrue(stubbornBean.getLateAccessFailure() instanceof IllegalStateException,
+                "Late access did not fail: " + stubbornBean.getLateAccessFailure());
+    }
+
+}
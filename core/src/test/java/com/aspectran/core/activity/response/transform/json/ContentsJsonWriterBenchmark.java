@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.activity.response.transform.json;
+
+import com.aspectran.core.activity.process.result.ActionResult;
+import com.aspectran.core.activity.process.result.ContentResult;
+import com.aspectran.core.activity.process.result.ProcessResult;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the time and allocation rate of writing a typical
+ * {@code ProcessResult} payload with the {@link ContentsJsonWriter}.
+ * Run the main method directly; it is not part of the test suite.
+ *
+ * <p>Created: 2021. 7. 12.</p>
+ */
+public class ContentsJsonWriterBenchmark {
+
+    private static final int WARMUP = 20000;
+
+    private static final int ITERATIONS = 50000;
+
+    public static void main(String[] args) throws Exception {
+        ProcessResult processResult = createProcessResult(50);
+        run("compact", processResult, false);
+        run("pretty", processResult, true);
+    }
+
+    static ProcessResult createProcessResult(int rows) {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Member member = new Member();
+            member.setId(1000L + i);
+            member.setName("Member \"" + i + "\"");
+            member.setEmail("member" + i + "@example.com");
+            member.setActive(i % 3 != 0);
+            member.setScore(i * 1.25d);
+            member.setJoined(new Date(1600000000000L + i * 86400000L));
+            member.setBirthday(LocalDate.of(1980 + i % 30, 1 + i % 12, 1 + i % 28));
+            member.setLastLogin(LocalDateTime.of(2021, 7, 1 + i % 28, i % 24, i % 60));
+            member.setTags(Arrays.asList("tag-a", "tag-b", "line\nbreak"));
+            members.add(member);
+        }
+        Map<String, Object> paging = new LinkedHashMap<>();
+        paging.put("page", 1);
+        paging.put("size", rows);
+        paging.put("total", 1234);
+
+        ProcessResult processResult = new ProcessResult();
+        ContentResult contentResult = new ContentResult(processResult, 2);
+        ActionResult actionResult1 = new ActionResult();
+        actionResult1.setResultValue("members", members);
+        contentResult.addActionResult(actionResult1);
+        ActionResult actionResult2 = new ActionResult();
+        actionResult2.setResultValue("paging", paging);
+        contentResult.addActionResult(actionResult2);
+        return processResult;
+    }
+
+    private static void run(String name, ProcessResult processResult, boolean prettyPrint) throws Exception {
+        StringWriter sample = new StringWriter();
+        write(processResult, prettyPrint, sample);
+        int length = sample.toString().length();
+        // excludes the cost of a synchronized StringWriter
+        Writer writer = Writer.nullWriter();
+        for (int i = 0; i < WARMUP; i++) {
+            write(processResult, prettyPrint, writer);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            write(processResult, prettyPrint, writer);
+        }
+        long elapsedNs = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-8s chars=%6d  write=%8d ns%n", name, length, elapsedNs);
+    }
+
+    private static void write(ProcessResult processResult, boolean prettyPrint, Writer writer) throws Exception {
+        ContentsJsonWriter jsonWriter = new ContentsJsonWriter(writer)
+                .prettyPrint(prettyPrint)
+                .dateFormat("yyyy-MM-dd")
+                .dateTimeFormat("yyyy-MM-dd HH:mm:ss");
+        jsonWriter.write(processResult);
+    }
+
+    public static class Member {
+
+        private long id;
+
+        private String name;
+
+        private String email;
+
+        private boolean active;
+
+        private double score;
+
+        private Date joined;
+
+        private LocalDate birthday;
+
+        private LocalDateTime lastLogin;
+
+        private List<String> tags;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public Date getJoined() {
+            return joined;
+        }
+
+        public void setJoined(Date joined) {
+            this.joined = joined;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(LocalDate birthday) {
+            this.birthday = birthday;
+        }
+
+        public LocalDateTime getLastLogin() {
+            return lastLogin;
+        }
+
+        public void setLastLogin(LocalDateTime lastLogin) {
+            this.lastLogin = lastLogin;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.aspect;
+
+import com.aspectran.core.component.aspect.pointcut.WildcardPointcut;
+import com.aspectran.core.context.expr.token.Token;
+import com.aspectran.core.context.expr.token.Tokenizer;
+import com.aspectran.core.context.rule.AspectRule;
+import com.aspectran.core.context.rule.IllegalRuleException;
+import com.aspectran.core.context.rule.PointcutPatternRule;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link TransletAdviceResolver}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class TransletAdviceResolverTest {
+
+    private static TransletRule createTransletRule(String name) {
+        TransletRule transletRule = TransletRule.newInstance(name, (MethodType[])null);
+        List<Token> tokens = Tokenizer.tokenize(name, false);
+        transletRule.setNameTokens(tokens.toArray(new Token[0]));
+        return transletRule;
+    }
+
+    private static AspectRule createAspectRule(String id, String pattern, String... excludes) {
+        AspectRule aspectRule = new AspectRule();
+        aspectRule.setId(id);
+        if (pattern != null) {
+            PointcutPatternRule ppr = PointcutPatternRule.newInstance(pattern);
+            if (excludes.length > 0) {
+                List<PointcutPatternRule> epprList = new ArrayList<>();
+                for (String exclude : excludes) {
+                    epprList.add(PointcutPatternRule.newInstance(exclude));
+                }
+                ppr.setExcludePointcutPatternRuleList(epprList);
+            }
+            aspectRule.setPointcut(new WildcardPointcut(Collections.singletonList(ppr)));
+        }
+        return aspectRule;
+    }
+
+    @Test
+    void testFixedAspectRules() {
+        AspectRule any = createAspectRule("any", null);
+        AspectRule users = createAspectRule("users", "/users/**");
+        AspectRule api = createAspectRule("api", "/api/**");
+        TransletRule transletRule = createTransletRule("/users/${id}/orders");
+        TransletAdviceResolver resolver = new TransletAdviceResolver(transletRule, Arrays.asList(any, users, api));
+        assertTrue(resolver.isFixed());
+        assertEquals(Arrays.asList(any, users), resolver.resolve("/users/1/orders"));
+        assertSame(resolver.resolve("/users/1/orders"), resolver.resolve("/users/2/orders"));
+    }
+
+    @Test
+    void testSameResultAsPointcutMatching() {
+        List<AspectRule> aspectRules = Arrays.asList(
+                createAspectRule("a1", null),
+                createAspectRule("a2", "/users/**"),
+                createAspectRule("a3", "/users/1*/orders"),
+                createAspectRule("a4", "/users/*/orders", "/users/0/*"),
+                createAspectRule("a5", "/api/**"),
+                createAspectRule("a6", "/users/*/orders|/api/**"),
+                createAspectRule("a7", "/use*"),
+                createAspectRule("a8", "/users/1/orders"),
+                createAspectRule("a9", "/users/**", "/users/2*/**"));
+        TransletRule transletRule = createTransletRule("/users/${id}/orders");
+        TransletAdviceResolver resolver = new TransletAdviceResolver(transletRule, aspectRules);
+        assertFalse(resolver.isFixed());
+        for (String requestName : new String[] {"/users/0/orders", "/users/1/orders", "/users/12/orders",
+                "/users/2/orders", "/users/abc/orders"}) {
+            List<AspectRule> expected = new ArrayList<>();
+            for (AspectRule aspectRule : aspectRules) {
+                if (aspectRule.getPointcut() == null || aspectRule.getPointcut().matches(requestName)) {
+                    expected.add(aspectRule);
+                }
+            }
+            assertEquals(expected, resolver.resolve(requestName), requestName);
+        }
+    }
+
+    @Test
+    void testSharedSnapshots() throws IllegalRuleException {
+        AspectRuleRegistry registry = new AspectRuleRegistry();
+        registry.addAspectRule(createAspectRule("users", "/users/**"));
+        registry.addAspectRule(createAspectRule("first", "/users/1*/orders"));
+        TransletRule transletRule = createTransletRule("/users/${id}/orders");
+        RelevantAspectRuleHolder holder1 = registry.getRelevantAspectRuleHolder(transletRule, "/users/2/orders");
+        RelevantAspectRuleHolder holder2 = registry.getRelevantAspectRuleHolder(transletRule, "/users/3/orders");
+        RelevantAspectRuleHolder holder3 = registry.getRelevantAspectRuleHolder(transletRule, "/users/1/orders");
+        assertSame(holder1, holder2);
+        assertEquals(2, registry.getTransletAdviceCacheMissCount());
+        assertEquals(1, registry.getTransletAdviceCacheHitCount());
+        assertSame(holder3, registry.getRelevantAspectRuleHolder(transletRule, "/users/19/orders"));
+    }
+
+}
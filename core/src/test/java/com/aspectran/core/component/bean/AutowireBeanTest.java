@@ -30,7 +30,9 @@ import java.io.File;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Test case for beans.
@@ -141,4 +143,15 @@ class AutowireBeanTest {
         assertNull(bean.getBean2()); // Undefined bean
     }
 
+    @Test
+    void testSingletonLookupAfterDestroy() throws Exception {
+        TestMethodAutowireBean bean1 = beanRegistry.getBean("bean.TestMethodAutowireBean");
+        TestMethodAutowireBean bean2 = beanRegistry.getBean("bean.TestMethodAutowireBean");
+        assertSame(bean1, bean2);
+        beanRegistry.destroySingleton(bean1);
+        TestMethodAutowireBean bean3 = beanRegistry.getBean("bean.TestMethodAutowireBean");
+        assertNotSame(bean1, bean3);
+        assertSame(bean3, beanRegistry.getBean("bean.TestMethodAutowireBean"));
+    }
+
 }
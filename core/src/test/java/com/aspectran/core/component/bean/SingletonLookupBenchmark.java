@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean;
+
+import com.aspectran.core.component.bean.scope.SingletonScope;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.context.rule.BeanRule;
+import com.aspectran.core.util.ResourceUtils;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Reports the number of singleton lookups per second through
+ * {@link BeanRegistry#getBean(String)}, which returns instantiated
+ * singletons without locking, and through the former path that reads
+ * the singleton scope under its read lock, from 1 to 64 concurrent
+ * threads. Run the main method directly; it is not part of the test suite.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class SingletonLookupBenchmark {
+
+    private static final long WARMUP_MILLIS = 500;
+
+    private static final long MEASURE_MILLIS = 2000;
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final String BEAN_ID = "sampleBean";
+
+    public static void main(String[] args) throws Exception {
+        File baseDir = ResourceUtils.getResourceAsFile(".");
+        ActivityContextBuilder builder = new HybridActivityContextBuilder();
+        builder.setBasePath(baseDir.getCanonicalPath());
+        ActivityContext context = builder.build("/config/bean/singleton-lookup-benchmark-config.xml");
+        try {
+            DefaultBeanRegistry beanRegistry = (DefaultBeanRegistry)context.getBeanRegistry();
+            BeanRuleRegistry beanRuleRegistry = beanRegistry.getBeanRuleRegistry();
+            Object bean = beanRegistry.getBean(BEAN_ID);
+
+            // The lookup path used before instantiated singletons were published
+            SingletonScope singletonScope = new SingletonScope();
+            singletonScope.putBeanInstance(context.getDefaultActivity(), beanRuleRegistry.getBeanRule(BEAN_ID), new BeanInstance(bean));
+            ReadWriteLock scopeLock = singletonScope.getScopeLock();
+            Supplier<Object> locked = () -> {
+                BeanRule beanRule = beanRuleRegistry.getBeanRule(BEAN_ID);
+                scopeLock.readLock().lock();
+                try {
+                    return singletonScope.getBeanInstance(beanRule).getBean();
+                } finally {
+                    scopeLock.readLock().unlock();
+                }
+            };
+            Supplier<Object> lockFree = () -> beanRegistry.getBean(BEAN_ID);
+
+            for (int threads : THREAD_COUNTS) {
+                long before = run(locked, threads);
+                long after = run(lockFree, threads);
+                System.out.printf("threads=%2d  read-locked=%,14d ops/s  lock-free=%,14d ops/s  (x%.1f)%n",
+                        threads, before, after, (double)after / before);
+            }
+        } finally {
+            builder.destroy();
+        }
+    }
+
+    private static long run(Supplier<Object> lookup, int threadCount) throws InterruptedException {
+        LongAdder counter = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threadCount);
+        long warmupEnd = System.currentTimeMillis() + WARMUP_MILLIS;
+        long measureEnd = warmupEnd + MEASURE_MILLIS;
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                int sink = 0;
+                while (System.currentTimeMillis() < warmupEnd) {
+                    sink += lookup.get().hashCode();
+                }
+                long count = 0;
+                while (System.currentTimeMillis() < measureEnd) {
+                    for (int j = 0; j < 64; j++) {
+                        sink += lookup.get().hashCode();
+                    }
+                    count += 64;
+                }
+                counter.add(count);
+                if (sink == 42) {
+                    System.out.print("");
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        return counter.sum() * 1000 / MEASURE_MILLIS;
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.bean.scan;
+
+import com.aspectran.core.component.bean.annotation.Component;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for scanning components with a component index.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class ComponentIndexTest {
+
+    @Test
+    void testIndexCoversOnlyItsOwnRoot() throws Exception {
+        Path indexedRoot = Files.createTempDirectory("indexed-root");
+        copyClassFile(IndexedComponent.class, indexedRoot);
+        copyClassFile(UnlistedComponent.class, indexedRoot);
+        Path indexFile = indexedRoot.resolve(ComponentIndex.COMPONENTS_RESOURCE_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, (IndexedComponent.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+
+        Path plainRoot = Files.createTempDirectory("plain-root");
+        copyClassFile(PlainComponent.class, plainRoot);
+
+        URL[] urls = new URL[] {indexedRoot.toUri().toURL(), plainRoot.toUri().toURL()};
+        try (URLClassLoader classLoader = new IsolatedResourceClassLoader(urls, getClass().getClassLoader())) {
+            ComponentIndex componentIndex = ComponentIndex.load(classLoader);
+            assertNotNull(componentIndex);
+            assertNotNull(componentIndex.getClassNames(urls[0].toExternalForm()));
+            assertNull(componentIndex.getClassNames(urls[1].toExternalForm()));
+
+            BeanClassScanner scanner = new BeanClassScanner(classLoader);
+            scanner.setRequiredAnnotationType(Component.class);
+            scanner.setComponentIndex(componentIndex);
+            Map<String, Class<?>> scannedClasses = new LinkedHashMap<>();
+            scanner.scan(getClass().getPackage().getName() + ".**", scannedClasses::put);
+
+            // the unlisted class is skipped because its root is indexed,
+            // while the root without an index is still scanned
+            assertEquals(new HashSet<>(Arrays.asList(IndexedComponent.class, PlainComponent.class)),
+                    new HashSet<>(scannedClasses.values()));
+        }
+    }
+
+    private static void copyClassFile(Class<?> clazz, Path root) throws IOException {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        Path target = root.resolve(resourceName);
+        Files.createDirectories(target.getParent());
+        try (InputStream inputStream = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+            assertNotNull(inputStream);
+            Files.copy(inputStream, target);
+        }
+    }
+
+    /**
+     * Finds resources only in its own URLs so that the scan does not reach
+     * into the rest of the test classpath.
+     */
+    private static class IsolatedResourceClassLoader extends URLClassLoader {
+
+        IsolatedResourceClassLoader(URL[] urls, ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return findResources(name);
+        }
+
+    }
+
+    @Component
+    public static class IndexedComponent {
+    }
+
+    @Component
+    public static class UnlistedComponent {
+    }
+
+    @Component
+    public static class PlainComponent {
+    }
+
+}
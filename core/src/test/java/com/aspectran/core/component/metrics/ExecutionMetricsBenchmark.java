@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports the cost of recording an execution with {@link ExecutionMetrics},
+ * that is, a {@code begin()}/{@code end()} pair on the same metrics, for
+ * 1 to 8 concurrent threads. The cost of the two clock reads included in
+ * each record is reported separately, since it depends on the platform.
+ * Run the main method directly; it is not part of the test suite.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class ExecutionMetricsBenchmark {
+
+    private static final int WARMUP = 2000000;
+
+    private static final int ITERATIONS = 5000000;
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        long sink = 0L;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += System.nanoTime();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += System.nanoTime() - System.nanoTime();
+        }
+        System.out.printf("clock      %6.1f ns/2 reads (%d)%n",
+                (double)(System.nanoTime() - start) / ITERATIONS, sink & 1);
+        for (int threads : THREAD_COUNTS) {
+            ExecutionMetrics metrics = new ExecutionMetrics("benchmark");
+            run(metrics, threads, WARMUP);
+            long elapsed = run(metrics, threads, ITERATIONS);
+            System.out.printf("threads=%d  %6.1f ns/record (per thread)%n",
+                    threads, (double)elapsed / ITERATIONS);
+        }
+    }
+
+    private static long run(ExecutionMetrics metrics, int threadCount, int iterations)
+            throws InterruptedException {
+        LongAdder elapsed = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                long start = System.nanoTime();
+                for (int j = 0; j < iterations; j++) {
+                    metrics.end(metrics.begin(), false);
+                }
+                elapsed.add(System.nanoTime() - start);
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return elapsed.sum() / threadCount;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics;
+
+import com.aspectran.core.activity.ActivityPerformException;
+import com.aspectran.core.activity.InstantActivity;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.ActivityContextBuilderException;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import com.aspectran.core.context.rule.type.AspectAdviceType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link MetricsRegistry}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsRegistryTest {
+
+    private ActivityContextBuilder activityContextBuilder;
+
+    private ActivityContext context;
+
+    @BeforeAll
+    void ready() throws IOException, ActivityContextBuilderException {
+        File baseDir = new File("./target/test-classes");
+        activityContextBuilder = new HybridActivityContextBuilder();
+        activityContextBuilder.setBasePath(baseDir.getCanonicalPath());
+        context = activityContextBuilder.build("/config/metrics/metrics-test-config.xml");
+        context.getMetricsRegistry().setEnabled(true);
+    }
+
+    @AfterAll
+    void finish() {
+        if (activityContextBuilder != null) {
+            activityContextBuilder.destroy();
+        }
+    }
+
+    @Test
+    void testTransletAndAdviceMetrics() throws Exception {
+        MetricsRegistry metricsRegistry = context.getMetricsRegistry();
+        for (int i = 0; i < 3; i++) {
+            InstantActivity activity = new InstantActivity(context);
+            activity.prepare("metrics/ok");
+            activity.perform();
+        }
+        InstantActivity activity = new InstantActivity(context);
+        activity.prepare("metrics/fail");
+        assertThrows(ActivityPerformException.class, activity::perform);
+
+        ExecutionMetrics ok = metricsRegistry.getTransletMetrics("metrics/ok");
+        assertEquals(3, ok.getCount());
+        assertEquals(0, ok.getErrorCount());
+        assertEquals(0, ok.getInFlightCount());
+        assertTrue(ok.getLatency().getPercentile(50.0D) >= 5000000L);
+
+        ExecutionMetrics fail = metricsRegistry.getTransletMetrics("metrics/fail");
+        assertEquals(1, fail.getCount());
+        assertEquals(1, fail.getErrorCount());
+        assertEquals(0, fail.getInFlightCount());
+
+        ExecutionMetrics before = metricsRegistry.getAdviceMetrics("metricsAdvice", AspectAdviceType.BEFORE);
+        assertEquals(4, before.getCount());
+        assertEquals(0, before.getErrorCount());
+        assertEquals(1, metricsRegistry.getAdviceMetrics().size());
+
+        List<ExecutionMetrics> exported = new ArrayList<>();
+        metricsRegistry.addExporter((transletMetrics, adviceMetrics) -> {
+            exported.addAll(transletMetrics);
+            exported.addAll(adviceMetrics);
+        });
+        metricsRegistry.export();
+        assertEquals(3, exported.size());
+
+        metricsRegistry.reset();
+        assertEquals(0, ok.getCount());
+        assertEquals(0, fail.getErrorCount());
+    }
+
+    @Test
+    void testRecording() {
+        ExecutionMetrics metrics = new ExecutionMetrics("test");
+        long beginTime = metrics.begin();
+        assertEquals(1, metrics.getInFlightCount());
+        metrics.end(beginTime, true);
+        assertEquals(0, metrics.getInFlightCount());
+        assertEquals(1, metrics.getCount());
+        assertEquals(1, metrics.getErrorCount());
+    }
+
+    @Test
+    void testResetWhileInFlight() {
+        ExecutionMetrics metrics = new ExecutionMetrics("test");
+        long beginTime = metrics.begin();
+        metrics.reset();
+        assertEquals(1, metrics.getInFlightCount());
+        metrics.end(beginTime, false);
+        assertEquals(0, metrics.getInFlightCount());
+        assertEquals(1, metrics.getCount());
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        assertFalse(new MetricsRegistry().isEnabled());
+    }
+
+    @Test
+    void testDisabled() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry(false);
+        Collection<ExecutionMetrics> transletMetrics = metricsRegistry.getTransletMetrics();
+        assertTrue(transletMetrics.isEmpty());
+        assertTrue(!metricsRegistry.isEnabled());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.metrics.jfr;
+
+import com.aspectran.core.activity.InstantActivity;
+import com.aspectran.core.context.ActivityContext;
+import com.aspectran.core.context.builder.ActivityContextBuilder;
+import com.aspectran.core.context.builder.ActivityContextBuilderException;
+import com.aspectran.core.context.builder.HybridActivityContextBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the Flight Recorder events emitted by activities.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FlightRecorderEventTest {
+
+    private ActivityContextBuilder activityContextBuilder;
+
+    private ActivityContext context;
+
+    @BeforeAll
+    void ready() throws IOException, ActivityContextBuilderException {
+        File baseDir = new File("./target/test-classes");
+        activityContextBuilder = new HybridActivityContextBuilder();
+        activityContextBuilder.setBasePath(baseDir.getCanonicalPath());
+        context = activityContextBuilder.build("/config/metrics/jfr-test-config.xml");
+    }
+
+    @AfterAll
+    void finish() {
+        if (activityContextBuilder != null) {
+            activityContextBuilder.destroy();
+        }
+    }
+
+    @Test
+    void testActivityEvents() throws Exception {
+        Path file = Files.createTempFile("aspectran-jfr-test", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(ActivityPhaseEvent.class);
+                recording.enable(AdviceEvent.class);
+                recording.enable(BeanCreationEvent.class);
+                recording.start();
+                InstantActivity activity = new InstantActivity(context);
+                activity.prepare("jfr/echo");
+                activity.perform();
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Set<String> phases = new HashSet<>();
+            int adviceEvents = 0;
+            int beanEvents = 0;
+            for (RecordedEvent event : events) {
+                String eventName = event.getEventType().getName();
+                if ("com.aspectran.ActivityPhase".equals(eventName)) {
+                    phases.add(event.getString("phase"));
+                    assertEquals("jfr/echo", event.getString("transletName"));
+                } else if ("com.aspectran.Advice".equals(eventName)) {
+                    assertEquals("jfrAdvice", event.getString("aspectId"));
+                    assertEquals("before", event.getString("adviceType"));
+                    adviceEvents++;
+                } else if ("com.aspectran.BeanCreation".equals(eventName)) {
+                    assertEquals("slowBean", event.getString("beanId"));
+                    assertEquals("jfr/echo", event.getString("transletName"));
+                    beanEvents++;
+                }
+            }
+            assertTrue(phases.contains(FlightRecorderEvents.ROUTING), phases.toString());
+            assertTrue(phases.contains(FlightRecorderEvents.PREPARE), phases.toString());
+            assertTrue(phases.contains(FlightRecorderEvents.PARSE_REQUEST), phases.toString());
+            assertTrue(phases.contains(FlightRecorderEvents.PRODUCE), phases.toString());
+            assertTrue(phases.contains(FlightRecorderEvents.RESPONSE), phases.toString());
+            assertEquals(1, adviceEvents);
+            assertTrue(beanEvents >= 2, "beanEvents=" + beanEvents);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link FileSessionStore}.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+class FileSessionStoreTest {
+
+    private FileSessionStore createSessionStore(String dirName, int maxDeltaRecords) throws Exception {
+        File storeDir = new File("./target/" + dirName);
+        storeDir.mkdir();
+        FileSessionStore sessionStore = new FileSessionStore();
+        sessionStore.setStoreDir(storeDir);
+        sessionStore.setMaxDeltaRecords(maxDeltaRecords);
+        sessionStore.initialize();
+        return sessionStore;
+    }
+
+    @Test
+    void testDeltaSave() throws Exception {
+        FileSessionStore sessionStore = createSessionStore("delta-sessions", 32);
+        long now = System.currentTimeMillis();
+        SessionData data = new SessionData("delta1", now, now, now, 60000L);
+        data.setAttribute("a", "1");
+        data.setAttribute("b", 2);
+        data.setDirty(true);
+        sessionStore.save(data.getId(), data);
+        assertFalse(data.isDirty());
+
+        File deltaFile = new File(sessionStore.getStoreDir(), ".delta1.delta");
+        assertFalse(deltaFile.exists());
+
+        data.setAttribute("a", "one");
+        data.setAttribute("b", null);
+        data.setAccessed(now + 1000L);
+        data.calcAndSetExpiry(now + 1000L);
+        assertTrue(data.isDirty());
+        assertFalse(data.isFullSaveRequired());
+        sessionStore.save(data.getId(), data);
+        assertTrue(deltaFile.exists());
+
+        SessionData loaded = sessionStore.load(data.getId());
+        assertEquals("one", loaded.getAttribute("a"));
+        assertNull(loaded.getAttribute("b"));
+        assertEquals(now + 1000L, loaded.getAccessed());
+        assertEquals(data.getExpiry(), loaded.getExpiry());
+        assertFalse(loaded.isDirty());
+
+        // a full save folds the delta log into the session file
+        data.setDirty(true);
+        sessionStore.save(data.getId(), data);
+        assertFalse(deltaFile.exists());
+        assertEquals("one", sessionStore.load(data.getId()).getAttribute("a"));
+
+        sessionStore.delete(data.getId());
+        sessionStore.destroy();
+    }
+
+    @Test
+    void testCompaction() throws Exception {
+        FileSessionStore sessionStore = createSessionStore("compact-sessions", 2);
+        long now = System.currentTimeMillis();
+        SessionData data = new SessionData("compact1", now, now, now, 60000L);
+        data.setDirty(true);
+        sessionStore.save(data.getId(), data);
+
+        File deltaFile = new File(sessionStore.getStoreDir(), ".compact1.delta");
+        for (int i = 0; i < 3; i++) {
+            data.setAttribute("count", i);
+            sessionStore.save(data.getId(), data);
+        }
+        // the third save exceeded the limit and was written out in full
+        assertFalse(deltaFile.exists());
+        assertEquals((Integer)2, sessionStore.load(data.getId()).getAttribute("count"));
+
+        sessionStore.delete(data.getId());
+        sessionStore.destroy();
+    }
+
+    @Test
+    void testAttributeSetDuringDeltaSave() throws Exception {
+        File storeDir = new File("./target/concurrent-delta-sessions");
+        storeDir.mkdir();
+        AtomicBoolean setDuringSave = new AtomicBoolean();
+        FileSessionStore sessionStore = new FileSessionStore() {
+            @Override
+            protected boolean doSaveDelta(String id, SessionData data, Set<String> dirtyAttributes)
+                    throws Exception {
+                if (setDuringSave.compareAndSet(true, false)) {
+                    // another request sets an attribute while the delta is being written
+                    data.setAttribute("b", "set during save");
+                }
+                return super.doSaveDelta(id, data, dirtyAttributes);
+            }
+        };
+        sessionStore.setStoreDir(storeDir);
+        sessionStore.initialize();
+
+        long now = System.currentTimeMillis();
+        SessionData data = new SessionData("concurrent1", now, now, now, 60000L);
+        data.setDirty(true);
+        sessionStore.save(data.getId(), data);
+
+        data.setAttribute("a", "1");
+        setDuringSave.set(true);
+        sessionStore.save(data.getId(), data);
+        assertTrue(data.isDirty());
+        assertTrue(data.getDirtyAttributes().contains("b"));
+
+        sessionStore.save(data.getId(), data);
+        assertFalse(data.isDirty());
+        SessionData loaded = sessionStore.load(data.getId());
+        assertEquals("1", loaded.getAttribute("a"));
+        assertEquals("set during save", loaded.getAttribute("b"));
+
+        sessionStore.delete(data.getId());
+        sessionStore.destroy();
+    }
+
+    @Test
+    void testConcurrentUpdates() throws Exception {
+        FileSessionStore sessionStore = createSessionStore("concurrent-sessions", 1000000);
+        long now = System.currentTimeMillis();
+        SessionData data = new SessionData("concurrent2", now, now, now, 60000L);
+        data.setDirty(true);
+        sessionStore.save(data.getId(), data);
+
+        int writers = 4;
+        int updates = 500;
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            String name = "attr" + w;
+            new Thread(() -> {
+                for (int i = 1; i <= updates; i++) {
+                    data.setAttribute(name, i);
+                }
+                done.countDown();
+            }).start();
+        }
+        while (done.getCount() > 0) {
+            sessionStore.save(data.getId(), data);
+        }
+        sessionStore.save(data.getId(), data);
+
+        SessionData loaded = sessionStore.load(data.getId());
+        for (int w = 0; w < writers; w++) {
+            assertEquals((Integer)updates, loaded.getAttribute("attr" + w));
+        }
+
+        sessionStore.delete(data.getId());
+        sessionStore.destroy();
+    }
+
+}
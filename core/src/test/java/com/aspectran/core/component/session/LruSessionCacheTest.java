@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link LruSessionCache}.
+ *
+ * <p>Created: 2021. 7. 9.</p>
+ */
+class LruSessionCacheTest {
+
+    @Test
+    void testEvictAndReload() throws Exception {
+        File storeDir = new File("./target/lru-sessions");
+        storeDir.mkdir();
+
+        DefaultSessionManager sessionManager = new DefaultSessionManager();
+        sessionManager.setSessionManagerConfigWithApon(
+                "maxSessions: 2\n" +
+                "evictOnMaxSessions: true\n" +
+                "fileStore: {\n" +
+                "  storeDir: " + storeDir.getCanonicalPath() + "\n" +
+                "}\n");
+        sessionManager.initialize();
+
+        SessionCache sessionCache = sessionManager.getSessionHandler().getSessionCache();
+        assertTrue(sessionCache instanceof LruSessionCache);
+
+        SessionAgent[] agents = new SessionAgent[3];
+        for (int i = 0; i < agents.length; i++) {
+            agents[i] = new SessionAgent(sessionManager);
+            agents[i].setAttribute("num", i);
+            agents[i].complete();
+        }
+        String firstId = agents[0].getId();
+
+        // sessions are evicted by the session scheduler
+        waitUntil(() -> sessionCache.getEvictedSessionCount() == 1);
+        assertEquals(2, sessionCache.getActiveSessionCount());
+        assertEquals(1, sessionCache.getEvictedSessionCount());
+        assertEquals(0, sessionCache.getRejectedSessionCount());
+        assertFalse(sessionCache.contains(firstId));
+
+        DefaultSession reloaded = sessionCache.get(firstId);
+        assertNotNull(reloaded);
+        assertEquals(0, (int)reloaded.getAttribute("num"));
+        assertEquals(1, sessionCache.getReloadedSessionCount());
+        waitUntil(() -> sessionCache.getEvictedSessionCount() == 2);
+        assertEquals(2, sessionCache.getActiveSessionCount());
+
+        sessionManager.destroy();
+    }
+
+    @Test
+    void testReloadWhenEvictedDuringLookup() throws Exception {
+        File storeDir = new File("./target/lru-sessions-lookup");
+        storeDir.mkdir();
+
+        DefaultSessionManager sessionManager = new DefaultSessionManager();
+        sessionManager.initialize();
+
+        FileSessionStore sessionStore = new FileSessionStore();
+        sessionStore.setStoreDir(storeDir.getCanonicalFile());
+
+        AtomicBoolean evictOnLookup = new AtomicBoolean();
+        SessionHandler sessionHandler = sessionManager.getSessionHandler();
+        LruSessionCache sessionCache = new LruSessionCache(sessionHandler, sessionStore, false) {
+            @Override
+            protected DefaultSession doComputeIfAbsent(String id, Function<String, DefaultSession> mappingFunction) {
+                DefaultSession session = super.doComputeIfAbsent(id, mappingFunction);
+                if (session != null && evictOnLookup.compareAndSet(true, false)) {
+                    // evicted by another thread before the session lock is taken
+                    try {
+                        saveSessionData(id, session.getSessionData());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    doEvict(id);
+                    session.setResident(false);
+                }
+                return session;
+            }
+        };
+        sessionCache.initialize();
+
+        long now = System.currentTimeMillis();
+        DefaultSession session = sessionCache.add("lookup-1", now, 60000L);
+        evictOnLookup.set(true);
+        DefaultSession reloaded = sessionCache.get("lookup-1");
+        assertNotNull(reloaded);
+        assertNotSame(session, reloaded);
+        assertTrue(reloaded.isResident());
+        assertTrue(sessionCache.contains("lookup-1"));
+
+        sessionCache.destroy();
+        sessionManager.destroy();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+/**
+ * Reports the bytes per session and the serialize/deserialize time of the
+ * {@link SessionDataSerializer} implementations. Run the main method directly;
+ * it is not part of the test suite.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+public class SessionDataSerializerBenchmark {
+
+    private static final int WARMUP = 20000;
+
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args) throws Exception {
+        SessionData data = SessionDataSerializerTest.createSessionData();
+        run("java", JavaSessionDataSerializer.INSTANCE, data);
+        run("binary", BinarySessionDataSerializer.INSTANCE, data);
+    }
+
+    private static void run(String name, SessionDataSerializer serializer, SessionData data) throws Exception {
+        byte[] bytes = SessionDataSerializerTest.serialize(serializer, data);
+        for (int i = 0; i < WARMUP; i++) {
+            SessionDataSerializerTest.deserialize(serializer, SessionDataSerializerTest.serialize(serializer, data));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            SessionDataSerializerTest.serialize(serializer, data);
+        }
+        long serializeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            SessionDataSerializerTest.deserialize(serializer, bytes);
+        }
+        long deserializeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.printf("%-8s bytes/session=%5d  serialize=%7d ns  deserialize=%7d ns%n",
+                name, bytes.length, serializeNs, deserializeNs);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link SessionDataSerializer} implementations.
+ *
+ * <p>Created: 2021. 7. 11.</p>
+ */
+class SessionDataSerializerTest {
+
+    static SessionData createSessionData() {
+        long now = System.currentTimeMillis();
+        SessionData data = new SessionData("node0abcdefghijklmnopqrstuv", now - 5000L, now, now - 1000L, 1800000L);
+        data.setAttribute("user", "aspectran");
+        data.setAttribute("count", 42);
+        data.setAttribute("total", -1234567890123L);
+        data.setAttribute("enabled", true);
+        data.setAttribute("ratio", 0.75d);
+        data.setAttribute("bytes", new byte[] {1, 2, 3});
+        data.setAttribute("ints", new int[] {-1, 0, 300});
+        data.setAttribute("names", new String[] {"a", "b"});
+        data.setAttribute("date", new Date(now));
+        return data;
+    }
+
+    static byte[] serialize(SessionDataSerializer serializer, SessionData data) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.serialize(data, baos, null);
+        return baos.toByteArray();
+    }
+
+    static SessionData deserialize(SessionDataSerializer serializer, byte[] bytes) throws Exception {
+        return serializer.deserialize(new ByteArrayInputStream(bytes));
+    }
+
+    private static void assertSameData(SessionData expected, SessionData actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getCreated(), actual.getCreated());
+        assertEquals(expected.getAccessed(), actual.getAccessed());
+        assertEquals(expected.getLastAccessed(), actual.getLastAccessed());
+        assertEquals(expected.getExpiry(), actual.getExpiry());
+        assertEquals(expected.getInactiveInterval(), actual.getInactiveInterval());
+        assertEquals(expected.getKeys(), actual.getKeys());
+        assertEquals((String)expected.getAttribute("user"), actual.getAttribute("user"));
+        assertEquals((Integer)expected.getAttribute("count"), actual.getAttribute("count"));
+        assertEquals((Long)expected.getAttribute("total"), actual.getAttribute("total"));
+        assertEquals((Boolean)expected.getAttribute("enabled"), actual.getAttribute("enabled"));
+        assertEquals((Double)expected.getAttribute("ratio"), actual.getAttribute("ratio"));
+        assertArrayEquals((byte[])expected.getAttribute("bytes"), actual.getAttribute("bytes"));
+        assertArrayEquals((int[])expected.getAttribute("ints"), actual.getAttribute("ints"));
+        assertArrayEquals((String[])expected.getAttribute("names"), actual.getAttribute("names"));
+        assertEquals((Date)expected.getAttribute("date"), actual.getAttribute("date"));
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws Exception {
+        SessionData data = createSessionData();
+        byte[] bytes = serialize(BinarySessionDataSerializer.INSTANCE, data);
+        assertSameData(data, deserialize(BinarySessionDataSerializer.INSTANCE, bytes));
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJava() throws Exception {
+        SessionData data = createSessionData();
+        byte[] binary = serialize(BinarySessionDataSerializer.INSTANCE, data);
+        byte[] java = serialize(JavaSessionDataSerializer.INSTANCE, data);
+        assertTrue(binary.length < java.length, binary.length + " >= " + java.length);
+    }
+
+    @Test
+    void testReadOriginalFormat() throws Exception {
+        SessionData data = createSessionData();
+        byte[] bytes = serialize(JavaSessionDataSerializer.INSTANCE, data);
+        assertSameData(data, deserialize(BinarySessionDataSerializer.INSTANCE, bytes));
+        assertSameData(data, SessionData.deserialize(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testNonPersistentAttributes() throws Exception {
+        SessionData data = createSessionData();
+        data.setAttribute("scope", new TransientValue());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        BinarySessionDataSerializer.INSTANCE.serialize(data, baos, Collections.singleton("user"));
+        SessionData restored = deserialize(BinarySessionDataSerializer.INSTANCE, baos.toByteArray());
+        assertNull(restored.getAttribute("user"));
+        assertNull(restored.getAttribute("scope"));
+        assertEquals((Integer)42, restored.getAttribute("count"));
+    }
+
+    @Test
+    void testLongString() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            sb.append((char)('a' + i % 26));
+        }
+        SessionData data = new SessionData("id", 1L, 1L, 0L, 0L);
+        data.setAttribute("text", sb.toString());
+        SessionData restored = deserialize(BinarySessionDataSerializer.INSTANCE,
+                serialize(BinarySessionDataSerializer.INSTANCE, data));
+        assertEquals(sb.toString(), restored.getAttribute("text"));
+        assertEquals(0L, restored.getExpiry());
+    }
+
+    private static class TransientValue implements NonPersistent, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports the number of session ids per second that {@link SessionIdGenerator}
+ * creates with a single shared generator and with striped generators, from
+ * 1 to 64 concurrent threads. Run the main method directly; it is not part
+ * of the test suite.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class SessionIdGeneratorBenchmark {
+
+    private static final long WARMUP_MILLIS = 500;
+
+    private static final long MEASURE_MILLIS = 2000;
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws Exception {
+        int stripes = Runtime.getRuntime().availableProcessors() * 4;
+        for (int threads : THREAD_COUNTS) {
+            long shared = run(new SessionIdGenerator("node1"), threads);
+            long striped = run(new SessionIdGenerator("node1", stripes), threads);
+            System.out.printf("threads=%2d  shared=%,12d ids/s  striped=%,12d ids/s%n",
+                    threads, shared, striped);
+        }
+    }
+
+    private static long run(SessionIdGenerator generator, int threadCount) throws InterruptedException {
+        LongAdder counter = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threadCount);
+        long warmupEnd = System.currentTimeMillis() + WARMUP_MILLIS;
+        long measureEnd = warmupEnd + MEASURE_MILLIS;
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                long seed = 0;
+                while (System.currentTimeMillis() < warmupEnd) {
+                    generator.createSessionId(seed++);
+                }
+                long count = 0;
+                while (System.currentTimeMillis() < measureEnd) {
+                    generator.createSessionId(seed++);
+                    count++;
+                }
+                counter.add(count);
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        return counter.sum() * 1000 / MEASURE_MILLIS;
+    }
+
+}
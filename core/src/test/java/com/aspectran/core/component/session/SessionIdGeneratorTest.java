@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link SessionIdGenerator}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class SessionIdGeneratorTest {
+
+    @Test
+    void testStripedIdFormat() {
+        SessionIdGenerator generator = new SessionIdGenerator(null, 4);
+        assertEquals(4, generator.getStripes());
+        for (int i = 0; i < 1000; i++) {
+            String id = generator.createSessionId(i);
+            assertEquals(24, id.length());
+            assertTrue(id.matches("[A-Za-z0-9_-]+"), id);
+        }
+    }
+
+    @Test
+    void testStripedIdWithWorkerName() {
+        SessionIdGenerator generator = new SessionIdGenerator("node1", 3);
+        assertEquals(4, generator.getStripes());
+        String id = generator.createSessionId(0L);
+        assertEquals(24 + ".node1".length(), id.length());
+        assertTrue(id.endsWith(".node1"), id);
+        assertEquals(24, id.lastIndexOf('.'));
+    }
+
+    @Test
+    void testLegacyIdWithWorkerName() {
+        SessionIdGenerator generator = new SessionIdGenerator("node1");
+        assertEquals(0, generator.getStripes());
+        assertTrue(generator.createSessionId(0L).endsWith(".node1"));
+    }
+
+    @Test
+    void testInvalidWorkerName() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionIdGenerator("node.1", 4));
+    }
+
+    @Test
+    void testUniqueIdsAcrossThreads() throws InterruptedException {
+        SessionIdGenerator generator = new SessionIdGenerator("node1", 8);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threadCount = 8;
+        int idsPerThread = 20000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids.add(generator.createSessionId(j));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * idsPerThread, ids.size());
+    }
+
+}
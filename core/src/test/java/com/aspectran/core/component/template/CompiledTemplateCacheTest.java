@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.template;
+
+import com.aspectran.core.component.template.engine.CompilableTemplateEngine;
+import com.aspectran.core.component.template.engine.TemplateEngineProcessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link CompiledTemplateCache}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class CompiledTemplateCacheTest {
+
+    @Test
+    void testCompileOnce() throws TemplateEngineProcessException {
+        CountingTemplateEngine engine = new CountingTemplateEngine();
+        CompiledTemplateCache cache = new CompiledTemplateCache(8);
+        Object first = cache.get(engine, "hello", "Hello ${name}");
+        Object second = cache.get(engine, "hello", "Hello ${name}");
+        assertSame(first, second);
+        assertEquals(1, engine.compileCount);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testRecompileWhenSourceChanges() throws TemplateEngineProcessException {
+        CountingTemplateEngine engine = new CountingTemplateEngine();
+        CompiledTemplateCache cache = new CompiledTemplateCache(8);
+        Object first = cache.get(engine, "hello", "Hello ${name}");
+        Object second = cache.get(engine, "hello", "Hi ${name}");
+        assertNotSame(first, second);
+        assertEquals(2, engine.compileCount);
+    }
+
+    @Test
+    void testSeparateEngines() throws TemplateEngineProcessException {
+        CountingTemplateEngine engine1 = new CountingTemplateEngine();
+        CountingTemplateEngine engine2 = new CountingTemplateEngine();
+        CompiledTemplateCache cache = new CompiledTemplateCache(8);
+        cache.get(engine1, "hello", "Hello ${name}");
+        cache.get(engine2, "hello", "Hello ${name}");
+        assertEquals(1, engine1.compileCount);
+        assertEquals(1, engine2.compileCount);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testEviction() throws TemplateEngineProcessException {
+        CountingTemplateEngine engine = new CountingTemplateEngine();
+        CompiledTemplateCache cache = new CompiledTemplateCache(2);
+        cache.get(engine, "t1", "1");
+        cache.get(engine, "t2", "2");
+        cache.get(engine, "t3", "3");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get(engine, "t1", "1");
+        assertEquals(4, engine.compileCount);
+    }
+
+    @Test
+    void testCompileFailure() {
+        CountingTemplateEngine engine = new CountingTemplateEngine();
+        CompiledTemplateCache cache = new CompiledTemplateCache(8);
+        assertThrows(TemplateEngineProcessException.class, () -> cache.get(engine, "bad", "${"));
+        assertEquals(0, cache.size());
+    }
+
+    private static class CountingTemplateEngine implements CompilableTemplateEngine {
+
+        private int compileCount;
+
+        @Override
+        public Object compile(String templateName, String templateSource) throws TemplateEngineProcessException {
+            compileCount++;
+            if (templateSource.endsWith("${")) {
+                throw new TemplateEngineProcessException(new IllegalArgumentException("Unclosed expression"));
+            }
+            return new Object();
+        }
+
+        @Override
+        public void processCompiled(Object compiledTemplate, Map<String, Object> model, Writer writer) {
+        }
+
+        @Override
+        public void process(String templateName, Map<String, Object> model, String templateSource, Writer writer) {
+        }
+
+        @Override
+        public void process(String templateName, Map<String, Object> model, Writer writer) {
+        }
+
+        @Override
+        public void process(String templateName, Map<String, Object> model, Writer writer, Locale locale) {
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet;
+
+import com.aspectran.core.adapter.DefaultApplicationAdapter;
+import com.aspectran.core.context.rule.IllegalRuleException;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.assistant.AssistantLocal;
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link TransletRuleRegistry}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class TransletRuleRegistryTest {
+
+    private TransletRuleRegistry createTransletRuleRegistry() throws IllegalRuleException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        TransletRuleRegistry transletRuleRegistry =
+                new TransletRuleRegistry(new DefaultApplicationAdapter(null, classLoader));
+        transletRuleRegistry.setAssistantLocal(new AssistantLocal(null));
+        transletRuleRegistry.addTransletRule(TransletRule.newInstance("/users/", "GET"));
+        transletRuleRegistry.addTransletRule(TransletRule.newInstance("/users/${id}", "GET,POST"));
+        return transletRuleRegistry;
+    }
+
+    @Test
+    void testResolveTransletRule() throws IllegalRuleException {
+        TransletRuleRegistry transletRuleRegistry = createTransletRuleRegistry();
+        assertNotNull(transletRuleRegistry.resolveTransletRule("/users/", MethodType.GET));
+        assertNotNull(transletRuleRegistry.resolveTransletRule("/users/1", MethodType.POST));
+        assertNull(transletRuleRegistry.resolveTransletRule("/users", MethodType.GET));
+        assertNull(transletRuleRegistry.resolveTransletRule("/users", MethodType.GET));
+        assertTrue(transletRuleRegistry.contains("/users/", MethodType.GET));
+        assertFalse(transletRuleRegistry.contains("/wp-login.php", MethodType.GET));
+    }
+
+    @Test
+    void testNotFoundCacheInvalidation() throws IllegalRuleException {
+        TransletRuleRegistry transletRuleRegistry = createTransletRuleRegistry();
+        assertNull(transletRuleRegistry.resolveTransletRule("/orders", MethodType.GET));
+        transletRuleRegistry.addTransletRule(TransletRule.newInstance("/orders", "GET"));
+        TransletRule transletRule = transletRuleRegistry.getTransletRule("/orders");
+        assertNotNull(transletRule);
+        assertEquals(transletRule, transletRuleRegistry.resolveTransletRule("/orders", MethodType.GET)
+                .getTransletRule());
+    }
+
+    @Test
+    void testNotFoundCacheCapacity() throws IllegalRuleException {
+        TransletRuleRegistry transletRuleRegistry = createTransletRuleRegistry();
+        transletRuleRegistry.setNotFoundCacheCapacity(2);
+        for (int i = 0; i < 10; i++) {
+            assertNull(transletRuleRegistry.resolveTransletRule("/unknown/" + i, MethodType.GET));
+        }
+        assertNull(transletRuleRegistry.resolveTransletRule("/unknown/0", MethodType.GET));
+        transletRuleRegistry.setNotFoundCacheCapacity(0);
+        assertNull(transletRuleRegistry.resolveTransletRule("/unknown/0", MethodType.GET));
+        assertNotNull(transletRuleRegistry.resolveTransletRule("/users/2", MethodType.GET));
+    }
+
+    @Test
+    void testResolveWhileAddingTransletRules() throws Exception {
+        TransletRuleRegistry transletRuleRegistry = createTransletRuleRegistry();
+        AtomicBoolean adding = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread resolver = new Thread(() -> {
+            try {
+                while (adding.get()) {
+                    if (transletRuleRegistry.resolveTransletRule("/users/1", MethodType.GET) == null) {
+                        throw new AssertionError("Translet rule not found while adding others");
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        resolver.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                transletRuleRegistry.addTransletRule(TransletRule.newInstance("/items" + i + "/${id}", "GET"));
+            }
+        } finally {
+            adding.set(false);
+            resolver.join();
+        }
+        assertNull(failure.get());
+        assertNotNull(transletRuleRegistry.resolveTransletRule("/items199/1", MethodType.GET));
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.translet.router;
+
+import com.aspectran.core.activity.request.PathVariableMap;
+import com.aspectran.core.adapter.DefaultApplicationAdapter;
+import com.aspectran.core.component.translet.TransletRuleRegistry;
+import com.aspectran.core.context.expr.token.Token;
+import com.aspectran.core.context.rule.IllegalRuleException;
+import com.aspectran.core.context.rule.TransletRule;
+import com.aspectran.core.context.rule.assistant.AssistantLocal;
+import com.aspectran.core.context.rule.type.MethodType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link TrieTransletRouter}.
+ *
+ * <p>Created: 2021. 7. 5.</p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrieTransletRouterTest {
+
+    private static final String[] TRANSLET_NAMES = {
+            "/users",
+            "/users/${id}",
+            "/users/${id}/orders",
+            "/users/${id}/orders/${orderId}",
+            "/users/list",
+            "/items/${id1}-${id2}/approval",
+            "/items/${id}/@{attr:none}",
+            "/*/list",
+            "/files/**/view",
+            "/files/${name}.${ext}",
+            "/a/${b}/c/${d}/e",
+            "/a/${x}/c/${y}"
+    };
+
+    private static final String[] REQUEST_NAMES = {
+            "/users", "/users/", "/users/1", "/users/list", "/users/1/orders", "/users/1/orders/",
+            "/users/1/orders/2", "/users/1/orders/2/3", "/items/12-34/approval", "/items/12-34-56/approval",
+            "/items/-/approval", "/items/1/", "/items/1/x", "/goods/list", "/files/a/b/view",
+            "/files/readme.txt", "/files/archive.tar.gz", "/a/1/c/2/e", "/a/1/c/2", "/a/1/c/",
+            "/unknown", "", "/"
+    };
+
+    private TransletRuleRegistry trieRegistry;
+
+    private TransletRuleRegistry linearRegistry;
+
+    @BeforeAll
+    void setup() throws IllegalRuleException {
+        trieRegistry = createTransletRuleRegistry();
+        linearRegistry = createTransletRuleRegistry();
+        linearRegistry.setTransletRouterFactory(LinearTransletRouter::new);
+    }
+
+    private TransletRuleRegistry createTransletRuleRegistry() throws IllegalRuleException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        TransletRuleRegistry transletRuleRegistry =
+                new TransletRuleRegistry(new DefaultApplicationAdapter(null, classLoader));
+        transletRuleRegistry.setAssistantLocal(new AssistantLocal(null));
+        for (String transletName : TRANSLET_NAMES) {
+            transletRuleRegistry.addTransletRule(TransletRule.newInstance(transletName, "GET,POST"));
+        }
+        transletRuleRegistry.addTransletRule(TransletRule.newInstance("/head/${id}", "HEAD"));
+        return transletRuleRegistry;
+    }
+
+    @Test
+    void testSameResultAsLinearRouter() {
+        for (MethodType requestMethod : MethodType.values()) {
+            for (String requestName : REQUEST_NAMES) {
+                TransletRule expected = linearRegistry.getTransletRule(requestName, requestMethod);
+                TransletRule actual = trieRegistry.getTransletRule(requestName, requestMethod);
+                String message = requestMethod + " " + requestName;
+                if (expected == null) {
+                    assertNull(actual, message);
+                } else {
+                    assertNotNull(actual, message);
+                    assertEquals(expected.getName(), actual.getName(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCapturedPathVariables() {
+        for (String requestName : REQUEST_NAMES) {
+            TransletRuleMatch transletRuleMatch = trieRegistry.matchTransletRule(requestName, MethodType.GET);
+            if (transletRuleMatch != null && transletRuleMatch.getPathVariables() != null) {
+                Token[] nameTokens = transletRuleMatch.getTransletRule().getNameTokens();
+                if (nameTokens != null) {
+                    PathVariableMap expected = PathVariableMap.parse(nameTokens, requestName);
+                    assertEquals(expected, transletRuleMatch.getPathVariables(), requestName);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPathVariableValues() {
+        TransletRuleMatch transletRuleMatch = trieRegistry.matchTransletRule("/items/12-34/approval", MethodType.POST);
+        assertNotNull(transletRuleMatch);
+        assertEquals("/items/${id1}-${id2}/approval", transletRuleMatch.getTransletRule().getName());
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<Token, String> entry : transletRuleMatch.getPathVariables().entrySet()) {
+            values.put(entry.getKey().getName(), entry.getValue());
+        }
+        assertEquals("12", values.get("id1"));
+        assertEquals("34", values.get("id2"));
+
+        transletRuleMatch = trieRegistry.matchTransletRule("/items/1/", MethodType.GET);
+        assertNotNull(transletRuleMatch);
+        values.clear();
+        for (Map.Entry<Token, String> entry : transletRuleMatch.getPathVariables().entrySet()) {
+            values.put(entry.getKey().getName(), entry.getValue());
+        }
+        assertEquals("1", values.get("id"));
+        assertEquals("none", values.get("attr"));
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.builder;
+
+import com.aspectran.core.activity.InstantActivity;
+import com.aspectran.core.context.ActivityContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Test cases for loading configuration rules from snapshots.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RuleSnapshotTest {
+
+    private static final String ROOT_FILE = "/config/snapshot/snapshot-test-config.xml";
+
+    private File baseDir;
+
+    private File snapshotDir;
+
+    @BeforeAll
+    void ready() throws IOException {
+        baseDir = new File("./target/test-classes").getCanonicalFile();
+        snapshotDir = new File(baseDir, "rule-snapshots");
+        deleteSnapshots();
+    }
+
+    @AfterAll
+    void finish() {
+        deleteSnapshots();
+    }
+
+    @Test
+    void testBuildFromSnapshots() throws Exception {
+        assertEquals("Hello, World", buildAndPerform());
+        File[] snapshots = snapshotDir.listFiles();
+        assertNotNull(snapshots);
+        assertEquals(2, snapshots.length);
+        long lastModified = snapshots[0].lastModified();
+
+        // The second build must load the rules from the snapshots
+        assertEquals("Hello, World", buildAndPerform());
+        assertEquals(2, snapshotDir.listFiles().length);
+        assertEquals(lastModified, snapshots[0].lastModified());
+    }
+
+    private String buildAndPerform() throws Exception {
+        ActivityContextBuilder builder = new HybridActivityContextBuilder();
+        builder.setBasePath(baseDir.getPath());
+        builder.setRuleSnapshotDir("rule-snapshots");
+        try {
+            ActivityContext context = builder.build(ROOT_FILE);
+            InstantActivity activity = new InstantActivity(context);
+            activity.prepare("greeting");
+            activity.perform();
+            return activity.getResponseAdapter().getWriter().toString();
+        } finally {
+            builder.destroy();
+        }
+    }
+
+    private void deleteSnapshots() {
+        File[] files = snapshotDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        snapshotDir.delete();
+    }
+
+}
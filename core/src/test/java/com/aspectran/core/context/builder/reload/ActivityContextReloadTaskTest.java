@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.context.builder.reload;
+
+import com.aspectran.core.service.AbstractServiceController;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ActivityContextReloadTask}.
+ */
+class ActivityContextReloadTaskTest {
+
+    @Test
+    void testRestartOnceForBurstOfChanges() throws Exception {
+        Path tempDir = Files.createTempDirectory("reload-test");
+        File classFile = Files.createFile(tempDir.resolve("Sample.class")).toFile();
+
+        TestServiceController serviceController = new TestServiceController();
+        serviceController.start();
+
+        ActivityContextReloadTask reloadTask = new ActivityContextReloadTask(serviceController);
+        reloadTask.setResources(Collections.enumeration(
+                Collections.singletonList(classFile.toURI().toURL())));
+        reloadTask.setScanIntervalMillis(100L);
+        reloadTask.setQuietPeriodMillis(500L);
+        assertTrue(reloadTask.hasResources());
+
+        Thread thread = new Thread(reloadTask);
+        thread.start();
+        try {
+            Thread.sleep(200L);
+            for (int i = 0; i < 5; i++) {
+                Files.write(tempDir.resolve("Sample" + i + ".class"), new byte[] {1});
+                Thread.sleep(50L);
+            }
+            assertTrue(serviceController.restarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(1000L);
+            assertEquals(1, serviceController.restartCount.get());
+        } finally {
+            reloadTask.cancel();
+            thread.join(5000L);
+            File[] files = tempDir.toFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            Files.delete(tempDir);
+        }
+    }
+
+    private static class TestServiceController extends AbstractServiceController {
+
+        private final CountDownLatch restarted = new CountDownLatch(1);
+
+        private final AtomicInteger restartCount = new AtomicInteger();
+
+        TestServiceController() {
+            super(true);
+        }
+
+        @Override
+        public void restart(String message) throws Exception {
+            restartCount.incrementAndGet();
+            restarted.countDown();
+        }
+
+        @Override
+        protected boolean isDerived() {
+            return false;
+        }
+
+        @Override
+        protected void doStart() {
+        }
+
+        @Override
+        protected void doPause() {
+        }
+
+        @Override
+        protected void doPause(long timeout) {
+        }
+
+        @Override
+        protected void doResume() {
+        }
+
+        @Override
+        protected void doStop() {
+        }
+
+    }
+
+}
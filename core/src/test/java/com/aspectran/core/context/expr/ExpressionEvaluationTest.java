@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * <p>Created: 2021/02/04</p>
@@ -61,4 +62,13 @@ class ExpressionEvaluationTest {
         //System.out.println(ExpressionEvaluator.evaluate("'${bars--}[1]'", activity));
     }
 
+    @Test
+    void evaluateCached() {
+        ExpressionEvaluation evaluation = ExpressionEvaluation.of("${foo} + ${foo}");
+        assertSame(evaluation, ExpressionEvaluation.of("${foo} + ${foo}"));
+        for (int i = 0; i < 200; i++) {
+            assertEquals("foofoo", evaluation.evaluate(activity, String.class));
+        }
+    }
+
 }
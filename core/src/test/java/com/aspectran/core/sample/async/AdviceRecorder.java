@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.sample.async;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bean that records the advice executed around asynchronous actions.
+ */
+public class AdviceRecorder {
+
+    private final List<String> events = new ArrayList<>();
+
+    public synchronized void record(String event) {
+        events.add(event);
+    }
+
+    public synchronized List<String> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.sample.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bean whose actions complete asynchronously.
+ */
+public class AsyncBean {
+
+    public CompletableFuture<String> hello() {
+        return CompletableFuture.supplyAsync(() -> "Hello",
+                CompletableFuture.delayedExecutor(100L, TimeUnit.MILLISECONDS));
+    }
+
+    public CompletableFuture<String> world() {
+        return CompletableFuture.supplyAsync(() -> "World",
+                CompletableFuture.delayedExecutor(100L, TimeUnit.MILLISECONDS));
+    }
+
+    public CompletableFuture<String> never() {
+        return new CompletableFuture<>();
+    }
+
+    public CompletableFuture<String> fail() {
+        return CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("Failed asynchronously");
+        });
+    }
+
+}
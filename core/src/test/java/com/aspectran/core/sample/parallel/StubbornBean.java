@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.sample.parallel;
+
+import com.aspectran.core.activity.Translet;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bean whose actions ignore interruption, like blocking I/O calls do.
+ */
+public class StubbornBean {
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile Throwable lateAccessFailure;
+
+    public String echo(Translet translet, String message, long delay) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        try {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0L) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                } catch (InterruptedException e) {
+                    // ignored on purpose
+                }
+            }
+            try {
+                translet.getActivityData();
+            } catch (Throwable e) {
+                lateAccessFailure = e;
+            }
+            return message;
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    public boolean awaitFinished(long timeout) throws InterruptedException {
+        return finished.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    public Throwable getLateAccessFailure() {
+        return lateAccessFailure;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.scheduler.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link VirtualThreadPool}.
+ * On a JDK without virtual threads, the jobs run on platform threads.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class VirtualThreadPoolTest {
+
+    @Test
+    void testRunJobsWithinThreadCount() throws Exception {
+        VirtualThreadPool threadPool = new VirtualThreadPool();
+        threadPool.setThreadCount(2);
+        threadPool.setInstanceName("test");
+        threadPool.initialize();
+        try {
+            int jobs = 6;
+            CountDownLatch finished = new CountDownLatch(jobs);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            for (int i = 0; i < jobs; i++) {
+                assertTrue(threadPool.runInThread(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        finished.countDown();
+                    }
+                }));
+            }
+            assertTrue(finished.await(5L, TimeUnit.SECONDS));
+            assertTrue(maxRunning.get() <= 2, "Ran " + maxRunning.get() + " jobs at the same time");
+        } finally {
+            threadPool.shutdown(true);
+        }
+        assertFalse(threadPool.runInThread(() -> {}));
+    }
+
+}
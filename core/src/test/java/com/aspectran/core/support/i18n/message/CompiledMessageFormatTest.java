@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.support.i18n.message;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link CompiledMessageFormat}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class CompiledMessageFormatTest {
+
+    private static final Date DATE = new Date(1626566400000L);
+
+    private static void assertSameOutput(String pattern, Locale locale, Object... args) {
+        MessageFormat messageFormat = new MessageFormat(pattern, locale);
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(messageFormat);
+        assertEquals(messageFormat.format(args), compiled.format(args), pattern);
+    }
+
+    @Test
+    void testLiteralsAndQuotes() {
+        assertSameOutput("Hello, {0}!", Locale.ENGLISH, "Aspectran");
+        assertSameOutput("It''s {0}''s turn", Locale.ENGLISH, "Juho");
+        assertSameOutput("'{0}' is literal, {0} is not", Locale.ENGLISH, "arg");
+        assertSameOutput("{1} before {0}, then {1} again", Locale.ENGLISH, "a", "b");
+        assertSameOutput("No arguments at all", Locale.ENGLISH);
+    }
+
+    @Test
+    void testDefaultFormats() {
+        assertSameOutput("{0} items", Locale.ENGLISH, 1234567);
+        assertSameOutput("{0} items", Locale.GERMAN, new BigDecimal("1234.5678"));
+        assertSameOutput("at {0}", Locale.KOREAN, DATE);
+        assertSameOutput("value {0}, {1}", Locale.ENGLISH, null, Boolean.TRUE);
+    }
+
+    @Test
+    void testSubformats() {
+        assertSameOutput("{0,number,#,##0.00} won", Locale.KOREAN, 12345.678);
+        assertSameOutput("{0,number,percent}", Locale.FRENCH, 0.25);
+        assertSameOutput("{0,date,long} {0,time,short}", Locale.JAPANESE, DATE);
+        assertSameOutput("{0,date,yyyy-MM-dd 'T{' HH:mm}", Locale.ENGLISH, DATE);
+    }
+
+    @Test
+    void testMissingArguments() {
+        assertSameOutput("{0} and {2}", Locale.ENGLISH, "only");
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(new MessageFormat("{0}!", Locale.ENGLISH));
+        assertEquals("{0}!", compiled.format(null));
+    }
+
+    @Test
+    void testChoiceFallback() {
+        String pattern = "There {0,choice,0#are no files|1#is one file|1<are {0,number,integer} files}.";
+        for (int i = 0; i < 3; i++) {
+            assertSameOutput(pattern, Locale.ENGLISH, i);
+        }
+    }
+
+    @Test
+    void testRepeatedFormatting() {
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(new MessageFormat("{0}-{1}", Locale.ENGLISH));
+        assertEquals("a-1", compiled.format(new Object[] {"a", 1}));
+        assertEquals("a-1", compiled.format(new Object[] {"a", 1}));
+        assertEquals("b-1", compiled.format(new Object[] {"b", 1}));
+    }
+
+    @Test
+    void testCompiledFormatIsNotRetainedByThread() throws InterruptedException {
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(
+                new MessageFormat("{0,number,#,##0.0} of {1}", Locale.ENGLISH));
+        assertEquals("1,234.5 of 10", compiled.format(new Object[] {1234.5, 10}));
+        WeakReference<CompiledMessageFormat> reference = new WeakReference<>(compiled);
+        compiled = null;
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    void testConcurrentFormatting() throws Exception {
+        MessageFormat messageFormat = new MessageFormat("{0,number,#,##0.00} at {1,date,yyyy-MM-dd}", Locale.ENGLISH);
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(messageFormat);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        Object[] args = new Object[] {(seed * 2000 + i) * 1.5, new Date(DATE.getTime() + i * 86400000L)};
+                        String expected;
+                        synchronized (messageFormat) {
+                            expected = messageFormat.format(args);
+                        }
+                        assertEquals(expected, compiled.format(args));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMessageSourceWithArguments() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setBasename("locale.messages");
+        assertEquals("Hello, Aspectran!", messageSource.getMessage("hello", new Object[] {"Aspectran"}, Locale.ENGLISH));
+        assertEquals("Total: 1,234", messageSource.getMessage("none", new Object[] {1234}, "Total: {0}", Locale.ENGLISH));
+    }
+
+}
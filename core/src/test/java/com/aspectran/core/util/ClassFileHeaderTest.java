@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.util;
+
+import com.aspectran.core.component.bean.annotation.Component;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for reading class file headers.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class ClassFileHeaderTest {
+
+    @Test
+    void testReadAnnotatedClass() throws IOException {
+        ClassFileHeader header = read(SampleComponent.class);
+        assertEquals(SampleComponent.class.getName(), header.getClassName());
+        assertEquals(Number.class.getName(), header.getSuperClassName());
+        assertEquals(1, header.getInterfaceNames().length);
+        assertEquals(Serializable.class.getName(), header.getInterfaceNames()[0]);
+        assertTrue(header.isPublic());
+        assertFalse(header.isInterface());
+        assertTrue(header.isAbstract());
+        assertTrue(header.hasAnnotation(Component.class.getName()));
+        assertTrue(header.hasAnnotation(Deprecated.class.getName()));
+    }
+
+    @Test
+    void testReadPlainClass() throws IOException {
+        ClassFileHeader header = read(Object.class);
+        assertEquals(Object.class.getName(), header.getClassName());
+        assertNull(header.getSuperClassName());
+        assertTrue(header.getAnnotationTypes().isEmpty());
+
+        header = read(Runnable.class);
+        assertTrue(header.isInterface());
+        assertTrue(header.hasAnnotation(FunctionalInterface.class.getName()));
+    }
+
+    private ClassFileHeader read(Class<?> clazz) throws IOException {
+        String resourceName = "/" + clazz.getName().replace('.', '/') + ClassUtils.CLASS_FILE_SUFFIX;
+        try (InputStream inputStream = clazz.getResourceAsStream(resourceName)) {
+            return ClassFileHeader.read(inputStream);
+        }
+    }
+
+    @Deprecated(since = "test", forRemoval = true)
+    @Component("sample")
+    public abstract static class SampleComponent extends Number implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static final double PI = 3.14159d;
+
+        static final long BIG = 1234567890123L;
+
+        @Override
+        public String toString() {
+            return "sample " + PI + BIG;
+        }
+
+    }
+
+}
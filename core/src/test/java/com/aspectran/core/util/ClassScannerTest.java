@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -37,4 +38,16 @@ class ClassScannerTest {
         }
     }
 
+    @Test
+    void testScanClassWithClassFileFilter() throws IOException {
+        ClassScanner scanner = new ClassScanner(ClassUtils.getDefaultClassLoader());
+        scanner.setClassFileFilter(header -> header.getClassName().endsWith("ScannerTest"));
+        Map<String, Class<?>> map = scanner.scan("com.aspectran.**.util.*Test");
+        assertTrue(map.containsValue(ClassScannerTest.class));
+        for (Class<?> scannedClass : map.values()) {
+            assertTrue(scannedClass.getName().endsWith("ScannerTest"));
+        }
+        assertEquals(map.size(), scanner.scan("com.aspectran.**.util.*ScannerTest").size());
+    }
+
 }
@@ -18,8 +18,12 @@ package com.aspectran.core.util.apon;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * <p>Created: 2019-06-29</p>
@@ -79,6 +83,34 @@ class JsonToAponTest {
         assertEquals(result1, result2);
     }
 
+    @Test
+    void testForEachElement() throws IOException {
+        String json = "{\"total\": 3, \"meta\": {\"list\": [1, 2]}, " +
+                "\"list\": [{\"id\": 1, \"tags\": [\"a\", \"b\"]}, null, {\"id\": 2}, {\"id\": 3}]}";
+
+        List<Parameters> elements = new ArrayList<>();
+        int count = JsonToApon.forEach(new StringReader(json), "list", VariableParameters.class, elements::add);
+
+        assertEquals(3, count);
+        assertEquals(3, elements.size());
+        assertEquals(1, elements.get(0).getInt("id"));
+        assertEquals(2, elements.get(0).getStringList("tags").size());
+        assertEquals(3, elements.get(2).getInt("id"));
+    }
+
+    @Test
+    void testForEachElementOfTopLevelArray() throws IOException {
+        String json = "[{\"message\": \"m1\"}, {\"message\": \"m2\"}]";
+
+        List<String> messages = new ArrayList<>();
+        JsonToApon.forEach(new StringReader(json), null, MessagePayload.class,
+                element -> messages.add(element.getContent()));
+
+        assertEquals(List.of("m1", "m2"), messages);
+        assertThrows(IOException.class, () ->
+                JsonToApon.forEach(new StringReader("[1, 2]"), null, VariableParameters.class, element -> {}));
+    }
+
     public static class MessagePayload extends AbstractParameters {
 
         private static final ParameterKey message;
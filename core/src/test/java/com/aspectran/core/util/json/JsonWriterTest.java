@@ -162,4 +162,33 @@ class JsonWriterTest {
         assertEquals(expected, writer.toString().trim());
     }
 
+    @Test
+    void testEscape() throws IOException {
+        String result = new JsonWriter()
+                .prettyPrint(false)
+                .write(new String[] {"</script>", "a\"b\\c", "tab\there\n", "\u0001\u2028"})
+                .toString();
+
+        assertEquals("[\"<\\/script>\",\"a\\\"b\\\\c\",\"tab\\there\\n\",\"\\u0001\\u2028\"]", result);
+    }
+
+    @Test
+    void testBean() throws IOException {
+        Bean bean = new Bean();
+        String result = new JsonWriter()
+                .prettyPrint(false)
+                .write(bean)
+                .toString();
+
+        assertEquals("{\"count\":3}", result);
+    }
+
+    public static class Bean {
+
+        public int getCount() {
+            return 3;
+        }
+
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.util.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link VirtualThreads}.
+ */
+class VirtualThreadsTest {
+
+    @Test
+    void testNewThreadPerTaskExecutor() throws Exception {
+        if (VirtualThreads.isSupported()) {
+            ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor("test-");
+            try {
+                Future<String> future = executorService.submit(() -> Thread.currentThread().getName());
+                assertTrue(future.get().startsWith("test-"));
+            } finally {
+                executorService.shutdown();
+            }
+        } else {
+            assertThrows(UnsupportedOperationException.class,
+                    () -> VirtualThreads.newThreadPerTaskExecutor("test-"));
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package com.aspectran.daemon.command;
 import com.aspectran.core.util.ExceptionUtils;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
+import com.aspectran.core.util.thread.VirtualThreads;
 import com.aspectran.daemon.Daemon;
 
 import java.util.concurrent.BlockingQueue;
@@ -39,24 +40,50 @@ public class CommandExecutor {
 
     private final BlockingQueue<Runnable> workQueue;
 
+    private final int maxThreads;
+
+    private final boolean virtualThreads;
+
     private final AtomicInteger queueSize = new AtomicInteger();
 
     private final AtomicBoolean isolated = new AtomicBoolean();
 
     public CommandExecutor(Daemon daemon, int maxThreads) {
+        this(daemon, maxThreads, false);
+    }
+
+    /**
+     * Instantiates a new CommandExecutor.
+     * @param daemon the daemon
+     * @param maxThreads the maximum number of commands executed concurrently
+     * @param virtualThreads whether to execute commands on virtual threads;
+     *      ignored if the running JDK does not support virtual threads
+     */
+    public CommandExecutor(Daemon daemon, int maxThreads, boolean virtualThreads) {
         if (daemon == null) {
             throw new IllegalArgumentException("daemon must not be null");
         }
 
         this.daemon = daemon;
+        this.maxThreads = maxThreads;
         this.workQueue = new SynchronousQueue<>();
-        this.executorService = new ThreadPoolExecutor(
-                1,
-                maxThreads,
-                180L,
-                TimeUnit.SECONDS,
-                this.workQueue
-        );
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            logger.warn("Virtual threads are not supported by this JDK; " +
+                    "commands are executed on a platform thread pool");
+            virtualThreads = false;
+        }
+        this.virtualThreads = virtualThreads;
+        if (virtualThreads) {
+            this.executorService = VirtualThreads.newThreadPerTaskExecutor("cmd-");
+        } else {
+            this.executorService = new ThreadPoolExecutor(
+                    1,
+                    maxThreads,
+                    180L,
+                    TimeUnit.SECONDS,
+                    this.workQueue
+            );
+        }
     }
 
     public boolean execute(final CommandParameters parameters, final Callback callback) {
@@ -117,7 +144,15 @@ public class CommandExecutor {
             }
         };
 
-        queueSize.incrementAndGet();
+        int size = queueSize.incrementAndGet();
+        if (virtualThreads && size > maxThreads) {
+            // Keeps the same concurrency limit as the platform thread pool
+            if (logger.isDebugEnabled()) {
+                logger.debug("Holds '" + commandName + "' command until another command completes");
+            }
+            queueSize.decrementAndGet();
+            return false;
+        }
         try {
             executorService.execute(runnable);
             return true;
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.daemon.command.builtins;
+
+import com.aspectran.core.activity.request.ParameterMap;
+import com.aspectran.core.component.metrics.ExecutionMetrics;
+import com.aspectran.core.component.metrics.MetricsRegistry;
+import com.aspectran.core.context.expr.ItemEvaluation;
+import com.aspectran.core.context.expr.ItemEvaluator;
+import com.aspectran.core.context.rule.ItemRuleMap;
+import com.aspectran.core.util.statistic.LatencyHistogram;
+import com.aspectran.daemon.command.AbstractCommand;
+import com.aspectran.daemon.command.CommandParameters;
+import com.aspectran.daemon.command.CommandRegistry;
+import com.aspectran.daemon.command.CommandResult;
+import com.aspectran.daemon.service.DaemonService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Formatter;
+import java.util.List;
+
+/**
+ * A daemon command that displays the latency, throughput and error
+ * statistics of translets and aspect advice, or resets them.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class MetricsCommand extends AbstractCommand {
+
+    private static final String NAMESPACE = "builtins";
+
+    private static final String COMMAND_NAME = "metrics";
+
+    private final CommandDescriptor descriptor = new CommandDescriptor();
+
+    public MetricsCommand(CommandRegistry registry) {
+        super(registry);
+    }
+
+    @Override
+    public CommandResult execute(CommandParameters parameters) {
+        DaemonService service = getService();
+
+        try {
+            String type = null;
+            String[] keywords = null;
+            ItemRuleMap parameterItemRuleMap = parameters.getParameterItemRuleMap();
+            if (parameterItemRuleMap != null && !parameterItemRuleMap.isEmpty()) {
+                ItemEvaluator evaluator = new ItemEvaluation(service.getDefaultActivity());
+                ParameterMap parameterMap = evaluator.evaluateAsParameterMap(parameterItemRuleMap);
+                type = parameterMap.getParameter("type");
+                keywords = parameterMap.getParameterValues("keywords");
+            }
+
+            MetricsRegistry metricsRegistry = service.getActivityContext().getMetricsRegistry();
+            if (type == null || "translet".equals(type)) {
+                return printMetrics(metricsRegistry, metricsRegistry.getTransletMetrics(), "Translet", keywords);
+            } else if ("advice".equals(type)) {
+                return printMetrics(metricsRegistry, metricsRegistry.getAdviceMetrics(), "Aspect/Advice", keywords);
+            } else if ("reset".equals(type)) {
+                metricsRegistry.reset();
+                return success(info("All statistics have been reset"));
+            } else {
+                return failed(error("Unknown metrics type: " + type));
+            }
+        } catch (Exception e) {
+            return failed(e);
+        }
+    }
+
+    private CommandResult printMetrics(MetricsRegistry metricsRegistry, Collection<ExecutionMetrics> metricsList,
+                                       String title, String[] keywords) {
+        if (!metricsRegistry.isEnabled()) {
+            return failed(warn("Metrics are disabled; set the system property " +
+                    MetricsRegistry.ENABLED_PROPERTY_NAME + "=true to enable them"));
+        }
+        List<ExecutionMetrics> list = new ArrayList<>(metricsList);
+        list.sort(Comparator.comparing(ExecutionMetrics::getName));
+        Formatter formatter = new Formatter();
+        formatter.format("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-%n", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+        formatter.format(" %-32s | %-9s | %-6s | %-5s | %-8s | %-26s %n", title, "Count", "Errors", "Busy",
+                "TPS", "p50/p99/p999 ms");
+        formatter.format("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-%n", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+        int num = 0;
+        for (ExecutionMetrics metrics : list) {
+            if (keywords != null) {
+                boolean exists = false;
+                for (String keyw : keywords) {
+                    if (metrics.getName().toLowerCase().contains(keyw.toLowerCase())) {
+                        exists = true;
+                        break;
+                    }
+                }
+                if (!exists) {
+                    continue;
+                }
+            }
+            LatencyHistogram latency = metrics.getLatency();
+            String percentiles = String.format("%.3f/%.3f/%.3f",
+                    toMillis(latency.getPercentile(50.0D)),
+                    toMillis(latency.getPercentile(99.0D)),
+                    toMillis(latency.getPercentile(99.9D)));
+            formatter.format(" %-32s | %9d | %6d | %5d | %8.1f | %26s %n", metrics.getName(), metrics.getCount(),
+                    metrics.getErrorCount(), metrics.getInFlightCount(), metrics.getThroughput(), percentiles);
+            num++;
+        }
+        if (num == 0) {
+            formatter.format("%45s %s%n", " ", "No Data");
+        }
+        formatter.format("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+        return success(formatter.toString());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0D;
+    }
+
+    @Override
+    public Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private static class CommandDescriptor implements Descriptor {
+
+        @Override
+        public String getNamespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        public String getName() {
+            return COMMAND_NAME;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Displays latency, throughput and error statistics of translets and aspect advice";
+        }
+
+    }
+
+}
@@ -49,7 +49,7 @@ public abstract class AbstractCommandFilePoller implements CommandFilePoller {
         this.maxThreads = pollerConfig.getMaxThreads(DEFAULT_MAX_THREADS);
         this.requeuable = pollerConfig.isRequeuable();
 
-        this.executor = new CommandExecutor(daemon, maxThreads);
+        this.executor = new CommandExecutor(daemon, maxThreads, pollerConfig.isVirtualThreads());
     }
 
     @Override
@@ -36,6 +36,10 @@
                 <dd><span class="number expiredSessionCount">0</span></dd>
                 <dt>Rejected Sessions</dt>
                 <dd><span class="number rejectedSessionCount">0</span></dd>
+                <dt>Evicted Sessions</dt>
+                <dd><span class="number evictedSessionCount">0</span></dd>
+                <dt>Reloaded Sessions</dt>
+                <dd><span class="number reloadedSessionCount">0</span></dd>
             </dl>
         </div>
     </div>
@@ -65,6 +65,8 @@ function SessionStats(endpoint, refreshInterval) {
         $(".createdSessionCount").text(stats.createdSessionCount);
         $(".expiredSessionCount").text(stats.expiredSessionCount);
         $(".rejectedSessionCount").text(stats.rejectedSessionCount);
+        $(".evictedSessionCount").text(stats.evictedSessionCount);
+        $(".reloadedSessionCount").text(stats.reloadedSessionCount);
         if (stats.currentUsers) {
             $(".users").empty();
             stats.currentUsers.forEach(function(username) {
@@ -35,6 +35,10 @@ public class SessionStatistics {
 
     private long rejectedSessionCount;
 
+    private long evictedSessionCount;
+
+    private long reloadedSessionCount;
+
     private String[] currentUsers;
 
     public long getActiveSessionCount() {
@@ -77,6 +81,22 @@ public class SessionStatistics {
         this.rejectedSessionCount = rejectedSessionCount;
     }
 
+    public long getEvictedSessionCount() {
+        return evictedSessionCount;
+    }
+
+    public void setEvictedSessionCount(long evictedSessionCount) {
+        this.evictedSessionCount = evictedSessionCount;
+    }
+
+    public long getReloadedSessionCount() {
+        return reloadedSessionCount;
+    }
+
+    public void setReloadedSessionCount(long reloadedSessionCount) {
+        this.reloadedSessionCount = reloadedSessionCount;
+    }
+
     public String[] getCurrentUsers() {
         return currentUsers;
     }
@@ -98,7 +118,9 @@ public class SessionStatistics {
                 stats.highestSessionCount != highestSessionCount ||
                 stats.createdSessionCount != createdSessionCount ||
                 stats.expiredSessionCount != expiredSessionCount ||
-                stats.rejectedSessionCount != rejectedSessionCount) {
+                stats.rejectedSessionCount != rejectedSessionCount ||
+                stats.evictedSessionCount != evictedSessionCount ||
+                stats.reloadedSessionCount != reloadedSessionCount) {
             return false;
         }
         return Arrays.equals(stats.currentUsers, currentUsers);
@@ -21,6 +21,7 @@ import com.aspectran.core.component.bean.annotation.Component;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 import com.aspectran.undertow.server.TowServer;
+import com.aspectran.undertow.server.session.TowSessionManagerStatistics;
 import com.aspectran.websocket.jsr356.AspectranConfigurator;
 import io.undertow.server.session.SessionManager;
 import io.undertow.server.session.SessionManagerStatistics;
@@ -175,6 +176,11 @@ public class SessionStatsEndpoint extends InstantActivitySupport {
         stats.setCreatedSessionCount(statistics.getCreatedSessionCount());
         stats.setExpiredSessionCount(statistics.getExpiredSessionCount());
         stats.setRejectedSessionCount(statistics.getRejectedSessions());
+        if (statistics instanceof TowSessionManagerStatistics) {
+            TowSessionManagerStatistics towStatistics = (TowSessionManagerStatistics)statistics;
+            stats.setEvictedSessionCount(towStatistics.getEvictedSessions());
+            stats.setReloadedSessionCount(towStatistics.getReloadedSessions());
+        }
 
         // Current Users
         List<String> currentUsers = new ArrayList<>();
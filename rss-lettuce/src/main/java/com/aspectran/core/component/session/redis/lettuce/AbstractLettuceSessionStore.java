@@ -19,14 +19,40 @@ import com.aspectran.core.component.session.AbstractSessionStore;
 import com.aspectran.core.component.session.SessionData;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.ScanIterator;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A Redis-based session store using Lettuce as the client.
  *
+ * <p>When native expiry is enabled, session data is written with a time to
+ * live derived from the expiry time of the session plus the grace period,
+ * so that Redis itself removes sessions that are no longer used. The expiry
+ * time and the last access time are kept in a small companion key next to
+ * the session data, so that checking for existence and expiration never
+ * has to transfer and deserialize the whole session data. When only the
+ * access times of a session have changed since it was last saved, just the
+ * companion key is rewritten and the time to live of the session data is
+ * extended.</p>
+ *
  * <p>Created: 2019/12/06</p>
  *
  * @since 6.6.0
@@ -35,10 +61,165 @@ public abstract class AbstractLettuceSessionStore extends AbstractSessionStore {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractLettuceSessionStore.class);
 
-    abstract protected void scan(Consumer<SessionData> func);
+    private static final String METADATA_KEY_SUFFIX = ":metadata";
+
+    private static final char METADATA_SEPARATOR = ':';
+
+    private static final int SCAN_COUNT = 500;
+
+    private static final long COMMAND_TIMEOUT_SECS = 60L;
+
+    private static final SessionDataCodec KEY_CODEC = new SessionDataCodec(null);
+
+    private boolean nativeExpiry;
+
+    public boolean isNativeExpiry() {
+        return nativeExpiry;
+    }
+
+    /**
+     * Sets whether to let Redis expire the session data and keep the expiry
+     * metadata in a companion key.
+     * @param nativeExpiry true to enable native expiry; false otherwise
+     */
+    public void setNativeExpiry(boolean nativeExpiry) {
+        checkAlreadyInitialized();
+        this.nativeExpiry = nativeExpiry;
+    }
+
+    /**
+     * Executes the given function with the synchronous commands of a connection
+     * borrowed from the pool.
+     * @param func the function to execute
+     * @param <R> the type of the result
+     * @return the result of the function
+     */
+    protected abstract <R> R sync(Function<RedisClusterCommands<String, SessionData>, R> func);
+
+    /**
+     * Executes the given function with the asynchronous commands of a connection
+     * borrowed from the pool. The function must wait for all of the commands
+     * it issues to complete.
+     * @param func the function to execute
+     * @param <R> the type of the result
+     * @return the result of the function
+     */
+    protected abstract <R> R async(Function<RedisClusterAsyncCommands<String, SessionData>, R> func);
+
+    protected void scan(Consumer<SessionData> func) {
+        sync(c -> {
+            ScanIterator<String> scanIterator = ScanIterator.scan(c);
+            while (scanIterator.hasNext()) {
+                String key = scanIterator.next();
+                if (!key.endsWith(METADATA_KEY_SUFFIX)) {
+                    SessionData data = c.get(key);
+                    func.accept(data);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public SessionData load(String id) {
+        if (nativeExpiry) {
+            return async(c -> {
+                RedisFuture<SessionData> loaded = c.get(id);
+                RedisFuture<String> metadata = getMetadata(c, id);
+                SessionData data = await(loaded);
+                applyMetadata(data, await(metadata));
+                return data;
+            });
+        } else {
+            return sync(c -> c.get(id));
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        if (nativeExpiry) {
+            return async(c -> {
+                RedisFuture<Long> deleted = c.del(id);
+                RedisFuture<Long> metadataDeleted = c.del(getMetadataKey(id));
+                await(metadataDeleted);
+                Long count = await(deleted);
+                return (count != null && count > 0L);
+            });
+        } else {
+            return sync(c -> {
+                Long deleted = c.del(id);
+                return (deleted != null && deleted > 0L);
+            });
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        if (nativeExpiry) {
+            String metadata = async(c -> await(getMetadata(c, id)));
+            if (metadata != null) {
+                long expiry = parseExpiry(metadata);
+                return (expiry <= 0L || expiry > System.currentTimeMillis());
+            }
+            // written before native expiry was enabled
+        }
+        return checkExpiry(load(id));
+    }
+
+    @Override
+    public void doSave(String id, SessionData data) {
+        if (nativeExpiry) {
+            long ttl = calcTimeToLive(data);
+            String metadata = createMetadata(data);
+            async(c -> {
+                RedisFuture<String> saved;
+                RedisFuture<String> metadataSaved;
+                CommandArgs<String, SessionData> args = new CommandArgs<>(KEY_CODEC)
+                        .addKey(getMetadataKey(id)).add(metadata);
+                if (ttl > 0L) {
+                    saved = c.set(id, data, SetArgs.Builder.px(ttl));
+                    args.add("PX").add(ttl);
+                } else {
+                    saved = c.set(id, data);
+                }
+                metadataSaved = c.dispatch(CommandType.SET, new StatusOutput<>(KEY_CODEC), args);
+                await(saved);
+                await(metadataSaved);
+                return null;
+            });
+        } else {
+            sync(c -> c.set(id, data));
+        }
+    }
+
+    @Override
+    protected boolean doSaveDelta(String id, SessionData data, Set<String> dirtyAttributes) {
+        if (!nativeExpiry || !dirtyAttributes.isEmpty()) {
+            return false;
+        }
+        // only the access times have changed
+        long ttl = calcTimeToLive(data);
+        String metadata = createMetadata(data);
+        return async(c -> {
+            CommandArgs<String, SessionData> args = new CommandArgs<>(KEY_CODEC)
+                    .addKey(getMetadataKey(id)).add(metadata);
+            RedisFuture<Boolean> extended = null;
+            if (ttl > 0L) {
+                args.add("PX").add(ttl);
+                extended = c.pexpire(id, ttl);
+            }
+            RedisFuture<String> metadataSaved = c.dispatch(CommandType.SET, new StatusOutput<>(KEY_CODEC), args);
+            await(metadataSaved);
+            // a full save is needed if the session data is gone
+            return (extended == null || Boolean.TRUE.equals(await(extended)));
+        });
+    }
 
     @Override
     public Set<String> doGetExpired(Set<String> candidates) {
+        if (nativeExpiry) {
+            return doGetExpiredWithMetadata(candidates);
+        }
         long now = System.currentTimeMillis();
         Set<String> expired = new HashSet<>();
         // iterate over the saved sessions and work out which have expired
@@ -50,24 +231,86 @@ public abstract class AbstractLettuceSessionStore extends AbstractSessionStore {
         });
         for (String id : candidates) {
             if (!expired.contains(id)) {
-                try {
-                    SessionData data = load(id);
-                    if (data != null) {
-                        if (data.getExpiry() > 0 && data.getExpiry() <= now) {
-                            expired.add(id);
-                        }
-                    } else {
-                        // if the session no longer exists
-                        expired.add(id);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error checking if session " + id + " has expired", e);
+                checkExpired(id, now, expired);
+            }
+        }
+        return expired;
+    }
+
+    private Set<String> doGetExpiredWithMetadata(Set<String> candidates) {
+        long now = System.currentTimeMillis();
+        Set<String> expired = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        async(c -> {
+            // iterate over the metadata of the saved sessions in batches
+            ScanArgs scanArgs = ScanArgs.Builder.matches("*" + METADATA_KEY_SUFFIX).limit(SCAN_COUNT);
+            KeyScanCursor<String> cursor = await(c.scan(scanArgs));
+            while (true) {
+                List<String> ids = new ArrayList<>(cursor.getKeys().size());
+                for (String key : cursor.getKeys()) {
+                    ids.add(key.substring(0, key.length() - METADATA_KEY_SUFFIX.length()));
+                }
+                collectExpired(c, ids, now, expired, null);
+                if (cursor.isFinished()) {
+                    break;
+                }
+                cursor = await(c.scan(cursor, scanArgs));
+            }
+            List<String> ids = new ArrayList<>(candidates.size());
+            for (String id : candidates) {
+                if (!expired.contains(id)) {
+                    ids.add(id);
                 }
             }
+            collectExpired(c, ids, now, expired, unknown);
+            return null;
+        });
+        // the session data may have been written before native expiry was enabled
+        for (String id : unknown) {
+            checkExpired(id, now, expired);
         }
         return expired;
     }
 
+    private void collectExpired(RedisClusterAsyncCommands<String, SessionData> c, List<String> ids,
+                                long now, Set<String> expired, List<String> unknown) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // pipeline the lookups and wait for all of them at once
+        List<RedisFuture<String>> futures = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            futures.add(getMetadata(c, id));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            String metadata = await(futures.get(i));
+            if (metadata != null) {
+                long expiry = parseExpiry(metadata);
+                if (expiry > 0L && expiry <= now) {
+                    expired.add(ids.get(i));
+                }
+            } else if (unknown != null) {
+                unknown.add(ids.get(i));
+            }
+        }
+    }
+
+    private void checkExpired(String id, long now, Set<String> expired) {
+        try {
+            SessionData data = load(id);
+            if (data != null) {
+                if (data.getExpiry() > 0 && data.getExpiry() <= now) {
+                    expired.add(id);
+                }
+            } else {
+                // if the session no longer exists
+                expired.add(id);
+            }
+        } catch (Exception e) {
+            logger.warn("Error checking if session " + id + " has expired", e);
+        }
+    }
+
     protected boolean checkExpiry(SessionData data) {
         if (data != null) {
             return (data.getExpiry() <= 0L || data.getExpiry() > System.currentTimeMillis());
@@ -76,4 +319,75 @@ public abstract class AbstractLettuceSessionStore extends AbstractSessionStore {
         }
     }
 
+    /**
+     * Returns the time in milliseconds for Redis to keep the session data,
+     * which is the remaining lifetime of the session plus the grace period.
+     * @param data the session data
+     * @return the time to live in milliseconds, or 0 if the session never expires
+     */
+    private long calcTimeToLive(SessionData data) {
+        long expiry = data.getExpiry();
+        if (expiry <= 0L) {
+            return 0L;
+        }
+        long ttl = expiry - System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(getGracePeriodSecs());
+        return Math.max(ttl, 1L);
+    }
+
+    private static RedisFuture<String> getMetadata(RedisClusterAsyncCommands<String, SessionData> c, String id) {
+        CommandArgs<String, SessionData> args = new CommandArgs<>(KEY_CODEC).addKey(getMetadataKey(id));
+        return c.dispatch(CommandType.GET, new StatusOutput<>(KEY_CODEC), args);
+    }
+
+    private static String createMetadata(SessionData data) {
+        return data.getExpiry() + String.valueOf(METADATA_SEPARATOR) + data.getAccessed() +
+                METADATA_SEPARATOR + data.getLastAccessed();
+    }
+
+    /**
+     * Overrides the access times and expiry of the loaded session data with
+     * the companion key, which may have been updated since the session data
+     * was written.
+     * @param data the loaded session data
+     * @param metadata the value of the companion key
+     */
+    private static void applyMetadata(SessionData data, String metadata) {
+        if (data == null || metadata == null) {
+            return;
+        }
+        String[] parts = metadata.split(String.valueOf(METADATA_SEPARATOR));
+        if (parts.length < 3) {
+            return; // written before access times were kept in the companion key
+        }
+        try {
+            long expiry = Long.parseLong(parts[0]);
+            long accessed = Long.parseLong(parts[1]);
+            long lastAccessed = Long.parseLong(parts[2]);
+            if (accessed > data.getAccessed()) {
+                data.setExpiry(expiry);
+                data.setAccessed(accessed);
+                data.setLastAccessed(lastAccessed);
+            }
+        } catch (NumberFormatException e) {
+            // ignore malformed metadata
+        }
+    }
+
+    private static String getMetadataKey(String id) {
+        return id + METADATA_KEY_SUFFIX;
+    }
+
+    private static long parseExpiry(String metadata) {
+        int index = metadata.indexOf(METADATA_SEPARATOR);
+        try {
+            return Long.parseLong(index != -1 ? metadata.substring(0, index) : metadata);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, COMMAND_TIMEOUT_SECS, TimeUnit.SECONDS);
+    }
+
 }
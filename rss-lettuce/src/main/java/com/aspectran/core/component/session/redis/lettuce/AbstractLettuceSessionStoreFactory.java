@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.core.component.session.redis.lettuce;
+
+import com.aspectran.core.component.session.AbstractSessionStoreFactory;
+
+/**
+ * Base class for factories that create a Redis-based session store
+ * using Lettuce as a client.
+ *
+ * <p>Created: 2021. 7. 10.</p>
+ */
+public abstract class AbstractLettuceSessionStoreFactory extends AbstractSessionStoreFactory {
+
+    private boolean nativeExpiry;
+
+    public boolean isNativeExpiry() {
+        return nativeExpiry;
+    }
+
+    /**
+     * Sets whether to let Redis expire the session data and keep the expiry
+     * metadata in a companion key.
+     * @param nativeExpiry true to enable native expiry; false otherwise
+     * @see AbstractLettuceSessionStore#setNativeExpiry(boolean)
+     */
+    public void setNativeExpiry(boolean nativeExpiry) {
+        this.nativeExpiry = nativeExpiry;
+    }
+
+    protected void configure(AbstractLettuceSessionStore sessionStore) {
+        if (getNonPersistentAttributes() != null) {
+            sessionStore.setNonPersistentAttributes(getNonPersistentAttributes());
+        }
+        if (getSessionDataSerializer() != null) {
+            sessionStore.setSessionDataSerializer(getSessionDataSerializer());
+        }
+        sessionStore.setNativeExpiry(nativeExpiry);
+    }
+
+}
@@ -17,11 +17,10 @@ package com.aspectran.core.component.session.redis.lettuce;
 
 import com.aspectran.core.component.session.SessionData;
 import io.lettuce.core.RedisConnectionException;
-import io.lettuce.core.ScanIterator;
 import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
 
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -41,7 +40,7 @@ public class DefaultLettuceSessionStore extends AbstractLettuceSessionStore {
 
     @Override
     protected void doInitialize() throws Exception {
-        SessionDataCodec codec = new SessionDataCodec(getNonPersistentAttributes());
+        SessionDataCodec codec = new SessionDataCodec(getSessionDataSerializer(), getNonPersistentAttributes());
         pool.initialize(codec);
     }
 
@@ -58,46 +57,18 @@ public class DefaultLettuceSessionStore extends AbstractLettuceSessionStore {
         }
     }
 
-    <R> R sync(Function<RedisCommands<String, SessionData>, R> func) {
+    @Override
+    protected <R> R sync(Function<RedisClusterCommands<String, SessionData>, R> func) {
         try (StatefulRedisConnection<String, SessionData> conn = getConnection()) {
             return func.apply(conn.sync());
         }
     }
 
     @Override
-    public void scan(Consumer<SessionData> func) {
-        sync(c -> {
-            ScanIterator<String> scanIterator = ScanIterator.scan(c);
-            while (scanIterator.hasNext()) {
-                String key = scanIterator.next();
-                SessionData data = c.get(key);
-                func.accept(data);
-            }
-            return null;
-        });
-    }
-
-    @Override
-    public SessionData load(String id) {
-        return sync(c -> c.get(id));
-    }
-
-    @Override
-    public boolean delete(String id) {
-        return sync(c -> {
-            Long deleted = c.del(id);
-            return (deleted != null && deleted > 0L);
-        });
-    }
-
-    @Override
-    public boolean exists(String id) {
-        return sync(c -> checkExpiry(c.get(id)));
-    }
-
-    @Override
-    public void doSave(String id, SessionData data) {
-        sync(c -> c.set(id, data));
+    protected <R> R async(Function<RedisClusterAsyncCommands<String, SessionData>, R> func) {
+        try (StatefulRedisConnection<String, SessionData> conn = getConnection()) {
+            return func.apply(conn.async());
+        }
     }
 
 }
@@ -15,7 +15,6 @@
  */
 package com.aspectran.core.component.session.redis.lettuce;
 
-import com.aspectran.core.component.session.AbstractSessionStoreFactory;
 import com.aspectran.core.component.session.SessionStore;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
@@ -27,7 +26,7 @@ import com.aspectran.core.util.logging.LoggerFactory;
  *
  * @since 6.6.0
  */
-public class DefaultLettuceSessionStoreFactory extends AbstractSessionStoreFactory {
+public class DefaultLettuceSessionStoreFactory extends AbstractLettuceSessionStoreFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultLettuceSessionStoreFactory.class);
 
@@ -48,9 +47,7 @@ public class DefaultLettuceSessionStoreFactory extends AbstractSessionStoreFacto
         }
         RedisConnectionPool pool = new RedisConnectionPool(poolConfig);
         DefaultLettuceSessionStore sessionStore = new DefaultLettuceSessionStore(pool);
-        if (getNonPersistentAttributes() != null) {
-            sessionStore.setNonPersistentAttributes(getNonPersistentAttributes());
-        }
+        configure(sessionStore);
         return sessionStore;
     }
 
@@ -15,7 +15,9 @@
  */
 package com.aspectran.core.component.session.redis.lettuce;
 
+import com.aspectran.core.component.session.BinarySessionDataSerializer;
 import com.aspectran.core.component.session.SessionData;
+import com.aspectran.core.component.session.SessionDataSerializer;
 import io.lettuce.core.codec.RedisCodec;
 
 import java.io.ByteArrayInputStream;
@@ -36,9 +38,19 @@ public class SessionDataCodec implements RedisCodec<String, SessionData> {
 
     private static final Charset UTF8 = StandardCharsets.UTF_8;
 
+    private final SessionDataSerializer serializer;
+
     private final Set<String> nonPersistentAttributes;
 
     public SessionDataCodec(Set<String> nonPersistentAttributes) {
+        this(BinarySessionDataSerializer.INSTANCE, nonPersistentAttributes);
+    }
+
+    public SessionDataCodec(SessionDataSerializer serializer, Set<String> nonPersistentAttributes) {
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer must not be null");
+        }
+        this.serializer = serializer;
         this.nonPersistentAttributes = nonPersistentAttributes;
     }
 
@@ -53,7 +65,7 @@ public class SessionDataCodec implements RedisCodec<String, SessionData> {
             byte[] array = new byte[bytes.remaining()];
             bytes.get(array);
             ByteArrayInputStream bais = new ByteArrayInputStream(array);
-            return SessionData.deserialize(bais);
+            return serializer.deserialize(bais);
         } catch (Exception e) {
             throw new SessionDataSerializationException("Error decoding session data", e);
         }
@@ -68,7 +80,7 @@ public class SessionDataCodec implements RedisCodec<String, SessionData> {
     public ByteBuffer encodeValue(SessionData value) {
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            SessionData.serialize(value, baos, nonPersistentAttributes);
+            serializer.serialize(value, baos, nonPersistentAttributes);
             return ByteBuffer.wrap(baos.toByteArray());
         } catch (IOException e) {
             throw new SessionDataSerializationException("Error encoding session data", e);
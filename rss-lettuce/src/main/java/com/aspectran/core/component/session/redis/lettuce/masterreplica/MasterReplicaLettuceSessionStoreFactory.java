@@ -15,8 +15,8 @@
  */
 package com.aspectran.core.component.session.redis.lettuce.masterreplica;
 
-import com.aspectran.core.component.session.AbstractSessionStoreFactory;
 import com.aspectran.core.component.session.SessionStore;
+import com.aspectran.core.component.session.redis.lettuce.AbstractLettuceSessionStoreFactory;
 import com.aspectran.core.util.logging.Logger;
 import com.aspectran.core.util.logging.LoggerFactory;
 
@@ -27,7 +27,7 @@ import com.aspectran.core.util.logging.LoggerFactory;
  *
  * @since 6.6.0
  */
-public class MasterReplicaLettuceSessionStoreFactory extends AbstractSessionStoreFactory {
+public class MasterReplicaLettuceSessionStoreFactory extends AbstractLettuceSessionStoreFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(MasterReplicaLettuceSessionStoreFactory.class);
 
@@ -44,9 +44,7 @@ public class MasterReplicaLettuceSessionStoreFactory extends AbstractSessionStor
         }
         RedisMasterReplicaConnectionPool pool = new RedisMasterReplicaConnectionPool(poolConfig);
         MasterReplicaLettuceSessionStore sessionStore = new MasterReplicaLettuceSessionStore(pool);
-        if (getNonPersistentAttributes() != null) {
-            sessionStore.setNonPersistentAttributes(getNonPersistentAttributes());
-        }
+        configure(sessionStore);
         return sessionStore;
     }
 
@@ -20,8 +20,11 @@ import com.aspectran.core.context.rule.ScheduleRule;
 import com.aspectran.core.context.rule.ScheduledJobRule;
 import com.aspectran.core.context.rule.converter.RulesToParameters;
 import com.aspectran.core.context.rule.params.ScheduleParameters;
+import com.aspectran.core.scheduler.service.ScheduledJobMetrics;
+import com.aspectran.core.scheduler.service.SchedulerService;
 import com.aspectran.core.util.apon.AponWriter;
 import com.aspectran.core.util.apon.Parameters;
+import com.aspectran.core.util.statistic.LatencyHistogram;
 import com.aspectran.shell.command.AbstractCommand;
 import com.aspectran.shell.command.CommandRegistry;
 import com.aspectran.shell.command.option.Option;
@@ -30,7 +33,9 @@ import com.aspectran.shell.console.Console;
 import com.aspectran.shell.service.ShellService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
 
 public class JobCommand extends AbstractCommand {
@@ -58,6 +63,13 @@ public class JobCommand extends AbstractCommand {
                 .valueName("translet_name")
                 .desc("Print detailed information for the scheduled job")
                 .build());
+        addOption(Option.builder("s")
+                .longName("stats")
+                .hasValues()
+                .optionalValue()
+                .valueName("translet_name")
+                .desc("Print execution statistics for all scheduled jobs or the given ones")
+                .build());
         addOption(Option.builder("enable")
                 .hasValues()
                 .valueName("translet_name")
@@ -85,6 +97,9 @@ public class JobCommand extends AbstractCommand {
         } else if (options.hasOption("detail")) {
             String[] transletNames = options.getValues("detail");
             describeScheduledJobRule(service, console, transletNames);
+        } else if (options.hasOption("stats")) {
+            String[] transletNames = options.getValues("stats");
+            printJobMetrics(service, console, transletNames);
         } else if (options.hasOption("enable")) {
             String[] transletNames = options.getValues("enable");
             changeJobActiveState(service, console, transletNames, false);
@@ -175,6 +190,54 @@ public class JobCommand extends AbstractCommand {
         }
     }
 
+    private void printJobMetrics(ShellService service, Console console, String[] transletNames) {
+        SchedulerService schedulerService = service.getSchedulerService();
+        if (schedulerService == null || !schedulerService.isActive()) {
+            console.writeError("Scheduler service is not running");
+            return;
+        }
+        ScheduleRuleRegistry scheduleRuleRegistry = service.getActivityContext().getScheduleRuleRegistry();
+        Collection<ScheduledJobRule> scheduledJobRules;
+        if (transletNames != null && transletNames.length > 0) {
+            scheduledJobRules = scheduleRuleRegistry.getScheduledJobRules(transletNames);
+            if (scheduledJobRules.isEmpty()) {
+                console.writeError("Unknown scheduled job " + Arrays.toString(transletNames));
+                return;
+            }
+        } else {
+            scheduledJobRules = new ArrayList<>();
+            for (ScheduleRule scheduleRule : scheduleRuleRegistry.getScheduleRules()) {
+                scheduledJobRules.addAll(scheduleRule.getScheduledJobRuleList());
+            }
+        }
+        console.writeLine("-%-20s-+-%-24s-+-%-7s-+-%-6s-+-%-9s-+-%-15s-+-%-15s-", "--------------------",
+                "------------------------", "-------", "------", "---------", "---------------", "---------------");
+        console.writeLine(" %-20s | %-24s | %-7s | %-6s | %-9s | %-15s | %-15s ", "Schedule ID", "Job Name",
+                "Success", "Failed", "Coalesced", "Wait p50/p99 ms", "Run p50/p99 ms");
+        console.writeLine("-%-20s-+-%-24s-+-%-7s-+-%-6s-+-%-9s-+-%-15s-+-%-15s-", "--------------------",
+                "------------------------", "-------", "------", "---------", "---------------", "---------------");
+        int num = 0;
+        for (ScheduledJobRule jobRule : scheduledJobRules) {
+            ScheduledJobMetrics jobMetrics = schedulerService.getJobMetrics(jobRule);
+            if (jobMetrics == null) {
+                continue;
+            }
+            LatencyHistogram waitTime = jobMetrics.getQueueWaitTime();
+            LatencyHistogram runTime = jobMetrics.getRunTime();
+            console.writeLine(" %-20s | %-24s | %7d | %6d | %9d | %15s | %15s ",
+                    jobRule.getScheduleRule().getId(), jobRule.getTransletName(),
+                    jobMetrics.getSucceededCount(), jobMetrics.getFailedCount(), jobMetrics.getCoalescedCount(),
+                    waitTime.getPercentile(50.0D) + "/" + waitTime.getPercentile(99.0D),
+                    runTime.getPercentile(50.0D) + "/" + runTime.getPercentile(99.0D));
+            num++;
+        }
+        if (num == 0) {
+            console.writeLine("%45s %s", " ", "No Data");
+        }
+        console.writeLine("-%-20s-+-%-24s-+-%-7s-+-%-6s-+-%-9s-+-%-15s-+-%-15s-", "--------------------",
+                "------------------------", "-------", "------", "---------", "---------------", "---------------");
+    }
+
     private void changeJobActiveState(ShellService service, Console console, String[] transletNames, boolean disabled) {
         ScheduleRuleRegistry scheduleRuleRegistry = service.getActivityContext().getScheduleRuleRegistry();
         Set<ScheduledJobRule> scheduledJobRules = scheduleRuleRegistry.getScheduledJobRules(transletNames);
@@ -224,7 +287,7 @@ public class JobCommand extends AbstractCommand {
 
         @Override
         public String getDescription() {
-            return "Show scheduled jobs, or disable or enable them";
+            return "Show scheduled jobs and their statistics, or disable or enable them";
         }
 
         @Override
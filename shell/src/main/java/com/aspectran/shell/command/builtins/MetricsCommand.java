@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.shell.command.builtins;
+
+import com.aspectran.core.component.metrics.ExecutionMetrics;
+import com.aspectran.core.component.metrics.MetricsRegistry;
+import com.aspectran.core.util.statistic.LatencyHistogram;
+import com.aspectran.shell.command.AbstractCommand;
+import com.aspectran.shell.command.CommandRegistry;
+import com.aspectran.shell.command.option.Option;
+import com.aspectran.shell.command.option.ParsedOptions;
+import com.aspectran.shell.console.Console;
+import com.aspectran.shell.service.ShellService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Displays the latency, throughput and error statistics
+ * of translets and aspect advice.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class MetricsCommand extends AbstractCommand {
+
+    private static final String NAMESPACE = "builtins";
+
+    private static final String COMMAND_NAME = "metrics";
+
+    private final CommandDescriptor descriptor = new CommandDescriptor();
+
+    public MetricsCommand(CommandRegistry registry) {
+        super(registry);
+
+        addOption(Option.builder("t")
+                .longName("translets")
+                .hasValues()
+                .optionalValue()
+                .valueName("keywords")
+                .desc("Print statistics for all translets or those filtered by given keywords")
+                .build());
+        addOption(Option.builder("a")
+                .longName("advice")
+                .hasValues()
+                .optionalValue()
+                .valueName("keywords")
+                .desc("Print statistics for all aspect advice or those filtered by given keywords")
+                .build());
+        addOption(Option.builder("reset")
+                .desc("Reset all statistics")
+                .build());
+        addOption(Option.builder("h")
+                .longName("help")
+                .desc("Display help for this command")
+                .build());
+    }
+
+    @Override
+    public void execute(ParsedOptions options, Console console) throws Exception {
+        ShellService service = getService();
+        MetricsRegistry metricsRegistry = service.getActivityContext().getMetricsRegistry();
+        if (options.hasOption("help")) {
+            printHelp(console);
+        } else if (options.hasOption("translets")) {
+            String[] keywords = options.getValues("translets");
+            printMetrics(console, metricsRegistry, metricsRegistry.getTransletMetrics(), "Translet", keywords);
+        } else if (options.hasOption("advice")) {
+            String[] keywords = options.getValues("advice");
+            printMetrics(console, metricsRegistry, metricsRegistry.getAdviceMetrics(), "Aspect/Advice", keywords);
+        } else if (options.hasOption("reset")) {
+            metricsRegistry.reset();
+            console.writeLine("All statistics have been reset.");
+        } else {
+            printQuickHelp(console);
+        }
+    }
+
+    private void printMetrics(Console console, MetricsRegistry metricsRegistry,
+                              Collection<ExecutionMetrics> metricsList, String title, String[] keywords) {
+        if (!metricsRegistry.isEnabled()) {
+            console.writeError("Metrics are disabled; set the system property " +
+                    MetricsRegistry.ENABLED_PROPERTY_NAME + "=true to enable them");
+            return;
+        }
+        List<ExecutionMetrics> list = new ArrayList<>(metricsList);
+        list.sort(Comparator.comparing(ExecutionMetrics::getName));
+        console.writeLine("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+        console.writeLine(" %-32s | %-9s | %-6s | %-5s | %-8s | %-26s ", title, "Count", "Errors", "Busy",
+                "TPS", "p50/p99/p999 ms");
+        console.writeLine("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+        int num = 0;
+        for (ExecutionMetrics metrics : list) {
+            if (keywords != null) {
+                boolean exists = false;
+                for (String keyw : keywords) {
+                    if (metrics.getName().toLowerCase().contains(keyw.toLowerCase())) {
+                        exists = true;
+                        break;
+                    }
+                }
+                if (!exists) {
+                    continue;
+                }
+            }
+            LatencyHistogram latency = metrics.getLatency();
+            String percentiles = String.format("%.3f/%.3f/%.3f",
+                    toMillis(latency.getPercentile(50.0D)),
+                    toMillis(latency.getPercentile(99.0D)),
+                    toMillis(latency.getPercentile(99.9D)));
+            console.write(" %-32s | %9d |", metrics.getName(), metrics.getCount());
+            if (metrics.getErrorCount() > 0L) {
+                console.setStyle("RED");
+            }
+            console.write(" %6d ", metrics.getErrorCount());
+            console.styleOff();
+            console.writeLine("| %5d | %8.1f | %26s ", metrics.getInFlightCount(), metrics.getThroughput(),
+                    percentiles);
+            num++;
+        }
+        if (num == 0) {
+            console.writeLine("%45s %s", " ", "No Data");
+        }
+        console.writeLine("-%-32s-+-%-9s-+-%-6s-+-%-5s-+-%-8s-+-%-26s-", "--------------------------------",
+                "---------", "------", "-----", "--------", "--------------------------");
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0D;
+    }
+
+    @Override
+    public Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private static class CommandDescriptor implements Descriptor {
+
+        @Override
+        public String getNamespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        public String getName() {
+            return COMMAND_NAME;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Show latency, throughput and error statistics of translets and aspect advice";
+        }
+
+        @Override
+        public String getUsage() {
+            return null;
+        }
+
+    }
+
+}
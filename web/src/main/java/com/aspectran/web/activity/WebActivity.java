@@ -37,10 +37,15 @@ import com.aspectran.web.adapter.HttpServletResponseAdapter;
 import com.aspectran.web.adapter.HttpSessionAdapter;
 import com.aspectran.web.support.http.HttpHeaders;
 import com.aspectran.web.support.http.MediaType;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * An activity that processes a web request.
@@ -53,10 +58,14 @@ public class WebActivity extends CoreActivity {
 
     private static final String MAX_REQUEST_SIZE_SETTING_NAME = "maxRequestSize";
 
+    private static final long ASYNC_TIMEOUT_GRACE_PERIOD = 5000L;
+
     private final HttpServletRequest request;
 
     private final HttpServletResponse response;
 
+    private AsyncContext asyncContext;
+
     /**
      * Instantiates a new WebActivity.
      * @param context the current ActivityContext
@@ -72,6 +81,17 @@ public class WebActivity extends CoreActivity {
     @Override
     public void prepare(String transletName, MethodType requestMethod)
             throws TransletNotFoundException, ActivityPrepareException {
+        super.prepare(transletName, resolveRequestMethod(request, requestMethod));
+    }
+
+    /**
+     * Returns the request method to use for the given request, honoring the
+     * X-HTTP-Method-Override header of an HTTP POST request.
+     * @param request the HTTP request
+     * @param requestMethod the request method
+     * @return the effective request method
+     */
+    public static MethodType resolveRequestMethod(HttpServletRequest request, MethodType requestMethod) {
         // Check for HTTP POST with the X-HTTP-Method-Override header
         if (requestMethod == MethodType.POST) {
             String method = request.getHeader(HttpHeaders.X_METHOD_OVERRIDE);
@@ -84,8 +104,7 @@ public class WebActivity extends CoreActivity {
                 }
             }
         }
-
-        super.prepare(transletName, requestMethod);
+        return requestMethod;
     }
 
     @Override
@@ -190,4 +209,73 @@ public class WebActivity extends CoreActivity {
         return localeResolver;
     }
 
+    @Override
+    protected boolean startAsync() {
+        if (request.isAsyncSupported() && !request.isAsyncStarted()) {
+            asyncContext = request.startAsync();
+            // Leaves the activity time to fail its own pending results before the container gives up
+            long asyncTimeout = getAsyncTimeout();
+            asyncContext.setTimeout(asyncTimeout > 0L ? asyncTimeout + ASYNC_TIMEOUT_GRACE_PERIOD : 0L);
+            asyncContext.addListener(new AsyncRequestListener());
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    protected void resumeAsync(Runnable task) {
+        asyncContext.start(task);
+    }
+
+    @Override
+    protected void completeAsync(Throwable cause) {
+        try {
+            if (cause != null && !response.isCommitted()) {
+                if (cause instanceof TimeoutException) {
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                } else {
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // ignore
+        } finally {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+    }
+
+    /**
+     * Abandons the suspended activity when the container times out or fails
+     * the asynchronous request, so that it never writes to a recycled response.
+     */
+    private class AsyncRequestListener implements AsyncListener {
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            abandonAsync(new TimeoutException("The asynchronous request timed out"));
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            Throwable cause = event.getThrowable();
+            abandonAsync(cause != null ? cause : new IllegalStateException("The asynchronous request failed"));
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            abandonAsync(new IllegalStateException("The asynchronous request was completed " +
+                    "before the activity resumed"));
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+    }
+
 }
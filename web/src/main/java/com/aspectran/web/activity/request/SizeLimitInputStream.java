@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.web.activity.request;
+
+import com.aspectran.core.activity.request.SizeLimitExceededException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that counts the bytes read from the underlying stream
+ * and fails as soon as the permitted number of bytes has been exceeded.
+ * The {@link SizeLimitExceededException} is reported as the cause of the
+ * thrown {@link IOException}, since readers only propagate I/O errors.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class SizeLimitInputStream extends FilterInputStream {
+
+    private final long maxSize;
+
+    private long count;
+
+    /**
+     * Instantiates a new SizeLimitInputStream.
+     * @param in the underlying input stream
+     * @param maxSize the maximum number of bytes permitted; 0 or less for unlimited
+     */
+    public SizeLimitInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     * @return the number of bytes read
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            checkLimit(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            checkLimit(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            checkLimit(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void checkLimit(long n) throws IOException {
+        count += n;
+        if (maxSize > 0L && count > maxSize) {
+            throw new IOException(new SizeLimitExceededException("Maximum request size exceeded; actual: " +
+                    count + "; permitted: " + maxSize, count, maxSize));
+        }
+    }
+
+}
@@ -33,6 +33,7 @@ import com.aspectran.web.support.http.MediaType;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.List;
@@ -63,24 +64,88 @@ public class WebRequestBodyParser {
         if (encoding == null) {
             encoding = DEFAULT_ENCODING;
         }
-        InputStreamReader reader = new InputStreamReader(inputStream, encoding);
+        InputStreamReader reader = new InputStreamReader(new SizeLimitInputStream(inputStream, maxSize), encoding);
         char[] buffer = new char[BUFFER_SIZE];
-        int bytesRead;
-        long bytesTotal = 0L;
-        while ((bytesRead = reader.read(buffer)) != -1) {
-            if (maxSize > 0L) {
-                bytesTotal += bytesRead;
-                if (bytesTotal > maxSize) {
-                    throw new SizeLimitExceededException("Maximum request size exceeded; actual: " +
-                            bytesTotal + "; permitted: " + maxSize,
-                            bytesTotal, maxSize);
-                }
+        int charsRead;
+        try {
+            while ((charsRead = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, charsRead);
             }
-            sb.append(buffer, 0, bytesRead);
+        } catch (IOException e) {
+            throw unwrapSizeLimitExceeded(e);
         }
         return sb.toString();
     }
 
+    /**
+     * Parses a JSON request body directly from the input stream into the
+     * given type of parameters, without first reading the whole body
+     * into a string.
+     * @param inputStream the request input stream
+     * @param encoding the character encoding of the body; ISO-8859-1 if {@code null}
+     * @param maxSize the maximum number of bytes permitted; 0 or less for unlimited
+     * @param requiredType the type of parameters to create
+     * @param <T> the type of parameters
+     * @return the parsed parameters
+     * @throws IOException if the body could not be read or is not valid JSON
+     * @throws SizeLimitExceededException if the body is larger than {@code maxSize}
+     */
+    public static <T extends Parameters> T parseJsonAsParameters(
+            InputStream inputStream, String encoding, long maxSize, Class<T> requiredType)
+            throws IOException, SizeLimitExceededException {
+        try {
+            return JsonToApon.from(createJsonReader(inputStream, encoding, maxSize), requiredType);
+        } catch (IOException e) {
+            throw unwrapSizeLimitExceeded(e);
+        }
+    }
+
+    /**
+     * Reads the elements of a JSON array in the request body one at a time
+     * and passes each of them to the given handler, so that actions can
+     * process huge arrays without materializing them.
+     * This consumes the request input stream, so it must be called before
+     * anything else reads the body.
+     * @param requestAdapter the request adapter
+     * @param arrayName the name of the array member of the top-level object,
+     *      or {@code null} if the body itself is an array
+     * @param elementType the type of parameters to create for each element
+     * @param handler the handler to receive the elements
+     * @param <T> the type of the element parameters
+     * @return the number of elements handled
+     * @throws RequestParseException if the body could not be parsed
+     */
+    public static <T extends Parameters> int parseJsonElements(
+            RequestAdapter requestAdapter, String arrayName, Class<T> elementType,
+            JsonToApon.ElementHandler<T> handler) throws RequestParseException {
+        try {
+            Reader reader = createJsonReader(requestAdapter.getInputStream(), requestAdapter.getEncoding(),
+                    requestAdapter.getMaxRequestSize());
+            return JsonToApon.forEach(reader, arrayName, elementType, handler);
+        } catch (IOException e) {
+            unwrapSizeLimitExceeded(e);
+            throw new RequestParseException("Failed to parse elements of JSON request body to required type [" +
+                    elementType.getName() + "]", e);
+        }
+    }
+
+    private static Reader createJsonReader(InputStream inputStream, String encoding, long maxSize)
+            throws UnsupportedEncodingException {
+        if (encoding == null) {
+            encoding = DEFAULT_ENCODING;
+        }
+        return new InputStreamReader(new SizeLimitInputStream(inputStream, maxSize), encoding);
+    }
+
+    private static IOException unwrapSizeLimitExceeded(IOException e) throws SizeLimitExceededException {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SizeLimitExceededException) {
+                throw (SizeLimitExceededException)t;
+            }
+        }
+        return e;
+    }
+
     public static MultiValueMap<String, String> parseURLEncoded(String body, String encoding)
             throws UnsupportedEncodingException {
         if (StringUtils.isEmpty(body)) {
@@ -16,9 +16,9 @@
 package com.aspectran.web.service;
 
 import com.aspectran.core.activity.ActivityTerminatedException;
-import com.aspectran.core.activity.TransletNotFoundException;
 import com.aspectran.core.activity.request.RequestMethodNotAllowedException;
 import com.aspectran.core.activity.request.SizeLimitExceededException;
+import com.aspectran.core.component.translet.router.TransletRuleMatch;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.config.AspectranConfig;
 import com.aspectran.core.context.config.ContextConfig;
@@ -125,39 +125,21 @@ public class DefaultWebService extends AspectranCoreService implements WebServic
             }
         }
 
+        MethodType requestMethod = MethodType.resolve(request.getMethod());
+        if (requestMethod == null) {
+            requestMethod = MethodType.GET;
+        }
+        requestMethod = WebActivity.resolveRequestMethod(request, requestMethod);
+        TransletRuleMatch transletRuleMatch = resolveTransletRule(requestUri, requestMethod);
+        if (transletRuleMatch == null) {
+            handleTransletNotFound(request, response, requestUri, requestMethod);
+            return;
+        }
+
         try {
             WebActivity activity = new WebActivity(getActivityContext(), request, response);
-            activity.prepare(requestUri, request.getMethod());
+            activity.prepare(requestUri, requestMethod, transletRuleMatch);
             activity.perform();
-        } catch (TransletNotFoundException e) {
-            // Provides for "trailing slash" redirects and  serving directory index files
-            String transletName = e.getTransletName();
-            if (StringUtils.startsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR) &&
-                    !StringUtils.endsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR)) {
-                String transletNameWithSlash = transletName + ActivityContext.NAME_SEPARATOR_CHAR;
-                MethodType requestMethod = e.getRequestMethod(MethodType.GET);
-                if (getActivityContext().getTransletRuleRegistry().contains(transletNameWithSlash, requestMethod)) {
-                    response.setStatus(HttpStatus.MOVED_PERMANENTLY.value());
-                    response.setHeader(HttpHeaders.LOCATION, transletNameWithSlash);
-                    response.setHeader(HttpHeaders.CONNECTION, "close");
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Redirect URL with Trailing Slash: " + e.getTransletName());
-                    }
-                    return;
-                }
-            }
-
-            try {
-                if (!defaultServletHttpRequestHandler.handleRequest(request, response)) {
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("No translet mapped for request URI [" + requestUri + "]");
-                    }
-                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                }
-            } catch (Exception e2) {
-                logger.error(e2);
-                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            }
         } catch (ActivityTerminatedException e) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Activity terminated: " + e.getMessage());
@@ -176,6 +158,36 @@ public class DefaultWebService extends AspectranCoreService implements WebServic
         }
     }
 
+    private void handleTransletNotFound(HttpServletRequest request, HttpServletResponse response,
+                                        String transletName, MethodType requestMethod) throws IOException {
+        // Provides for "trailing slash" redirects and  serving directory index files
+        if (StringUtils.startsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR) &&
+                !StringUtils.endsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR)) {
+            String transletNameWithSlash = transletName + ActivityContext.NAME_SEPARATOR_CHAR;
+            if (getActivityContext().getTransletRuleRegistry().contains(transletNameWithSlash, requestMethod)) {
+                response.setStatus(HttpStatus.MOVED_PERMANENTLY.value());
+                response.setHeader(HttpHeaders.LOCATION, transletNameWithSlash);
+                response.setHeader(HttpHeaders.CONNECTION, "close");
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Redirect URL with Trailing Slash: " + transletName);
+                }
+                return;
+            }
+        }
+
+        try {
+            if (!defaultServletHttpRequestHandler.handleRequest(request, response)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("No translet mapped for request URI [" + transletName + "]");
+                }
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+        } catch (Exception e) {
+            logger.error(e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
     private String getRequestInfo(HttpServletRequest request) {
         StringBuilder sb = new StringBuilder();
         sb.append(request.getMethod()).append(" ");
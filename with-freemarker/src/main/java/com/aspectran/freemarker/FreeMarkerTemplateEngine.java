@@ -15,7 +15,7 @@
  */
 package com.aspectran.freemarker;
 
-import com.aspectran.core.component.template.engine.TemplateEngine;
+import com.aspectran.core.component.template.engine.CompilableTemplateEngine;
 import com.aspectran.core.component.template.engine.TemplateEngineProcessException;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -31,7 +31,7 @@ import java.util.Map;
  *
  * <p>Created: 2016. 1. 9.</p>
  */
-public class FreeMarkerTemplateEngine implements TemplateEngine {
+public class FreeMarkerTemplateEngine implements CompilableTemplateEngine {
 
     private final Configuration configuration;
 
@@ -52,6 +52,28 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
         }
     }
 
+    @Override
+    public Object compile(String templateName, String templateSource) throws TemplateEngineProcessException {
+        try {
+            Reader reader = new StringReader(templateSource);
+            return new Template(templateName, reader, configuration);
+        } catch (Exception e) {
+            throw new TemplateEngineProcessException(e);
+        }
+    }
+
+    @Override
+    public void processCompiled(Object compiledTemplate, Map<String, Object> model, Writer writer)
+            throws TemplateEngineProcessException {
+        try {
+            Template template = (Template)compiledTemplate;
+            template.process(model, writer);
+            writer.flush();
+        } catch (Exception e) {
+            throw new TemplateEngineProcessException(e);
+        }
+    }
+
     @Override
     public void process(String templateName, Map<String, Object> model, Writer writer) throws
             TemplateEngineProcessException {
@@ -15,7 +15,7 @@
  */
 package com.aspectran.pebble;
 
-import com.aspectran.core.component.template.engine.TemplateEngine;
+import com.aspectran.core.component.template.engine.CompilableTemplateEngine;
 import com.aspectran.core.component.template.engine.TemplateEngineProcessException;
 import com.mitchellbosecke.pebble.PebbleEngine;
 import com.mitchellbosecke.pebble.template.PebbleTemplate;
@@ -29,7 +29,7 @@ import java.util.Map;
  *
  * <p>Created: 2016. 1. 9.</p>
  */
-public class PebbleTemplateEngine implements TemplateEngine {
+public class PebbleTemplateEngine implements CompilableTemplateEngine {
 
     private final PebbleEngine pebbleEngine;
 
@@ -49,6 +49,27 @@ public class PebbleTemplateEngine implements TemplateEngine {
         }
     }
 
+    @Override
+    public Object compile(String templateName, String templateSource) throws TemplateEngineProcessException {
+        try {
+            return pebbleEngine.getTemplate(templateSource);
+        } catch (Exception e) {
+            throw new TemplateEngineProcessException(e);
+        }
+    }
+
+    @Override
+    public void processCompiled(Object compiledTemplate, Map<String, Object> model, Writer writer)
+            throws TemplateEngineProcessException {
+        try {
+            PebbleTemplate template = (PebbleTemplate)compiledTemplate;
+            template.evaluate(writer, model);
+            writer.flush();
+        } catch (Exception e) {
+            throw new TemplateEngineProcessException(e);
+        }
+    }
+
     @Override
     public void process(String templateName, Map<String, Object> model, Writer writer)
             throws TemplateEngineProcessException {
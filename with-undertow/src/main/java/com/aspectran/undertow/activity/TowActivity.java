@@ -39,6 +39,8 @@ import com.aspectran.web.support.http.MediaType;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.session.SessionConfig;
 import io.undertow.server.session.SessionManager;
+import io.undertow.util.SameThreadExecutor;
+import io.undertow.util.StatusCodes;
 
 import java.io.UnsupportedEncodingException;
 
@@ -65,7 +67,18 @@ public class TowActivity extends CoreActivity {
 
     @Override
     public void prepare(String transletName, MethodType requestMethod)
-            throws TransletNotFoundException, ActivityPrepareException{
+            throws TransletNotFoundException, ActivityPrepareException {
+        super.prepare(transletName, resolveRequestMethod(exchange, requestMethod));
+    }
+
+    /**
+     * Returns the request method to use for the given request, honoring the
+     * X-HTTP-Method-Override header of an HTTP POST request.
+     * @param exchange the HTTP server exchange
+     * @param requestMethod the request method
+     * @return the effective request method
+     */
+    public static MethodType resolveRequestMethod(HttpServerExchange exchange, MethodType requestMethod) {
         // Check for HTTP POST with the X-HTTP-Method-Override header
         if (requestMethod == MethodType.POST) {
             String method = exchange.getRequestHeaders().getFirst(HttpHeaders.X_METHOD_OVERRIDE);
@@ -78,8 +91,7 @@ public class TowActivity extends CoreActivity {
                 }
             }
         }
-
-        super.prepare(transletName, requestMethod);
+        return requestMethod;
     }
 
     @Override
@@ -195,4 +207,42 @@ public class TowActivity extends CoreActivity {
         return localeResolver;
     }
 
+    @Override
+    protected boolean startAsync() {
+        if (exchange.isInIoThread()) {
+            return false;
+        }
+        exchange.addExchangeCompleteListener((completedExchange, nextListener) -> {
+            try {
+                abandonAsync(new IllegalStateException("The exchange was completed before the activity resumed"));
+            } finally {
+                nextListener.proceed();
+            }
+        });
+        return true;
+    }
+
+    @Override
+    protected void awaitAsync(Runnable registration) {
+        // Keeps the exchange open after the handler returns, and registers the completion
+        // callback on the same thread only once the root handler has returned
+        exchange.dispatch(SameThreadExecutor.INSTANCE, registration);
+    }
+
+    @Override
+    protected void resumeAsync(Runnable task) {
+        exchange.getConnection().getWorker().execute(task);
+    }
+
+    @Override
+    protected void completeAsync(Throwable cause) {
+        if (exchange.isComplete()) {
+            return;
+        }
+        if (cause != null && !exchange.isResponseStarted()) {
+            exchange.setStatusCode(StatusCodes.INTERNAL_SERVER_ERROR);
+        }
+        exchange.endExchange();
+    }
+
 }
@@ -18,6 +18,7 @@ package com.aspectran.undertow.adapter;
 import com.aspectran.core.activity.request.RequestParseException;
 import com.aspectran.core.adapter.AbstractRequestAdapter;
 import com.aspectran.core.context.rule.type.MethodType;
+import com.aspectran.core.util.ClassUtils;
 import com.aspectran.core.util.MultiValueMap;
 import com.aspectran.core.util.apon.Parameters;
 import com.aspectran.core.util.logging.Logger;
@@ -51,6 +52,8 @@ public class TowRequestAdapter extends AbstractRequestAdapter {
 
     private boolean bodyObtained;
 
+    private Parameters bodyParameters;
+
     private MediaType mediaType;
 
     /**
@@ -114,13 +117,42 @@ public class TowRequestAdapter extends AbstractRequestAdapter {
         return super.getBody();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>A JSON body that has not been read yet is parsed straight from the
+     * request input stream; in that case {@link #getBody()} returns
+     * {@code null} afterwards, since the raw body is never materialized.</p>
+     */
     @Override
     public <T extends Parameters> T getBodyAsParameters(Class<T> requiredType) throws RequestParseException {
-        if (getMediaType() != null) {
-            return WebRequestBodyParser.parseBodyAsParameters(this, getMediaType(), requiredType);
-        } else {
+        MediaType mediaType = getMediaType();
+        if (mediaType == null) {
             return null;
         }
+        if (!bodyObtained && MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+            bodyObtained = true;
+            try {
+                bodyParameters = WebRequestBodyParser.parseJsonAsParameters(
+                        getInputStream(), getEncoding(), getMaxRequestSize(), requiredType);
+            } catch (IOException e) {
+                throw new RequestParseException("Failed to parse request body of JSON format to required type [" +
+                        requiredType.getName() + "]", e);
+            }
+        }
+        if (bodyParameters != null) {
+            if (requiredType.isInstance(bodyParameters)) {
+                return requiredType.cast(bodyParameters);
+            }
+            try {
+                T parameters = ClassUtils.createInstance(requiredType);
+                parameters.readFrom(bodyParameters.toString());
+                return parameters;
+            } catch (IOException e) {
+                throw new RequestParseException("Failed to convert request body to required type [" +
+                        requiredType.getName() + "]", e);
+            }
+        }
+        return WebRequestBodyParser.parseBodyAsParameters(this, mediaType, requiredType);
     }
 
     /**
@@ -27,6 +27,8 @@ import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionConfig;
 import io.undertow.server.session.SessionManager;
 
+import java.util.concurrent.Executor;
+
 /**
  * <p>Created: 2019-07-31</p>
  */
@@ -40,6 +42,8 @@ public class HttpHybridHandler extends ResourceHandler {
 
     private volatile TowService towService;
 
+    private volatile Executor dispatchExecutor;
+
     public HttpHybridHandler(ResourceManager resourceManager) {
         super(resourceManager);
     }
@@ -80,10 +84,26 @@ public class HttpHybridHandler extends ResourceHandler {
         this.towService = towService;
     }
 
+    /**
+     * Specifies the executor on which requests are dispatched from the IO thread.
+     * If not specified, the worker thread pool of the server is used.
+     * @param dispatchExecutor the executor to dispatch requests to
+     */
+    public void setDispatchExecutor(Executor dispatchExecutor) {
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (exchange.isInIoThread()) {
-            exchange.dispatch(this);
+            // Static resources are decided on here, without a hop to a worker thread
+            if (staticResourceHandler != null && staticResourceHandler.matches(exchange.getRequestPath())) {
+                staticResourceHandler.handleRequest(exchange);
+            } else if (dispatchExecutor != null) {
+                exchange.dispatch(dispatchExecutor, this);
+            } else {
+                exchange.dispatch(this);
+            }
         } else {
             if (staticResourceHandler != null) {
                 staticResourceHandler.handleRequest(exchange);
@@ -23,6 +23,9 @@ import com.aspectran.core.context.config.AspectranConfig;
 import com.aspectran.core.context.config.ContextConfig;
 import com.aspectran.core.util.Assert;
 import com.aspectran.core.util.lifecycle.LifeCycle;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+import com.aspectran.core.util.thread.VirtualThreads;
 import com.aspectran.undertow.server.TowServer;
 import com.aspectran.undertow.server.resource.StaticResourceHandler;
 import com.aspectran.undertow.service.DefaultTowService;
@@ -36,12 +39,15 @@ import io.undertow.server.session.SessionManager;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * <p>Created: 06/10/2019</p>
  */
 public class HttpHybridHandlerFactory implements ActivityContextAware, DisposableBean {
 
+    private static final Logger logger = LoggerFactory.getLogger(HttpHybridHandlerFactory.class);
+
     private ActivityContext context;
 
     private TowServer towServer;
@@ -60,6 +66,10 @@ public class HttpHybridHandlerFactory implements ActivityContextAware, Disposabl
 
     private TowService towService;
 
+    private boolean virtualThreads;
+
+    private ExecutorService dispatchExecutor;
+
     @Override
     @AvoidAdvice
     public void setActivityContext(ActivityContext context) {
@@ -98,6 +108,16 @@ public class HttpHybridHandlerFactory implements ActivityContextAware, Disposabl
         this.aspectranConfig = aspectranConfig;
     }
 
+    /**
+     * Specifies whether requests should be handled on virtual threads
+     * instead of the worker thread pool. Virtual threads are used only
+     * when the running JDK supports them.
+     * @param virtualThreads true to handle requests on virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public HttpHandler createHandler() {
         TowService towService = createTowService();
 
@@ -113,6 +133,15 @@ public class HttpHybridHandlerFactory implements ActivityContextAware, Disposabl
         httpHybridHandler.setSessionManager(sessionManager);
         httpHybridHandler.setSessionConfig(sessionConfig);
         httpHybridHandler.setTowService(towService);
+        if (virtualThreads) {
+            if (VirtualThreads.isSupported()) {
+                dispatchExecutor = VirtualThreads.newThreadPerTaskExecutor("tow-");
+                httpHybridHandler.setDispatchExecutor(dispatchExecutor);
+            } else {
+                logger.warn("Virtual threads are not supported by this JDK; " +
+                        "requests are handled by the worker thread pool");
+            }
+        }
 
         if (outerHandlerChainWrappers != null) {
             return wrapHandlers(httpHybridHandler, outerHandlerChainWrappers);
@@ -161,6 +190,10 @@ public class HttpHybridHandlerFactory implements ActivityContextAware, Disposabl
     @Override
     public void destroy() throws Exception {
         destroyTowService();
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+            dispatchExecutor = null;
+        }
         if (sessionManager != null) {
             sessionManager.stop();
         }
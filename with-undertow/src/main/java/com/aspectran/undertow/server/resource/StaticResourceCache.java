@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.resource;
+
+import com.aspectran.core.util.ToStringBuilder;
+import com.aspectran.core.util.logging.Logger;
+import com.aspectran.core.util.logging.LoggerFactory;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded in-memory cache of small static resources, held in direct
+ * buffers so that they can be written to the connection on the IO thread
+ * without blocking. Pre-compressed {@code .br} and {@code .gz} variants
+ * found next to a resource are cached along with it.
+ *
+ * <p>Entries are considered fresh for {@link #setTimeToLive(long) timeToLive}
+ * milliseconds; a stale entry is revalidated against the underlying resource
+ * on a worker thread. The entries are kept in access order, and when the
+ * total size of the cached content exceeds {@link #setMaxSize(long) maxSize},
+ * the least recently used entries are evicted.</p>
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public class StaticResourceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticResourceCache.class);
+
+    public static final long DEFAULT_MAX_SIZE = 16L * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_ENTRY_SIZE = 256L * 1024;
+
+    public static final long DEFAULT_TIME_TO_LIVE = 5000L;
+
+    public static final String BROTLI_ENCODING = "br";
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final String BROTLI_EXTENSION = ".br";
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentSize;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private long maxSize = DEFAULT_MAX_SIZE;
+
+    private long maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum total size in bytes of the cached content.
+     * @param maxSize the maximum size in bytes
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Sets the size in bytes of the largest resource that will be cached;
+     * larger resources are always transferred from the resource manager.
+     * @param maxEntrySize the maximum entry size in bytes
+     */
+    public void setMaxEntrySize(long maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the number of milliseconds for which a cached entry is served
+     * without checking whether the underlying resource has changed.
+     * @param timeToLive the time to live in milliseconds
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the fresh entry for the given path, or {@code null} if the path
+     * has not been cached yet or must be revalidated, in which case the miss
+     * is counted when the resource is {@link #put put} into the cache.
+     * Entries of resources that are too large to be cached are counted
+     * neither as hits nor as misses.
+     * This method never blocks on I/O and may be called on the IO thread.
+     * @param path the canonical resource path
+     * @return the entry, or {@code null}
+     */
+    public Entry get(String path) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(path);
+        }
+        if (entry != null && !entry.isExpired()) {
+            if (entry.isCacheable()) {
+                hitCount.increment();
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Caches the given resource and its pre-compressed variants, unless they
+     * are too large to be cached. This method performs blocking I/O and must
+     * not be called on the IO thread.
+     * @param path the canonical resource path
+     * @param resource the resource to cache
+     * @param contentType the content type of the resource
+     * @param variantSupplier the supplier to look up the pre-compressed variants
+     * @return the new entry; it is not cacheable if the resource is too large
+     * @throws IOException if the resource could not be read
+     */
+    public Entry put(String path, Resource resource, String contentType, VariantSupplier variantSupplier)
+            throws IOException {
+        Long contentLength = resource.getContentLength();
+        Date lastModified = resource.getLastModified();
+        if (resource.isDirectory() || contentLength == null || contentLength > maxEntrySize) {
+            return store(path, new Entry(timeToLive));
+        }
+
+        missCount.increment();
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(path);
+        }
+        if (existing != null && existing.isCacheable() && existing.contentLength == contentLength &&
+                existing.lastModified != null && existing.lastModified.equals(lastModified)) {
+            existing.refresh(timeToLive);
+            return existing;
+        }
+
+        ETag etag = resource.getETag();
+        if (etag == null) {
+            etag = new ETag(false, Long.toHexString(contentLength) + "-" +
+                    Long.toHexString(lastModified != null ? lastModified.getTime() : 0L));
+        }
+        Representation identity = new Representation(null, read(resource), etag);
+        Representation brotli = readVariant(variantSupplier, path, BROTLI_EXTENSION, BROTLI_ENCODING, etag);
+        Representation gzip = readVariant(variantSupplier, path, GZIP_EXTENSION, GZIP_ENCODING, etag);
+        Entry entry = new Entry(contentType, lastModified, contentLength, identity, brotli, gzip, timeToLive);
+        return store(path, entry);
+    }
+
+    private Representation readVariant(VariantSupplier variantSupplier, String path, String extension,
+                                       String encoding, ETag etag) throws IOException {
+        Resource variant = variantSupplier.getVariant(path + extension);
+        if (variant == null || variant.isDirectory()) {
+            return null;
+        }
+        Long contentLength = variant.getContentLength();
+        if (contentLength == null || contentLength > maxEntrySize) {
+            return null;
+        }
+        return new Representation(encoding, read(variant), new ETag(etag.isWeak(), etag.getTag() + "-" + encoding));
+    }
+
+    private Entry store(String path, Entry entry) {
+        synchronized (entries) {
+            Entry old = entries.put(path, entry);
+            currentSize += entry.getSize() - (old != null ? old.getSize() : 0L);
+            if (currentSize > maxSize) {
+                evict();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Removes the least recently used entries until the cached content fits
+     * into the maximum size. Must be called while holding the lock on the entries.
+     */
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (currentSize > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            if (eldest.isCacheable()) {
+                currentSize -= eldest.getSize();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            currentSize = 0L;
+        }
+    }
+
+    /**
+     * Returns the number of cached paths, including the paths that
+     * have been found to be not cacheable.
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the total size in bytes of the cached content.
+     * @return the current size in bytes
+     */
+    public long getCurrentSize() {
+        synchronized (entries) {
+            return currentSize;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the ratio of requests that were served from the cache.
+     * @return the hit ratio between 0.0 and 1.0
+     */
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return (total > 0L ? (double)hits / total : 0.0d);
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder();
+        tsb.append("entries", getEntryCount());
+        tsb.append("currentSize", getCurrentSize());
+        tsb.append("maxSize", maxSize);
+        tsb.append("hits", getHitCount());
+        tsb.append("misses", getMissCount());
+        tsb.append("evictions", getEvictionCount());
+        tsb.append("hitRatio", String.format("%.3f", getHitRatio()));
+        return tsb.toString();
+    }
+
+    private static ByteBuffer read(Resource resource) throws IOException {
+        byte[] bytes;
+        Path filePath = resource.getFilePath();
+        if (filePath != null) {
+            bytes = Files.readAllBytes(filePath);
+        } else {
+            try (InputStream inputStream = resource.getUrl().openStream()) {
+                bytes = inputStream.readAllBytes();
+            }
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Caching static resource " + resource.getPath() + " (" + bytes.length + " bytes)");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Looks up the pre-compressed variants of a resource.
+     */
+    @FunctionalInterface
+    public interface VariantSupplier {
+
+        Resource getVariant(String path) throws IOException;
+
+    }
+
+    /**
+     * A cached static resource.
+     */
+    public static class Entry {
+
+        private final String contentType;
+
+        private final Date lastModified;
+
+        private final String lastModifiedString;
+
+        private final long contentLength;
+
+        private final Representation identity;
+
+        private final Representation brotli;
+
+        private final Representation gzip;
+
+        private volatile long expiresAt;
+
+        private Entry(long timeToLive) {
+            this(null, null, -1L, null, null, null, timeToLive);
+        }
+
+        private Entry(String contentType, Date lastModified, long contentLength, Representation identity,
+                      Representation brotli, Representation gzip, long timeToLive) {
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+            this.lastModifiedString = (lastModified != null ? DateUtils.toDateString(lastModified) : null);
+            this.contentLength = contentLength;
+            this.identity = identity;
+            this.brotli = brotli;
+            this.gzip = gzip;
+            refresh(timeToLive);
+        }
+
+        private void refresh(long timeToLive) {
+            this.expiresAt = System.currentTimeMillis() + timeToLive;
+        }
+
+        private boolean isExpired() {
+            return (System.currentTimeMillis() >= expiresAt);
+        }
+
+        /**
+         * Returns whether the resource is held in the cache; otherwise the
+         * entry only records that the resource is too large to be cached.
+         * @return true if the content is cached
+         */
+        public boolean isCacheable() {
+            return (identity != null);
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Date getLastModified() {
+            return lastModified;
+        }
+
+        public String getLastModifiedString() {
+            return lastModifiedString;
+        }
+
+        public boolean hasVariants() {
+            return (brotli != null || gzip != null);
+        }
+
+        /**
+         * Returns the best representation for the given Accept-Encoding header,
+         * preferring Brotli over gzip over the identity encoding.
+         * @param acceptEncoding the value of the Accept-Encoding request header
+         * @return the representation to send
+         */
+        public Representation getRepresentation(String acceptEncoding) {
+            if (acceptEncoding != null && hasVariants()) {
+                if (brotli != null && isAccepted(acceptEncoding, BROTLI_ENCODING)) {
+                    return brotli;
+                }
+                if (gzip != null && isAccepted(acceptEncoding, GZIP_ENCODING)) {
+                    return gzip;
+                }
+            }
+            return identity;
+        }
+
+        private long getSize() {
+            long size = 0L;
+            if (identity != null) {
+                size += identity.content.capacity();
+            }
+            if (brotli != null) {
+                size += brotli.content.capacity();
+            }
+            if (gzip != null) {
+                size += gzip.content.capacity();
+            }
+            return size;
+        }
+
+        private static boolean isAccepted(String acceptEncoding, String encoding) {
+            for (String token : acceptEncoding.split(",")) {
+                String coding = token.trim();
+                String qvalue = null;
+                int idx = coding.indexOf(';');
+                if (idx != -1) {
+                    qvalue = coding.substring(idx + 1).trim();
+                    coding = coding.substring(0, idx).trim();
+                }
+                if (coding.equalsIgnoreCase(encoding) || coding.equals("*")) {
+                    return (qvalue == null || !qvalue.matches("q\\s*=\\s*0(\\.0*)?"));
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * One encoding of a cached static resource.
+     */
+    public static class Representation {
+
+        private final String contentEncoding;
+
+        private final ByteBuffer content;
+
+        private final ETag etag;
+
+        private Representation(String contentEncoding, ByteBuffer content, ETag etag) {
+            this.contentEncoding = contentEncoding;
+            this.content = content;
+            this.etag = etag;
+        }
+
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        /**
+         * Returns a new read-only view of the content, positioned at the start.
+         * @return the content buffer
+         */
+        public ByteBuffer getContent() {
+            return content.duplicate();
+        }
+
+        public long getContentLength() {
+            return content.capacity();
+        }
+
+        public ETag getETag() {
+            return etag;
+        }
+
+    }
+
+}
@@ -22,15 +22,26 @@ import com.aspectran.core.util.wildcard.WildcardPattern;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceHandler;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.server.handlers.resource.ResourceSupplier;
+import io.undertow.util.CanonicalPathUtils;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
 
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -41,6 +52,8 @@ public class StaticResourceHandler extends ResourceHandler {
 
     private volatile PluralWildcardPattern resourcePathPatterns;
 
+    private volatile StaticResourceCache resourceCache;
+
     public StaticResourceHandler(ResourceManager resourceManager) {
         super(resourceManager);
     }
@@ -63,6 +76,19 @@ public class StaticResourceHandler extends ResourceHandler {
         this.resourcePathPatterns = new PluralWildcardPattern(includePatterns, excludePatterns, '/');
     }
 
+    public StaticResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    /**
+     * Sets the in-memory cache from which small static resources are served
+     * directly on the IO thread.
+     * @param resourceCache the static resource cache
+     */
+    public void setResourceCache(StaticResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
     public void autoDetect() throws IOException {
         if (getResourceManager() instanceof PathResourceManager) {
             Path base = ((PathResourceManager)getResourceManager()).getBasePath();
@@ -113,13 +139,108 @@ public class StaticResourceHandler extends ResourceHandler {
         return (resourcePathPatterns != null);
     }
 
+    /**
+     * Returns whether the given request path is to be served as a static resource.
+     * This is cheap enough to be decided on the IO thread.
+     * @param requestPath the request path
+     * @return true if the path matches the resource path patterns
+     */
+    public boolean matches(String requestPath) {
+        PluralWildcardPattern patterns = resourcePathPatterns;
+        return (patterns != null && patterns.matches(requestPath));
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
-        String requestPath = exchange.getRequestPath();
-        if (resourcePathPatterns != null) {
-            if (resourcePathPatterns.matches(requestPath)) {
-                super.handleRequest(exchange);
+        if (matches(exchange.getRequestPath())) {
+            if (resourceCache != null && handleCachedRequest(exchange, resourceCache)) {
+                return;
+            }
+            super.handleRequest(exchange);
+        }
+    }
+
+    private boolean handleCachedRequest(HttpServerExchange exchange, StaticResourceCache resourceCache)
+            throws IOException {
+        HttpString method = exchange.getRequestMethod();
+        if (!Methods.GET.equals(method) && !Methods.HEAD.equals(method)) {
+            return false;
+        }
+        // Range requests are left to the resource handler
+        if (exchange.getRequestHeaders().contains(Headers.RANGE) || !getAllowed().resolve(exchange)) {
+            return false;
+        }
+
+        String path = CanonicalPathUtils.canonicalize(exchange.getRelativePath());
+        StaticResourceCache.Entry entry = resourceCache.get(path);
+        if (entry == null) {
+            if (exchange.isInIoThread()) {
+                // Loading the resource may block
+                exchange.dispatch(this);
+                return true;
+            }
+            Resource resource = getResourceSupplier().getResource(exchange, path);
+            if (resource == null) {
+                return false;
             }
+            String contentType = resource.getContentType(getMimeMappings());
+            entry = resourceCache.put(path, resource, contentType,
+                    variantPath -> getResourceSupplier().getResource(exchange, variantPath));
+        }
+        if (!entry.isCacheable()) {
+            return false;
+        }
+
+        serve(exchange, entry);
+        return true;
+    }
+
+    private void serve(HttpServerExchange exchange, StaticResourceCache.Entry entry) {
+        StaticResourceCache.Representation representation =
+                entry.getRepresentation(exchange.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING));
+        ETag etag = representation.getETag();
+        Date lastModified = entry.getLastModified();
+        HeaderMap responseHeaders = exchange.getResponseHeaders();
+
+        Integer cacheTime = getCacheTime();
+        if (cacheTime != null && getCachable().resolve(exchange)) {
+            responseHeaders.put(Headers.CACHE_CONTROL, "public, max-age=" + cacheTime);
+            long date = System.currentTimeMillis() + cacheTime * 1000L;
+            if (date > 0L) {
+                responseHeaders.put(Headers.EXPIRES, DateUtils.toDateString(new Date(date)));
+            }
+        }
+        if (!ETagUtils.handleIfMatch(exchange, etag, false) ||
+                !DateUtils.handleIfUnmodifiedSince(exchange, lastModified)) {
+            exchange.setStatusCode(StatusCodes.PRECONDITION_FAILED);
+            exchange.endExchange();
+            return;
+        }
+        if (entry.hasVariants()) {
+            responseHeaders.put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        }
+        if (!ETagUtils.handleIfNoneMatch(exchange, etag, true) ||
+                !DateUtils.handleIfModifiedSince(exchange, lastModified)) {
+            exchange.setStatusCode(StatusCodes.NOT_MODIFIED);
+            exchange.endExchange();
+            return;
+        }
+
+        if (entry.getContentType() != null) {
+            responseHeaders.put(Headers.CONTENT_TYPE, entry.getContentType());
+        }
+        if (entry.getLastModifiedString() != null) {
+            responseHeaders.put(Headers.LAST_MODIFIED, entry.getLastModifiedString());
+        }
+        responseHeaders.put(Headers.ETAG, etag.toString());
+        if (representation.getContentEncoding() != null) {
+            responseHeaders.put(Headers.CONTENT_ENCODING, representation.getContentEncoding());
+        }
+        responseHeaders.put(Headers.CONTENT_LENGTH, representation.getContentLength());
+        if (Methods.HEAD.equals(exchange.getRequestMethod())) {
+            exchange.endExchange();
+        } else {
+            exchange.getResponseSender().send(representation.getContent());
         }
     }
 
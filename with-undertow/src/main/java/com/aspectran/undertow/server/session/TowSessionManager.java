@@ -30,7 +30,6 @@ import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionConfig;
 import io.undertow.server.session.SessionListener;
 import io.undertow.server.session.SessionManager;
-import io.undertow.server.session.SessionManagerStatistics;
 import io.undertow.util.AttachmentKey;
 
 import java.io.IOException;
@@ -206,8 +205,8 @@ public class TowSessionManager implements SessionManager, ApplicationAdapterAwar
     }
 
     @Override
-    public SessionManagerStatistics getStatistics() {
-        return new SessionManagerStatistics() {
+    public TowSessionManagerStatistics getStatistics() {
+        return new TowSessionManagerStatistics() {
             @Override
             public long getCreatedSessionCount() {
                 return sessionManager.getSessionCache().getCreatedSessionCount();
@@ -238,6 +237,16 @@ public class TowSessionManager implements SessionManager, ApplicationAdapterAwar
                 return sessionManager.getSessionCache().getRejectedSessionCount();
             }
 
+            @Override
+            public long getEvictedSessions() {
+                return sessionManager.getSessionCache().getEvictedSessionCount();
+            }
+
+            @Override
+            public long getReloadedSessions() {
+                return sessionManager.getSessionCache().getReloadedSessionCount();
+            }
+
             @Override
             public long getMaxSessionAliveTime() {
                 return sessionManager.getSessionHandler().getSessionTimeMax();
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.session;
+
+import io.undertow.server.session.SessionManagerStatistics;
+
+/**
+ * Session manager statistics that also report how sessions moved
+ * between the session cache and the session store.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+public interface TowSessionManagerStatistics extends SessionManagerStatistics {
+
+    /**
+     * Returns the number of sessions evicted from the session cache
+     * while still valid in the session store.
+     * @return the number of evicted sessions
+     */
+    long getEvictedSessions();
+
+    /**
+     * Returns the number of evicted sessions that were reloaded
+     * from the session store into the session cache.
+     * @return the number of reloaded sessions
+     */
+    long getReloadedSessions();
+
+}
@@ -17,9 +17,9 @@ package com.aspectran.undertow.service;
 
 import com.aspectran.core.activity.ActivityException;
 import com.aspectran.core.activity.ActivityTerminatedException;
-import com.aspectran.core.activity.TransletNotFoundException;
 import com.aspectran.core.activity.request.RequestMethodNotAllowedException;
 import com.aspectran.core.activity.request.SizeLimitExceededException;
+import com.aspectran.core.component.translet.router.TransletRuleMatch;
 import com.aspectran.core.context.ActivityContext;
 import com.aspectran.core.context.config.AspectranConfig;
 import com.aspectran.core.context.config.ExposalsConfig;
@@ -88,32 +88,20 @@ public class DefaultTowService extends AbstractTowService {
             }
         }
 
+        MethodType requestMethod = MethodType.resolve(exchange.getRequestMethod().toString());
+        if (requestMethod == null) {
+            requestMethod = MethodType.GET;
+        }
+        requestMethod = TowActivity.resolveRequestMethod(exchange, requestMethod);
+        TransletRuleMatch transletRuleMatch = resolveTransletRule(requestPath, requestMethod);
+        if (transletRuleMatch == null) {
+            return handleTransletNotFound(exchange, requestPath, requestMethod);
+        }
+
         try {
             TowActivity activity = new TowActivity(this, exchange);
-            activity.prepare(requestPath, exchange.getRequestMethod().toString());
+            activity.prepare(requestPath, requestMethod, transletRuleMatch);
             activity.perform();
-        } catch (TransletNotFoundException e) {
-            // Provides for "trailing slash" redirects and  serving directory index files
-            String transletName = e.getTransletName();
-            if (StringUtils.startsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR) &&
-                    !StringUtils.endsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR)) {
-                String transletNameWithSlash = transletName + ActivityContext.NAME_SEPARATOR_CHAR;
-                MethodType requestMethod = e.getRequestMethod(MethodType.GET);
-                if (getActivityContext().getTransletRuleRegistry().contains(transletNameWithSlash, requestMethod)) {
-                    exchange.setStatusCode(HttpStatus.MOVED_PERMANENTLY.value());
-                    exchange.getResponseHeaders().put(Headers.LOCATION, transletNameWithSlash);
-                    exchange.getResponseHeaders().put(Headers.CONNECTION, "close");
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Redirect URL with Trailing Slash: " + e.getTransletName());
-                    }
-                    return true;
-                }
-            }
-
-            if (logger.isDebugEnabled()) {
-                logger.debug("No translet mapped for request URI [" + requestPath + "]");
-            }
-            return false;
         } catch (ActivityTerminatedException e) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Activity terminated: " + e.getMessage());
@@ -139,6 +127,29 @@ public class DefaultTowService extends AbstractTowService {
         return true;
     }
 
+    private boolean handleTransletNotFound(HttpServerExchange exchange, String transletName,
+                                           MethodType requestMethod) {
+        // Provides for "trailing slash" redirects and  serving directory index files
+        if (StringUtils.startsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR) &&
+                !StringUtils.endsWith(transletName, ActivityContext.NAME_SEPARATOR_CHAR)) {
+            String transletNameWithSlash = transletName + ActivityContext.NAME_SEPARATOR_CHAR;
+            if (getActivityContext().getTransletRuleRegistry().contains(transletNameWithSlash, requestMethod)) {
+                exchange.setStatusCode(HttpStatus.MOVED_PERMANENTLY.value());
+                exchange.getResponseHeaders().put(Headers.LOCATION, transletNameWithSlash);
+                exchange.getResponseHeaders().put(Headers.CONNECTION, "close");
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Redirect URL with Trailing Slash: " + transletName);
+                }
+                return true;
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("No translet mapped for request URI [" + transletName + "]");
+        }
+        return false;
+    }
+
     private String getRequestInfo(HttpServerExchange exchange) {
         StringBuilder sb = new StringBuilder();
         sb.append(exchange.getRequestMethod()).append(" ");
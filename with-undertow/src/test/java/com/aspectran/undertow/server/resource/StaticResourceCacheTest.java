@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.resource;
+
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link StaticResourceCache}.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class StaticResourceCacheTest {
+
+    private Path base;
+
+    private PathResourceManager resourceManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        base = Files.createTempDirectory("static-resource-cache");
+        resourceManager = new PathResourceManager(base);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        resourceManager.close();
+    }
+
+    @Test
+    void testHitsAndMisses() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache();
+        assertNull(cache.get("/a.txt"));
+        StaticResourceCache.Entry entry = put(cache, "/a.txt", 100);
+        assertTrue(entry.isCacheable());
+        assertSame(entry, cache.get("/a.txt"));
+        assertSame(entry, cache.get("/a.txt"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(100, cache.getCurrentSize());
+    }
+
+    @Test
+    void testLargeResourcesAreNotCountedAsMisses() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache();
+        cache.setMaxEntrySize(10);
+        StaticResourceCache.Entry entry = put(cache, "/large.txt", 100);
+        assertFalse(entry.isCacheable());
+        assertNotNull(cache.get("/large.txt"));
+        assertNotNull(cache.get("/large.txt"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0, cache.getCurrentSize());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache();
+        cache.setMaxSize(250);
+        put(cache, "/a.txt", 100);
+        put(cache, "/b.txt", 100);
+        assertNotNull(cache.get("/a.txt"));
+        put(cache, "/c.txt", 100);
+        assertNotNull(cache.get("/a.txt"));
+        assertNull(cache.get("/b.txt"));
+        assertNotNull(cache.get("/c.txt"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(200, cache.getCurrentSize());
+    }
+
+    @Test
+    void testPreCompressedVariants() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache();
+        write("/app.js.gz", 40);
+        StaticResourceCache.Entry entry = put(cache, "/app.js", 100);
+        assertTrue(entry.hasVariants());
+        assertEquals("gzip", entry.getRepresentation("gzip, deflate").getContentEncoding());
+        assertNull(entry.getRepresentation("gzip;q=0, deflate").getContentEncoding());
+        assertNull(entry.getRepresentation(null).getContentEncoding());
+        assertEquals(140, cache.getCurrentSize());
+    }
+
+    private StaticResourceCache.Entry put(StaticResourceCache cache, String path, int size) throws IOException {
+        write(path, size);
+        Resource resource = resourceManager.getResource(path);
+        return cache.put(path, resource, "text/plain", resourceManager::getResource);
+    }
+
+    private void write(String path, int size) throws IOException {
+        Files.write(base.resolve(path.substring(1)), new byte[size]);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.server.resource;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Test cases for serving static resources from a {@link StaticResourceCache}
+ * through a running Undertow server.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+class StaticResourceHandlerTest {
+
+    private static final String CONTENT = "body { color: black; }";
+
+    private PathResourceManager resourceManager;
+
+    private StaticResourceCache resourceCache;
+
+    private Undertow server;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path base = Files.createTempDirectory("static-resource-handler");
+        Files.createDirectories(base.resolve("assets"));
+        Files.write(base.resolve("assets/site.css"), CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        resourceManager = new PathResourceManager(base);
+        resourceCache = new StaticResourceCache();
+        StaticResourceHandler handler = new StaticResourceHandler(resourceManager);
+        handler.setResourcePathPatterns(new ResourcePathPatterns().addIncludePattern("/assets/**"));
+        handler.setResourceCache(resourceCache);
+
+        server = Undertow.builder()
+                .addHttpListener(0, "127.0.0.1")
+                .setHandler(handler)
+                .build();
+        server.start();
+        InetSocketAddress address = (InetSocketAddress)server.getListenerInfo().get(0).getAddress();
+        baseUrl = "http://127.0.0.1:" + address.getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.stop();
+        }
+        resourceManager.close();
+    }
+
+    @Test
+    void testServeFromCache() throws IOException {
+        HttpURLConnection first = open("/assets/site.css");
+        assertEquals(200, first.getResponseCode());
+        assertEquals(CONTENT, read(first));
+        String etag = first.getHeaderField("ETag");
+        assertNotNull(etag);
+        assertEquals(1, resourceCache.getMissCount());
+
+        HttpURLConnection second = open("/assets/site.css");
+        assertEquals(200, second.getResponseCode());
+        assertEquals(CONTENT, read(second));
+        assertEquals(etag, second.getHeaderField("ETag"));
+        assertEquals(1, resourceCache.getHitCount());
+        assertEquals(1, resourceCache.getMissCount());
+
+        HttpURLConnection conditional = open("/assets/site.css");
+        conditional.setRequestProperty("If-None-Match", etag);
+        assertEquals(304, conditional.getResponseCode());
+        assertEquals(2, resourceCache.getHitCount());
+    }
+
+    @Test
+    void testUnmatchedPathIsNotCached() throws IOException {
+        HttpURLConnection connection = open("/other/site.css");
+        assertEquals("", read(connection));
+        assertEquals(0, resourceCache.getEntryCount());
+        assertEquals(0, resourceCache.getMissCount());
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)new URL(baseUrl + path).openConnection();
+        connection.setUseCaches(false);
+        return connection;
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream inputStream = connection.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
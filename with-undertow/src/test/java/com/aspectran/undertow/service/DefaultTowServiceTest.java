@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2021 The Aspectran Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.aspectran.undertow.service;
+
+import com.aspectran.core.component.metrics.jfr.ActivityPhaseEvent;
+import com.aspectran.core.component.metrics.jfr.FlightRecorderEvents;
+import com.aspectran.core.context.config.AspectranConfig;
+import com.aspectran.core.context.rule.ResourceAppendRule;
+import com.aspectran.core.context.rule.params.AspectranParameters;
+import com.aspectran.undertow.server.http.HttpHybridHandler;
+import io.undertow.Undertow;
+import io.undertow.server.handlers.resource.ResourceManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for requests served by a {@link DefaultTowService}
+ * through a running Undertow server.
+ *
+ * <p>Created: 2021. 7. 18.</p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DefaultTowServiceTest {
+
+    private DefaultTowService towService;
+
+    private Undertow server;
+
+    private String baseUrl;
+
+    @BeforeAll
+    void ready() throws Exception {
+        AspectranConfig aspectranConfig = new AspectranConfig();
+        AspectranParameters parameters = aspectranConfig.newContextConfig().newAspectranParameters();
+        parameters.addRule(new ResourceAppendRule("config/tow-service-test-config.xml"));
+        towService = DefaultTowService.create(aspectranConfig);
+        towService.getServiceController().start();
+
+        HttpHybridHandler handler = new HttpHybridHandler(ResourceManager.EMPTY_RESOURCE_MANAGER);
+        handler.setTowService(towService);
+        server = Undertow.builder()
+                .addHttpListener(0, "127.0.0.1")
+                .setHandler(handler)
+                .build();
+        server.start();
+        InetSocketAddress address = (InetSocketAddress)server.getListenerInfo().get(0).getAddress();
+        baseUrl = "http://127.0.0.1:" + address.getPort();
+    }
+
+    @AfterAll
+    void finish() {
+        if (server != null) {
+            server.stop();
+        }
+        if (towService != null) {
+            towService.getServiceController().stop();
+        }
+    }
+
+    @Test
+    void testRoutingPhaseEvent() throws IOException {
+        Path file = Files.createTempFile("aspectran-jfr-test", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(ActivityPhaseEvent.class);
+                recording.start();
+                HttpURLConnection connection = (HttpURLConnection)new URL(baseUrl + "/routing/hello")
+                        .openConnection();
+                assertEquals(200, connection.getResponseCode());
+                try (InputStream inputStream = connection.getInputStream()) {
+                    assertEquals("hello", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                recording.stop();
+                recording.dump(file);
+            }
+
+            Map<String, String> phases = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if ("com.aspectran.ActivityPhase".equals(event.getEventType().getName())) {
+                    phases.put(event.getString("phase"), event.getString("transletName"));
+                }
+            }
+            assertEquals("/routing/hello", phases.get(FlightRecorderEvents.ROUTING), phases.toString());
+            assertEquals("/routing/hello", phases.get(FlightRecorderEvents.PREPARE), phases.toString());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}